@@ -5,6 +5,8 @@ import Ellithium.Utilities.codegen.RecorderOptions;
 import Ellithium.core.ai.TraceabilityManager;
 import Ellithium.core.ai.config.AIConfigLoader;
 import Ellithium.core.ai.generators.FeatureFileModifier;
+import Ellithium.core.ai.generators.GenerationCheckpoint;
+import Ellithium.core.ai.generators.LiveContextCache;
 import Ellithium.core.ai.generators.PomClassGenerator;
 import Ellithium.core.ai.models.GeneratedAssets;
 import Ellithium.core.ai.models.TestCaseSource;
@@ -20,6 +22,9 @@ import Ellithium.core.ai.generators.LiveContextGenerator;
 import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicReference;
 import Ellithium.core.logging.LogLevel;
 import Ellithium.core.reporting.Reporter;
@@ -47,7 +52,8 @@ import java.util.Objects;
  *   <li>Checks {@link TraceabilityManager} — skips already-generated tests</li>
  *   <li><b>Live DOM grounding (if URL provided):</b> opens a headless browser,
  *       navigates to the target URL, captures and minimizes the live DOM</li>
- *   <li>Sends each new test case (+ live DOM if available) to the configured LLM</li>
+ *   <li>Sends each new test case (+ live DOM if available) to the configured LLM,
+ *       with up to {@code ai.generation.concurrency} requests in flight</li>
  *   <li>Parses the LLM's structured JSON response</li>
  *   <li>Generates the POM class (or injects into existing) and the test class</li>
  *   <li>Generated test classes include proper TestNG scaffolding:
@@ -280,7 +286,8 @@ public class EllithiumAIEngine {
             return;
         }
 
-        int generated = 0, skipped = 0;
+        int skipped = 0;
+        List<TestCaseSource> pending = new ArrayList<>();
         for (TestCaseSource testCase : testCases) {
             // Idempotency — skip already-generated test cases
             if (TraceabilityManager.isAlreadyGenerated(testCase.getTestId(), testCase.getSourceFile())) {
@@ -288,52 +295,127 @@ public class EllithiumAIEngine {
                 skipped++;
                 continue;
             }
-
-            GeneratedAssets assets = processTestCase(testCase);
-            if (assets != null) {
-                TraceabilityManager.saveRecord(new TraceabilityRecord(testCase, assets));
-                generated++;
-            } else {
-                Reporter.log("Generation failed for: " + testCase.getTestId()
-                        + " — check prior ERROR logs for the missing field or LLM failure detail",
-                        LogLevel.WARN);
-            }
+            pending.add(testCase);
         }
 
+        int generated = runPipeline(pending);
+        if (generated > 0) {
+            TraceabilityManager.compact();
+        }
+        LiveContextCache.report();
         Reporter.log("EllithiumAIEngine: Done. Generated=" + generated + " Skipped=" + skipped, LogLevel.INFO_GREEN);
     }
 
-    // ──────────────────────── Test Case Processing ────────────────────────
+    // ──────────────────────── Generation Pipeline ────────────────────────
 
     /**
-     * Processes a single test case through the LLM and writes generated files.
-     * If the test case has a targetUrl, captures live DOM for grounded generation.
+     * Runs the pending test cases through a bounded-concurrency pipeline:
+     * <ol>
+     *   <li><b>context</b> — scrubs the description and builds the prompt (live DOM capture
+     *       included); a single worker, because the shared headless browser is one session</li>
+     *   <li><b>prompt</b> — at most {@code ai.generation.concurrency} LLM calls in flight; each
+     *       response is checkpointed as soon as it arrives</li>
+     *   <li><b>validate/compile + write</b> — on the calling thread, strictly in input order, so
+     *       POM injection into shared files and the generated output are deterministic</li>
+     * </ol>
+     * At most twice the prompt concurrency of cases are in the first two stages ahead of the writer,
+     * so prompts (and their DOM snapshots) are not built for the whole input up front.
+     * A rerun skips cases already recorded by {@link TraceabilityManager} and reuses any
+     * checkpointed response that was not yet written.
+     *
+     * @return number of test cases whose assets were written
      */
-    private GeneratedAssets processTestCase(TestCaseSource testCase) {
+    private int runPipeline(List<TestCaseSource> pending) {
+        if (pending.isEmpty()) return 0;
+        int limit = AIConfigLoader.getGenerationConcurrency();
+        Reporter.log("EllithiumAIEngine: Generating " + pending.size() + " test case(s) with up to "
+                + limit + " concurrent LLM call(s)", LogLevel.INFO_BLUE);
+
+        ExecutorService contextStage = Executors.newSingleThreadExecutor(
+                Thread.ofVirtual().name("ellithium-gen-context").factory());
+        ExecutorService promptStage = Executors.newFixedThreadPool(limit,
+                Thread.ofVirtual().name("ellithium-gen-prompt-", 0).factory());
+        // Cases handed to the context and prompt stages ahead of the writer; bounds both stage queues.
+        int window = limit * 2;
+        int generated = 0, resumed = 0, submitted = 0;
         try {
-            Reporter.log("Generating assets for: " + testCase.getTestId() + " — " + testCase.getDescription(), LogLevel.INFO_BLUE);
+            List<CompletableFuture<String>> responses = new ArrayList<>(pending.size());
+            for (int i = 0; i < pending.size(); i++) {
+                while (submitted < pending.size() && submitted < i + window) {
+                    TestCaseSource next = pending.get(submitted++);
+                    String checkpointed = GenerationCheckpoint.load(next);
+                    if (checkpointed != null) {
+                        resumed++;
+                        responses.add(CompletableFuture.completedFuture(checkpointed));
+                    } else {
+                        responses.add(CompletableFuture
+                                .supplyAsync(() -> buildPrompt(next), contextStage)
+                                .thenApplyAsync(userPrompt -> queryStage(next, userPrompt), promptStage));
+                    }
+                }
+                TestCaseSource testCase = pending.get(i);
+                String response;
+                try {
+                    response = responses.get(i).join();
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    Reporter.log("Failed to generate assets for test " + testCase.getTestId()
+                            + ": " + cause.getMessage(), LogLevel.ERROR);
+                    response = null;
+                }
+                if (response == null || response.trim().isEmpty()) {
+                    Reporter.log("LLM returned an empty response for test: " + testCase.getTestId(), LogLevel.ERROR);
+                    Reporter.log("Generation failed for: " + testCase.getTestId()
+                            + " — check prior ERROR logs for the missing field or LLM failure detail",
+                            LogLevel.WARN);
+                    continue;
+                }
+
+                GeneratedAssets assets = parseAndGenerateAssets(response, testCase);
+                GenerationCheckpoint.clear(testCase);
+                if (assets != null) {
+                    TraceabilityManager.saveRecord(new TraceabilityRecord(testCase, assets));
+                    generated++;
+                } else {
+                    Reporter.log("Generation failed for: " + testCase.getTestId()
+                            + " — check prior ERROR logs for the missing field or LLM failure detail",
+                            LogLevel.WARN);
+                }
+            }
+        } finally {
+            contextStage.shutdownNow();
+            promptStage.shutdownNow();
+        }
+        if (resumed > 0) {
+            Reporter.log("EllithiumAIEngine: Resumed " + resumed + " test case(s) from checkpointed LLM responses",
+                    LogLevel.INFO_BLUE);
+        }
+        return generated;
+    }
 
-            // Scrub PII from the description before sending to LLM
-            String safeDescription = DataScrubber.scrub(testCase.getDescription());
+    // ──────────────────────── Test Case Processing ────────────────────────
 
-            // Build user prompt with optional live DOM context
-            String userPrompt = buildUserPrompt(testCase, safeDescription);
+    /**
+     * Context stage: scrubs PII from the description and builds the user prompt.
+     * If the test case has a targetUrl, captures live DOM for grounded generation.
+     */
+    private String buildPrompt(TestCaseSource testCase) {
+        Reporter.log("Generating assets for: " + testCase.getTestId() + " — " + testCase.getDescription(), LogLevel.INFO_BLUE);
 
-            // Query LLM with exponential back-off retry
-            String response = queryWithRetry(llmProvider, SYSTEM_PROMPT, userPrompt, 3);
-            if (response == null || response.trim().isEmpty()) {
-                Reporter.log("LLM returned an empty response for test: " + testCase.getTestId(), LogLevel.ERROR);
-                return null;
-            }
+        // Scrub PII from the description before sending to LLM
+        String safeDescription = DataScrubber.scrub(testCase.getDescription());
 
-            // Parse structured JSON response
-            return parseAndGenerateAssets(response, testCase);
+        // Build user prompt with optional live DOM context
+        return buildUserPrompt(testCase, safeDescription);
+    }
 
-        } catch (Exception e) {
-            Reporter.log("Failed to generate assets for test " + testCase.getTestId()
-                    + ": " + e.getMessage(), LogLevel.ERROR);
-            return null;
-        }
+    /**
+     * Prompt stage: queries the LLM with exponential back-off retry and checkpoints the response.
+     */
+    private String queryStage(TestCaseSource testCase, String userPrompt) {
+        String response = queryWithRetry(llmProvider, SYSTEM_PROMPT, userPrompt, 3);
+        GenerationCheckpoint.save(testCase, response);
+        return response;
     }
 
     /**
@@ -368,6 +450,7 @@ public class EllithiumAIEngine {
     // ──────────────────────── Live DOM Capture ────────────────────────
 
     private static final AtomicReference<WebDriver> DOM_DRIVER = new AtomicReference<>(null);
+    private static final AtomicReference<String> DOM_DRIVER_TARGET = new AtomicReference<>(null);
 
     static {
         Runtime.getRuntime().addShutdownHook(Thread.ofPlatform().name("ellithium-dom-capture-shutdown").unstarted(() -> {
@@ -392,6 +475,7 @@ public class EllithiumAIEngine {
                 "--disable-default-apps"
         );
         opts.setPageLoadStrategy(PageLoadStrategy.EAGER);
+        DOM_DRIVER_TARGET.set(null);
         ChromeDriver d = new ChromeDriver(opts);
         if (!DOM_DRIVER.compareAndSet(null, d)) {
             try { d.quit(); } catch (Exception ignored) {}
@@ -408,17 +492,25 @@ public class EllithiumAIEngine {
                 try {
                     String cur = live.getCurrentUrl();
                     if (cur != null && (cur.equals(url) || cur.startsWith(url))) {
-                        return extractDom(live, url);
+                        return LiveContextCache.getOrCapture(live, () -> extractDom(live, url));
                     }
                 } catch (Exception ignored) {}
             }
 
             WebDriver d = getOrCreateDomDriver();
             if (d == null) return null;
-            d.get(url);
-            return extractDom(d, url);
+            // The grounding browser is never interacted with, so if it is still on the page
+            // loaded for this target and a snapshot exists, skip the re-navigation.
+            boolean stillThere = url.equals(DOM_DRIVER_TARGET.get())
+                    && LiveContextCache.hasSnapshotFor(d.getCurrentUrl());
+            if (!stillThere) {
+                d.get(url);
+                DOM_DRIVER_TARGET.set(url);
+            }
+            return LiveContextCache.getOrCapture(d, () -> extractDom(d, url));
 
         } catch (Exception e) {
+            DOM_DRIVER_TARGET.set(null);
             WebDriver bad = DOM_DRIVER.getAndSet(null);
             if (bad != null) { try { bad.quit(); } catch (Exception ignored) {} }
             Reporter.log("Live DOM Grounding failed for " + url + ": " + e.getMessage()
@@ -121,7 +121,7 @@ public class GeminiProvider implements LLMProvider {
 
             String base64Image = Base64.getEncoder().encodeToString(screenshot);
             JSONObject inlineData = new JSONObject();
-            inlineData.put("mimeType", "image/png");
+            inlineData.put("mimeType", isJpeg(screenshot) ? "image/jpeg" : "image/png");
             inlineData.put("data", base64Image);
             parts.put(new JSONObject().put("inlineData", inlineData));
 
@@ -214,4 +214,12 @@ public class GeminiProvider implements LLMProvider {
         }
         return trimmed;
     }
+
+    /**
+     * Detects JPEG payloads (e.g. the downscaled Vision RCA screenshot) by their SOI marker.
+     */
+    private static boolean isJpeg(byte[] image) {
+        return image != null && image.length > 2
+                && (image[0] & 0xFF) == 0xFF && (image[1] & 0xFF) == 0xD8;
+    }
 }
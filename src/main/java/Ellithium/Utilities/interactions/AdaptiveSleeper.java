@@ -0,0 +1,117 @@
+package Ellithium.Utilities.interactions;
+
+import org.openqa.selenium.support.ui.Sleeper;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Polling schedule for one {@code FluentWait} ({@code adaptivePolling.enabled=true} in config.properties).
+ *
+ * <p>The first polls run at the configured polling interval, and each further poll waits 1.5 times
+ * longer (±20% jitter, so parallel sessions do not poll a grid in lockstep) up to
+ * {@code adaptivePolling.maxIntervalMs}. A condition that holds quickly is still seen quickly; one
+ * that takes seconds costs a handful of commands instead of one every 50 ms.</p>
+ *
+ * <p>With {@code adaptivePolling.learnFromHistory=true} the typical duration of each condition
+ * (its description, which names the locator) is remembered across waits. A wait for a condition
+ * that usually takes a while polls every {@value #MAX_SKIP_STEP_MS} ms up to 75% of that duration,
+ * then at the configured interval again around the expected completion. A wait that succeeds right
+ * after such a step is learned as the previous check's time, so the estimate never drifts above
+ * what was observed.</p>
+ */
+final class AdaptiveSleeper implements Sleeper {
+
+    private static final double GROWTH = 1.5;
+    private static final double JITTER = 0.2;
+    /** Fraction of the expected duration reached in long steps before fast polling resumes. */
+    private static final double APPROACH = 0.75;
+    /** Weight of the newest sample in the moving average of a condition's duration. */
+    private static final double HISTORY_WEIGHT = 0.3;
+    /** Longest pause while skipping ahead, so a condition that holds early is still seen soon after. */
+    static final long MAX_SKIP_STEP_MS = 250;
+    private static final int MAX_HISTORY = 2048;
+
+    private static final Map<String, Long> expectedMillis = new ConcurrentHashMap<>();
+
+    private final long maxIntervalMs;
+    private final boolean learnFromHistory;
+    private String key;
+    private long baseMs;
+    private long timeoutMs;
+    private long startNanos;
+    private long nextMs;
+    private long lastCheckMs;
+    private boolean lastWasSkip;
+
+    AdaptiveSleeper(long maxIntervalMs, boolean learnFromHistory) {
+        this.maxIntervalMs = Math.max(1, maxIntervalMs);
+        this.learnFromHistory = learnFromHistory;
+    }
+
+    /**
+     * Starts the schedule of one wait.
+     * @param condition description of the awaited condition, or {@code null} when it has none worth learning
+     */
+    void begin(String condition, Duration interval, Duration timeout) {
+        key = learnFromHistory && condition != null && !condition.contains("$$Lambda") ? condition : null;
+        baseMs = Math.max(1, interval.toMillis());
+        timeoutMs = timeout.toMillis();
+        nextMs = baseMs;
+        lastCheckMs = 0;
+        lastWasSkip = false;
+        startNanos = System.nanoTime();
+    }
+
+    /** Records how long the wait took; only waits that succeeded say when the condition usually holds. */
+    void finished(boolean succeeded) {
+        finished(succeeded, (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    void finished(boolean succeeded, long elapsedMs) {
+        if (key == null || !succeeded) return;
+        // After a skip step the condition may have held any time since the previous check: learn the earliest.
+        long elapsed = lastWasSkip ? lastCheckMs : elapsedMs;
+        if (expectedMillis.size() >= MAX_HISTORY && !expectedMillis.containsKey(key)) expectedMillis.clear();
+        expectedMillis.merge(key, elapsed,
+                (old, sample) -> Math.round(old * (1 - HISTORY_WEIGHT) + sample * HISTORY_WEIGHT));
+    }
+
+    @Override
+    public void sleep(Duration requested) throws InterruptedException {
+        Thread.sleep(nextDelayMs((System.nanoTime() - startNanos) / 1_000_000));
+    }
+
+    /** Delay before the next poll, {@code elapsedMs} after the wait started. */
+    long nextDelayMs(long elapsedMs) {
+        Long expected = key != null ? expectedMillis.get(key) : null;
+        long capMs = Math.max(maxIntervalMs, baseMs);
+        long delay;
+        lastCheckMs = elapsedMs;
+        lastWasSkip = expected != null && elapsedMs < expected * APPROACH;
+        if (lastWasSkip) {
+            delay = Math.min(MAX_SKIP_STEP_MS, Math.round(expected * APPROACH) - elapsedMs);
+        } else {
+            delay = nextMs;
+            nextMs = Math.min(capMs, Math.max(nextMs + 1, Math.round(nextMs * GROWTH)));
+            if (delay > baseMs) {
+                delay = Math.round(delay * (1 - JITTER + 2 * JITTER * ThreadLocalRandom.current().nextDouble()));
+            }
+        }
+        delay = Math.min(delay, capMs);
+        // Never sleep past the deadline: the last check happens when the timeout is reached.
+        delay = Math.min(delay, timeoutMs - elapsedMs);
+        return Math.max(1, delay);
+    }
+
+    /** Typical duration learned for {@code condition}, or {@code null}. */
+    static Long expectedMillis(String condition) {
+        return expectedMillis.get(condition);
+    }
+
+    static void forgetHistory() {
+        expectedMillis.clear();
+    }
+}
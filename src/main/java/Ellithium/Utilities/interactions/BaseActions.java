@@ -1,5 +1,6 @@
 package Ellithium.Utilities.interactions;
 
+import Ellithium.core.ai.LocatorFieldIndex;
 import Ellithium.core.ai.healing.BaselineStore;
 import Ellithium.core.ai.healing.HealingOrchestrator;
 import Ellithium.core.ai.models.HealingRequest;
@@ -72,7 +73,7 @@ class BaseActions<T extends WebDriver> {
             BaselineStore.capture(driver, locator, element);
             return element;
         } catch (WebDriverException e) {
-            StackTraceElement[] stack = Thread.currentThread().getStackTrace();
+            StackTraceElement[] stack = captureHealingStack();
             HealOutcome outcome = HEALING_PORT.heal(buildHealingRequest(locator, stack));
             if (outcome != null && outcome.element() != null) {
                 return outcome.element();
@@ -91,6 +92,24 @@ class BaseActions<T extends WebDriver> {
                 fieldName, locatorValue, baseline);
     }
 
+    /**
+     * Returns the healed locator cached for {@code locator}, or {@code locator} itself.
+     */
+    By effectiveLocator(By locator) {
+        By effective = HEALING_PORT.getCachedLocator(driver, locator);
+        return effective != null ? effective : locator;
+    }
+
+    /**
+     * Waits for {@code condition} in the page through {@link MutationObserverWait} when the
+     * observer wait engine is selected and the locator can be evaluated there.
+     * @return the condition's value, or {@link MutationObserverWait#NOT_HANDLED} to poll instead
+     * @throws org.openqa.selenium.TimeoutException when the condition did not hold in time
+     */
+    Object observeUntil(By locator, String condition, Object expected, int timeout) {
+        return MutationObserverWait.await(driver, effectiveLocator(locator), condition, expected, timeout);
+    }
+
     /**
      * Waits for an element to be visible, returning it. 
      * If a TimeoutException or InvalidSelectorException occurs, it falls back to findWebElement()
@@ -100,6 +119,9 @@ class BaseActions<T extends WebDriver> {
         By effective = HEALING_PORT.getCachedLocator(driver, locator);
         if (effective == null) effective = locator;
         try {
+            Object observed = MutationObserverWait.await(driver, effective, MutationObserverWait.VISIBLE, null, timeout);
+            if (observed instanceof WebElement element) return element;
+            if (observed != MutationObserverWait.NOT_HANDLED) return driver.findElement(effective);
             WebElement element = getFluentWait(timeout, pollingEvery)
                     .until(ExpectedConditions.visibilityOfElementLocated(effective));
             return element;
@@ -116,11 +138,14 @@ class BaseActions<T extends WebDriver> {
         By effective = HEALING_PORT.getCachedLocator(driver, locator);
         if (effective == null) effective = locator;
         try {
-            getFluentWait(timeout, pollingEvery)
-                    .until(ExpectedConditions.visibilityOfAllElementsLocatedBy(effective));
+            if (MutationObserverWait.await(driver, effective, MutationObserverWait.ALL_VISIBLE, null, timeout)
+                    == MutationObserverWait.NOT_HANDLED) {
+                getFluentWait(timeout, pollingEvery)
+                        .until(ExpectedConditions.visibilityOfAllElementsLocatedBy(effective));
+            }
             return driver.findElements(effective);
         } catch (WebDriverException e) {
-            StackTraceElement[] stack = Thread.currentThread().getStackTrace();
+            StackTraceElement[] stack = captureHealingStack();
             HealOutcome outcome = HEALING_PORT.heal(buildHealingRequest(locator, stack));
             if (outcome != null && outcome.reconstructedLocator() != null) {
                 try {
@@ -143,7 +168,7 @@ class BaseActions<T extends WebDriver> {
         try {
             return driver.findElements(effective);
         } catch (WebDriverException e) {
-            StackTraceElement[] stack = Thread.currentThread().getStackTrace();
+            StackTraceElement[] stack = captureHealingStack();
             HealOutcome outcome = HEALING_PORT.heal(buildHealingRequest(locator, stack));
             if (outcome != null && outcome.reconstructedLocator() != null) {
                 try {
@@ -181,7 +206,7 @@ class BaseActions<T extends WebDriver> {
             } catch (WebDriverException e) {
                 consecutiveFailures++;
                 if (consecutiveFailures >= maxConsecutiveFailures) {
-                    StackTraceElement[] stack = Thread.currentThread().getStackTrace();
+                    StackTraceElement[] stack = captureHealingStack();
                     HealOutcome outcome = HEALING_PORT.heal(buildHealingRequest(locator, stack));
                     if (outcome != null && outcome.reconstructedLocator() != null) {
                         locator = outcome.reconstructedLocator();
@@ -231,7 +256,7 @@ class BaseActions<T extends WebDriver> {
             } catch (WebDriverException e) {
                 consecutiveFailures++;
                 if (consecutiveFailures >= maxConsecutiveFailures) {
-                    StackTraceElement[] stack = Thread.currentThread().getStackTrace();
+                    StackTraceElement[] stack = captureHealingStack();
                     HealOutcome outcome = HEALING_PORT.heal(buildHealingRequest(locator, stack));
                     if (outcome != null && outcome.reconstructedLocator() != null) {
                         locator = outcome.reconstructedLocator();
@@ -299,7 +324,7 @@ class BaseActions<T extends WebDriver> {
             dropDown = new org.openqa.selenium.support.ui.Select(findWebElement(locator));
             options = dropDown.getOptions();
         } catch (WebDriverException e) {
-            StackTraceElement[] stack = Thread.currentThread().getStackTrace();
+            StackTraceElement[] stack = captureHealingStack();
             HealOutcome outcome = HEALING_PORT.heal(buildHealingRequest(locator, stack));
             if (outcome != null && outcome.element() != null) {
                 try {
@@ -374,7 +399,7 @@ class BaseActions<T extends WebDriver> {
             } catch (WebDriverException e) {
                 consecutiveFailures++;
                 if (consecutiveFailures >= maxConsecutiveFailures) {
-                    StackTraceElement[] stack = Thread.currentThread().getStackTrace();
+                    StackTraceElement[] stack = captureHealingStack();
                     HealOutcome outcome = HEALING_PORT.heal(buildHealingRequest(locator, stack));
                     if (outcome != null && outcome.reconstructedLocator() != null) {
                         locator = outcome.reconstructedLocator();
@@ -421,68 +446,50 @@ class BaseActions<T extends WebDriver> {
      */
     private static String extractCallerMethodName(StackTraceElement[] stack) {
         for (StackTraceElement frame : stack) {
-            String cls = frame.getClassName();
-            if (cls.startsWith("Ellithium.") || cls.startsWith("org.openqa.selenium")
-                    || cls.startsWith("java.") || cls.startsWith("sun.")
-                    || cls.startsWith("io.cucumber") || cls.startsWith("io.qameta")
-                    || cls.startsWith("org.testng") || cls.startsWith("net.bytebuddy")) {
-                continue;
-            }
+            if (isFrameworkFrame(frame.getClassName())) continue;
             return frame.getMethodName();
         }
         return "unknown";
     }
 
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
     /**
-     * Attempts to extract the By field name from source code at the call site.
+     * Captures the current stack only as deep as healing needs it: the framework frames (action
+     * type) down to and including the first caller frame (call site, field name, source patch),
+     * however deep runner and proxy frames push it. Cheaper than {@code Thread.getStackTrace()},
+     * which materialises every frame of the test runner.
      */
-    private record CachedSource(long mtime, java.util.List<String> lines) {}
-    private static final java.util.concurrent.ConcurrentHashMap<String, CachedSource> SOURCE_CACHE =
-            new java.util.concurrent.ConcurrentHashMap<>();
+    static StackTraceElement[] captureHealingStack() {
+        return STACK_WALKER.walk(frames -> {
+            List<StackTraceElement> out = new ArrayList<>();
+            java.util.Iterator<StackWalker.StackFrame> it = frames.iterator();
+            while (it.hasNext()) {
+                StackTraceElement frame = it.next().toStackTraceElement();
+                out.add(frame);
+                if (!isFrameworkFrame(frame.getClassName())) break;
+            }
+            return out.toArray(new StackTraceElement[0]);
+        });
+    }
+
+    private static boolean isFrameworkFrame(String cls) {
+        return cls.startsWith("Ellithium.") || cls.startsWith("org.openqa.selenium")
+                || cls.startsWith("java.") || cls.startsWith("jdk.") || cls.startsWith("sun.")
+                || cls.startsWith("io.cucumber") || cls.startsWith("io.qameta")
+                || cls.startsWith("org.testng") || cls.startsWith("net.bytebuddy");
+    }
 
+    /**
+     * Resolves the By field behind {@code locator} for the first caller frame via the parsed
+     * page-object index, instead of re-reading and scanning the caller's source text.
+     */
     private static String extractFieldNameFromStack(StackTraceElement[] stack, By locator) {
         for (StackTraceElement frame : stack) {
-            String cls = frame.getClassName();
-            if (cls.startsWith("Ellithium.") || cls.startsWith("org.openqa.selenium")
-                    || cls.startsWith("java.") || cls.startsWith("sun.")) {
-                continue;
-            }
-            // Resolve source file
-            String classFilePart = cls.replace('.', '/') + ".java";
-            for (String root : new String[]{"src/test/java/", "src/main/java/"}) {
-                String path = root + classFilePart;
-                if (new java.io.File(path).exists()) {
-                    try {
-                        long mtime = new java.io.File(path).lastModified();
-                        CachedSource cached = SOURCE_CACHE.get(path);
-                        if (cached == null || cached.mtime() != mtime) {
-                            cached = new CachedSource(mtime,
-                                    java.nio.file.Files.readAllLines(java.nio.file.Paths.get(path)));
-                            SOURCE_CACHE.put(path, cached);
-                        }
-                        java.util.List<String> lines = cached.lines();
-                        int lineNum = frame.getLineNumber();
-                        if (lineNum >= 1 && lineNum <= lines.size()) {
-                            // Look for By field variable used at call site
-                            String callLine = lines.get(lineNum - 1).trim();
-                            java.util.regex.Matcher m = java.util.regex.Pattern.compile(
-                                    "(?:this\\.)?([a-zA-Z_][a-zA-Z0-9_]*)").matcher(callLine);
-                            while (m.find()) {
-                                String candidate = m.group(1);
-                                // Check if it's declared as a By field above
-                                for (int i = Math.min(lineNum - 2, lines.size() - 1); i >= 0; i--) {
-                                    if (lines.get(i).contains("By " + candidate)
-                                            || lines.get(i).contains("By\t" + candidate)) {
-                                        return candidate;
-                                    }
-                                }
-                            }
-                        }
-                    } catch (Exception ignored) {}
-                    break;
-                }
-            }
-            break; // only check first user frame
+            if (isFrameworkFrame(frame.getClassName())) continue;
+            LocatorFieldIndex.Entry entry =
+                    LocatorFieldIndex.lookup(frame.getClassName(), frame.getLineNumber(), locator);
+            return entry != null ? entry.fieldName() : null;
         }
         return null;
     }
@@ -539,17 +546,29 @@ class BaseActions<T extends WebDriver> {
     }
 
     // ──────────────────────── Stale-element retry helpers ────────────────────────
+    // With the element handle cache enabled, both helpers first try the element the locator last
+    // resolved to in this document, and fall back to the find-and-wait loop below when it fails.
 
     protected static final int  STALE_MAX_RETRIES  = 2;
     protected static final long STALE_RETRY_WAIT_MS = 300L;
 
     void performWithStaleRetry(By locator, int timeout, int polling,
                                          Consumer<WebElement> action) {
+        WebElement cached = ElementHandleCache.get(driver, locator);
+        if (cached != null) {
+            try {
+                action.accept(cached);
+                return;
+            } catch (WebDriverException e) {
+                ElementHandleCache.evict(driver, locator);
+            }
+        }
         WebDriverException lastException = null;
         for (int attempt = 0; attempt <= STALE_MAX_RETRIES; attempt++) {
             try {
                 WebElement el = waitForVisibilityAndFindElement(locator, timeout, polling);
                 action.accept(el);
+                ElementHandleCache.put(driver, locator, el);
                 return;
             } catch (StaleElementReferenceException e) {
                 lastException = e;
@@ -564,7 +583,7 @@ class BaseActions<T extends WebDriver> {
                 break;
             }
         }
-        StackTraceElement[] stack = Thread.currentThread().getStackTrace();
+        StackTraceElement[] stack = captureHealingStack();
         HealOutcome outcome = HEALING_PORT.heal(buildHealingRequest(locator, stack));
         if (outcome != null && outcome.element() != null) {
             try {
@@ -580,11 +599,21 @@ class BaseActions<T extends WebDriver> {
 
     <R> R performAndGet(By locator, int timeout, int polling,
                                    Function<WebElement, R> action) {
+        WebElement cached = ElementHandleCache.get(driver, locator);
+        if (cached != null) {
+            try {
+                return action.apply(cached);
+            } catch (WebDriverException e) {
+                ElementHandleCache.evict(driver, locator);
+            }
+        }
         WebDriverException lastException = null;
         for (int attempt = 0; attempt <= STALE_MAX_RETRIES; attempt++) {
             try {
                 WebElement el = waitForVisibilityAndFindElement(locator, timeout, polling);
-                return action.apply(el);
+                R result = action.apply(el);
+                ElementHandleCache.put(driver, locator, el);
+                return result;
             } catch (StaleElementReferenceException e) {
                 lastException = e;
                 if (attempt < STALE_MAX_RETRIES) {
@@ -598,7 +627,7 @@ class BaseActions<T extends WebDriver> {
                 break;
             }
         }
-        StackTraceElement[] stack = Thread.currentThread().getStackTrace();
+        StackTraceElement[] stack = captureHealingStack();
         HealOutcome outcome = HEALING_PORT.heal(buildHealingRequest(locator, stack));
         if (outcome != null && outcome.element() != null) {
             try {
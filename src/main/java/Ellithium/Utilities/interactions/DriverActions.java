@@ -3,8 +3,12 @@ package Ellithium.Utilities.interactions;
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.ios.IOSDriver;
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Provides a comprehensive, unified set of WebDriver interaction methods with built-in
  * explicit waits, automatic retries, enhanced logging, and cross-platform mobile gesture support.
@@ -139,6 +143,45 @@ public class DriverActions<T extends WebDriver> extends BaseActions<T> {
         return new MouseActions<>(driver);
     }
 
+    /**
+     * Fills whole forms in batched page-script round-trips instead of one find/clear/type per field.
+     *
+     * @return a new {@link FormActions} instance
+     */
+    public FormActions forms() {
+        return new FormActions<>(driver);
+    }
+
+    /**
+     * Fills every field of {@code fields} (locator to text) with default timeout and polling time.
+     * Shortcut for {@code forms().fillForm(fields)}.
+     *
+     * <pre>
+     * Map&lt;By, String&gt; fields = new LinkedHashMap&lt;&gt;();
+     * fields.put(By.id("first-name"), "Ada");
+     * fields.put(By.id("last-name"), "Lovelace");
+     * driverActions.fillForm(fields);
+     * </pre>
+     *
+     * @param fields locators and the text to set, filled in iteration order
+     * @throws org.openqa.selenium.WebDriverException listing every field that could not be filled
+     */
+    public void fillForm(Map<By, String> fields) {
+        forms().fillForm(fields);
+    }
+
+    /**
+     * Fills every field of {@code fields}, typing the {@code typeNatively} ones with real keystrokes.
+     * Shortcut for {@code forms().fillForm(fields, typeNatively)}.
+     *
+     * @param fields locators and the text to set, filled in iteration order
+     * @param typeNatively fields that need real key events (input masks, autocomplete, key handlers)
+     * @throws org.openqa.selenium.WebDriverException listing every field that could not be filled
+     */
+    public void fillForm(Map<By, String> fields, Set<By> typeNatively) {
+        forms().fillForm(fields, typeNatively);
+    }
+
 
 
     /**
@@ -1,14 +1,46 @@
 package Ellithium.Utilities.interactions;
 
+import Ellithium.core.ai.dom.PinnedScripts;
 import Ellithium.core.logging.LogLevel;
 import Ellithium.core.reporting.Reporter;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import java.io.File;
+import java.util.ArrayList;
 import java.util.List;
 
 public class ElementActions<T extends WebDriver> extends BaseActions<T> {
-    
+
+    /** Shared helpers of the bulk readers: WebDriver-style displayedness and visible text. */
+    static final String READ_HELPERS =
+            "function shown(el){if(!el.isConnected)return false;var st=window.getComputedStyle(el);"
+          + " return st.visibility!=='hidden'&&st.display!=='none'&&st.opacity!=='0'"
+          + "&&(el.offsetWidth>0||el.offsetHeight>0||el.getClientRects().length>0);}"
+          + "function text(el){if(!shown(el))return '';var t=el.innerText;if(t==null)t=el.textContent||'';"
+          + " return t.replace(/\\u00a0/g,' ').split('\\n').map(function(l){return l.replace(/[ \\t\\r\\f\\v]+/g,' ').trim();})"
+          + ".join('\\n').replace(/^\\n+|\\n+$/g,'');}";
+
+    /** Reads one value per element: arguments = [elements, mode, name]. */
+    private static final PinnedScripts.Script BULK_READ =
+            PinnedScripts.register("bulkRead", READ_HELPERS
+          + "var els=arguments[0],mode=arguments[1],name=arguments[2],out=[];"
+          + "for(var i=0;i<els.length;i++){var el=els[i],v;"
+          + " if(mode==='text')v=text(el);"
+          + " else if(mode==='attribute')v=el.getAttribute(name);"
+          + " else if(mode==='property'){v=el[name];v=v==null?null:(typeof v==='object'?JSON.stringify(v):String(v));}"
+          + " else if(mode==='css')v=window.getComputedStyle(el).getPropertyValue(name);"
+          + " else v=shown(el);"
+          + " out.push(v);}"
+          + "return out;");
+
+    /** Reads a table's rows as lists of cell texts: arguments = [table]. */
+    private static final PinnedScripts.Script TABLE_READ =
+            PinnedScripts.register("tableRead", READ_HELPERS
+          + "var rows=arguments[0].rows||[],out=[];"
+          + "for(var r=0;r<rows.length;r++){var cells=rows[r].cells,row=[];"
+          + " for(var c=0;c<cells.length;c++)row.push(text(cells[c]));out.push(row);}"
+          + "return out;");
+
     public ElementActions(T driver) {
         super(driver);
     }
@@ -64,6 +96,22 @@ public class ElementActions<T extends WebDriver> extends BaseActions<T> {
      * @return List of text from the elements
      */
     public List<String> getTextFromMultipleElements(By locator, int timeout, int pollingEvery) {
+        Reporter.log("Getting text from multiple elements located: ", LogLevel.INFO_BLUE, locator.toString());
+        List<WebElement> elements = waitForVisibilityAndFindElements(locator, timeout, pollingEvery);
+        return readAllInPage(locator, elements, "text", null, WebElement::getText);
+    }
+
+    /**
+     * Gets the text from multiple elements with one {@code getText()} call per element.
+     * {@link #getTextFromMultipleElements(By, int, int)} reads all elements in a single script using
+     * the rendered text ({@code innerText}, whitespace-normalised like WebDriver); use this variant
+     * where the result must match WebDriver's visible-text algorithm exactly.
+     * @param locator Element locator
+     * @param timeout Maximum wait time in seconds
+     * @param pollingEvery Polling interval in milliseconds
+     * @return List of text from the elements
+     */
+    public List<String> getTextFromMultipleElementsNative(By locator, int timeout, int pollingEvery) {
         Reporter.log("Getting text from multiple elements located: ", LogLevel.INFO_BLUE, locator.toString());
         waitForVisibilityAndFindElements(locator, timeout, pollingEvery);
         return mapElementsSafely(locator, WebElement::getText);
@@ -79,8 +127,8 @@ public class ElementActions<T extends WebDriver> extends BaseActions<T> {
      */
     public List<String> getAttributeFromMultipleElements(By locator, String attribute, int timeout, int pollingEvery) {
         Reporter.log("Getting Attribute from multiple elements located: ", LogLevel.INFO_BLUE, locator.toString());
-        waitForVisibilityAndFindElements(locator, timeout, pollingEvery);
-        return mapElementsSafely(locator, el -> el.getDomAttribute(attribute));
+        List<WebElement> elements = waitForVisibilityAndFindElements(locator, timeout, pollingEvery);
+        return readAllInPage(locator, elements, "attribute", attribute, el -> el.getDomAttribute(attribute));
     }
     /**
      * Gets the value of a property from multiple elements.
@@ -92,8 +140,96 @@ public class ElementActions<T extends WebDriver> extends BaseActions<T> {
      */
     public List<String> getPropertyFromMultipleElements(By locator, String property, int timeout, int pollingEvery) {
         Reporter.log("Getting Property from multiple elements located: ", LogLevel.INFO_BLUE, locator.toString());
-        waitForVisibilityAndFindElements(locator, timeout, pollingEvery);
-        return mapElementsSafely(locator, el -> el.getDomProperty(property));
+        List<WebElement> elements = waitForVisibilityAndFindElements(locator, timeout, pollingEvery);
+        return readAllInPage(locator, elements, "property", property, el -> el.getDomProperty(property));
+    }
+
+    /**
+     * Gets the computed value of a CSS property from multiple elements.
+     * @param locator Element locator
+     * @param cssProperty CSS property name, e.g. {@code color}
+     * @param timeout Maximum wait time in seconds
+     * @param pollingEvery Polling interval in milliseconds
+     * @return List of CSS values from the elements
+     */
+    public List<String> getCssValueFromMultipleElements(By locator, String cssProperty, int timeout, int pollingEvery) {
+        Reporter.log("Getting CSS value: '" + cssProperty + "' from multiple elements located: ", LogLevel.INFO_BLUE, locator.toString());
+        List<WebElement> elements = waitForVisibilityAndFindElements(locator, timeout, pollingEvery);
+        return readAllInPage(locator, elements, "css", cssProperty, el -> el.getCssValue(cssProperty));
+    }
+
+    /**
+     * Gets whether each of multiple elements is displayed. Elements are not waited for, so hidden
+     * ones are reported rather than timed out on.
+     * @param locator Element locator
+     * @return List of displayed flags, one per matched element
+     */
+    public List<Boolean> getDisplayedStateOfMultipleElements(By locator) {
+        Reporter.log("Getting displayed state of multiple elements located: ", LogLevel.INFO_BLUE, locator.toString());
+        List<WebElement> elements = findWebElements(locator);
+        return readAllInPage(locator, elements, "displayed", null, WebElement::isDisplayed);
+    }
+
+    /**
+     * Reads a whole HTML table as a matrix of cell texts in one round-trip: one list per row
+     * (header, body and footer rows in document order), one string per cell. Spanned cells are
+     * not expanded.
+     * @param tableLocator Locator of the {@code <table>} element
+     * @param timeout Maximum wait time in seconds
+     * @param pollingEvery Polling interval in milliseconds
+     * @return Rows of cell texts
+     */
+    public List<List<String>> getTableAsMatrix(By tableLocator, int timeout, int pollingEvery) {
+        Reporter.log("Reading table as matrix: ", LogLevel.INFO_BLUE, tableLocator.toString());
+        if (driver instanceof JavascriptExecutor && !isNativeMobileContext()) {
+            WebElement table = performAndGet(tableLocator, timeout, pollingEvery, el -> el);
+            try {
+                if (PinnedScripts.execute(driver, TABLE_READ, table) instanceof List<?> rows) {
+                    List<List<String>> matrix = new ArrayList<>(rows.size());
+                    for (Object row : rows) {
+                        List<String> cells = new ArrayList<>();
+                        if (row instanceof List<?> list) {
+                            for (Object cell : list) cells.add(cell == null ? null : String.valueOf(cell));
+                        }
+                        matrix.add(cells);
+                    }
+                    return matrix;
+                }
+            } catch (WebDriverException e) {
+                Reporter.log("Table script failed, reading cells one by one: " + e.getMessage(), LogLevel.DEBUG);
+            }
+        }
+        return performAndGet(tableLocator, timeout, pollingEvery, table -> {
+            List<List<String>> matrix = new ArrayList<>();
+            for (WebElement row : table.findElements(By.tagName("tr"))) {
+                List<String> cells = new ArrayList<>();
+                for (WebElement cell : row.findElements(By.xpath("./th|./td"))) cells.add(cell.getText());
+                matrix.add(cells);
+            }
+            return matrix;
+        });
+    }
+
+    /**
+     * Reads a value from every element in one script round-trip, falling back to one native call
+     * per element when scripting is unavailable (native mobile context) or fails (stale elements).
+     */
+    @SuppressWarnings("unchecked")
+    private <R> List<R> readAllInPage(By locator, List<WebElement> elements, String mode, String name,
+                                      java.util.function.Function<WebElement, R> nativeReader) {
+        if (!elements.isEmpty() && driver instanceof JavascriptExecutor && !isNativeMobileContext()) {
+            try {
+                Object result = PinnedScripts.execute(driver, BULK_READ, elements, mode, name);
+                if (result instanceof List<?> values && values.size() == elements.size()) {
+                    List<R> out = new ArrayList<>(values.size());
+                    for (Object v : values) out.add((R) v);
+                    return out;
+                }
+            } catch (WebDriverException e) {
+                Reporter.log("Bulk read script failed, reading elements one by one: " + e.getMessage(), LogLevel.DEBUG);
+            }
+        }
+        return mapElementsSafely(locator, nativeReader);
     }
 
     /**
@@ -271,6 +407,44 @@ public class ElementActions<T extends WebDriver> extends BaseActions<T> {
         return getPropertyFromMultipleElements(locator, property, timeout, WaitManager.getDefaultPollingTime());
     }
 
+    /**
+     * Gets the text from multiple elements with one native call per element, with default timeout and polling time.
+     * @param locator Element locator
+     * @return List of text from the elements
+     */
+    public List<String> getTextFromMultipleElementsNative(By locator) {
+        return getTextFromMultipleElementsNative(locator, WaitManager.getDefaultTimeout(), WaitManager.getDefaultPollingTime());
+    }
+
+    /**
+     * Gets the computed value of a CSS property from multiple elements with default timeout and polling time.
+     * @param locator Element locator
+     * @param cssProperty CSS property name
+     * @return List of CSS values from the elements
+     */
+    public List<String> getCssValueFromMultipleElements(By locator, String cssProperty) {
+        return getCssValueFromMultipleElements(locator, cssProperty, WaitManager.getDefaultTimeout(), WaitManager.getDefaultPollingTime());
+    }
+
+    /**
+     * Reads a whole HTML table as a matrix of cell texts with default timeout and polling time.
+     * @param tableLocator Locator of the {@code <table>} element
+     * @return Rows of cell texts
+     */
+    public List<List<String>> getTableAsMatrix(By tableLocator) {
+        return getTableAsMatrix(tableLocator, WaitManager.getDefaultTimeout(), WaitManager.getDefaultPollingTime());
+    }
+
+    /**
+     * Reads a whole HTML table as a matrix of cell texts with specified timeout.
+     * @param tableLocator Locator of the {@code <table>} element
+     * @param timeout Maximum wait time in seconds
+     * @return Rows of cell texts
+     */
+    public List<List<String>> getTableAsMatrix(By tableLocator, int timeout) {
+        return getTableAsMatrix(tableLocator, timeout, WaitManager.getDefaultPollingTime());
+    }
+
     /**
      * Clicks on multiple elements with default timeout and polling time.
      * @param locator Element locator
@@ -0,0 +1,137 @@
+package Ellithium.Utilities.interactions;
+
+import Ellithium.config.management.ConfigContext;
+import Ellithium.core.logging.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers the element each locator resolved to, so consecutive actions on one element
+ * (click, then getText, then getAttribute) locate it once ({@code elementCache.enabled=true} in
+ * config.properties).
+ *
+ * <p>Entries are kept per driver and per document: navigation, refresh, history moves and frame or
+ * window switches on the calling thread start a new document generation and drop them. A cached
+ * element that went stale or cannot be used for any other reason is evicted, and the action runs
+ * again on the regular find-and-wait path, so a click that navigated or a re-rendered component
+ * costs one failed command rather than a failed step.</p>
+ *
+ * <p>Actions on a cached element skip the visibility wait. Reads such as {@code getText} on an
+ * element that was hidden after it was cached return what the browser reports for a hidden
+ * element instead of waiting for it to show again.</p>
+ */
+public final class ElementHandleCache {
+
+    private static final int MAX_ENTRIES_PER_DRIVER = 64;
+
+    private record Cached(WebElement element, long generation) {}
+
+    private static final Map<WebDriver, Map<By, Cached>> entries = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final ThreadLocal<long[]> generation = ThreadLocal.withInitial(() -> new long[1]);
+
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static final LongAdder recoveries = new LongAdder();
+
+    private static volatile Boolean enabled;
+
+    private ElementHandleCache() {}
+
+    /**
+     * Starts a new document generation on the calling thread: elements cached before it are not
+     * reused. Called for navigation and frame or window switches.
+     */
+    public static void documentChanged() {
+        generation.get()[0]++;
+    }
+
+    static boolean isEnabled() {
+        Boolean value = enabled;
+        if (value == null) {
+            value = false;
+            try {
+                String configPath = ConfigContext.getConfigFilePath();
+                if (configPath != null) {
+                    value = WaitManager.readProperty(configPath, "elementCache.enabled", "false").equalsIgnoreCase("true");
+                }
+            } catch (Exception e) {
+                Logger.logException(e);
+            }
+            enabled = value;
+        }
+        return value;
+    }
+
+    static void setEnabled(Boolean value) {
+        enabled = value;
+    }
+
+    /** The element cached for {@code locator} in the current document, or {@code null}. */
+    static WebElement get(WebDriver driver, By locator) {
+        if (!isEnabled()) return null;
+        Cached entry;
+        synchronized (entries) {
+            Map<By, Cached> cached = entries.get(driver);
+            entry = cached != null ? cached.get(locator) : null;
+            if (entry != null && entry.generation() != generation.get()[0]) {
+                cached.remove(locator);
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.element();
+    }
+
+    static void put(WebDriver driver, By locator, WebElement element) {
+        if (!isEnabled() || element == null) return;
+        synchronized (entries) {
+            entries.computeIfAbsent(driver, d -> new LinkedHashMap<By, Cached>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<By, Cached> eldest) {
+                    return size() > MAX_ENTRIES_PER_DRIVER;
+                }
+            }).put(locator, new Cached(element, generation.get()[0]));
+        }
+    }
+
+    /** Drops the cached element after it failed; the action is then retried on the regular path. */
+    static void evict(WebDriver driver, By locator) {
+        recoveries.increment();
+        synchronized (entries) {
+            Map<By, Cached> cached = entries.get(driver);
+            if (cached != null) cached.remove(locator);
+        }
+    }
+
+    static void clear() {
+        entries.clear();
+        hits.reset();
+        misses.reset();
+        recoveries.reset();
+    }
+
+    /**
+     * Cache use for the execution summary, or {@code null} when the cache is disabled or unused.
+     * Every hit that did not need re-locating is a {@code findElement} (plus visibility wait) not sent.
+     */
+    public static String getStatistics() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        if (hitCount + missCount == 0) return null;
+        long recovered = recoveries.sum();
+        return "Element handle cache: " + hitCount + " of " + (hitCount + missCount) + " lookups reused a located element ("
+                + Math.max(0, hitCount - recovered) + " find commands saved), " + recovered
+                + " stale or unusable handles re-located";
+    }
+}
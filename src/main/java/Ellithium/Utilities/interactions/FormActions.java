@@ -0,0 +1,265 @@
+package Ellithium.Utilities.interactions;
+
+import Ellithium.core.ai.dom.PinnedScripts;
+import Ellithium.core.logging.LogLevel;
+import Ellithium.core.reporting.Reporter;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Fills many form fields in one go.
+ *
+ * <p>Instead of a find + wait + clear + sendKeys sequence per field, all fields are resolved,
+ * checked for visibility and enabled state, and set by a single injected script that uses the
+ * native value setters and dispatches bubbling {@code input} and {@code change} events, so
+ * framework-bound forms (React, Angular, Vue) see the new values. Fields that are not ready yet
+ * are retried with the given polling interval until the timeout; a 20-field form normally takes
+ * one round-trip.</p>
+ *
+ * <p>Fields fall back to the regular {@code sendData} path (real keystrokes, explicit waits, AI
+ * self-healing) when they are listed as needing real keystrokes, when the page script cannot set
+ * them (file inputs, custom widgets), or when they are still missing at the timeout. Every field
+ * that could not be filled is reported, and the call then fails with all of them listed.</p>
+ */
+public class FormActions<T extends WebDriver> extends BaseActions<T> {
+
+    private static final PinnedScripts.Script FILL = PinnedScripts.register("formFill",
+            "var specs=arguments[0],out=[];"
+          + "function find(s){if(s.e)return s.e;"
+          + " if(s.u==='xpath')return document.evaluate(s.v,document,null,9,null).singleNodeValue;"
+          + " return document.querySelector(s.v);}"
+          + "function visible(el){if(!el.isConnected)return false;var st=window.getComputedStyle(el);"
+          + " return st.visibility!=='hidden'&&st.display!=='none'"
+          + "&&(el.offsetWidth>0||el.offsetHeight>0||el.getClientRects().length>0);}"
+          + "function setValue(el,v){var p=el instanceof HTMLTextAreaElement?HTMLTextAreaElement.prototype"
+          + ":HTMLInputElement.prototype;var d=Object.getOwnPropertyDescriptor(p,'value');"
+          + " if(d&&d.set)d.set.call(el,v);else el.value=v;}"
+          + "function fire(el,t){el.dispatchEvent(new Event(t,{bubbles:true}));}"
+          + "for(var i=0;i<specs.length;i++){var s=specs[i];try{"
+          + " var el=find(s);if(!el){out.push('missing');continue;}"
+          + " if(!visible(el)){out.push('hidden');continue;}"
+          + " if(el.disabled||el.readOnly){out.push('disabled');continue;}"
+          + " var tag=el.tagName.toLowerCase(),type=(el.type||'').toLowerCase(),v=s.t;"
+          + " if(tag==='input'&&(type==='checkbox'||type==='radio')){"
+          + "  if(el.checked!==/^(true|on|yes|checked|1)$/i.test(v))el.click();out.push('ok');continue;}"
+          + " if(tag==='select'){var m=null;for(var j=0;j<el.options.length;j++){var o=el.options[j];"
+          + "  if(o.value===v||o.text.trim()===v){m=o;break;}}"
+          + "  if(!m){out.push('error:no option \"'+v+'\"');continue;}el.focus();el.value=m.value;}"
+          + " else if(el.isContentEditable){el.focus();el.textContent=v;}"
+          + " else if((tag==='input'&&type!=='file')||tag==='textarea'){el.focus();setValue(el,v);}"
+          + " else{out.push('native');continue;}"
+          + " fire(el,'input');fire(el,'change');el.blur();out.push('ok');"
+          + "}catch(e){out.push('error:'+(e&&e.message?e.message:e));}}"
+          + "return out;");
+
+    public FormActions(T driver) {
+        super(driver);
+    }
+
+    /**
+     * Fills every field of {@code fields} (locator to text) in page-script round-trips, falling
+     * back to real keystrokes where needed.
+     * @param fields locators and the text to set, filled in iteration order
+     * @param typeNatively fields that must receive real keystrokes (key handlers, masks, autocomplete)
+     * @param timeout Maximum wait time in seconds for the fields to become ready
+     * @param pollingEvery Polling interval in milliseconds
+     * @throws WebDriverException listing every field that could not be filled
+     */
+    public void fillForm(Map<By, String> fields, Set<By> typeNatively, int timeout, int pollingEvery) {
+        if (fields == null || fields.isEmpty()) return;
+        Reporter.log("Filling form fields: ", LogLevel.INFO_BLUE, fields.size() + " fields");
+        Map<By, String> scripted = new LinkedHashMap<>();
+        Map<By, String> typed = new LinkedHashMap<>();
+        boolean scriptable = driver instanceof JavascriptExecutor && !isNativeMobileContext();
+        for (Map.Entry<By, String> field : fields.entrySet()) {
+            String text = field.getValue() != null ? field.getValue() : "";
+            if (scriptable && (typeNatively == null || !typeNatively.contains(field.getKey()))) {
+                scripted.put(field.getKey(), text);
+            } else {
+                typed.put(field.getKey(), text);
+            }
+        }
+
+        Map<By, String> failures = new LinkedHashMap<>();
+        Map<By, String> notReady = fillInPage(scripted, typed, failures, timeout, pollingEvery);
+        typed.putAll(notReady);
+        for (Map.Entry<By, String> field : typed.entrySet()) {
+            By locator = field.getKey();
+            // Fields the page script already waited for get no second full timeout.
+            int fieldTimeout = notReady.containsKey(locator) ? 0 : timeout;
+            try {
+                performWithStaleRetry(locator, fieldTimeout, pollingEvery,
+                        el -> { el.clear(); el.sendKeys(field.getValue()); });
+            } catch (WebDriverException e) {
+                String reason = notReady.containsKey(locator) ? "not ready after " + timeout + "s, then " : "";
+                failures.put(locator, reason + firstLine(e.getMessage()));
+            }
+        }
+
+        int byScript = 0;
+        for (By locator : scripted.keySet()) {
+            if (!typed.containsKey(locator) && !failures.containsKey(locator)) byScript++;
+        }
+        int filled = fields.size() - failures.size();
+        Reporter.log("Filled form fields: ", LogLevel.INFO_BLUE, filled + "/" + fields.size()
+                + " (" + byScript + " by page script, " + (filled - byScript) + " typed)");
+        if (!failures.isEmpty()) {
+            for (Map.Entry<By, String> failure : failures.entrySet()) {
+                Reporter.log("Form field not filled: " + failure.getKey() + " - " + failure.getValue(), LogLevel.ERROR);
+            }
+            throw new WebDriverException("fillForm failed for " + failures.size() + " of " + fields.size()
+                    + " fields: " + failures);
+        }
+    }
+
+    /**
+     * Fills every field of {@code fields}, typing the {@code typeNatively} ones with real keystrokes.
+     * @param fields locators and the text to set
+     * @param typeNatively fields that must receive real keystrokes
+     */
+    public void fillForm(Map<By, String> fields, Set<By> typeNatively) {
+        fillForm(fields, typeNatively, WaitManager.getDefaultTimeout(), WaitManager.getDefaultPollingTime());
+    }
+
+    /**
+     * Fills every field of {@code fields} with specified timeout and polling interval.
+     * @param fields locators and the text to set
+     * @param timeout Maximum wait time in seconds
+     * @param pollingEvery Polling interval in milliseconds
+     */
+    public void fillForm(Map<By, String> fields, int timeout, int pollingEvery) {
+        fillForm(fields, Set.of(), timeout, pollingEvery);
+    }
+
+    /**
+     * Fills every field of {@code fields} with specified timeout.
+     * @param fields locators and the text to set
+     * @param timeout Maximum wait time in seconds
+     */
+    public void fillForm(Map<By, String> fields, int timeout) {
+        fillForm(fields, Set.of(), timeout, WaitManager.getDefaultPollingTime());
+    }
+
+    /**
+     * Fills every field of {@code fields} with default timeout and polling time.
+     * @param fields locators and the text to set
+     */
+    public void fillForm(Map<By, String> fields) {
+        fillForm(fields, Set.of(), WaitManager.getDefaultTimeout(), WaitManager.getDefaultPollingTime());
+    }
+
+    // ──────────────────────── Page-script filling ────────────────────────
+
+    /**
+     * Sets {@code scripted} fields through the page script until all are set or the timeout
+     * passes. Fields the script hands back for real typing are moved to {@code typed}; hard
+     * failures go to {@code failures}.
+     * @return fields still not ready at the timeout, with their last status
+     */
+    private Map<By, String> fillInPage(Map<By, String> scripted, Map<By, String> typed,
+                                       Map<By, String> failures, int timeout, int pollingEvery) {
+        Map<By, String> pending = new LinkedHashMap<>(scripted);
+        Map<By, String> lastStatus = new HashMap<>();
+        long deadline = System.currentTimeMillis() + timeout * 1000L;
+        while (!pending.isEmpty()) {
+            List<By> locators = new ArrayList<>();
+            List<Map<String, Object>> specs = new ArrayList<>();
+            for (Map.Entry<By, String> field : pending.entrySet()) {
+                Map<String, Object> spec = specOf(field.getKey(), field.getValue());
+                if (spec == null) {
+                    typed.put(field.getKey(), field.getValue());
+                    continue;
+                }
+                locators.add(field.getKey());
+                specs.add(spec);
+            }
+            pending.keySet().retainAll(locators);
+            if (specs.isEmpty()) break;
+
+            List<?> statuses;
+            try {
+                Object result = PinnedScripts.execute(driver, FILL, specs);
+                statuses = result instanceof List<?> list && list.size() == specs.size() ? list : null;
+            } catch (WebDriverException e) {
+                Reporter.log("fillForm page script unavailable, typing remaining fields: " + firstLine(e.getMessage()),
+                        LogLevel.WARN);
+                statuses = null;
+            }
+            if (statuses == null) {
+                typed.putAll(pending);
+                return Map.of();
+            }
+
+            for (int i = 0; i < locators.size(); i++) {
+                By locator = locators.get(i);
+                String status = String.valueOf(statuses.get(i));
+                if (status.equals("ok")) {
+                    pending.remove(locator);
+                } else if (status.equals("native")) {
+                    typed.put(locator, pending.remove(locator));
+                } else if (status.startsWith("error:")) {
+                    failures.put(locator, status.substring("error:".length()));
+                    pending.remove(locator);
+                } else {
+                    lastStatus.put(locator, status);
+                }
+            }
+            if (pending.isEmpty() || System.currentTimeMillis() >= deadline) break;
+            try {
+                Thread.sleep(Math.max(1, pollingEvery));
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for form fields", ie);
+            }
+        }
+        Map<By, String> notReady = new LinkedHashMap<>();
+        for (Map.Entry<By, String> field : pending.entrySet()) {
+            notReady.put(field.getKey(), field.getValue());
+            Reporter.log("Form field " + field.getKey() + " still " + lastStatus.getOrDefault(field.getKey(), "not ready")
+                    + " after " + timeout + "s, falling back to typing", LogLevel.WARN);
+        }
+        return notReady;
+    }
+
+    /**
+     * Script argument for one field: CSS selector or XPath the page can resolve itself, or the
+     * element located here for locator types the page cannot evaluate (link text, chained,
+     * relative and custom locators). Returns {@code null} when such an element is not present yet,
+     * leaving it to the typing path, which waits and heals.
+     */
+    private Map<String, Object> specOf(By locator, String text) {
+        By effective = effectiveLocator(locator);
+        Map<String, Object> spec = new HashMap<>();
+        spec.put("t", text);
+        if (effective instanceof By.Remotable remotable) {
+            By.Remotable.Parameters params = remotable.getRemoteParameters();
+            String using = params.using();
+            if (using.equals("css selector") || using.equals("tag name") || using.equals("xpath")) {
+                spec.put("u", using);
+                spec.put("v", String.valueOf(params.value()));
+                return spec;
+            }
+        }
+        try {
+            spec.put("e", driver.findElement(effective));
+            return spec;
+        } catch (WebDriverException e) {
+            return null;
+        }
+    }
+
+    private static String firstLine(String message) {
+        if (message == null) return "unknown error";
+        int nl = message.indexOf('\n');
+        return nl >= 0 ? message.substring(0, nl) : message;
+    }
+}
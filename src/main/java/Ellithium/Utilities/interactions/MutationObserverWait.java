@@ -0,0 +1,180 @@
+package Ellithium.Utilities.interactions;
+
+import Ellithium.core.ai.dom.PinnedScripts;
+import Ellithium.core.logging.LogLevel;
+import Ellithium.core.reporting.Reporter;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Event-driven engine for DOM-based waits ({@code waitEngine=observer} in config.properties).
+ *
+ * <p>Instead of re-evaluating a condition over WebDriver every polling interval, one
+ * {@code executeAsyncScript} checks the condition in the page, then re-checks it on every DOM
+ * mutation (plus a 200 ms backstop for changes that are not mutations, such as stylesheets or
+ * transitions) and calls back as soon as it holds or the time is up. A wait that succeeds within
+ * the session's script timeout costs one round-trip; longer waits are split into slices.</p>
+ *
+ * <p>Supported conditions are evaluated with the same semantics as their {@code ExpectedConditions}
+ * counterparts on the first matching element. Locators the page cannot evaluate (link text,
+ * chained, relative), native mobile contexts, non-JavaScript drivers and pages where the script
+ * keeps failing report {@link #NOT_HANDLED}, and the caller falls back to polling.</p>
+ */
+final class MutationObserverWait {
+
+    static final String PRESENT            = "present";
+    static final String VISIBLE            = "visible";
+    static final String ALL_VISIBLE        = "allVisible";
+    static final String INVISIBLE          = "invisible";
+    static final String TEXT               = "text";
+    static final String VALUE_TEXT         = "value";
+    static final String ATTRIBUTE_IS       = "attributeIs";
+    static final String ATTRIBUTE_CONTAINS = "attributeContains";
+    static final String COUNT_MORE         = "countMore";
+    static final String COUNT_LESS         = "countLess";
+    static final String COUNT_IS           = "countIs";
+
+    /** Returned when the wait was not run here; the caller polls instead. */
+    static final Object NOT_HANDLED = new Object();
+
+    private static final long DEFAULT_SCRIPT_TIMEOUT_MS = 30_000;
+    /** Kept between the in-page timeout and the session's script timeout. */
+    private static final long SCRIPT_TIMEOUT_MARGIN_MS = 1_000;
+    private static final int MAX_SCRIPT_FAILURES = 3;
+
+    private static final PinnedScripts.Script OBSERVE = PinnedScripts.register("observeCondition",
+            ElementActions.READ_HELPERS
+          + "var spec=arguments[0],cond=arguments[1],exp=arguments[2],ms=arguments[3],done=arguments[arguments.length-1];"
+          + "function all(){if(spec.u==='xpath'){var r=document.evaluate(spec.v,document,null,7,null),a=[];"
+          + " for(var i=0;i<r.snapshotLength;i++)a.push(r.snapshotItem(i));return a;}"
+          + " return Array.prototype.slice.call(document.querySelectorAll(spec.v));}"
+          + "function check(){var els=all(),el=els[0];switch(cond){"
+          + " case 'present':return el||null;"
+          + " case 'visible':return el&&shown(el)?el:null;"
+          + " case 'allVisible':return els.length>0&&els.every(shown)?els.length:null;"
+          + " case 'invisible':return !el||!shown(el)?true:null;"
+          + " case 'text':return el&&text(el).indexOf(exp)>=0?el:null;"
+          + " case 'value':var v=el&&el.value;return v!=null&&String(v).indexOf(exp)>=0?true:null;"
+          + " case 'attributeIs':case 'attributeContains':if(!el)return null;"
+          + "  var a=el.getAttribute(exp[0]);if(a==null)a=window.getComputedStyle(el).getPropertyValue(exp[0]);"
+          + "  if(a==null)return null;return (cond==='attributeIs'?a===exp[1]:a.indexOf(exp[1])>=0)?true:null;"
+          + " case 'countMore':return els.length>exp?els.length:null;"
+          + " case 'countLess':return els.length<exp?els.length:null;"
+          + " case 'countIs':return els.length===exp?els.length:null;}"
+          + " return null;}"
+          + "var first=check();if(first!==null){done({ok:first});return;}"
+          + "var finished=false,obs,iv,t;"
+          + "function finish(v){if(finished)return;finished=true;if(obs)obs.disconnect();clearInterval(iv);clearTimeout(t);done(v);}"
+          + "function tick(){if(finished)return;try{var r=check();if(r!==null)finish({ok:r});}catch(e){finish({error:String(e)});}}"
+          + "obs=new MutationObserver(tick);"
+          + "obs.observe(document.documentElement||document,{subtree:true,childList:true,attributes:true,characterData:true});"
+          + "iv=setInterval(tick,200);t=setTimeout(function(){finish({timeout:true});},ms);");
+
+    private static final Map<WebDriver, Long> scriptTimeouts = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private MutationObserverWait() {}
+
+    /**
+     * Whether {@code locator} on {@code driver} can be waited for in the page: the observer engine
+     * is selected, the driver runs JavaScript and the locator is a CSS selector or XPath.
+     * @return the locator's in-page spec, or {@code null} to poll
+     */
+    static Map<String, Object> specOf(WebDriver driver, By locator) {
+        if (!WaitManager.ENGINE_OBSERVER.equals(WaitManager.getWaitEngine())) return null;
+        if (!(driver instanceof JavascriptExecutor) || isNativeMobileContext(driver)) return null;
+        if (!(locator instanceof By.Remotable remotable)) return null;
+        By.Remotable.Parameters params = remotable.getRemoteParameters();
+        String using = params.using();
+        if (!using.equals("css selector") && !using.equals("tag name") && !using.equals("xpath")) return null;
+        return Map.of("u", using.equals("xpath") ? "xpath" : "css", "v", String.valueOf(params.value()));
+    }
+
+    /**
+     * Waits in the page until {@code condition} holds for {@code locator}.
+     * @param expected condition argument: text, {@code [attribute, value]} or an element count
+     * @return the condition's value (element, {@code true} or element count), or {@link #NOT_HANDLED}
+     * @throws TimeoutException when the condition did not hold within {@code timeoutSeconds}
+     */
+    static Object await(WebDriver driver, By locator, String condition, Object expected, int timeoutSeconds) {
+        Map<String, Object> spec = specOf(driver, locator);
+        if (spec == null) return NOT_HANDLED;
+        long start = System.nanoTime();
+        long deadline = System.currentTimeMillis() + timeoutSeconds * 1000L;
+        long slice = Math.max(1_000, scriptTimeoutMs(driver) - SCRIPT_TIMEOUT_MARGIN_MS);
+        int scripts = 0;
+        int failures = 0;
+        try {
+            while (true) {
+                long remaining = Math.max(0, deadline - System.currentTimeMillis());
+                Object result;
+                try {
+                    scripts++;
+                    result = PinnedScripts.executeAsync(driver, OBSERVE, spec, condition, expected, Math.min(remaining, slice));
+                } catch (WebDriverException e) {
+                    // Navigation or a document swap interrupted the script; the new document is checked next.
+                    if (++failures >= MAX_SCRIPT_FAILURES || System.currentTimeMillis() >= deadline) {
+                        Reporter.log("Observer wait unavailable for " + locator + ", polling instead: "
+                                + firstLine(e.getMessage()), LogLevel.DEBUG);
+                        return NOT_HANDLED;
+                    }
+                    continue;
+                }
+                if (result instanceof Map<?, ?> outcome) {
+                    if (outcome.containsKey("ok")) return outcome.get("ok");
+                    if (outcome.containsKey("error")) {
+                        Reporter.log("Observer wait failed for " + locator + ", polling instead: " + outcome.get("error"),
+                                LogLevel.DEBUG);
+                        return NOT_HANDLED;
+                    }
+                }
+                if (System.currentTimeMillis() >= deadline) {
+                    throw new TimeoutException("Expected condition failed: waiting for " + condition
+                            + (expected != null ? " " + expected : "") + " of " + locator
+                            + " (observed for " + timeoutSeconds + " s)");
+                }
+            }
+        } finally {
+            WaitManager.recordWait(WaitManager.ENGINE_OBSERVER, scripts, System.nanoTime() - start);
+        }
+    }
+
+    /** The session's script timeout, read once per driver. */
+    private static long scriptTimeoutMs(WebDriver driver) {
+        synchronized (scriptTimeouts) {
+            Long cached = scriptTimeouts.get(driver);
+            if (cached != null) return cached;
+            long ms = DEFAULT_SCRIPT_TIMEOUT_MS;
+            try {
+                java.time.Duration timeout = driver.manage().timeouts().getScriptTimeout();
+                if (timeout != null && !timeout.isNegative()) ms = timeout.toMillis();
+            } catch (Exception ignored) {
+                // remote ends without GET /timeouts keep the W3C default
+            }
+            scriptTimeouts.put(driver, ms);
+            return ms;
+        }
+    }
+
+    private static boolean isNativeMobileContext(WebDriver driver) {
+        if (!(driver instanceof io.appium.java_client.remote.SupportsContextSwitching ctxAware)) return false;
+        try {
+            String ctx = ctxAware.getContext();
+            return ctx == null || ctx.toUpperCase(java.util.Locale.ROOT).contains("NATIVE");
+        } catch (Exception e) {
+            return true;
+        }
+    }
+
+    private static String firstLine(String message) {
+        if (message == null) return "unknown error";
+        int nl = message.indexOf('\n');
+        return nl >= 0 ? message.substring(0, nl) : message;
+    }
+}
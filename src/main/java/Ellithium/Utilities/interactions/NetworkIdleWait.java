@@ -0,0 +1,253 @@
+package Ellithium.Utilities.interactions;
+
+import Ellithium.config.management.ConfigContext;
+import Ellithium.core.ai.dom.PinnedScripts;
+import Ellithium.core.logging.LogLevel;
+import Ellithium.core.logging.Logger;
+import Ellithium.core.reporting.Reporter;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.idealized.target.model.SessionID;
+import org.openqa.selenium.json.Json;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Waits until the page's fetch/XHR traffic settles: at most {@code maxInflight} requests in flight
+ * for an uninterrupted {@code quietWindowMs}.
+ *
+ * <p>On Chromium the requests are followed through CDP {@code Network} events on a DevTools
+ * session opened for the current window on the first network-idle wait; checking the count then
+ * costs no WebDriver command. The driver's DevTools connection is shared (screen recording and user
+ * listeners run on it), so a session opened by anyone else is never replaced and its listeners are
+ * never cleared: waits in another window, or after another client opened the session, fall back to
+ * the page counter. Elsewhere, or when DevTools is unavailable, {@code fetch} and
+ * {@code XMLHttpRequest.send} are wrapped in each document by an injected counter that is read once
+ * per polling interval. Either way, requests started before the tracking was installed are not
+ * seen, so the first wait after a navigation on non-Chromium browsers only covers traffic started
+ * after it.</p>
+ */
+final class NetworkIdleWait {
+
+    private static final int DEFAULT_QUIET_WINDOW_MS = 500;
+    private static final int DEFAULT_MAX_INFLIGHT    = 0;
+
+    /** Request types the CDP tracker counts, matching what the injected counter sees. */
+    private static final Set<String> TRACKED_TYPES = Set.of("XHR", "Fetch");
+
+    private static final PinnedScripts.Script COUNTER = PinnedScripts.register("networkCounter",
+            "var w=window,s=w.__ellNet;"
+          + "if(!s){s=w.__ellNet={n:0,t:Date.now()};"
+          + " var start=function(){s.n++;s.t=Date.now();},end=function(){s.n=Math.max(0,s.n-1);s.t=Date.now();};"
+          + " if(w.fetch){var f=w.fetch;w.fetch=function(){start();var p;"
+          + "  try{p=f.apply(this,arguments);}catch(e){end();throw e;}"
+          + "  return p.then(function(r){end();return r;},function(e){end();throw e;});};}"
+          + " if(w.XMLHttpRequest){var send=w.XMLHttpRequest.prototype.send;"
+          + "  w.XMLHttpRequest.prototype.send=function(){var x=this,done=false;start();"
+          + "   x.addEventListener('loadend',function(){if(!done){done=true;end();}});"
+          + "   try{return send.apply(x,arguments);}catch(e){if(!done){done=true;end();}throw e;}};}}"
+          + "return [s.n,Date.now()-s.t];");
+
+    /** Per-driver CDP tracker of the window its session was opened for; {@link #NO_CDP} when the driver has no DevTools. */
+    private static final Map<WebDriver, CdpTracker> trackers = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final CdpTracker NO_CDP = new CdpTracker();
+
+    private static volatile int[] defaults;
+
+    private NetworkIdleWait() {}
+
+    /** Requests in flight, and milliseconds since that number last changed. */
+    record Activity(int inflight, long idleMs) {}
+
+    /**
+     * Blocks until at most {@code maxInflight} requests have been in flight for {@code quietWindowMs}.
+     * @throws TimeoutException when the traffic did not settle within {@code timeoutSeconds}
+     */
+    static void await(WebDriver driver, int quietWindowMs, int maxInflight, int timeoutSeconds, int pollingEvery) {
+        long deadline = System.currentTimeMillis() + timeoutSeconds * 1000L;
+        CdpTracker tracker = trackerOf(driver);
+        Long quietSince = null;
+        Activity last = null;
+        while (true) {
+            long now = System.currentTimeMillis();
+            last = sample(driver, tracker);
+            if (last == null || last.inflight() > maxInflight) {
+                quietSince = null;
+            } else {
+                // The count has not changed for idleMs, so it has been within the limit at least that long.
+                long candidate = now - last.idleMs();
+                quietSince = quietSince == null ? candidate : Math.min(quietSince, candidate);
+                if (now - quietSince >= quietWindowMs) return;
+            }
+            if (now >= deadline) {
+                throw new TimeoutException("Network did not become idle within " + timeoutSeconds + " s: "
+                        + (last != null ? last.inflight() + " request(s) in flight" : "request count unavailable")
+                        + " (quiet window " + quietWindowMs + " ms, max in flight " + maxInflight + ")");
+            }
+            long sleep = quietSince != null ? Math.min(pollingEvery, quietWindowMs - (now - quietSince)) : pollingEvery;
+            try {
+                Thread.sleep(Math.max(1, Math.min(sleep, deadline - now)));
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for network idle", ie);
+            }
+        }
+    }
+
+    /** Current activity, or {@code null} when it could not be read (page navigating). */
+    static Activity sample(WebDriver driver) {
+        return sample(driver, trackerOf(driver));
+    }
+
+    private static Activity sample(WebDriver driver, CdpTracker tracker) {
+        if (tracker != NO_CDP) return tracker.activity();
+        if (!(driver instanceof JavascriptExecutor)) {
+            throw new WebDriverException("Network idle waits need a driver that supports JavaScript or DevTools");
+        }
+        try {
+            Object result = PinnedScripts.execute(driver, COUNTER);
+            if (result instanceof java.util.List<?> values && values.size() == 2
+                    && values.get(0) instanceof Number n && values.get(1) instanceof Number idle) {
+                return new Activity(n.intValue(), idle.longValue());
+            }
+        } catch (WebDriverException e) {
+            Reporter.log("Network counter unavailable: " + e.getMessage(), LogLevel.DEBUG);
+        }
+        return null;
+    }
+
+    /** Quiet window and max in-flight defaults from the {@code networkIdle.*} keys of config.properties. */
+    static int[] defaults() {
+        int[] values = defaults;
+        if (values == null) {
+            values = new int[]{DEFAULT_QUIET_WINDOW_MS, DEFAULT_MAX_INFLIGHT};
+            try {
+                String configPath = ConfigContext.getConfigFilePath();
+                if (configPath != null) {
+                    values[0] = parse(WaitManager.readProperty(configPath, "networkIdle.quietWindowMs", ""), values[0]);
+                    values[1] = parse(WaitManager.readProperty(configPath, "networkIdle.maxInflight", ""), values[1]);
+                }
+            } catch (Exception e) {
+                Logger.logException(e);
+            }
+            defaults = values;
+        }
+        return values;
+    }
+
+    private static int parse(String value, int defaultValue) {
+        try {
+            return value.isEmpty() ? defaultValue : Math.max(0, Integer.parseInt(value));
+        } catch (NumberFormatException e) {
+            Logger.warn("Invalid network idle setting: " + value + ". Using default: " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    // ──────────────────────── CDP tracking ────────────────────────
+
+    /**
+     * The tracker for the driver's current window, attaching one when the driver has no DevTools
+     * session yet; {@link #NO_CDP} (count in the page) in any other window or session.
+     */
+    private static CdpTracker trackerOf(WebDriver driver) {
+        synchronized (trackers) {
+            CdpTracker tracker = trackers.get(driver);
+            if (tracker == NO_CDP) return NO_CDP;
+            if (!(PinnedScripts.unwrap(driver) instanceof HasDevTools hasDevTools)) {
+                trackers.put(driver, NO_CDP);
+                return NO_CDP;
+            }
+            String windowHandle;
+            try {
+                windowHandle = driver.getWindowHandle();
+            } catch (WebDriverException e) {
+                // No current window (closed, or the session is switching): count in the page for now.
+                Reporter.log("Current window unavailable for CDP network tracking: " + e.getMessage(), LogLevel.DEBUG);
+                return NO_CDP;
+            }
+            if (tracker != null) {
+                // The session stays on the window it was opened for; other windows count in the page.
+                if (tracker.ownsSession()) return tracker.windowHandle.equals(windowHandle) ? tracker : NO_CDP;
+                // Another client replaced the session, so its events no longer reach this tracker.
+                trackers.remove(driver);
+                tracker.close();
+            }
+            try {
+                DevTools devTools = hasDevTools.getDevTools();
+                if (devTools.getCdpSession() != null) return NO_CDP;
+                tracker = CdpTracker.attach(devTools, windowHandle);
+                Reporter.log("Tracking network requests through CDP Network events", LogLevel.DEBUG);
+            } catch (Exception e) {
+                Reporter.log("CDP network tracking unavailable, counting requests in the page: "
+                        + e.getMessage(), LogLevel.DEBUG);
+                tracker = NO_CDP;
+            }
+            trackers.put(driver, tracker);
+            return tracker;
+        }
+    }
+
+    /** Follows fetch/XHR requests through {@code Network.requestWillBeSent/loadingFinished/loadingFailed}. */
+    private static final class CdpTracker {
+        private final Set<String> inflight = ConcurrentHashMap.newKeySet();
+        private volatile long lastChangeMillis = System.currentTimeMillis();
+        /** Listeners cannot be removed from the shared connection one by one; a closed tracker ignores them. */
+        private volatile boolean closed;
+        private DevTools devTools;
+        private SessionID session;
+        private String windowHandle = "";
+
+        static CdpTracker attach(DevTools devTools, String windowHandle) {
+            CdpTracker tracker = new CdpTracker();
+            devTools.createSessionIfThereIsNotOne(windowHandle);
+            devTools.addListener(event("Network.requestWillBeSent"), params -> {
+                if (TRACKED_TYPES.contains(String.valueOf(params.get("type")))) tracker.started(params.get("requestId"));
+            });
+            devTools.addListener(event("Network.loadingFinished"), params -> tracker.ended(params.get("requestId")));
+            devTools.addListener(event("Network.loadingFailed"), params -> tracker.ended(params.get("requestId")));
+            devTools.send(new Command<Void>("Network.enable", Map.of()));
+            tracker.devTools = devTools;
+            tracker.session = devTools.getCdpSession();
+            tracker.windowHandle = windowHandle;
+            return tracker;
+        }
+
+        private static Event<Map<String, Object>> event(String method) {
+            return new Event<>(method, input -> input.read(Json.MAP_TYPE));
+        }
+
+        private void started(Object requestId) {
+            if (!closed && requestId != null && inflight.add(requestId.toString())) lastChangeMillis = System.currentTimeMillis();
+        }
+
+        private void ended(Object requestId) {
+            if (!closed && requestId != null && inflight.remove(requestId.toString())) lastChangeMillis = System.currentTimeMillis();
+        }
+
+        Activity activity() {
+            return new Activity(inflight.size(), System.currentTimeMillis() - lastChangeMillis);
+        }
+
+        /** True while the driver's DevTools connection still uses the session this tracker opened. */
+        boolean ownsSession() {
+            return session != null && devTools.getCdpSession() == session;
+        }
+
+        /** Stops counting. The session now belongs to another client, so it is left as it is. */
+        void close() {
+            closed = true;
+            inflight.clear();
+        }
+    }
+}
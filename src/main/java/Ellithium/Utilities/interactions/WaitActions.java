@@ -27,8 +27,10 @@ public class WaitActions <T extends WebDriver> extends BaseActions<T>{
     public  void waitForElementToDisappear( By locator, int timeout, int pollingEvery) {
         Reporter.log("Waiting for Element To Disappear: ",LogLevel.INFO_BLUE,locator.toString());
         try {
-            getFluentWait(timeout, pollingEvery)
-                    .until(ExpectedConditions.invisibilityOfElementLocated(locator));
+            if (observeUntil(locator, MutationObserverWait.INVISIBLE, null, timeout) == MutationObserverWait.NOT_HANDLED) {
+                getFluentWait(timeout, pollingEvery)
+                        .until(ExpectedConditions.invisibilityOfElementLocated(locator));
+            }
         } catch (WebDriverException e) {
             WebElement element = findWebElement(locator);
             getFluentWait(Math.min(timeout, HEAL_RETRY_TIMEOUT), pollingEvery)
@@ -76,6 +78,9 @@ public class WaitActions <T extends WebDriver> extends BaseActions<T>{
     public  WebElement waitForElementPresence( By locator, int timeout, int pollingEvery) {
         Reporter.log("Waiting for Element Presence: " + locator.toString(), LogLevel.INFO_BLUE);
         try {
+            Object observed = observeUntil(locator, MutationObserverWait.PRESENT, null, timeout);
+            if (observed instanceof WebElement element) return element;
+            if (observed != MutationObserverWait.NOT_HANDLED) return driver.findElement(effectiveLocator(locator));
             return getFluentWait(timeout,pollingEvery)
                     .until(ExpectedConditions.presenceOfElementLocated(locator));
         } catch (WebDriverException e) {
@@ -94,8 +99,10 @@ public class WaitActions <T extends WebDriver> extends BaseActions<T>{
     public  WebElement waitForTextToBePresentInElement( By locator, String text, int timeout, int pollingEvery) {
         Reporter.log("Waiting for Text: '" + text + "' to be present in Element: " + locator.toString(), LogLevel.INFO_BLUE);
         try {
-            getFluentWait(timeout,pollingEvery)
-                    .until(ExpectedConditions.textToBePresentInElementLocated(locator, text));
+            if (observeUntil(locator, MutationObserverWait.TEXT, text, timeout) == MutationObserverWait.NOT_HANDLED) {
+                getFluentWait(timeout,pollingEvery)
+                        .until(ExpectedConditions.textToBePresentInElementLocated(locator, text));
+            }
             return findWebElement( locator);
         } catch (WebDriverException e) {
             WebElement element = findWebElement(locator);
@@ -135,6 +142,8 @@ public class WaitActions <T extends WebDriver> extends BaseActions<T>{
     public  boolean waitForElementAttributeToBe( By locator, String attribute, String value, int timeout, int pollingEvery) {
         Reporter.log("Waiting for Element Attribute: '" + attribute + "' to be: '" + value + "' for Element: " + locator.toString(), LogLevel.INFO_BLUE);
         try {
+            if (observeUntil(locator, MutationObserverWait.ATTRIBUTE_IS, List.of(attribute, value), timeout)
+                    != MutationObserverWait.NOT_HANDLED) return true;
             return getFluentWait( timeout, pollingEvery)
                     .until(ExpectedConditions.attributeToBe(locator, attribute, value));
         } catch (WebDriverException e) {
@@ -155,6 +164,8 @@ public class WaitActions <T extends WebDriver> extends BaseActions<T>{
     public  boolean waitForElementAttributeContains( By locator, String attribute, String value, int timeout, int pollingEvery) {
         Reporter.log("Waiting for Element Attribute: '" + attribute + "' to contain: '" + value + "' for Element: " + locator.toString(), LogLevel.INFO_BLUE);
         try {
+            if (observeUntil(locator, MutationObserverWait.ATTRIBUTE_CONTAINS, List.of(attribute, value), timeout)
+                    != MutationObserverWait.NOT_HANDLED) return true;
             return getFluentWait( timeout, pollingEvery)
                     .until(ExpectedConditions.attributeContains(locator, attribute, value));
         } catch (WebDriverException e) {
@@ -340,6 +351,8 @@ public class WaitActions <T extends WebDriver> extends BaseActions<T>{
     public  boolean waitForTextToBePresentInElementValue( By locator, String text, int timeout, int pollingEvery) {
         Reporter.log("Waiting for Text to be Present in Element Value: '" + text + "' for Element: " + locator.toString(), LogLevel.INFO_BLUE);
         try {
+            if (observeUntil(locator, MutationObserverWait.VALUE_TEXT, text, timeout)
+                    != MutationObserverWait.NOT_HANDLED) return true;
             return getFluentWait(timeout, pollingEvery)
                     .until(ExpectedConditions.textToBePresentInElementValue(locator, text));
         } catch (WebDriverException e) {
@@ -373,8 +386,10 @@ public class WaitActions <T extends WebDriver> extends BaseActions<T>{
     public  boolean waitForNumberOfElementsToBeMoreThan( By locator, int number, int timeout, int pollingEvery) {
         Reporter.log("Waiting for Number of Elements to be More Than: " + number + " for Element: " + locator.toString(), LogLevel.INFO_BLUE);
         try {
-            int size = getFluentWait(timeout, pollingEvery)
-                    .until(ExpectedConditions.numberOfElementsToBeMoreThan(locator, number)).size();
+            Object observed = observeUntil(locator, MutationObserverWait.COUNT_MORE, number, timeout);
+            int size = observed instanceof Number count ? count.intValue()
+                    : getFluentWait(timeout, pollingEvery)
+                            .until(ExpectedConditions.numberOfElementsToBeMoreThan(locator, number)).size();
             return size > number;
         } catch (WebDriverException e) {
             return waitForVisibilityAndFindElements(locator, Math.min(timeout, HEAL_RETRY_TIMEOUT), pollingEvery).size() > number;
@@ -392,8 +407,10 @@ public class WaitActions <T extends WebDriver> extends BaseActions<T>{
     public  boolean waitForNumberOfElementsToBeLessThan( By locator, int number, int timeout, int pollingEvery) {
         Reporter.log("Waiting for Number of Elements to be Less Than: " + number + " for Element: " + locator.toString(), LogLevel.INFO_BLUE);
         try {
-            int size = getFluentWait(timeout, pollingEvery)
-                    .until(ExpectedConditions.numberOfElementsToBeLessThan(locator, number)).size();
+            Object observed = observeUntil(locator, MutationObserverWait.COUNT_LESS, number, timeout);
+            int size = observed instanceof Number count ? count.intValue()
+                    : getFluentWait(timeout, pollingEvery)
+                            .until(ExpectedConditions.numberOfElementsToBeLessThan(locator, number)).size();
             return size < number;
         } catch (WebDriverException e) {
             return waitForVisibilityAndFindElements(locator, Math.min(timeout, HEAL_RETRY_TIMEOUT), pollingEvery).size() < number;
@@ -424,8 +441,10 @@ public class WaitActions <T extends WebDriver> extends BaseActions<T>{
     public  boolean waitForNumberOfElementsToBe( By locator, int number, int timeout, int pollingEvery) {
         Reporter.log("Waiting for Number of Elements to be: " + number + " for Element: " + locator.toString(), LogLevel.INFO_BLUE);
         try {
-            int size = getFluentWait(timeout, pollingEvery)
-                    .until(ExpectedConditions.numberOfElementsToBe(locator, number)).size();
+            Object observed = observeUntil(locator, MutationObserverWait.COUNT_IS, number, timeout);
+            int size = observed instanceof Number count ? count.intValue()
+                    : getFluentWait(timeout, pollingEvery)
+                            .until(ExpectedConditions.numberOfElementsToBe(locator, number)).size();
             return size == number;
         } catch (WebDriverException e) {
             return waitForVisibilityAndFindElements(locator, Math.min(timeout, HEAL_RETRY_TIMEOUT), pollingEvery).size() == number;
@@ -927,6 +946,60 @@ public class WaitActions <T extends WebDriver> extends BaseActions<T>{
     public  void waitForElementToDisappear( By locator, int timeout) {
         waitForElementToDisappear(locator, timeout, WaitManager.getDefaultPollingTime());
     }
+    /**
+     * Waits until at most {@code maxInflight} fetch/XHR requests have been in flight for an
+     * uninterrupted {@code quietWindowMs}. Chromium browsers are followed through CDP Network
+     * events; other browsers through a request counter injected into the page.
+     * @param quietWindowMs How long the traffic must stay settled, in milliseconds
+     * @param maxInflight Requests allowed to stay in flight (long polling, analytics beacons)
+     * @param timeout Maximum wait time in seconds
+     * @param pollingEvery Polling interval in milliseconds
+     * @return True once the network is idle
+     */
+    public boolean waitForNetworkIdle(int quietWindowMs, int maxInflight, int timeout, int pollingEvery) {
+        Reporter.log("Waiting for Network Idle: ", LogLevel.INFO_BLUE,
+                "quiet for " + quietWindowMs + " ms, at most " + maxInflight + " requests in flight");
+        NetworkIdleWait.await(driver, quietWindowMs, maxInflight, timeout, pollingEvery);
+        return true;
+    }
+
+    /**
+     * Waits for network idle with the quiet window and in-flight limit of config.properties.
+     * @param timeout Maximum wait time in seconds
+     * @param pollingEvery Polling interval in milliseconds
+     * @return True once the network is idle
+     */
+    public boolean waitForNetworkIdle(int timeout, int pollingEvery) {
+        int[] defaults = NetworkIdleWait.defaults();
+        return waitForNetworkIdle(defaults[0], defaults[1], timeout, pollingEvery);
+    }
+
+    /**
+     * Waits for network idle with specified timeout.
+     * @param timeout Maximum wait time in seconds
+     * @return True once the network is idle
+     */
+    public boolean waitForNetworkIdle(int timeout) {
+        return waitForNetworkIdle(timeout, WaitManager.getDefaultPollingTime());
+    }
+
+    /**
+     * Waits for network idle with default timeout and polling time.
+     * @return True once the network is idle
+     */
+    public boolean waitForNetworkIdle() {
+        return waitForNetworkIdle(WaitManager.getDefaultTimeout(), WaitManager.getDefaultPollingTime());
+    }
+
+    /**
+     * Number of fetch/XHR requests currently in flight, as seen by the network idle tracking.
+     * @return the in-flight request count, or -1 when it could not be read
+     */
+    public int getInflightRequestCount() {
+        NetworkIdleWait.Activity activity = NetworkIdleWait.sample(driver);
+        return activity != null ? activity.inflight() : -1;
+    }
+
     /**
      * Creates a WebDriverWait instance with specified timeout.
      * @param timeout Maximum wait time in seconds
@@ -11,9 +11,19 @@ import io.appium.java_client.ios.IOSDriver;
 import org.openqa.selenium.NoAlertPresentException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.ui.FluentWait;
+import org.openqa.selenium.support.ui.Sleeper;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
 
 public class WaitManager <T extends WebDriver>{
     private  static volatile int defaultTimeout;
@@ -98,11 +108,191 @@ public class WaitManager <T extends WebDriver>{
                     .pollingEvery(Duration.ofMillis(pollingEveryInMillis))
                     .ignoreAll(expectedExceptions);
         } else {
-            return  new FluentWait<>(driver)
+            return  new CountingFluentWait<>(driver)
                     .withTimeout(Duration.ofSeconds(timeoutInSeconds))
                     .pollingEvery(Duration.ofMillis(pollingEveryInMillis))
                     .ignoreAll(expectedExceptions);
         }
     }
 
+    /**
+     * FluentWait that records how many times it evaluated its condition, for the wait statistics,
+     * and polls on an {@link AdaptiveSleeper} schedule when adaptive polling is enabled.
+     */
+    private static final class CountingFluentWait<T> extends FluentWait<T> {
+        private final AdaptiveSleeper schedule;
+        private Duration timeout = Duration.ofMillis(500);
+        private Duration interval = Duration.ofMillis(500);
+
+        CountingFluentWait(T input) {
+            this(input, newSchedule());
+        }
+
+        private CountingFluentWait(T input, AdaptiveSleeper schedule) {
+            super(input, Clock.systemDefaultZone(), schedule != null ? schedule : Sleeper.SYSTEM_SLEEPER);
+            this.schedule = schedule;
+        }
+
+        private static AdaptiveSleeper newSchedule() {
+            AdaptivePolling settings = getAdaptivePolling();
+            return settings.enabled() ? new AdaptiveSleeper(settings.maxIntervalMs(), settings.learnFromHistory()) : null;
+        }
+
+        @Override
+        public FluentWait<T> withTimeout(Duration timeout) {
+            this.timeout = timeout;
+            return super.withTimeout(timeout);
+        }
+
+        @Override
+        public FluentWait<T> pollingEvery(Duration interval) {
+            this.interval = interval;
+            return super.pollingEvery(interval);
+        }
+
+        @Override
+        public <V> V until(Function<? super T, V> isTrue) {
+            AtomicLong polls = new AtomicLong();
+            long start = System.nanoTime();
+            boolean succeeded = false;
+            if (schedule != null) schedule.begin(String.valueOf(isTrue), interval, timeout);
+            try {
+                V result = super.until(new Function<T, V>() {
+                    @Override
+                    public V apply(T input) {
+                        polls.incrementAndGet();
+                        return isTrue.apply(input);
+                    }
+
+                    @Override
+                    public String toString() {
+                        return isTrue.toString();
+                    }
+                });
+                succeeded = true;
+                return result;
+            } finally {
+                if (schedule != null) schedule.finished(succeeded);
+                recordWait(ENGINE_POLLING, polls.get(), System.nanoTime() - start);
+            }
+        }
+    }
+
+    // ──────────────────────── Adaptive polling ────────────────────────
+
+    /** Settings of the {@code adaptivePolling.*} keys of config.properties. */
+    record AdaptivePolling(boolean enabled, long maxIntervalMs, boolean learnFromHistory) {}
+
+    private static final AdaptivePolling ADAPTIVE_POLLING_DEFAULTS = new AdaptivePolling(false, 250, true);
+    private static volatile AdaptivePolling adaptivePolling;
+
+    /**
+     * Adaptive polling settings: when enabled, polling starts at the requested interval and backs
+     * off towards {@code adaptivePolling.maxIntervalMs}, see {@link AdaptiveSleeper}.
+     */
+    static AdaptivePolling getAdaptivePolling() {
+        AdaptivePolling settings = adaptivePolling;
+        if (settings == null) {
+            settings = ADAPTIVE_POLLING_DEFAULTS;
+            try {
+                String configPath = ConfigContext.getConfigFilePath();
+                if (configPath != null) {
+                    boolean enabled = readProperty(configPath, "adaptivePolling.enabled", "false").equalsIgnoreCase("true");
+                    long maxInterval = parseProperty(readProperty(configPath, "adaptivePolling.maxIntervalMs", ""),
+                            (int) ADAPTIVE_POLLING_DEFAULTS.maxIntervalMs(), "adaptivePolling.maxIntervalMs");
+                    boolean learn = !readProperty(configPath, "adaptivePolling.learnFromHistory", "true").equalsIgnoreCase("false");
+                    settings = new AdaptivePolling(enabled, maxInterval, learn);
+                }
+            } catch (Exception e) {
+                Logger.logException(e);
+            }
+            adaptivePolling = settings;
+        }
+        return settings;
+    }
+
+    static void setAdaptivePolling(AdaptivePolling settings) {
+        adaptivePolling = settings;
+    }
+
+    static String readProperty(String configPath, String key, String defaultValue) {
+        if (!PropertyHelper.keyExists(configPath, key)) return defaultValue;
+        String value = PropertyHelper.getDataFromProperties(configPath, key);
+        return value != null ? value.trim() : defaultValue;
+    }
+
+    // ──────────────────────── Wait engine ────────────────────────
+
+    static final String ENGINE_POLLING  = "polling";
+    static final String ENGINE_OBSERVER = "observer";
+    private static volatile String waitEngine;
+
+    /**
+     * Engine used for DOM-based waits, from the {@code waitEngine} key of config.properties:
+     * {@code polling} (default) re-evaluates the condition over WebDriver every polling interval,
+     * {@code observer} blocks in one async script on an in-page MutationObserver.
+     */
+    public static String getWaitEngine() {
+        String engine = waitEngine;
+        if (engine == null) {
+            engine = ENGINE_POLLING;
+            try {
+                String configPath = ConfigContext.getConfigFilePath();
+                if (configPath != null && PropertyHelper.keyExists(configPath, "waitEngine")) {
+                    String value = PropertyHelper.getDataFromProperties(configPath, "waitEngine");
+                    if (value != null && ENGINE_OBSERVER.equalsIgnoreCase(value.trim())) engine = ENGINE_OBSERVER;
+                }
+            } catch (Exception e) {
+                Logger.logException(e);
+            }
+            waitEngine = engine;
+        }
+        return engine;
+    }
+
+    static void setWaitEngine(String engine) {
+        waitEngine = engine;
+    }
+
+    // ──────────────────────── Wait statistics ────────────────────────
+
+    private static final class EngineStats {
+        final LongAdder waits = new LongAdder();
+        final LongAdder commands = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+    }
+
+    private static final Map<String, EngineStats> waitStats = new ConcurrentHashMap<>();
+
+    /** Records one finished wait: {@code commands} condition polls or scripts it took, and its duration. */
+    static void recordWait(String engine, long commands, long nanos) {
+        EngineStats stats = waitStats.computeIfAbsent(engine, k -> new EngineStats());
+        stats.waits.increment();
+        stats.commands.add(commands);
+        stats.nanos.add(nanos);
+    }
+
+    /**
+     * Per-engine wait counts, WebDriver round-trips per wait and average latency, or {@code null}
+     * when no wait was recorded. Polling counts one round-trip per condition evaluation (some
+     * conditions issue two commands), the observer engine one per async script.
+     */
+    public static String getWaitStatistics() {
+        if (waitStats.isEmpty()) return null;
+        StringBuilder sb = new StringBuilder("Wait statistics:");
+        for (Map.Entry<String, EngineStats> entry : new TreeMap<>(waitStats).entrySet()) {
+            EngineStats stats = entry.getValue();
+            long waits = stats.waits.sum();
+            if (waits == 0) continue;
+            sb.append(' ').append(entry.getKey()).append(" - ").append(waits).append(" waits, ")
+              .append(String.format(Locale.ROOT, "%.1f", (double) stats.commands.sum() / waits)).append(" round-trips/wait, avg ")
+              .append(TimeUnit.NANOSECONDS.toMillis(stats.nanos.sum() / waits)).append(" ms;");
+        }
+        return sb.toString();
+    }
+
+    static void resetWaitStatistics() {
+        waitStats.clear();
+    }
+
 }
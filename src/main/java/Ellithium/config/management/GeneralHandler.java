@@ -6,6 +6,7 @@ import Ellithium.Utilities.generators.TestDataGenerator;
 import Ellithium.Utilities.interactions.WaitManager;
 import Ellithium.core.API.APIFilterHelper;
 import Ellithium.config.Internal.VersionChecker;
+import Ellithium.core.ai.LocatorFieldIndex;
 import Ellithium.core.ai.healing.BaselineStore;
 import Ellithium.core.ai.healing.EnsembleHealer;
 import Ellithium.core.driver.*;
@@ -36,6 +37,17 @@ public class GeneralHandler {
      * @return The saved screenshot file
      */
     public static File testFailed( String browserName, String testName)  {
+        return testFailed(browserName, testName, null);
+    }
+
+    /**
+     * Internally used with The Ellithium Not for General Use.
+     * @param browserName Driver name used as the screenshot prefix
+     * @param testName Name of the failed test
+     * @param failure Failure cause, used to cluster identical failures for AI Vision RCA
+     * @return The saved screenshot file
+     */
+    public static File testFailed(String browserName, String testName, Throwable failure) {
         try {
             TakesScreenshot camera = DriverFactory.getCurrentDriver();
             if (camera == null) return null;
@@ -44,8 +56,10 @@ public class GeneralHandler {
             File screenShotFile = new File("Test-Output"+ File.separator +"ScreenShots"+ File.separator +"Failed"+ File.separator + name + ".png");
             Files.move(screenshot, screenShotFile);
             
-            // Trigger AI Vision RCA
-            AIVisionRCA.analyze(screenShotFile, "Test Failed: " + testName, AISelfHealer.getEffectiveProvider());
+            // Trigger AI Vision RCA in the background; the result is attached once ready
+            AIVisionRCA.analyzeAsync(screenShotFile,
+                    failure != null ? failure : new AssertionError("Test Failed: " + testName),
+                    AISelfHealer.getEffectiveProvider());
             
             return screenShotFile;
         } catch (IOException e) {
@@ -70,6 +84,8 @@ public class GeneralHandler {
     }
     
     public static void StartRoutine(){
+        // Before anything creates a JDK HttpClient, which fixes the pool settings for the JVM.
+        Ellithium.core.driver.RemoteClientSettings.applyConnectionPoolProperties();
         EnsembleHealer.initializeAsync();
         ConfigContext.setIsLoggingOn(false);
         AllureHelper.deleteAllureResultsDir();
@@ -81,11 +97,13 @@ public class GeneralHandler {
         RetryAnalyzer.initRetryCount();
         AIConfigLoader.initialize();
         AISelfHealer.resetForSuite();
+        AISelfHealer.loadPersistedCaches();
         LLMProvider aiProvider = LLMProviderFactory.createProvider();
         if (aiProvider != null) {
             AISelfHealer.initialize(aiProvider, AIConfigLoader.getHealingStrategy(), AIConfigLoader.getConfidenceThreshold());
         }
         BaselineStore.preWarmAsync();
+        LocatorFieldIndex.preWarmAsync();
     }
     
     public static List<Parameter> getParameters(){
@@ -0,0 +1,258 @@
+package Ellithium.core.ai;
+
+import Ellithium.core.logging.LogLevel;
+import Ellithium.core.reporting.Reporter;
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.expr.FieldAccessExpr;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.ast.expr.StringLiteralExpr;
+import org.openqa.selenium.By;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * AST index of the {@code By} fields declared in page-object sources, used to name the field
+ * behind a failing locator without re-reading and regex-scanning source text on every heal.
+ *
+ * <p>Each source file is parsed once with JavaParser (the parser {@link JavaSourceModifier}
+ * patches with) into three maps:</p>
+ * <ul>
+ *   <li><b>literal → field</b>: {@code By.id("login")} initializers keyed by the locator's
+ *       {@code toString()} form ({@code "By.id: login"});</li>
+ *   <li><b>field name → field</b>: every {@code By}/{@code AppiumBy} field, whatever its initializer;</li>
+ *   <li><b>line → referenced By fields</b>: which of those fields each source line mentions,
+ *       for locators built from constants or helpers.</li>
+ * </ul>
+ * Entries are keyed by file and re-parsed when the file's mtime changes. The caller's own file is
+ * indexed on first use. Locators declared in another class (a shared locators class or a base
+ * page) resolve once every page object under the source roots has been indexed in the background
+ * ({@link #preWarmAsync()}, started at execution start or by the first such lookup); until then
+ * those lookups miss rather than parse the whole tree on the test thread.
+ */
+public final class LocatorFieldIndex {
+
+    /** A {@code By} field: declaring class, field name and declaration line. */
+    public record Entry(String className, String fieldName, int line) {}
+
+    record FileIndex(long mtime, Map<String, Entry> byLiteral, Map<String, Entry> byField,
+                     Map<Integer, List<String>> referencesByLine) {}
+
+    private static final List<Path> DEFAULT_ROOTS = List.of(Paths.get("src/test/java"), Paths.get("src/main/java"));
+
+    private static final ConcurrentHashMap<Path, FileIndex> files = new ConcurrentHashMap<>();
+    private static volatile List<Path> roots = DEFAULT_ROOTS;
+    private static volatile boolean fullyIndexed = false;
+    private static final AtomicBoolean indexing = new AtomicBoolean();
+
+    private LocatorFieldIndex() {}
+
+    /** Points the index at different source roots and drops everything indexed so far. Used by tests. */
+    static void useRoots(List<Path> sourceRoots) {
+        roots = sourceRoots != null ? List.copyOf(sourceRoots) : DEFAULT_ROOTS;
+        files.clear();
+        fullyIndexed = false;
+    }
+
+    /**
+     * Resolves the field that declares {@code locator} for a call made from {@code className}
+     * at {@code line}. Tries, in order: a literal match in the caller's file, a {@code By} field
+     * referenced on the call-site line, and a unique literal match anywhere in the index.
+     *
+     * @return the field, or {@code null} if none (or more than one elsewhere) matches. Never throws.
+     */
+    public static Entry lookup(String className, int line, By locator) {
+        if (className == null || locator == null) return null;
+        try {
+            Path source = resolveSource(className);
+            Entry local = lookupIn(source, line, locator);
+            return local != null ? local : lookupAnywhere(locator.toString(), source);
+        } catch (Exception e) {
+            Reporter.log("LocatorFieldIndex: lookup failed for " + className + ":" + line
+                    + " — " + e.getMessage(), LogLevel.DEBUG);
+            return null;
+        }
+    }
+
+    /**
+     * As {@link #lookup}, but only fields declared in the caller's own source file — the file a
+     * source patch for this call site would edit. Never throws.
+     */
+    public static Entry lookupInCallerFile(String className, int line, By locator) {
+        if (className == null || locator == null) return null;
+        try {
+            return lookupIn(resolveSource(className), line, locator);
+        } catch (Exception e) {
+            Reporter.log("LocatorFieldIndex: lookup failed for " + className + ":" + line
+                    + " — " + e.getMessage(), LogLevel.DEBUG);
+            return null;
+        }
+    }
+
+    /** Indexes every page-object source under the roots on a background thread. */
+    public static void preWarmAsync() {
+        if (fullyIndexed || !indexing.compareAndSet(false, true)) return;
+        Thread.ofVirtual().name("ellithium-locator-index").start(() -> {
+            try {
+                indexAll();
+            } finally {
+                indexing.set(false);
+            }
+        });
+    }
+
+    /** Whether the background index of every source root is complete. */
+    static boolean isFullyIndexed() {
+        return fullyIndexed;
+    }
+
+    // ──────────────────────── Index maintenance ────────────────────────
+
+    private static Entry lookupIn(Path source, int line, By locator) {
+        if (source == null) return null;
+        FileIndex index = indexOf(source);
+        if (index == null) return null;
+        Entry literal = index.byLiteral().get(locator.toString());
+        if (literal != null) return literal;
+        List<String> referenced = index.referencesByLine().get(line);
+        return referenced != null && referenced.size() == 1 ? index.byField().get(referenced.get(0)) : null;
+    }
+
+    /** Unique literal match in other files; misses (and starts indexing) until the full index is built. */
+    private static Entry lookupAnywhere(String key, Path skip) {
+        if (!fullyIndexed) {
+            preWarmAsync();
+            return null;
+        }
+        Entry found = null;
+        for (Map.Entry<Path, FileIndex> e : files.entrySet()) {
+            if (e.getKey().equals(skip)) continue;
+            Entry candidate = e.getValue().byLiteral().get(key);
+            if (candidate == null) continue;
+            FileIndex current = indexOf(e.getKey());      // re-validate against the file's mtime
+            candidate = current != null ? current.byLiteral().get(key) : null;
+            if (candidate == null) continue;
+            if (found != null) return null;                // ambiguous — two fields share the literal
+            found = candidate;
+        }
+        return found;
+    }
+
+    private static synchronized void indexAll() {
+        while (!fullyIndexed) {
+            List<Path> walked = roots;
+            for (Path root : walked) {
+                if (!Files.isDirectory(root)) continue;
+                try (Stream<Path> walk = Files.walk(root)) {
+                    walk.filter(p -> p.toString().endsWith(".java")).forEach(LocatorFieldIndex::indexOf);
+                } catch (IOException e) {
+                    Reporter.log("LocatorFieldIndex: could not walk " + root + ": " + e.getMessage(), LogLevel.DEBUG);
+                }
+            }
+            // Roots swapped mid-walk (tests): walk the new ones.
+            if (walked == roots) fullyIndexed = true;
+        }
+    }
+
+    private static Path resolveSource(String className) {
+        int inner = className.indexOf('$');
+        String outer = inner >= 0 ? className.substring(0, inner) : className;
+        String relative = outer.replace('.', '/') + ".java";
+        for (Path root : roots) {
+            Path candidate = root.resolve(relative);
+            if (Files.isRegularFile(candidate)) return candidate.toAbsolutePath().normalize();
+        }
+        return null;
+    }
+
+    static FileIndex indexOf(Path source) {
+        Path path = source.toAbsolutePath().normalize();
+        long mtime;
+        try {
+            mtime = Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            files.remove(path);
+            return null;
+        }
+        FileIndex cached = files.get(path);
+        if (cached != null && cached.mtime() == mtime) return cached;
+        FileIndex fresh = parse(path, mtime);
+        if (fresh != null) files.put(path, fresh);
+        else files.remove(path);
+        return fresh;
+    }
+
+    private static FileIndex parse(Path path, long mtime) {
+        try {
+            String text = Files.readString(path);
+            if (!text.contains("By")) return new FileIndex(mtime, Map.of(), Map.of(), Map.of());
+            CompilationUnit cu = StaticJavaParser.parse(text);
+            Map<String, Entry> byLiteral = new HashMap<>();
+            Map<String, Entry> byField = new HashMap<>();
+            for (TypeDeclaration<?> type : cu.findAll(TypeDeclaration.class)) {
+                String owner = type.getFullyQualifiedName().orElse(type.getNameAsString());
+                for (FieldDeclaration field : type.getFields()) {
+                    for (VariableDeclarator v : field.getVariables()) {
+                        String declared = v.getType().asString();
+                        if (!declared.equals("By") && !declared.equals("AppiumBy")) continue;
+                        int line = v.getBegin().map(p -> p.line).orElse(-1);
+                        Entry entry = new Entry(owner, v.getNameAsString(), line);
+                        byField.putIfAbsent(entry.fieldName(), entry);
+                        String literal = v.getInitializer().map(LocatorFieldIndex::literalKey).orElse(null);
+                        if (literal != null) byLiteral.putIfAbsent(literal, entry);
+                    }
+                }
+            }
+            Map<Integer, List<String>> referencesByLine = new HashMap<>();
+            if (!byField.isEmpty()) {
+                for (NameExpr name : cu.findAll(NameExpr.class)) {
+                    addReference(referencesByLine, byField, name.getNameAsString(), name.getBegin().map(p -> p.line));
+                }
+                for (FieldAccessExpr access : cu.findAll(FieldAccessExpr.class)) {
+                    addReference(referencesByLine, byField, access.getNameAsString(), access.getBegin().map(p -> p.line));
+                }
+            }
+            return new FileIndex(mtime, Map.copyOf(byLiteral), Map.copyOf(byField), Map.copyOf(referencesByLine));
+        } catch (Exception e) {
+            Reporter.log("LocatorFieldIndex: could not parse " + path + ": " + e.getMessage(), LogLevel.DEBUG);
+            return null;
+        }
+    }
+
+    private static void addReference(Map<Integer, List<String>> refs, Map<String, Entry> byField,
+                                     String name, java.util.Optional<Integer> line) {
+        if (!byField.containsKey(name) || line.isEmpty()) return;
+        List<String> names = refs.computeIfAbsent(line.get(), k -> new ArrayList<>(1));
+        if (!names.contains(name)) names.add(name);
+    }
+
+    /**
+     * {@code By.id("x")} / {@code AppiumBy.accessibilityId("x")} → the locator's {@code toString()}
+     * ({@code "By.id: x"}), or {@code null} for anything that is not a single string literal.
+     */
+    static String literalKey(Expression init) {
+        if (!(init instanceof MethodCallExpr call) || call.getArguments().size() != 1) return null;
+        if (!(call.getArgument(0) instanceof StringLiteralExpr literal)) return null;
+        String scope = call.getScope().map(Expression::toString).orElse(null);
+        if (scope == null) return null;
+        int dot = scope.lastIndexOf('.');
+        String simple = dot >= 0 ? scope.substring(dot + 1) : scope;
+        if (!simple.equals("By") && !simple.equals("AppiumBy")) return null;
+        return simple + "." + call.getNameAsString() + ": " + literal.asString();
+    }
+}
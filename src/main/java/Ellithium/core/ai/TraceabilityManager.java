@@ -7,27 +7,67 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
 
-import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Reader;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
 import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * Manages the persistence of AI-generated mappings.
  * Acts as a Repository to save and retrieve TraceabilityRecords to a JSON file.
  *
+ * <p>Records are held in an in-memory index keyed by a hash of the source requirement
+ * (test ID + normalized source file), loaded once per JVM. Writes are appended as single
+ * JSON lines to {@code ellithium-ai-mappings.json.log}; other processes pick them up by
+ * reading only the bytes appended since their last look. Once the log grows past
+ * {@value #COMPACT_THRESHOLD} entries it is folded back into the JSON snapshot under the
+ * file lock. Lookups are O(1) and writes are O(record size).</p>
+ *
  * <p>Thread-safe: all read/write operations are synchronized to prevent
  * data loss during parallel test execution.</p>
  */
 public class TraceabilityManager {
 
-    private static final String MAPPING_FILE_PATH = "ellithium-ai-mappings.json";
+    private static final String DEFAULT_MAPPING_FILE_PATH = "ellithium-ai-mappings.json";
+    private static final int COMPACT_THRESHOLD = 256;
     private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private static final Gson logGson = new Gson();
     private static final Object LOCK = new Object();
 
+    private static String mappingFilePath = DEFAULT_MAPPING_FILE_PATH;
+    private static final Map<String, TraceabilityRecord> index = new LinkedHashMap<>();
+    private static boolean loaded = false;
+    private static String snapshotStamp = "";
+    private static long logOffset = 0L;
+    private static int logEntries = 0;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(Thread.ofPlatform().name("ellithium-traceability-compact").unstarted(() -> {
+            try {
+                synchronized (LOCK) {
+                    if (loaded && logEntries > 0) compact();
+                }
+            } catch (Exception ignored) {}
+        }));
+    }
+
     /**
      * Retrieves all traceability records from the mapping file.
      *
@@ -35,19 +75,8 @@ public class TraceabilityManager {
      */
     public static List<TraceabilityRecord> loadAllRecords() {
         synchronized (LOCK) {
-            File file = new File(MAPPING_FILE_PATH);
-            if (!file.exists()) {
-                return new ArrayList<>();
-            }
-
-            try (FileReader reader = new FileReader(file)) {
-                Type listType = new TypeToken<ArrayList<TraceabilityRecord>>() {}.getType();
-                List<TraceabilityRecord> records = gson.fromJson(reader, listType);
-                return records != null ? records : new ArrayList<>();
-            } catch (Exception e) {
-                Reporter.log("Failed to read traceability mappings (treating as empty): " + e.getMessage(), LogLevel.ERROR);
-                return new ArrayList<>();
-            }
+            refresh();
+            return new ArrayList<>(index.values());
         }
     }
 
@@ -59,35 +88,24 @@ public class TraceabilityManager {
      */
     public static void saveRecord(TraceabilityRecord record) {
         synchronized (LOCK) {
-            java.nio.file.Path target = java.nio.file.Paths.get(MAPPING_FILE_PATH);
-            java.nio.file.Path lockFile = java.nio.file.Paths.get(MAPPING_FILE_PATH + ".lock");
-            try (java.nio.channels.FileChannel ch = java.nio.channels.FileChannel.open(
-                            lockFile,
-                            java.nio.file.StandardOpenOption.CREATE,
-                            java.nio.file.StandardOpenOption.WRITE);
-                 java.nio.channels.FileLock fileLock = ch.lock()) {
-
-                List<TraceabilityRecord> records = loadAllRecordsInternal();
-                records.removeIf(r -> sameKey(r, record.getSource().getTestId(), record.getSource().getSourceFile()));
-                records.add(record);
-
-                java.nio.file.Path tmp = java.nio.file.Files.createTempFile(
-                        target.getParent() != null ? target.getParent() : java.nio.file.Paths.get("."),
-                        "ellithium-ai-mappings", ".tmp");
-                try {
-                    try (FileWriter writer = new FileWriter(tmp.toFile())) {
-                        gson.toJson(records, writer);
-                    }
-                    try {
-                        java.nio.file.Files.move(tmp, target,
-                                java.nio.file.StandardCopyOption.ATOMIC_MOVE,
-                                java.nio.file.StandardCopyOption.REPLACE_EXISTING);
-                    } catch (java.nio.file.AtomicMoveNotSupportedException e) {
-                        java.nio.file.Files.move(tmp, target,
-                                java.nio.file.StandardCopyOption.REPLACE_EXISTING);
-                    }
-                } finally {
-                    java.nio.file.Files.deleteIfExists(tmp);
+            try (FileChannel ch = FileChannel.open(lockFile(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock fileLock = ch.lock()) {
+
+                refresh();
+                byte[] line = (logGson.toJson(record) + "\n").getBytes(StandardCharsets.UTF_8);
+                try (FileChannel log = FileChannel.open(logFile(), StandardOpenOption.CREATE,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                    dropPartialLine(log);
+                    log.position(log.size());
+                    ByteBuffer buf = ByteBuffer.wrap(line);
+                    while (buf.hasRemaining()) log.write(buf);
+                }
+                logOffset += line.length;
+                logEntries++;
+                index.put(keyOf(record), record);
+
+                if (logEntries >= COMPACT_THRESHOLD) {
+                    compactLocked();
                 }
                 Reporter.log("Traceability record saved for Test ID: " + record.getSource().getTestId(), LogLevel.INFO_GREEN);
             } catch (IOException e) {
@@ -105,38 +123,75 @@ public class TraceabilityManager {
      */
     public static boolean isAlreadyGenerated(String testId, String sourceFile) {
         synchronized (LOCK) {
-            return loadAllRecordsInternal().stream().anyMatch(r -> sameKey(r, testId, sourceFile));
+            refresh();
+            return index.containsKey(requirementKey(testId, sourceFile));
         }
     }
 
-    private static boolean sameKey(TraceabilityRecord r, String testId, String sourceFile) {
-        if (r == null || r.getSource() == null) return false;
-        return java.util.Objects.equals(r.getSource().getTestId(), testId)
-                && java.util.Objects.equals(normalizeSourceFile(r.getSource().getSourceFile()),
-                                            normalizeSourceFile(sourceFile));
+    /**
+     * Folds the append-only log into the JSON snapshot and truncates the log.
+     * Runs automatically every {@value #COMPACT_THRESHOLD} writes and on JVM shutdown.
+     */
+    public static void compact() {
+        synchronized (LOCK) {
+            try (FileChannel ch = FileChannel.open(lockFile(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock fileLock = ch.lock()) {
+                refresh();
+                if (Files.exists(logFile()) && Files.size(logFile()) > 0) {
+                    compactLocked();
+                }
+            } catch (IOException e) {
+                Reporter.log("Failed to compact traceability mappings: " + e.getMessage(), LogLevel.ERROR);
+            }
+        }
     }
 
-    private static String normalizeSourceFile(String path) {
-        if (path == null) return null;
-        try {
-            java.nio.file.Path root = java.nio.file.Paths.get("").toAbsolutePath();
-            java.nio.file.Path abs  = java.nio.file.Paths.get(path).toAbsolutePath().normalize();
-            return root.relativize(abs).toString().replace('\\', '/');
-        } catch (Exception e) {
-            return path;
+    /** Points the store at a different mapping file and drops the in-memory index. Used by tests. */
+    static void useMappingFile(String path) {
+        synchronized (LOCK) {
+            mappingFilePath = path != null ? path : DEFAULT_MAPPING_FILE_PATH;
+            index.clear();
+            loaded = false;
+            snapshotStamp = "";
+            logOffset = 0L;
+            logEntries = 0;
         }
     }
 
+    private static Path snapshotFile() { return Paths.get(mappingFilePath); }
+    private static Path logFile()      { return Paths.get(mappingFilePath + ".log"); }
+    private static Path lockFile()     { return Paths.get(mappingFilePath + ".lock"); }
+
     /**
-     * Internal read method — caller must already hold the LOCK.
+     * Brings the index up to date with the files on disk — caller must already hold the LOCK.
+     * A changed snapshot (another process compacted) or a shrunken log forces a full reload;
+     * otherwise only the log bytes appended since the last call are read.
      */
-    private static List<TraceabilityRecord> loadAllRecordsInternal() {
-        File file = new File(MAPPING_FILE_PATH);
-        if (!file.exists()) {
+    private static void refresh() {
+        String stamp = stampOf(snapshotFile());
+        long logSize = sizeOf(logFile());
+        if (!loaded || !stamp.equals(snapshotStamp) || logSize < logOffset) {
+            index.clear();
+            for (TraceabilityRecord r : readSnapshot()) {
+                if (r != null && r.getSource() != null) index.put(keyOf(r), r);
+            }
+            snapshotStamp = stamp;
+            logOffset = 0L;
+            logEntries = 0;
+            loaded = true;
+        }
+        if (logSize > logOffset) {
+            readLogTail(logSize);
+        }
+    }
+
+    private static List<TraceabilityRecord> readSnapshot() {
+        Path file = snapshotFile();
+        if (!Files.exists(file)) {
             return new ArrayList<>();
         }
 
-        try (FileReader reader = new FileReader(file)) {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
             Type listType = new TypeToken<ArrayList<TraceabilityRecord>>() {}.getType();
             List<TraceabilityRecord> records = gson.fromJson(reader, listType);
             return records != null ? records : new ArrayList<>();
@@ -145,4 +200,137 @@ public class TraceabilityManager {
             return new ArrayList<>();
         }
     }
+
+    /**
+     * Replays complete lines between {@link #logOffset} and {@code upTo}. A trailing partial
+     * line (a concurrent append in progress) is left for the next refresh.
+     */
+    private static void readLogTail(long upTo) {
+        try (FileChannel ch = FileChannel.open(logFile(), StandardOpenOption.READ)) {
+            int len = (int) Math.min(Integer.MAX_VALUE, upTo - logOffset);
+            ByteBuffer buf = ByteBuffer.allocate(len);
+            ch.position(logOffset);
+            while (buf.hasRemaining() && ch.read(buf) > 0) { }
+            byte[] bytes = buf.array();
+            int consumed = 0;
+            for (int i = 0; i < buf.position(); i++) {
+                if (bytes[i] != '\n') continue;
+                String line = new String(bytes, consumed, i - consumed, StandardCharsets.UTF_8).trim();
+                consumed = i + 1;
+                if (line.isEmpty()) continue;
+                try {
+                    TraceabilityRecord r = logGson.fromJson(line, TraceabilityRecord.class);
+                    if (r != null && r.getSource() != null) {
+                        index.put(keyOf(r), r);
+                        logEntries++;
+                    }
+                } catch (Exception e) {
+                    Reporter.log("Skipping malformed traceability log entry: " + e.getMessage(), LogLevel.WARN);
+                }
+            }
+            logOffset += consumed;
+        } catch (IOException e) {
+            Reporter.log("Failed to read traceability log (ignoring new entries): " + e.getMessage(), LogLevel.ERROR);
+        }
+    }
+
+    /**
+     * Truncates the log back to its last complete line — caller must hold the file lock. A writer
+     * that died mid-append leaves a line without its newline; appending after it would glue the
+     * next record onto the fragment and lose both.
+     */
+    private static void dropPartialLine(FileChannel log) throws IOException {
+        long size = log.size();
+        long complete = 0;
+        ByteBuffer chunk = ByteBuffer.allocate(4096);
+        for (long end = size; end > 0 && complete == 0; ) {
+            long start = Math.max(0, end - chunk.capacity());
+            chunk.clear().limit((int) (end - start));
+            while (chunk.hasRemaining() && log.read(chunk, start + chunk.position()) > 0) { }
+            for (int i = chunk.position() - 1; i >= 0; i--) {
+                if (chunk.get(i) == '\n') {
+                    complete = start + i + 1;
+                    break;
+                }
+            }
+            end = start;
+        }
+        if (complete < size) {
+            Reporter.log("Dropping an incomplete traceability log entry left by an interrupted write", LogLevel.WARN);
+            log.truncate(complete);
+        }
+    }
+
+    /**
+     * Writes the index as the new snapshot and truncates the log — caller must hold both the
+     * LOCK and the file lock.
+     */
+    private static void compactLocked() throws IOException {
+        Path target = snapshotFile();
+        Path tmp = Files.createTempFile(
+                target.toAbsolutePath().getParent() != null ? target.toAbsolutePath().getParent() : Paths.get("."),
+                "ellithium-ai-mappings", ".tmp");
+        try {
+            try (java.io.Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                gson.toJson(new ArrayList<>(index.values()), writer);
+            }
+            try {
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        try (FileChannel log = FileChannel.open(logFile(), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            log.truncate(0);
+        }
+        snapshotStamp = stampOf(target);
+        logOffset = 0L;
+        logEntries = 0;
+        Reporter.log("Traceability mappings compacted (" + index.size() + " records)", LogLevel.DEBUG);
+    }
+
+    private static String keyOf(TraceabilityRecord r) {
+        return requirementKey(r.getSource().getTestId(), r.getSource().getSourceFile());
+    }
+
+    /** Hash of the source requirement identity — test ID plus normalized source file. */
+    static String requirementKey(String testId, String sourceFile) {
+        String identity = Objects.toString(testId, "") + '\u0000' + Objects.toString(normalizeSourceFile(sourceFile), "");
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest(identity.getBytes(StandardCharsets.UTF_8)), 0, 16);
+        } catch (Exception e) {
+            return identity;
+        }
+    }
+
+    private static String normalizeSourceFile(String path) {
+        if (path == null) return null;
+        try {
+            Path root = Paths.get("").toAbsolutePath();
+            Path abs  = Paths.get(path).toAbsolutePath().normalize();
+            return root.relativize(abs).toString().replace('\\', '/');
+        } catch (Exception e) {
+            return path;
+        }
+    }
+
+    private static String stampOf(Path file) {
+        try {
+            BasicFileAttributes a = Files.readAttributes(file, BasicFileAttributes.class);
+            return a.fileKey() + ":" + a.lastModifiedTime().toMillis() + ":" + a.size();
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.exists(file) ? Files.size(file) : 0L;
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package Ellithium.core.ai.codegen;
 
 import Ellithium.Utilities.codegen.RecorderOptions;
+import Ellithium.core.ai.dom.PinnedScripts;
 import Ellithium.core.ai.healing.BaselineStore;
 import Ellithium.core.logging.LogLevel;
 import Ellithium.core.reporting.Reporter;
@@ -393,10 +394,10 @@ public final class InteractionRecorder {
     }
 
     private static boolean ensureInjected() {
-        if (!(driver instanceof JavascriptExecutor js)) return false;
+        if (!(driver instanceof JavascriptExecutor)) return false;
         try {
-            js.executeScript(CAPTURE_SCRIPT, options.pickModeDefault());
-            return Boolean.TRUE.equals(js.executeScript(OVERLAY_SCRIPT));
+            PinnedScripts.execute(driver, CAPTURE, options.pickModeDefault());
+            return Boolean.TRUE.equals(PinnedScripts.execute(driver, OVERLAY));
         } catch (Exception ignored) {}
         return false;
     }
@@ -407,8 +408,8 @@ public final class InteractionRecorder {
     }
 
     private static void render() {
-        if (!(driver instanceof JavascriptExecutor js)) return;
-        try { js.executeScript(RENDER_SCRIPT, renderJson()); } catch (Exception ignored) {}
+        if (!(driver instanceof JavascriptExecutor)) return;
+        try { PinnedScripts.execute(driver, RENDER, renderJson()); } catch (Exception ignored) {}
     }
 
     private static void removeOverlay() {
@@ -996,4 +997,8 @@ public final class InteractionRecorder {
             + " var dels=host.querySelectorAll('.ell-del');"
             + " for(var di=0;di<dels.length;di++){ dels[di].addEventListener('click', function(){ push({type:'delete', id:this.getAttribute('data-del')}); }); }"
             + "})(arguments[0]);";
+
+    private static final PinnedScripts.Script CAPTURE = PinnedScripts.register("recorderCapture", CAPTURE_SCRIPT);
+    private static final PinnedScripts.Script OVERLAY = PinnedScripts.register("recorderOverlay", OVERLAY_SCRIPT);
+    private static final PinnedScripts.Script RENDER  = PinnedScripts.register("recorderRender", RENDER_SCRIPT);
 }
@@ -23,6 +23,11 @@ public class AIConfigLoader {
     private static String llmProviderClass            = "";
     private static ExecutionMode executionMode        = ExecutionMode.LOCAL;
     private static boolean visionRcaEnabled           = false;
+    private static boolean visionRcaAsync             = true;
+    private static int     visionRcaPoolSize          = 2;
+    private static int     visionRcaQueueCapacity     = 32;
+    private static int     visionRcaMaxDimension      = 1024;
+    private static double  visionRcaJpegQuality       = 0.70;
     private static double  onnxSimilarityThreshold    = 0.60;
     private static int     onnxMaxCandidates          = 15;
     private static double  tier3BaselineMatchFloor    = 0.40;
@@ -34,10 +39,23 @@ public class AIConfigLoader {
     private static boolean liveAllowCrossOriginNavigate = true;
     private static int     llmHealMaxWaitMs           = 15_000;
     private static int     llmMaxRetries              = 3;
+    private static int     llmPromptDomTokenBudget    = 3_000;
     private static int     telemetryMaxRecords        = 100_000;
     private static boolean tier3Enabled               = true;
     private static int     ciHealAlertThreshold       = -1;
     private static int     baselineMaxLocators        = 0;
+    private static int     generationConcurrency      = 4;
+    private static boolean healCachePersist           = false;
+    private static int     healCacheTtlMinutes        = 1_440;
+    private static int     unhealableTtlMinutes       = 5;
+    private static boolean preflightEnabled           = false;
+    private static int     healInFlightMaxWaitMs      = 20_000;
+    private static boolean sharedHealCacheEnabled     = false;
+    private static String  sharedHealCacheRedisHost   = "localhost";
+    private static int     sharedHealCacheRedisPort   = 6379;
+    private static String  sharedHealCacheKeyPrefix   = "ellithium:heal:";
+    private static int     sharedHealCacheNearSeconds = 300;
+    private static boolean scriptPinningEnabled       = true;
 
     private static volatile boolean initialized = false;
 
@@ -75,6 +93,12 @@ public class AIConfigLoader {
 
             executionMode    = parseEnum(p, "ai.execution.mode", ExecutionMode.class, executionMode);
             visionRcaEnabled = parseBool(p, "ai.vision.rca.enabled", visionRcaEnabled);
+            visionRcaAsync         = parseBool(p, "ai.vision.rca.async", visionRcaAsync);
+            visionRcaPoolSize      = Math.max(1, parseInt(p, "ai.vision.rca.poolSize", visionRcaPoolSize));
+            visionRcaQueueCapacity = Math.max(1, parseInt(p, "ai.vision.rca.queueCapacity", visionRcaQueueCapacity));
+            visionRcaMaxDimension  = parseInt(p, "ai.vision.rca.maxDimension", visionRcaMaxDimension);
+            visionRcaJpegQuality   = clamp01("ai.vision.rca.jpegQuality",
+                    parseDouble(p, "ai.vision.rca.jpegQuality", visionRcaJpegQuality));
 
             onnxSimilarityThreshold     = parseDouble(p, "ai.onnx.similarityThreshold", onnxSimilarityThreshold);
             onnxMaxCandidates           = parseInt(p, "ai.onnx.maxCandidates", onnxMaxCandidates);
@@ -87,10 +111,23 @@ public class AIConfigLoader {
             semanticFallbackScore       = parseDouble(p, "ai.healing.semanticFallbackScore", semanticFallbackScore);
             llmHealMaxWaitMs            = parseInt(p, "ai.llm.healMaxWaitMs", llmHealMaxWaitMs);
             llmMaxRetries               = parseInt(p, "ai.llm.maxRetries", llmMaxRetries);
+            llmPromptDomTokenBudget     = parseInt(p, "ai.llm.promptDomTokenBudget", llmPromptDomTokenBudget);
             telemetryMaxRecords         = parseInt(p, "ai.telemetry.maxRecords", telemetryMaxRecords);
             tier3Enabled                = parseBool(p, "ai.tier3.enabled", tier3Enabled);
             ciHealAlertThreshold        = parseInt(p, "ai.healing.ciAlertThreshold", ciHealAlertThreshold);
             baselineMaxLocators         = parseInt(p, "ai.healing.baselineMaxLocators", baselineMaxLocators);
+            generationConcurrency       = Math.max(1, parseInt(p, "ai.generation.concurrency", generationConcurrency));
+            healCachePersist            = parseBool(p, "ai.healing.cache.persist", healCachePersist);
+            healCacheTtlMinutes         = parseInt(p, "ai.healing.cache.ttlMinutes", healCacheTtlMinutes);
+            unhealableTtlMinutes        = parseInt(p, "ai.healing.cache.unhealableTtlMinutes", unhealableTtlMinutes);
+            preflightEnabled            = parseBool(p, "ai.healing.preflight.enabled", preflightEnabled);
+            healInFlightMaxWaitMs       = parseInt(p, "ai.healing.inFlight.maxWaitMs", healInFlightMaxWaitMs);
+            sharedHealCacheEnabled      = parseBool(p, "ai.healing.shared.enabled", sharedHealCacheEnabled);
+            sharedHealCacheRedisHost    = getPropertyOrDefault(p, "ai.healing.shared.redis.host", sharedHealCacheRedisHost);
+            sharedHealCacheRedisPort    = parseInt(p, "ai.healing.shared.redis.port", sharedHealCacheRedisPort);
+            sharedHealCacheKeyPrefix    = getPropertyOrDefault(p, "ai.healing.shared.keyPrefix", sharedHealCacheKeyPrefix);
+            sharedHealCacheNearSeconds  = parseInt(p, "ai.healing.shared.nearCacheSeconds", sharedHealCacheNearSeconds);
+            scriptPinningEnabled        = parseBool(p, "ai.dom.pinScripts", scriptPinningEnabled);
 
             initialized = true;
             Reporter.log("AI Config loaded | Strategy: " + healingStrategy
@@ -181,6 +218,11 @@ public class AIConfigLoader {
     public static ExecutionMode getExecutionMode()              { return executionMode; }
     public static boolean isCI()                                { return executionMode == ExecutionMode.CI; }
     public static boolean isVisionRcaEnabled()                  { return visionRcaEnabled; }
+    public static boolean isVisionRcaAsync()                    { return visionRcaAsync; }
+    public static int    getVisionRcaPoolSize()                 { return visionRcaPoolSize; }
+    public static int    getVisionRcaQueueCapacity()            { return visionRcaQueueCapacity; }
+    public static int    getVisionRcaMaxDimension()             { return visionRcaMaxDimension; }
+    public static double getVisionRcaJpegQuality()              { return visionRcaJpegQuality; }
     public static int    getMaxCandidates()                     { return maxCandidates; }
     public static double getOnnxSimilarityThreshold()           { return onnxSimilarityThreshold; }
     public static int    getOnnxMaxCandidates()                 { return onnxMaxCandidates; }
@@ -192,11 +234,24 @@ public class AIConfigLoader {
     public static double getSemanticFallbackScore()             { return semanticFallbackScore; }
     public static int    getLlmHealMaxWaitMs()                  { return llmHealMaxWaitMs; }
     public static int    getLlmMaxRetries()                     { return llmMaxRetries; }
+    public static int    getLlmPromptDomTokenBudget()           { return llmPromptDomTokenBudget; }
     public static int    getTelemetryMaxRecords()               { return telemetryMaxRecords; }
     public static double getTier3BaselineMatchFloor()           { return tier3BaselineMatchFloor; }
     public static boolean isTier3Enabled()                      { return tier3Enabled; }
     public static int    getCiHealAlertThreshold()              { return ciHealAlertThreshold; }
     public static int    getBaselineMaxLocators()               { return baselineMaxLocators; }
+    public static int    getGenerationConcurrency()             { return generationConcurrency; }
+    public static boolean isHealCachePersistEnabled()           { return healCachePersist; }
+    public static int    getHealCacheTtlMinutes()               { return healCacheTtlMinutes; }
+    public static int    getUnhealableTtlMinutes()              { return unhealableTtlMinutes; }
+    public static boolean isPreflightEnabled()                  { return preflightEnabled; }
+    public static int    getHealInFlightMaxWaitMs()             { return healInFlightMaxWaitMs; }
+    public static boolean isSharedHealCacheEnabled()            { return sharedHealCacheEnabled; }
+    public static String getSharedHealCacheRedisHost()          { return sharedHealCacheRedisHost; }
+    public static int    getSharedHealCacheRedisPort()          { return sharedHealCacheRedisPort; }
+    public static String getSharedHealCacheKeyPrefix()          { return sharedHealCacheKeyPrefix; }
+    public static int    getSharedHealCacheNearSeconds()        { return sharedHealCacheNearSeconds; }
+    public static boolean isScriptPinningEnabled()              { return scriptPinningEnabled; }
 
     // ── Grouped config views ──────────────────────────────────────────────────
 
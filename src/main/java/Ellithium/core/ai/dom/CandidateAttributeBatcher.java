@@ -26,8 +26,9 @@ public final class CandidateAttributeBatcher {
 
     private CandidateAttributeBatcher() {}
 
-    private static final String BATCH_SCRIPT =
-            "return arguments[0].map(function(el){"
+    /** Per-element row builder shared with {@link HealDomSnapshot}; maps one element to its attribute row. */
+    static final String ROW_FUNCTION =
+            "function(el){"
             + " try{"
             + " if(!el) return null;"
             + " function a(n){ return el.getAttribute(n); }"
@@ -63,7 +64,10 @@ public final class CandidateAttributeBatcher {
             + "  'visible':visible,"
             + "  'tag':el.tagName?el.tagName.toLowerCase():null};"
             + "} catch(e){ return null; }"
-            + "});";
+            + "}";
+
+    private static final String BATCH_SCRIPT = "return arguments[0].map(" + ROW_FUNCTION + ");";
+    private static final PinnedScripts.Script BATCH = PinnedScripts.register("candidateRows", BATCH_SCRIPT);
 
     @SuppressWarnings("unchecked")
     public static List<Map<String, Object>> fetch(WebDriver driver, List<WebElement> candidates) {
@@ -71,7 +75,7 @@ public final class CandidateAttributeBatcher {
         if (DriverProfile.detect(driver) == DriverProfile.MOBILE_NATIVE) return null;
         if (!(driver instanceof JavascriptExecutor)) return null;
         try {
-            Object res = ((JavascriptExecutor) driver).executeScript(BATCH_SCRIPT, candidates);
+            Object res = PinnedScripts.execute(driver, BATCH, candidates);
             if (res instanceof List<?> rows) {
                 List<Map<String, Object>> out = new ArrayList<>(rows.size());
                 for (Object row : rows) out.add(row instanceof Map<?, ?> ? (Map<String, Object>) row : null);
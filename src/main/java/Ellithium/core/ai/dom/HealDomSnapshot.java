@@ -0,0 +1,298 @@
+package Ellithium.core.ai.dom;
+
+import Ellithium.core.ai.DriverProfile;
+import Ellithium.core.ai.config.AIConfigLoader;
+import Ellithium.core.ai.sanitizers.AccessibilityTreeExtractor;
+import Ellithium.core.ai.sanitizers.DOMMinimizer;
+import Ellithium.core.logging.LogLevel;
+import Ellithium.core.reporting.Reporter;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Heal-scoped view of the page, shared by every tier of one {@code HealingOrchestrator.heal} call.
+ *
+ * <p>Without it the same DOM crosses the wire up to three times per heal: Tier 1 collects its
+ * tag-narrowed and shadow-DOM candidates and batches their attributes, Tier 2 collects its
+ * priority-ordered pool and batches again, and Tier 3 extracts the accessibility tree (or the
+ * page source) for the prompt. The snapshot gathers both candidate views, their attribute rows
+ * (including structural context) and the prompt DOM in a single {@code executeScript} the first
+ * time any tier reads from it; every later read is served from memory.</p>
+ *
+ * <p>Capture is lazy — a heal answered from a cache never touches the page. The snapshot describes
+ * the frame the driver was in at capture time, so a tier that switches into an iframe for its
+ * baseline must collect on its own. It is unavailable for native Appium contexts and drivers
+ * without JavaScript; callers then take their existing per-tier paths.</p>
+ */
+public final class HealDomSnapshot {
+
+    /** Tier 1 cap: tag-narrowed + shadow-DOM candidates. */
+    public static final int TAG_VIEW_LIMIT = 500;
+
+    /** Tier 1 fallback when the baseline tag is unknown or matches nothing. */
+    public static final String BROAD_SELECTOR =
+            "input, button, select, textarea, a, form, label, "
+            + "[role='button'], [role='link'], [role='textbox'], [role='checkbox'], "
+            + "[role='radio'], [role='tab'], [role='menuitem'], [data-testid]";
+
+    /** Interactive elements reached inside open shadow roots for the Tier 1 view. */
+    public static final String TAG_VIEW_SHADOW_SELECTOR =
+            "input,button,select,textarea,a,label,[role='button'],[role='link'],[role='textbox'],"
+            + "[role='checkbox'],[role='radio'],[role='tab'],[role='menuitem'],[data-testid]";
+
+    /** Interactive elements reached inside open shadow roots for the Tier 2 view. */
+    public static final String PRIORITY_VIEW_SHADOW_SELECTOR =
+            "input,button,select,textarea,a,form,label,[role='button'],[role='link'],"
+            + "[role='textbox'],[role='checkbox'],[role='radio'],[role='tab'],[role='menuitem'],[data-testid]";
+
+    private static final List<String> PRIORITY_SELECTORS = List.of(
+            "button, a, input, select, textarea, summary, "
+                + "[role='button'], [role='link'], [role='tab'], [role='menuitem'], "
+                + "[role='checkbox'], [role='radio'], [role='switch'], [role='option'], [onclick]",
+            "[role='alert'], [role='status'], [role='heading'], [role='log'], "
+                + "h1, h2, h3, h4, h5, h6, label, legend",
+            "[data-testid], [data-test], [data-cy], [aria-label], [placeholder], [title], [name], [id]",
+            "p, li, td, th, dt, dd, article, section, aside, span, div");
+
+    /** Tier 2 selector groups, most to least likely to hold the target. */
+    public static String[] prioritySelectors() {
+        return PRIORITY_SELECTORS.toArray(new String[0]);
+    }
+
+    /**
+     * arguments: baseline tag, tag-view limit, broad selector, tag-view shadow selector,
+     * priority selectors, priority-view limit, priority-view shadow selector.
+     * Elements are de-duplicated across both views; each view is a list of indexes into them.
+     */
+    private static final String CAPTURE_SCRIPT =
+            "var tag=arguments[0],tagLim=arguments[1],broad=arguments[2],tagShadow=arguments[3],"
+            + "sels=arguments[4],lim=arguments[5],prioShadow=arguments[6];"
+            + "var idx=new Map(),els=[];"
+            + "function add(e,v){if(v.seen.has(e))return;v.seen.add(e);"
+            + " var i=idx.get(e);if(i===undefined){i=els.length;idx.set(e,i);els.push(e);}v.out.push(i);}"
+            + "function walk(root,sel,v,cap){"
+            + " if(v.out.length>=cap)return;"
+            + " var q=root.querySelectorAll(sel);"
+            + " for(var i=0;i<q.length&&v.out.length<cap;i++)add(q[i],v);"
+            + " var all=root.querySelectorAll('*');"
+            + " for(var j=0;j<all.length&&v.out.length<cap;j++)if(all[j].shadowRoot)walk(all[j].shadowRoot,sel,v,cap);"
+            + "}"
+            + "var t={seen:new Set(),out:[]},p={seen:new Set(),out:[]};"
+            + "if(tag){var ts=document.getElementsByTagName(tag);"
+            + " for(var a=0;a<ts.length&&t.out.length<tagLim;a++)add(ts[a],t);}"
+            + "if(!t.out.length){try{var bs=document.querySelectorAll(broad);"
+            + " for(var b=0;b<bs.length&&t.out.length<tagLim;b++)add(bs[b],t);}catch(e){}}"
+            + "try{walk(document,tagShadow,t,tagLim);}catch(e){}"
+            + "for(var s=0;s<sels.length&&p.out.length<lim;s++){"
+            + " var ps=document.querySelectorAll(sels[s]);"
+            + " for(var c=0;c<ps.length&&p.out.length<lim;c++)add(ps[c],p);}"
+            + "try{walk(document,prioShadow,p,lim);}catch(e){}"
+            + "var rows=els.map(" + CandidateAttributeBatcher.ROW_FUNCTION + ");"
+            + "var ax=null,html=null;"
+            + "try{ax=(function(){" + AccessibilityTreeExtractor.script() + "})();}catch(e){}"
+            + "if(!ax){try{html=document.documentElement.outerHTML;}catch(e){}}"
+            + "return {'elements':els,'rows':rows,'tagView':t.out,'priorityView':p.out,'ax':ax,'html':html};";
+    private static final PinnedScripts.Script CAPTURE = PinnedScripts.register("healSnapshot", CAPTURE_SCRIPT);
+
+    /** Candidate elements with their attribute rows, aligned by index (rows may be null for stale elements). */
+    public record View(List<WebElement> elements, List<Map<String, Object>> attributes) {}
+
+    private final WebDriver driver;
+    private final String baselineTag;
+
+    private boolean captured;
+    private boolean available;
+    private List<WebElement> elements = List.of();
+    private List<Map<String, Object>> rows = List.of();
+    private final Map<WebElement, Integer> indexOf = new HashMap<>();
+    private View tagView;
+    private View priorityView;
+    private String axTree;
+    private String html;
+    private String promptDom;
+
+    /**
+     * @param driver      driver positioned on the page being healed
+     * @param baselineTag tag name of the element's baseline fingerprint, or {@code null} when unknown
+     */
+    public HealDomSnapshot(WebDriver driver, String baselineTag) {
+        this.driver = driver;
+        this.baselineTag = normalizeTag(baselineTag);
+    }
+
+    /** @return true once the page was captured successfully; triggers the capture on first call */
+    public boolean isAvailable() {
+        capture();
+        return available;
+    }
+
+    /** @return whether the capture round-trip has already happened (successfully or not) */
+    public synchronized boolean isCaptured() {
+        return captured;
+    }
+
+    /**
+     * Tier 1 view: elements with the baseline's tag (or the broad interactive set when the tag
+     * is unknown or matches nothing) followed by shadow-DOM interactive elements.
+     *
+     * @param tagName the tag the caller would have narrowed on
+     * @return the view, or {@code null} when the snapshot is unavailable or was taken for a different tag
+     */
+    public View tagView(String tagName) {
+        if (!isAvailable() || !java.util.Objects.equals(baselineTag, normalizeTag(tagName))) return null;
+        return tagView;
+    }
+
+    /**
+     * Tier 2 view: the priority-ordered candidate pool followed by shadow-DOM interactive elements.
+     *
+     * @return the view, or {@code null} when the snapshot is unavailable
+     */
+    public View priorityView() {
+        return isAvailable() ? priorityView : null;
+    }
+
+    /** @return the captured attribute row for {@code element}, or {@code null} if it is not in the snapshot */
+    public synchronized Map<String, Object> attributesOf(WebElement element) {
+        if (!available || element == null) return null;
+        Integer i = indexOf.get(element);
+        return i != null ? rows.get(i) : null;
+    }
+
+    /**
+     * Attribute rows aligned with {@code candidates}. Rows already in the snapshot are reused;
+     * the rest are read with one {@link CandidateAttributeBatcher} call.
+     *
+     * @return the aligned rows, or {@code null} when the snapshot is unavailable or the extra batch failed
+     */
+    public List<Map<String, Object>> attributesFor(List<WebElement> candidates) {
+        if (candidates == null || candidates.isEmpty() || !isAvailable()) return null;
+        List<Map<String, Object>> out = new ArrayList<>(Collections.nCopies(candidates.size(), null));
+        List<WebElement> misses = new ArrayList<>();
+        List<Integer> missAt = new ArrayList<>();
+        synchronized (this) {
+            for (int i = 0; i < candidates.size(); i++) {
+                Integer at = indexOf.get(candidates.get(i));
+                if (at != null) {
+                    out.set(i, rows.get(at));
+                } else {
+                    misses.add(candidates.get(i));
+                    missAt.add(i);
+                }
+            }
+        }
+        if (!misses.isEmpty()) {
+            List<Map<String, Object>> fetched = CandidateAttributeBatcher.fetch(driver, misses);
+            if (fetched == null) return null;
+            for (int k = 0; k < missAt.size() && k < fetched.size(); k++) out.set(missAt.get(k), fetched.get(k));
+        }
+        return out;
+    }
+
+    /**
+     * DOM context for the LLM prompt: the accessibility tree, or the minimized page HTML when the
+     * tree could not be built. Not scrubbed — callers apply {@code DataScrubber} as before.
+     *
+     * @return the prompt DOM, or {@code null} when the snapshot is unavailable
+     */
+    public String promptDom() {
+        if (!isAvailable()) return null;
+        synchronized (this) {
+            if (promptDom == null) {
+                promptDom = (axTree != null && !axTree.isBlank())
+                        ? AccessibilityTreeExtractor.cap(axTree)
+                        : html != null ? DOMMinimizer.minimize(html) : "";
+            }
+            return promptDom;
+        }
+    }
+
+    /**
+     * Like {@link #promptDom()} but without the accessibility tree's character cap, for callers
+     * that fit the DOM into a token budget by relevance instead of cutting it off at the end.
+     *
+     * @return the uncapped prompt DOM, or {@code null} when the snapshot is unavailable
+     */
+    public String fullPromptDom() {
+        if (!isAvailable()) return null;
+        synchronized (this) {
+            if (axTree != null && !axTree.isBlank()) return axTree;
+        }
+        return promptDom();
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized void capture() {
+        if (captured) return;
+        captured = true;
+        if (!(driver instanceof JavascriptExecutor)) return;
+        if (DriverProfile.detect(driver) == DriverProfile.MOBILE_NATIVE) return;
+
+        int priorityLimit = AIConfigLoader.getOnnxHardCandidateLimit();
+        if (priorityLimit <= 0) priorityLimit = 300;
+        long start = System.nanoTime();
+        Ellithium.core.execution.listener.seleniumListener.suppressLogging();
+        try {
+            Object res = PinnedScripts.execute(driver, CAPTURE, baselineTag, TAG_VIEW_LIMIT, BROAD_SELECTOR,
+                    TAG_VIEW_SHADOW_SELECTOR, PRIORITY_SELECTORS, priorityLimit, PRIORITY_VIEW_SHADOW_SELECTOR);
+            if (!(res instanceof Map<?, ?> snap)
+                    || !(snap.get("elements") instanceof List<?> els)
+                    || !(snap.get("rows") instanceof List<?> rawRows)
+                    || els.size() != rawRows.size()) {
+                return;
+            }
+            List<WebElement> elementList = new ArrayList<>(els.size());
+            List<Map<String, Object>> rowList = new ArrayList<>(els.size());
+            for (int i = 0; i < els.size(); i++) {
+                if (!(els.get(i) instanceof WebElement el)) return;
+                elementList.add(el);
+                rowList.add(rawRows.get(i) instanceof Map<?, ?> m ? (Map<String, Object>) m : null);
+                indexOf.putIfAbsent(el, i);
+            }
+            elements = elementList;
+            rows = rowList;
+            tagView = view(snap.get("tagView"));
+            priorityView = view(snap.get("priorityView"));
+            axTree = snap.get("ax") != null ? snap.get("ax").toString() : null;
+            html = snap.get("html") != null ? snap.get("html").toString() : null;
+            available = true;
+            Reporter.log("HealDomSnapshot: captured " + elements.size() + " elements (tier-1 view "
+                    + tagView.elements().size() + ", tier-2 view " + priorityView.elements().size()
+                    + ", " + (axTree != null ? "AX tree" : "HTML") + ") in "
+                    + (System.nanoTime() - start) / 1_000_000L + "ms", LogLevel.DEBUG);
+        } catch (Exception e) {
+            indexOf.clear();
+            Reporter.log("HealDomSnapshot: capture failed — tiers collect individually: "
+                    + e.getClass().getSimpleName(), LogLevel.DEBUG);
+        } finally {
+            Ellithium.core.execution.listener.seleniumListener.resumeLogging();
+        }
+    }
+
+    private View view(Object indexes) {
+        List<WebElement> els = new ArrayList<>();
+        List<Map<String, Object>> attrs = new ArrayList<>();
+        if (indexes instanceof List<?> list) {
+            for (Object o : list) {
+                if (!(o instanceof Number n)) continue;
+                int i = n.intValue();
+                if (i < 0 || i >= elements.size()) continue;
+                els.add(elements.get(i));
+                attrs.add(rows.get(i));
+            }
+        }
+        return new View(Collections.unmodifiableList(els), Collections.unmodifiableList(attrs));
+    }
+
+    private static String normalizeTag(String tag) {
+        return tag == null || tag.isBlank() ? null : tag.trim().toLowerCase(Locale.ROOT);
+    }
+}
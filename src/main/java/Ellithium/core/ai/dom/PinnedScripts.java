@@ -0,0 +1,197 @@
+package Ellithium.core.ai.dom;
+
+import Ellithium.core.ai.config.AIConfigLoader;
+import Ellithium.core.logging.LogLevel;
+import Ellithium.core.reporting.Reporter;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registry of the large helper scripts the framework runs over and over (fingerprint capture,
+ * heal snapshot, candidate batching, accessibility tree, recorder). Instead of uploading several
+ * KB of source with every {@code executeScript}, a registered script is installed into the page
+ * once as a named function and then invoked by a ~150-byte call.
+ *
+ * <h3>Installation</h3>
+ * <ul>
+ *   <li><b>Chromium</b> ({@code HasCdp} reachable, local or augmented remote): the definition is
+ *       registered once per driver with CDP {@code Page.addScriptToEvaluateOnNewDocument}, so
+ *       every new document and frame starts with the helpers already defined.</li>
+ *   <li><b>Any other remote session</b> (Firefox, Safari, Grid, Appium WebView): the first call in a
+ *       document finds the function missing, and the definition is sent together with the call in
+ *       one round-trip. Later calls in the same document go by name.</li>
+ *   <li>Drivers that are not a {@link RemoteWebDriver} underneath (test doubles, custom drivers), or
+ *       {@code ai.dom.pinScripts=false}: plain {@code executeScript} with the full source.</li>
+ * </ul>
+ * A driver whose pages change faster than the helpers are reused (most calls miss) is switched
+ * to sending definition and call together every time, so pinning never costs an extra round-trip
+ * in steady state.
+ *
+ * <p>Selenium's own {@code JavascriptExecutor.pin(String)} is not used: outside Chromium its
+ * default implementation re-sends the full source on every call, and it has no per-document
+ * fallback when a pinned function is missing from a document that was already loaded.</p>
+ */
+public final class PinnedScripts {
+
+    /** A registered script. Create once, as a constant, with {@link #register(String, String)}. */
+    public static final class Script {
+        final String source;
+        final String definition;
+        final String call;
+        final String defineAndCall;
+        final String asyncCall;
+
+        private Script(String name, String source) {
+            String fn = "window.__ellPinned['" + name + "']";
+            this.source = source;
+            this.definition = "window.__ellPinned=window.__ellPinned||{};" + fn + "=function(){" + source + "\n};";
+            this.call = "var f=window.__ellPinned&&" + fn + ";return f?f.apply(this,arguments):'" + MISSING + "';";
+            this.defineAndCall = definition + "return " + fn + ".apply(this,arguments);";
+            this.asyncCall = "var f=window.__ellPinned&&" + fn + ";if(f){f.apply(this,arguments);}"
+                    + "else{arguments[arguments.length-1]('" + MISSING + "');}";
+        }
+    }
+
+    /** Returned by the call stub when the document does not have the function (yet). */
+    static final String MISSING = "__ellithium:unpinned";
+
+    /** Misses tolerated before a driver is switched to define-and-call. */
+    private static final int MISS_TOLERANCE = 16;
+
+    private static final class DriverState {
+        final Set<String> cdpInstalled = ConcurrentHashMap.newKeySet();
+        final AtomicInteger hits = new AtomicInteger();
+        final AtomicInteger misses = new AtomicInteger();
+        volatile Object cdp;              // HasCdp, or null when unavailable
+        volatile boolean defineEveryCall;
+    }
+
+    private static final Map<WebDriver, DriverState> states = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private PinnedScripts() {}
+
+    /**
+     * Registers a script body (the text normally passed to {@code executeScript}: it may
+     * {@code return} and read {@code arguments}). The name is suffixed with a hash of the source,
+     * so a changed script never runs a stale definition left in a long-lived browser.
+     */
+    public static Script register(String name, String source) {
+        return new Script(name + "_" + Integer.toHexString(source.hashCode()), source);
+    }
+
+    /**
+     * Runs {@code script} with {@code args}, exactly as {@code executeScript(source, args)} would.
+     * Exceptions thrown by the script propagate unchanged.
+     */
+    public static Object execute(WebDriver driver, Script script, Object... args) {
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        DriverState state = AIConfigLoader.isScriptPinningEnabled() ? stateOf(driver) : null;
+        if (state == null) return js.executeScript(script.source, args);
+        if (state.defineEveryCall) return js.executeScript(script.defineAndCall, args);
+
+        installViaCdp(state, script);
+        Object result = js.executeScript(script.call, args);
+        if (!MISSING.equals(result)) {
+            state.hits.incrementAndGet();
+            return result;
+        }
+        int misses = state.misses.incrementAndGet();
+        if (misses > MISS_TOLERANCE && misses > state.hits.get()) {
+            state.defineEveryCall = true;
+            Reporter.log("PinnedScripts: pages change faster than helpers are reused on this driver — "
+                    + "sending definitions with each call", LogLevel.DEBUG);
+        }
+        return js.executeScript(script.defineAndCall, args);
+    }
+
+    /**
+     * Runs {@code script} with {@code args} through {@code executeAsyncScript}: the script reports
+     * its result by calling the callback passed as its last argument.
+     */
+    public static Object executeAsync(WebDriver driver, Script script, Object... args) {
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        DriverState state = AIConfigLoader.isScriptPinningEnabled() ? stateOf(driver) : null;
+        if (state == null) return js.executeAsyncScript(script.source, args);
+        if (state.defineEveryCall) return js.executeAsyncScript(script.defineAndCall, args);
+
+        installViaCdp(state, script);
+        Object result = js.executeAsyncScript(script.asyncCall, args);
+        if (!MISSING.equals(result)) {
+            state.hits.incrementAndGet();
+            return result;
+        }
+        state.misses.incrementAndGet();
+        return js.executeAsyncScript(script.defineAndCall, args);
+    }
+
+    /** Drops the per-driver state (call when the session ends). */
+    public static void forget(WebDriver driver) {
+        if (driver != null) states.remove(driver);
+    }
+
+    // ──────────────────────── Driver state ────────────────────────
+
+    private static DriverState stateOf(WebDriver driver) {
+        synchronized (states) {
+            if (states.containsKey(driver)) return states.get(driver);
+            WebDriver raw = unwrap(driver);
+            DriverState state = null;
+            if (raw instanceof RemoteWebDriver) {
+                state = new DriverState();
+                if (raw instanceof org.openqa.selenium.chromium.HasCdp) state.cdp = raw;
+            }
+            states.put(driver, state);
+            return state;
+        }
+    }
+
+    private static void installViaCdp(DriverState state, Script script) {
+        Object cdp = state.cdp;
+        if (cdp == null || !state.cdpInstalled.add(script.definition)) return;
+        try {
+            ((org.openqa.selenium.chromium.HasCdp) cdp).executeCdpCommand(
+                    "Page.addScriptToEvaluateOnNewDocument", Map.of("source", script.definition));
+        } catch (Exception e) {
+            state.cdp = null;
+            Reporter.log("PinnedScripts: CDP script pinning unavailable, pinning per document instead: "
+                    + e.getMessage(), LogLevel.DEBUG);
+        }
+    }
+
+    /** Peels {@code EventFiringDecorator} and other wrappers off to reach the session driver. */
+    public static WebDriver unwrap(WebDriver driver) {
+        WebDriver current = driver;
+        for (int depth = 0; depth < 10 && current != null; depth++) {
+            if (current instanceof RemoteWebDriver) return current;
+            if (current instanceof org.openqa.selenium.WrapsDriver wraps) {
+                current = wraps.getWrappedDriver();
+                continue;
+            }
+            Object inner = null;
+            try {
+                inner = current.getClass().getMethod("getTarget").invoke(current);
+            } catch (Exception ignored) {}
+            if (!(inner instanceof WebDriver)) {
+                try {
+                    java.lang.reflect.Field decorated = current.getClass().getDeclaredField("decorated");
+                    decorated.setAccessible(true);
+                    inner = decorated.get(current);
+                    if (inner != null && !(inner instanceof WebDriver)) {
+                        inner = inner.getClass().getMethod("getOriginal").invoke(inner);
+                    }
+                } catch (Exception ignored) {}
+            }
+            if (!(inner instanceof WebDriver next) || next == current) return current;
+            current = next;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,93 @@
+package Ellithium.core.ai.generators;
+
+import Ellithium.core.ai.models.TestCaseSource;
+import Ellithium.core.logging.LogLevel;
+import Ellithium.core.reporting.Reporter;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Objects;
+
+/**
+ * Persists raw LLM responses between the prompt and write stages of the generation pipeline.
+ *
+ * <p>A response is checkpointed as soon as the LLM returns it and removed once its assets
+ * are written (or rejected). If a long generation run is interrupted, the rerun reuses the
+ * checkpointed responses instead of paying for the same prompts again; fully written cases
+ * are already skipped through {@link Ellithium.core.ai.TraceabilityManager}.</p>
+ */
+public class GenerationCheckpoint {
+
+    private static final Path CHECKPOINT_DIR =
+            Paths.get("Test-Output" + File.separator + "ai-generation-checkpoint");
+
+    /**
+     * @return the checkpointed LLM response for this test case, or {@code null} if none exists
+     */
+    public static String load(TestCaseSource testCase) {
+        Path file = fileFor(testCase);
+        if (!Files.exists(file)) return null;
+        try {
+            String response = Files.readString(file, StandardCharsets.UTF_8);
+            return response.isBlank() ? null : response;
+        } catch (Exception e) {
+            Reporter.log("GenerationCheckpoint: unreadable checkpoint for " + testCase.getTestId()
+                    + " — will re-prompt: " + e.getMessage(), LogLevel.WARN);
+            return null;
+        }
+    }
+
+    public static void save(TestCaseSource testCase, String response) {
+        if (response == null || response.isBlank()) return;
+        try {
+            Files.createDirectories(CHECKPOINT_DIR);
+            Path target = fileFor(testCase);
+            Path tmp = Files.createTempFile(CHECKPOINT_DIR, "checkpoint", ".tmp");
+            try {
+                Files.writeString(tmp, response, StandardCharsets.UTF_8);
+                try {
+                    Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (Exception e) {
+            Reporter.log("GenerationCheckpoint: could not checkpoint " + testCase.getTestId()
+                    + ": " + e.getMessage(), LogLevel.DEBUG);
+        }
+    }
+
+    public static void clear(TestCaseSource testCase) {
+        try {
+            Files.deleteIfExists(fileFor(testCase));
+        } catch (Exception ignored) {}
+    }
+
+    /**
+     * The checkpoint file of a test case: its id and source file, plus its description and target
+     * URL, so a response is not reused once the case it was prompted for has been edited.
+     */
+    private static Path fileFor(TestCaseSource testCase) {
+        String identity = Objects.toString(testCase.getTestId(), "") + '\u0000'
+                + Objects.toString(testCase.getSourceFile(), "") + '\u0000'
+                + Objects.toString(testCase.getDescription(), "") + '\u0000'
+                + Objects.toString(testCase.getTargetUrl(), "");
+        String name;
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            name = HexFormat.of().formatHex(md.digest(identity.getBytes(StandardCharsets.UTF_8)), 0, 16);
+        } catch (Exception e) {
+            name = Integer.toHexString(identity.hashCode());
+        }
+        return CHECKPOINT_DIR.resolve(name + ".json");
+    }
+}
@@ -0,0 +1,137 @@
+package Ellithium.core.ai.generators;
+
+import Ellithium.core.logging.LogLevel;
+import Ellithium.core.reporting.Reporter;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache of minimized live-page context (DOM / accessibility tree) used for LLM grounding.
+ *
+ * <p>Entries are keyed by URL plus a structural fingerprint computed in-page in a single
+ * {@code executeScript}: a FNV-1a hash over every element's tag, child count and
+ * form-control state. Test cases that start on the same URL in the same state reuse the
+ * already minimized and scrubbed context instead of re-extracting and re-minimizing it;
+ * any structural change produces a new fingerprint and therefore a miss.</p>
+ *
+ * <p>Hit rate and the capture time saved are tracked and reported through {@link #report()}.</p>
+ */
+public class LiveContextCache {
+
+    private static final int MAX_ENTRIES = 64;
+
+    static final String FINGERPRINT_JS =
+            "var h=0x811c9dc5,n=0;" +
+            "function mix(s){for(var i=0;i<s.length;i++){h^=s.charCodeAt(i);h=Math.imul(h,16777619)>>>0;}}" +
+            "var all=document.getElementsByTagName('*');" +
+            "var limit=Math.min(all.length,20000);" +
+            "for(var i=0;i<limit;i++){var e=all[i];n++;" +
+            "mix(e.tagName);mix(String(e.childElementCount));" +
+            "if(e.tagName==='INPUT'||e.tagName==='SELECT'||e.tagName==='TEXTAREA'){" +
+            "mix(e.type||'');mix(e.disabled?'d':'');mix(e.checked?'c':'');mix(e.value?'v':'');}}" +
+            "return n+':'+all.length+':'+h.toString(16);";
+
+    private record Entry(String context, long captureMs) {}
+
+    private static final Map<String, Entry> cache = Collections.synchronizedMap(
+            new LinkedHashMap<>(MAX_ENTRIES, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    return size() > MAX_ENTRIES;
+                }
+            });
+
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong timeSavedMs = new AtomicLong();
+
+    /**
+     * Returns the cached context for the driver's current URL and DOM structure, or runs
+     * {@code capture} and caches its result. When the fingerprint cannot be computed the
+     * capture runs uncached.
+     *
+     * @param driver  driver positioned on the page to describe
+     * @param capture produces the minimized, scrubbed context on a miss
+     * @return the page context
+     */
+    public static String getOrCapture(WebDriver driver, Supplier<String> capture) {
+        String key = keyFor(driver);
+        if (key != null) {
+            Entry cached = cache.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                timeSavedMs.addAndGet(cached.captureMs());
+                Reporter.log("Live context cache hit — reused " + cached.context().length()
+                        + " chars (saved ~" + cached.captureMs() + "ms)", LogLevel.DEBUG);
+                return cached.context();
+            }
+        }
+        misses.incrementAndGet();
+        long start = System.nanoTime();
+        String context = capture.get();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000L;
+        if (key != null && context != null && !context.isBlank()) {
+            cache.put(key, new Entry(context, elapsedMs));
+        }
+        return context;
+    }
+
+    /**
+     * @return true when a snapshot exists for this URL, i.e. navigating to it again may be
+     *         avoidable if the browser is still there
+     */
+    public static boolean hasSnapshotFor(String url) {
+        if (url == null) return false;
+        String prefix = url + "|";
+        synchronized (cache) {
+            for (String key : cache.keySet()) {
+                if (key.startsWith(prefix)) return true;
+            }
+        }
+        return false;
+    }
+
+    /** Logs cache effectiveness (hit rate and capture time saved) if the cache was used. */
+    public static void report() {
+        long h = hits.get();
+        long total = h + misses.get();
+        if (total == 0) return;
+        Reporter.log(String.format("Live context cache | hits: %d/%d (%.0f%%) | capture time saved: %dms",
+                h, total, getHitRate() * 100.0, timeSavedMs.get()), LogLevel.INFO_BLUE);
+    }
+
+    public static double getHitRate() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0.0 : (double) hits.get() / total;
+    }
+
+    public static long getHits()        { return hits.get(); }
+    public static long getMisses()      { return misses.get(); }
+    public static long getTimeSavedMs() { return timeSavedMs.get(); }
+
+    /** Drops all snapshots and resets the counters. */
+    public static void clear() {
+        cache.clear();
+        hits.set(0);
+        misses.set(0);
+        timeSavedMs.set(0);
+    }
+
+    private static String keyFor(WebDriver driver) {
+        if (!(driver instanceof JavascriptExecutor js)) return null;
+        try {
+            String url = driver.getCurrentUrl();
+            Object fp = js.executeScript(FINGERPRINT_JS);
+            if (url == null || fp == null) return null;
+            return url + "|" + fp;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -274,15 +274,19 @@ public class LiveContextGenerator {
     /**
      * Captures the accessibility tree from the currently loaded page.
      * No new browser needed — uses the tester's existing driver.
+     * Reuses the minimized context from {@link LiveContextCache} when the URL and DOM
+     * structure match an earlier capture.
      */
     private static String captureLiveContext(WebDriver driver) {
         // Suppress listener logging during DOM scanning
         Ellithium.core.execution.listener.seleniumListener.suppressLogging();
         try {
-            String axTree = DOMMinimizer.getOptimalDOMRepresentation(driver);
-            String scrubbed = DataScrubber.scrub(axTree);
-            Reporter.log("LiveContextGenerator: Captured " + scrubbed.length() + " chars from current page", LogLevel.INFO_GREEN);
-            return scrubbed;
+            return LiveContextCache.getOrCapture(driver, () -> {
+                String axTree = DOMMinimizer.getOptimalDOMRepresentation(driver);
+                String scrubbed = DataScrubber.scrub(axTree);
+                Reporter.log("LiveContextGenerator: Captured " + scrubbed.length() + " chars from current page", LogLevel.INFO_GREEN);
+                return scrubbed;
+            });
         } finally {
             Ellithium.core.execution.listener.seleniumListener.resumeLogging();
         }
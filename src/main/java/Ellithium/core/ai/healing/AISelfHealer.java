@@ -3,6 +3,7 @@ package Ellithium.core.ai.healing;
 import Ellithium.core.ai.reporting.AIHealingReporter;
 import Ellithium.Utilities.ai.LLMProvider;
 import Ellithium.core.ai.config.AIConfigLoader;
+import Ellithium.core.ai.dom.HealDomSnapshot;
 import Ellithium.Utilities.ai.HealingStrategy;
 import Ellithium.core.ai.models.ElementFingerprint;
 import Ellithium.core.ai.models.HealingResult;
@@ -35,13 +36,24 @@ public class AISelfHealer {
         final By newLocator;
         final String originalField;
         final long cachedAt;
+        final long ttlMs;
+        final String pageFingerprint;
+        /** False for entries restored from disk until they have been re-checked against the live page. */
+        volatile boolean verified;
         CachedLocator(By newLocator, String originalField) {
+            this(newLocator, originalField, System.currentTimeMillis(), HEALED_CACHE_TTL_MS, null, true);
+        }
+        CachedLocator(By newLocator, String originalField, long cachedAt, long ttlMs,
+                      String pageFingerprint, boolean verified) {
             this.newLocator = newLocator;
             this.originalField = originalField;
-            this.cachedAt = System.currentTimeMillis();
+            this.cachedAt = cachedAt;
+            this.ttlMs = ttlMs;
+            this.pageFingerprint = pageFingerprint;
+            this.verified = verified;
         }
         boolean isExpired() {
-            return System.currentTimeMillis() - cachedAt > HEALED_CACHE_TTL_MS;
+            return System.currentTimeMillis() - cachedAt > ttlMs;
         }
     }
     private static final ConcurrentHashMap<String, CachedLocator> globalHealedCache = new ConcurrentHashMap<>();
@@ -51,9 +63,27 @@ public class AISelfHealer {
 
     // Negative-result cache: locators confirmed unhealable within the TTL window.
     // Prevents repeated full LLM invocations (latency + token cost) for permanently-broken
-    // locators in looping or parallel suites.
+    // locators in looping or parallel suites. Each mark carries the page fingerprint it was
+    // recorded on, so a page that keeps rendering after the failure clears it.
     private static final long UNHEALABLE_TTL_MS = 5 * 60 * 1_000L;
-    private static final ConcurrentHashMap<String, Long> knownUnhealable = new ConcurrentHashMap<>();
+
+    static final class UnhealableMark {
+        final long failedAt;
+        final long ttlMs;
+        final String pageFingerprint;
+        UnhealableMark(long failedAt, long ttlMs, String pageFingerprint) {
+            this.failedAt = failedAt;
+            this.ttlMs = ttlMs;
+            this.pageFingerprint = pageFingerprint;
+        }
+        boolean isExpired() {
+            return System.currentTimeMillis() - failedAt >= ttlMs;
+        }
+    }
+    private static final ConcurrentHashMap<String, UnhealableMark> knownUnhealable = new ConcurrentHashMap<>();
+
+    // Keys dropped during this run — keeps the persisted copy from resurrecting them on save.
+    private static final java.util.Set<String> invalidatedKeys = ConcurrentHashMap.newKeySet();
 
 
     private static String cacheKey(WebDriver driver, By brokenLocator) {
@@ -88,13 +118,61 @@ public class AISelfHealer {
     }
 
     public static By getCachedHealedLocator(WebDriver driver, By brokenLocator) {
-        String key = cacheKey(driver, brokenLocator);
+        return lookupHealed(driver, cacheKey(driver, brokenLocator));
+    }
+
+    private static By lookupHealed(WebDriver driver, String key) {
         CachedLocator cached = globalHealedCache.get(key);
+        if (cached == null) cached = fetchShared(key);
         if (cached == null) return null;
-        if (cached.isExpired()) { globalHealedCache.remove(key); return null; }
+        if (cached.isExpired()) { globalHealedCache.remove(key, cached); return null; }
+        if (!cached.verified && !verifyRestored(driver, key, cached)) return null;
         return cached.newLocator;
     }
 
+    /** Local miss: adopt a heal another JVM published to the shared tier, unverified until first use. */
+    private static CachedLocator fetchShared(String key) {
+        SharedHealCache shared = SharedHealCache.get();
+        if (shared == null) return null;
+        HealCacheStore.HealedEntry e = shared.getHealed(key);
+        if (e == null || e.x() <= System.currentTimeMillis()) return null;
+        By locator = HealCacheStore.toBy(e.m(), e.v());
+        if (locator == null) return null;
+        CachedLocator restored = new CachedLocator(locator, e.f() != null ? e.f() : "healed",
+                e.t(), e.x() - e.t(), e.p(), false);
+        CachedLocator existing = globalHealedCache.putIfAbsent(key, restored);
+        return existing != null ? existing : restored;
+    }
+
+    /**
+     * First use of an entry restored from a previous run: drop it if the page fingerprint has
+     * changed since it was recorded or the healed locator no longer resolves.
+     */
+    private static boolean verifyRestored(WebDriver driver, String key, CachedLocator cached) {
+        String current = cached.pageFingerprint != null ? HealCacheStore.pageFingerprint(driver) : null;
+        boolean valid = current == null || cached.pageFingerprint.equals(current);
+        if (valid) {
+            Ellithium.core.execution.listener.seleniumListener.suppressLogging();
+            try {
+                valid = !driver.findElements(cached.newLocator).isEmpty();
+            } catch (Exception e) {
+                valid = false;
+            } finally {
+                Ellithium.core.execution.listener.seleniumListener.resumeLogging();
+            }
+        }
+        if (!valid) {
+            if (globalHealedCache.remove(key, cached)) invalidatedKeys.add(key);
+            SharedHealCache shared = SharedHealCache.get();
+            if (shared != null) shared.invalidate(key);
+            Reporter.log("AI Self-Healing: persisted heal for " + key + " is stale (page changed) — re-healing",
+                    LogLevel.DEBUG);
+            return false;
+        }
+        cached.verified = true;
+        return true;
+    }
+
     public static void cacheHealedLocator(WebDriver driver, By brokenLocator,
                                            By healedLocator, double score, String fieldLabel) {
         if (healedLocator == null) return;
@@ -103,8 +181,145 @@ public class AISelfHealer {
         if (globalHealedCache.size() >= HEALED_CACHE_MAX) {
             globalHealedCache.entrySet().removeIf(e -> e.getValue().isExpired());
         }
-        globalHealedCache.putIfAbsent(key,
-                new CachedLocator(healedLocator, fieldLabel != null ? fieldLabel : "healed"));
+        CachedLocator created = newCachedLocator(driver, healedLocator, fieldLabel != null ? fieldLabel : "healed");
+        boolean added = globalHealedCache.putIfAbsent(key, created) == null;
+        knownUnhealable.remove(key);
+        SharedHealCache shared = SharedHealCache.get();
+        if (added && shared != null) {
+            String[] parts = HealCacheStore.toParts(healedLocator);
+            if (parts != null) {
+                shared.putHealed(new HealCacheStore.HealedEntry(key, parts[0], parts[1], created.originalField,
+                        created.cachedAt, created.cachedAt + created.ttlMs, created.pageFingerprint));
+            }
+        }
+    }
+
+    /**
+     * A fresh healed entry. {@code ai.healing.cache.ttlMinutes} applies only to entries that outlive
+     * the run (disk or shared tier); in-memory entries keep {@link #HEALED_CACHE_TTL_MS}. No page
+     * fingerprint is recorded: a restored entry is validated by resolving its locator on first use.
+     */
+    private static CachedLocator newCachedLocator(WebDriver driver, By locator, String fieldLabel) {
+        int minutes = AIConfigLoader.getHealCacheTtlMinutes();
+        long ttl = outlivesThisRun() && minutes > 0 ? minutes * 60_000L : HEALED_CACHE_TTL_MS;
+        return new CachedLocator(locator, fieldLabel, System.currentTimeMillis(), ttl, null, true);
+    }
+
+    /**
+     * @return true if every healing tier already failed for this locator on this page within
+     *         the negative-cache TTL and the page has not changed since, so a new attempt can be skipped
+     */
+    public static boolean isKnownUnhealable(WebDriver driver, By brokenLocator) {
+        return isKnownUnhealable(driver, cacheKey(driver, brokenLocator));
+    }
+
+    private static boolean isKnownUnhealable(WebDriver driver, String key) {
+        UnhealableMark mark = knownUnhealable.get(key);
+        if (mark == null) mark = fetchSharedUnhealable(key);
+        if (mark == null) return false;
+        if (mark.isExpired()) { knownUnhealable.remove(key, mark); return false; }
+        if (mark.pageFingerprint != null) {
+            // The page has changed since every tier failed here — the element may exist now.
+            String current = HealCacheStore.pageFingerprint(driver);
+            if (current != null && !mark.pageFingerprint.equals(current)) {
+                if (knownUnhealable.remove(key, mark)) invalidatedKeys.add(key);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static UnhealableMark fetchSharedUnhealable(String key) {
+        SharedHealCache shared = SharedHealCache.get();
+        if (shared == null) return null;
+        HealCacheStore.UnhealableEntry e = shared.getUnhealable(key);
+        if (e == null || e.x() <= System.currentTimeMillis()) return null;
+        UnhealableMark mark = new UnhealableMark(e.t(), e.x() - e.t(), e.p());
+        UnhealableMark existing = knownUnhealable.putIfAbsent(key, mark);
+        return existing != null ? existing : mark;
+    }
+
+    /** Records that no tier could heal this locator on the current page. */
+    public static void markUnhealable(WebDriver driver, By brokenLocator) {
+        markUnhealable(driver, cacheKey(driver, brokenLocator));
+    }
+
+    private static void markUnhealable(WebDriver driver, String key) {
+        int minutes = AIConfigLoader.getUnhealableTtlMinutes();
+        long ttl = minutes > 0 ? minutes * 60_000L : UNHEALABLE_TTL_MS;
+        String fp = HealCacheStore.pageFingerprint(driver);
+        long now = System.currentTimeMillis();
+        knownUnhealable.put(key, new UnhealableMark(now, ttl, fp));
+        SharedHealCache shared = SharedHealCache.get();
+        if (shared != null) shared.putUnhealable(new HealCacheStore.UnhealableEntry(key, now, now + ttl, fp));
+    }
+
+    private static boolean outlivesThisRun() {
+        return AIConfigLoader.isHealCachePersistEnabled() || AIConfigLoader.isSharedHealCacheEnabled();
+    }
+
+    /** True if a live healed entry or unhealable mark exists for the key — no page checks. */
+    static boolean hasCacheEntry(String key) {
+        CachedLocator cached = globalHealedCache.get(key);
+        if (cached != null && !cached.isExpired()) return true;
+        UnhealableMark mark = knownUnhealable.get(key);
+        return mark != null && !mark.isExpired();
+    }
+
+    static void forgetUnhealable(String key) {
+        knownUnhealable.remove(key);
+    }
+
+    static void forgetHealed(String key) {
+        globalHealedCache.remove(key);
+    }
+
+    // ──────────────────────── Cross-run persistence ────────────────────────
+
+    /**
+     * Restores the healed and known-unhealable caches written by previous runs (see
+     * {@code ai.healing.cache.persist}). Restored entries are validated against the live page
+     * on first use. Call after {@link #resetForSuite()}.
+     */
+    public static void loadPersistedCaches() {
+        if (!AIConfigLoader.isHealCachePersistEnabled()) return;
+        HealCacheStore.Snapshot snap = HealCacheStore.load();
+        int healed = 0;
+        for (HealCacheStore.HealedEntry e : snap.healed()) {
+            By locator = HealCacheStore.toBy(e.m(), e.v());
+            if (locator == null) continue;
+            globalHealedCache.putIfAbsent(e.k(), new CachedLocator(locator,
+                    e.f() != null ? e.f() : "healed", e.t(), e.x() - e.t(), e.p(), false));
+            healed++;
+        }
+        for (HealCacheStore.UnhealableEntry e : snap.unhealable()) {
+            knownUnhealable.putIfAbsent(e.k(), new UnhealableMark(e.t(), e.x() - e.t(), e.p()));
+        }
+        if (healed > 0 || !snap.unhealable().isEmpty()) {
+            Reporter.log("AI Self-Healing: restored " + healed + " healed / " + snap.unhealable().size()
+                    + " known-unhealable locators from previous runs", LogLevel.INFO_BLUE);
+        }
+    }
+
+    /** Writes both caches to disk, merging with entries persisted by other processes. */
+    public static void persistCaches() {
+        if (!AIConfigLoader.isHealCachePersistEnabled()) return;
+        List<HealCacheStore.HealedEntry> healed = new java.util.ArrayList<>();
+        for (Map.Entry<String, CachedLocator> e : globalHealedCache.entrySet()) {
+            CachedLocator c = e.getValue();
+            String[] parts = HealCacheStore.toParts(c.newLocator);
+            if (parts == null || c.isExpired()) continue;
+            healed.add(new HealCacheStore.HealedEntry(e.getKey(), parts[0], parts[1], c.originalField,
+                    c.cachedAt, c.cachedAt + c.ttlMs, c.pageFingerprint));
+        }
+        List<HealCacheStore.UnhealableEntry> unhealable = new java.util.ArrayList<>();
+        for (Map.Entry<String, UnhealableMark> e : knownUnhealable.entrySet()) {
+            UnhealableMark m = e.getValue();
+            if (m.isExpired()) continue;
+            unhealable.add(new HealCacheStore.UnhealableEntry(e.getKey(), m.failedAt,
+                    m.failedAt + m.ttlMs, m.pageFingerprint));
+        }
+        HealCacheStore.save(new HealCacheStore.Snapshot(healed, unhealable), java.util.Set.copyOf(invalidatedKeys));
     }
 
     public static void resetForSuite() {
@@ -112,6 +327,10 @@ public class AISelfHealer {
         inFlight.clear();
         pendingPatches.clear();
         knownUnhealable.clear();
+        invalidatedKeys.clear();
+        PreflightLocatorSweep.reset();
+        SharedHealCache shared = SharedHealCache.get();
+        if (shared != null) shared.clearNearCache();
         // Clear per-locator mutation and strategy caches so a second suite (or a different
         // AUT loaded in the same JVM) does not receive stale strategy lists built for the
         // previous app's locator patterns.
@@ -166,7 +385,7 @@ public class AISelfHealer {
                 return;
             }
 
-            HealingContextBuilder.SourceLocation srcLoc = HealingContextBuilder.resolveSourceLocation(stackTrace);
+            HealingContextBuilder.SourceLocation srcLoc = HealingContextBuilder.resolveSourceLocation(stackTrace, brokenLocator);
             if (srcLoc == null || srcLoc.filePath == null) return;
 
             HealingContextBuilder.HealingContext tempCtx = new HealingContextBuilder.HealingContext();
@@ -197,7 +416,7 @@ public class AISelfHealer {
             if (strategy != HealingStrategy.HEAL_AND_NOTIFY) return;
             if (confidence < AIConfigLoader.getHealingStoreThreshold()) return;
 
-            HealingContextBuilder.SourceLocation srcLoc = HealingContextBuilder.resolveSourceLocation(stackTrace);
+            HealingContextBuilder.SourceLocation srcLoc = HealingContextBuilder.resolveSourceLocation(stackTrace, brokenLocator);
             if (srcLoc == null || srcLoc.filePath == null) return;
 
             HealingContextBuilder.HealingContext tempCtx = new HealingContextBuilder.HealingContext();
@@ -293,6 +512,15 @@ public class AISelfHealer {
     // ──────────────────────── Main Entry Points ────────────────────────
 
     public static WebElement attemptHeal(WebDriver driver, By brokenLocator, StackTraceElement[] stackTrace) {
+        return attemptHeal(driver, brokenLocator, stackTrace, null);
+    }
+
+    /**
+     * As {@link #attemptHeal(WebDriver, By, StackTraceElement[])}, taking the prompt DOM from the
+     * heal's shared {@link HealDomSnapshot} instead of extracting it again.
+     */
+    public static WebElement attemptHeal(WebDriver driver, By brokenLocator, StackTraceElement[] stackTrace,
+                                         HealDomSnapshot snapshot) {
         if (getEffectiveStrategy() == HealingStrategy.DISABLED || getEffectiveProvider() == null) {
             return null;
         }
@@ -300,7 +528,7 @@ public class AISelfHealer {
 
         Reporter.log("[TIER 3] triggered: " + brokenLocator, LogLevel.INFO_YELLOW);
 
-        By newLocator = healLocator(driver, brokenLocator, stackTrace);
+        By newLocator = healLocator(driver, brokenLocator, stackTrace, snapshot);
 
         if (newLocator != null) {
             CachedLocator cached = globalHealedCache.get(cacheKey(driver, brokenLocator));
@@ -313,32 +541,31 @@ public class AISelfHealer {
                 return found;
             } catch (Exception e) {
                 Reporter.log("AI Self-Healing: Healed locator also failed: " + e.getMessage(), LogLevel.ERROR);
-                globalHealedCache.remove(cacheKey(driver, brokenLocator));
+                String key = cacheKey(driver, brokenLocator);
+                if (globalHealedCache.remove(key) != null) invalidatedKeys.add(key);
             }
         }
         return null;
     }
 
     static By healLocator(WebDriver driver, By brokenLocator, StackTraceElement[] stackTrace) {
+        return healLocator(driver, brokenLocator, stackTrace, null);
+    }
+
+    static By healLocator(WebDriver driver, By brokenLocator, StackTraceElement[] stackTrace,
+                          HealDomSnapshot snapshot) {
         HealingStrategy strategy = getEffectiveStrategy();
         LLMProvider provider = getEffectiveProvider();
         if (strategy == HealingStrategy.DISABLED || provider == null) return null;
 
         String cacheKey = cacheKey(driver, brokenLocator);
-        CachedLocator cached = globalHealedCache.get(cacheKey);
-        if (cached != null) {
-            if (!cached.isExpired()) return cached.newLocator;
-            globalHealedCache.remove(cacheKey);
-        }
+        By cachedLocator = lookupHealed(driver, cacheKey);
+        if (cachedLocator != null) return cachedLocator;
 
-        Long failedAt = knownUnhealable.get(cacheKey);
-        if (failedAt != null) {
-            if (System.currentTimeMillis() - failedAt < UNHEALABLE_TTL_MS) {
-                Reporter.log("[TIER 3] Skipping LLM — locator known unhealable (negative cache, TTL not expired)",
-                        LogLevel.DEBUG);
-                return null;
-            }
-            knownUnhealable.remove(cacheKey);
+        if (isKnownUnhealable(driver, cacheKey)) {
+            Reporter.log("[TIER 3] Skipping LLM — locator known unhealable (negative cache, TTL not expired)",
+                    LogLevel.DEBUG);
+            return null;
         }
 
         java.util.concurrent.CompletableFuture<By> mine = new java.util.concurrent.CompletableFuture<>();
@@ -352,8 +579,8 @@ public class AISelfHealer {
             }
         }
         try {
-            By result = healLocatorInternal(driver, brokenLocator, stackTrace, strategy, provider);
-            if (result == null) knownUnhealable.put(cacheKey, System.currentTimeMillis());
+            By result = healLocatorInternal(driver, brokenLocator, stackTrace, strategy, provider, snapshot);
+            if (result == null) markUnhealable(driver, cacheKey);
             mine.complete(result);
             return result;
         } catch (Throwable t) {
@@ -368,10 +595,11 @@ public class AISelfHealer {
     }
 
     private static By healLocatorInternal(WebDriver driver, By brokenLocator, StackTraceElement[] stackTrace,
-                                           HealingStrategy strategy, LLMProvider provider) {
+                                           HealingStrategy strategy, LLMProvider provider,
+                                           HealDomSnapshot snapshot) {
         LAST_HEAL_CONFIDENCE.set(0.0);
         HealingContextBuilder.HealingContext ctx =
-                HealingContextBuilder.build(driver, brokenLocator, stackTrace, provider, strategy);
+                HealingContextBuilder.build(driver, brokenLocator, stackTrace, provider, strategy, snapshot);
 
         String systemPrompt = HealingPromptBuilder.buildSystemPrompt(ctx.isMobile);
         String userPrompt = HealingPromptBuilder.buildUserPrompt(ctx);
@@ -468,7 +696,7 @@ public class AISelfHealer {
         String fieldLabel = ctx.fieldName != null ? ctx.fieldName : ctx.methodName;
         if (acceptedResult.getConfidence() >= AIConfigLoader.getHealingStoreThreshold()) {
             globalHealedCache.put(cacheKey(driver, brokenLocator),
-                    new CachedLocator(acceptedLocator, fieldLabel != null ? fieldLabel : "unknown"));
+                    newCachedLocator(driver, acceptedLocator, fieldLabel != null ? fieldLabel : "unknown"));
         }
 
         AIHealingReporter.queueChange(
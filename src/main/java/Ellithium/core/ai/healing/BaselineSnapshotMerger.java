@@ -0,0 +1,187 @@
+package Ellithium.core.ai.healing;
+
+import Ellithium.core.ai.models.ElementFingerprint;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.*;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Merges the {@code healing-baselines.json} files written by sharded CI runs into one store, so
+ * the next pipeline run starts every shard with the full fingerprint history.
+ *
+ * <h3>Merge rules</h3>
+ * <ul>
+ *   <li>Per locator key, fingerprints from all inputs are pooled, exact duplicates (the history
+ *       every shard restored from the previous run) are dropped, and the newest
+ *       {@value BaselineStore#MAX_HISTORY} by {@code lastSeenEpoch} are kept — newest LAST, the
+ *       order {@link BaselineStore} expects.</li>
+ *   <li>The result is deterministic: keys are written sorted and equal timestamps are ordered by
+ *       content, so the same inputs in any order produce a byte-identical file.</li>
+ *   <li>Both the current map format and the legacy flat-array format are read.</li>
+ * </ul>
+ *
+ * <h3>Memory</h3>
+ * Inputs are streamed one locator entry at a time and the output is streamed back out, so memory
+ * holds at most {@code MAX_HISTORY} fingerprints per distinct key — the size of the merged store —
+ * never a whole input file's JSON tree.
+ *
+ * <h3>How to run</h3>
+ * <pre>java -cp ellithium-*.jar Ellithium.core.ai.healing.BaselineSnapshotMerger [-o out.json] shard1.json shard2.json ...</pre>
+ * The output defaults to {@code Test-Output/healing-baselines.json}; it may also be one of the inputs.
+ */
+public class BaselineSnapshotMerger {
+
+    private static final String DEFAULT_OUTPUT = "Test-Output" + File.separator + "healing-baselines.json";
+    private static final Gson   GSON           = new Gson();
+    private static final Type   LIST_TYPE      = new TypeToken<List<ElementFingerprint>>() {}.getType();
+
+    /** Totals of one merge run. */
+    public record MergeResult(int inputs, int fingerprintsRead, int duplicatesDropped,
+                              int trimmedByHistory, int locators, int fingerprintsWritten) {}
+
+    public static void main(String[] args) {
+        Path output = Paths.get(DEFAULT_OUTPUT);
+        List<Path> inputs = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if ("-o".equals(args[i]) && i + 1 < args.length) output = Paths.get(args[++i]);
+            else inputs.add(Paths.get(args[i]));
+        }
+        if (inputs.isEmpty()) {
+            System.err.println("Usage: BaselineSnapshotMerger [-o out.json] shard1.json shard2.json ...");
+            return;
+        }
+        try {
+            MergeResult r = merge(inputs, output);
+            System.out.println("[BASELINE-MERGE] " + r.inputs() + " files, " + r.fingerprintsRead()
+                    + " fingerprints read, " + r.duplicatesDropped() + " duplicates dropped, "
+                    + r.trimmedByHistory() + " trimmed by history → " + r.locators() + " locators / "
+                    + r.fingerprintsWritten() + " fingerprints in " + output.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("[BASELINE-MERGE] Failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Merges {@code inputs} into {@code output}, replacing it atomically. Missing inputs are
+     * skipped; an unreadable input fails the merge rather than silently dropping a shard.
+     */
+    public static MergeResult merge(List<Path> inputs, Path output) throws IOException {
+        Accumulator acc = new Accumulator();
+        int read = 0;
+        for (Path input : inputs) {
+            if (!Files.isRegularFile(input)) continue;
+            read++;
+            streamInto(input, acc);
+        }
+        int written = write(acc.merged, output);
+        return new MergeResult(read, acc.fingerprintsRead, acc.duplicates, acc.trimmed, acc.merged.size(), written);
+    }
+
+    // ──────────────────────── Streaming read ────────────────────────
+
+    private static void streamInto(Path input, Accumulator acc) throws IOException {
+        try (JsonReader in = new JsonReader(Files.newBufferedReader(input, StandardCharsets.UTF_8))) {
+            JsonToken token = in.peek();
+            if (token == JsonToken.BEGIN_OBJECT) {
+                in.beginObject();
+                while (in.hasNext()) {
+                    String key = in.nextName();
+                    List<ElementFingerprint> history = GSON.fromJson(in, LIST_TYPE);
+                    acc.add(key, history);
+                }
+                in.endObject();
+            } else if (token == JsonToken.BEGIN_ARRAY) {
+                // Legacy flat format: one fingerprint per locator, keyed by its own locatorKey.
+                in.beginArray();
+                while (in.hasNext()) {
+                    ElementFingerprint fp = GSON.fromJson(in, ElementFingerprint.class);
+                    if (fp != null && fp.getLocatorKey() != null) acc.add(fp.getLocatorKey(), List.of(fp));
+                }
+                in.endArray();
+            } else {
+                in.skipValue();
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("cannot read " + input + ": " + e.getMessage(), e);
+        }
+    }
+
+    /** Per-key bounded merge state: at most MAX_HISTORY entries per key, newest last. */
+    private static final class Accumulator {
+        final TreeMap<String, List<Entry>> merged = new TreeMap<>();
+        int fingerprintsRead, duplicates, trimmed;
+
+        void add(String key, List<ElementFingerprint> history) {
+            if (key == null || history == null) return;
+            List<Entry> entries = merged.computeIfAbsent(key, k -> new ArrayList<>(BaselineStore.MAX_HISTORY + 1));
+            for (ElementFingerprint fp : history) {
+                if (fp == null) continue;
+                fingerprintsRead++;
+                ElementFingerprint compacted = fp.compact();
+                Entry entry = new Entry(compacted, GSON.toJson(compacted));
+                if (entries.contains(entry)) {
+                    duplicates++;
+                    continue;
+                }
+                int at = Collections.binarySearch(entries, entry, RECENCY);
+                entries.add(at < 0 ? -at - 1 : at, entry);
+                if (entries.size() > BaselineStore.MAX_HISTORY) {
+                    entries.remove(0);
+                    trimmed++;
+                }
+            }
+            if (entries.isEmpty()) merged.remove(key);
+        }
+    }
+
+    /** A fingerprint plus its canonical JSON — the identity used for de-duplication and tie-breaks. */
+    private record Entry(ElementFingerprint fingerprint, String json) {
+        @Override public boolean equals(Object o) { return o instanceof Entry e && json.equals(e.json); }
+        @Override public int hashCode() { return json.hashCode(); }
+    }
+
+    private static final Comparator<Entry> RECENCY =
+            Comparator.comparingLong((Entry e) -> e.fingerprint().getLastSeenEpoch()).thenComparing(Entry::json);
+
+    // ──────────────────────── Streaming write ────────────────────────
+
+    private static int write(TreeMap<String, List<Entry>> merged, Path output) throws IOException {
+        Path target = output.toAbsolutePath();
+        Path dir = target.getParent() != null ? target.getParent() : Paths.get(".");
+        Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, "healing-baselines", ".tmp");
+        int written = 0;
+        try {
+            try (JsonWriter out = new JsonWriter(Files.newBufferedWriter(tmp, StandardCharsets.UTF_8))) {
+                out.setIndent("  ");
+                out.beginObject();
+                for (Map.Entry<String, List<Entry>> e : merged.entrySet()) {
+                    out.name(e.getKey());
+                    out.beginArray();
+                    for (Entry entry : e.getValue()) {
+                        GSON.toJson(entry.fingerprint(), ElementFingerprint.class, out);
+                        written++;
+                    }
+                    out.endArray();
+                }
+                out.endObject();
+            }
+            try {
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        return written;
+    }
+}
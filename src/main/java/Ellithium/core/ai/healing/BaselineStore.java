@@ -4,6 +4,8 @@ import Ellithium.core.ai.reporting.AIHealingReporter;
 import Ellithium.core.ai.HealingTelemetryStore;
 import Ellithium.core.ai.scoring.LocatorMutationEngine;
 import Ellithium.core.ai.config.AIConfigLoader;
+import Ellithium.core.ai.dom.HealDomSnapshot;
+import Ellithium.core.ai.dom.PinnedScripts;
 import Ellithium.core.ai.models.ElementFingerprint;
 import Ellithium.core.ai.models.HealOutcome;
 import Ellithium.core.ai.models.HealingResult;
@@ -50,6 +52,7 @@ import java.util.concurrent.ConcurrentHashMap;
 public class BaselineStore {
 
     private static final String BASELINE_FILE = "Test-Output" + File.separator + "healing-baselines.json";
+    private static volatile Path baselineFile = Paths.get(BASELINE_FILE);
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
     private static final Object LOCK = new Object();
     static final int MAX_HISTORY = 3;
@@ -104,15 +107,23 @@ public class BaselineStore {
                         tier), LogLevel.DEBUG);
                 return;
             }
-            baselines.compute(pageKey(driver, locator.toString()), (k, existing) -> {
+            String key = pageKey(driver, locator.toString());
+            historyOf(key);     // adopt a shared history first so it is extended, not overwritten
+            boolean[] firstForKey = new boolean[1];
+            List<ElementFingerprint> stored = baselines.compute(key, (k, existing) -> {
                 List<ElementFingerprint> updated = new ArrayList<>();
                 if (existing != null && !existing.isEmpty()) {
                     int start = Math.max(0, existing.size() - (MAX_HISTORY - 1));
                     updated.addAll(existing.subList(start, existing.size()));
                 }
+                firstForKey[0] = updated.isEmpty();
                 updated.add(fp);
                 return List.copyOf(updated);
             });
+            // Share only new keys and heals — re-captures of a known element on every find would
+            // turn each passing action into a Redis write.
+            SharedHealCache shared = SharedHealCache.get();
+            if (shared != null && (firstForKey[0] || tier > 0)) shared.putBaselines(key, stored);
             saveToDiskAsync();
         } catch (Exception e) {
             Reporter.log("BaselineStore: capture failed (non-fatal): " + e.getMessage(), LogLevel.WARN);
@@ -130,7 +141,7 @@ public class BaselineStore {
      */
     public static ElementFingerprint getBaseline(String locatorKey) {
         ensureLoaded();
-        List<ElementFingerprint> history = baselines.get(locatorKey);
+        List<ElementFingerprint> history = historyOf(locatorKey);
         if (history == null || history.isEmpty()) return null;
         return history.getLast();
     }
@@ -150,10 +161,39 @@ public class BaselineStore {
      */
     static List<ElementFingerprint> getAllBaselines(String locatorKey) {
         ensureLoaded();
-        List<ElementFingerprint> history = baselines.get(locatorKey);
+        List<ElementFingerprint> history = historyOf(locatorKey);
         return history != null ? history : List.of();
     }
 
+    /** Local history, falling back to one another JVM published to the shared tier. */
+    private static List<ElementFingerprint> historyOf(String locatorKey) {
+        List<ElementFingerprint> history = baselines.get(locatorKey);
+        if (history != null) return history;
+        SharedHealCache shared = SharedHealCache.get();
+        if (shared == null) return null;
+        List<ElementFingerprint> remote = shared.getBaselines(locatorKey);
+        if (remote == null) return null;
+        List<ElementFingerprint> adopted = List.copyOf(remote.subList(Math.max(0, remote.size() - MAX_HISTORY), remote.size()));
+        List<ElementFingerprint> existing = baselines.putIfAbsent(locatorKey, adopted);
+        return existing != null ? existing : adopted;
+    }
+
+    /**
+     * Returns the locator strings that have a baseline on the given page context, skipping
+     * elements recorded inside an iframe (checking those would require a frame switch).
+     */
+    static List<String> knownLocators(String pageContext) {
+        ensureLoaded();
+        String prefix = pageContext + "##";
+        List<String> out = new ArrayList<>();
+        for (Map.Entry<String, List<ElementFingerprint>> e : baselines.entrySet()) {
+            if (!e.getKey().startsWith(prefix) || e.getValue().isEmpty()) continue;
+            if (!e.getValue().getLast().getIframeChain().isEmpty()) continue;
+            out.add(e.getKey().substring(prefix.length()));
+        }
+        return out;
+    }
+
     /**
      * Removes a stored baseline entry by its locator key and schedules a disk flush.
      * Use this to prune a stale or deliberately changed locator so it stops being healed
@@ -180,6 +220,17 @@ public class BaselineStore {
      */
     public static HealOutcome tryAlgorithmicHeal(WebDriver driver, By brokenLocator,
                                                   StackTraceElement[] stackTrace, String actionType) {
+        return tryAlgorithmicHeal(driver, brokenLocator, stackTrace, actionType, null);
+    }
+
+    /**
+     * As {@link #tryAlgorithmicHeal(WebDriver, By, StackTraceElement[], String)}, reading the
+     * DOM scan's candidates and attributes from the heal's shared {@link HealDomSnapshot} when
+     * one is given and the element is not inside an iframe.
+     */
+    public static HealOutcome tryAlgorithmicHeal(WebDriver driver, By brokenLocator,
+                                                  StackTraceElement[] stackTrace, String actionType,
+                                                  HealDomSnapshot snapshot) {
         ensureLoaded();
         List<ElementFingerprint> history = baselines.get(pageKey(driver, brokenLocator.toString()));
         ElementFingerprint baseline = (history != null && !history.isEmpty())
@@ -217,7 +268,7 @@ public class BaselineStore {
                 return HealOutcome.of(attrMatch, score, 1);
             }
 
-            ScoredCandidate best = findBestMatch(driver, baseline, history);
+            ScoredCandidate best = findBestMatch(driver, baseline, history, switchedFrame ? null : snapshot);
 
             if (best == null) {
                 Reporter.log("BaselineStore: Tier 1 found no candidates in DOM", LogLevel.DEBUG);
@@ -247,6 +298,31 @@ public class BaselineStore {
         }
     }
 
+    /**
+     * Read-only Tier 1 lookup used by {@link PreflightLocatorSweep}: what {@code brokenLocator}
+     * would heal to on the driver's current page, via the attribute pre-search and the DOM scan.
+     * Records no telemetry, leaves the baseline untouched and queues no source patch; elements
+     * recorded inside an iframe are not looked up. Returns {@code null} below the store threshold.
+     */
+    static HealOutcome findAlgorithmicMatch(WebDriver driver, By brokenLocator) {
+        ensureLoaded();
+        List<ElementFingerprint> history = baselines.get(pageKey(driver, brokenLocator.toString()));
+        if (history == null || history.isEmpty() || history.getLast().isInsideIframe()) return null;
+        ElementFingerprint baseline = history.getLast();
+        double acceptBar = AIConfigLoader.getHealingStoreThreshold();
+
+        WebElement attrMatch = tryAttributePreSearch(driver, baseline, history);
+        if (attrMatch != null) {
+            double score = scoreBestHistory(attrMatch, history);
+            By built = HealedLocatorBuilder.build(driver, attrMatch, baseline);
+            By locator = built != null ? built : ElementFingerprint.reconstructLocator(attrMatch);
+            if (locator != null && score >= acceptBar) return HealOutcome.of(attrMatch, locator, score, 1);
+        }
+        ScoredCandidate best = findBestMatch(driver, baseline, history, null);
+        if (best == null || best.score < acceptBar) return null;
+        return HealOutcome.of(best.element, best.reconstructedLocator, best.score, 1);
+    }
+
     // ──────────────────────── Attribute Pre-Search (T1-C) ────────────────────────
 
     /**
@@ -359,12 +435,19 @@ public class BaselineStore {
      * Scores each candidate against ALL history fingerprints and takes the maximum.
      */
     static ScoredCandidate findBestMatch(WebDriver driver, ElementFingerprint baseline,
-                                         List<ElementFingerprint> history) {
-        List<WebElement> candidates = collectCandidates(driver, baseline);
-        if (candidates.isEmpty()) return null;
-
-        List<Map<String, Object>> attrsBatch =
-                Ellithium.core.ai.dom.CandidateAttributeBatcher.fetch(driver, candidates);
+                                         List<ElementFingerprint> history, HealDomSnapshot snapshot) {
+        HealDomSnapshot.View view = snapshot != null ? snapshot.tagView(baseline.getTagName()) : null;
+        List<WebElement> candidates;
+        List<Map<String, Object>> attrsBatch;
+        if (view != null) {
+            candidates = view.elements();
+            if (candidates.isEmpty()) return null;
+            attrsBatch = view.attributes();
+        } else {
+            candidates = collectCandidates(driver, baseline);
+            if (candidates.isEmpty()) return null;
+            attrsBatch = Ellithium.core.ai.dom.CandidateAttributeBatcher.fetch(driver, candidates);
+        }
 
         // Batch failed (Appium native / blocked JS): each candidate now costs ~12 WebDriver
         // round-trips, so cap the scan hard to keep the heal bounded.
@@ -437,19 +520,17 @@ public class BaselineStore {
 
     // Backward-compatible overload for callers that only have a single baseline
     static ScoredCandidate findBestMatch(WebDriver driver, ElementFingerprint baseline) {
-        return findBestMatch(driver, baseline, List.of(baseline));
+        return findBestMatch(driver, baseline, List.of(baseline), null);
     }
 
     /**
      * Collects candidate WebElements. Prefers tag-narrowed collection when tagName is known,
      * falling back to the broad interactive-elements selector.
      */
-    private static final int T1_HARD_CANDIDATE_LIMIT = 500;
+    private static final int T1_HARD_CANDIDATE_LIMIT = HealDomSnapshot.TAG_VIEW_LIMIT;
     private static final int T1_FALLBACK_SCAN_LIMIT = 15;
 
-    private static final String SHADOW_CANDIDATE_SELECTOR =
-            "input,button,select,textarea,a,label,[role='button'],[role='link'],[role='textbox'],"
-            + "[role='checkbox'],[role='radio'],[role='tab'],[role='menuitem'],[data-testid]";
+    private static final String SHADOW_CANDIDATE_SELECTOR = HealDomSnapshot.TAG_VIEW_SHADOW_SELECTOR;
 
     private static final String SHADOW_DOM_SCRIPT =
             "var sel=arguments[0],lim=arguments[1],out=[];"
@@ -461,6 +542,8 @@ public class BaselineStore {
             + " for(var j=0;j<all.length&&out.length<lim;j++) if(all[j].shadowRoot) walk(all[j].shadowRoot);"
             + "}"
             + "walk(document); return out;";
+    private static final PinnedScripts.Script SHADOW_DOM =
+            PinnedScripts.register("shadowCandidates", SHADOW_DOM_SCRIPT);
 
     private static List<WebElement> collectCandidates(WebDriver driver, ElementFingerprint baseline) {
         java.util.LinkedHashSet<WebElement> seen = new java.util.LinkedHashSet<>();
@@ -473,11 +556,7 @@ public class BaselineStore {
 
         if (seen.isEmpty()) {
             try {
-                driver.findElements(By.cssSelector(
-                        "input, button, select, textarea, a, form, label, "
-                        + "[role='button'], [role='link'], [role='textbox'], [role='checkbox'], "
-                        + "[role='radio'], [role='tab'], [role='menuitem'], [data-testid]"))
-                        .forEach(seen::add);
+                driver.findElements(By.cssSelector(HealDomSnapshot.BROAD_SELECTOR)).forEach(seen::add);
             } catch (Exception e) {
                 try {
                     driver.findElements(By.xpath(
@@ -489,9 +568,9 @@ public class BaselineStore {
             }
         }
 
-        if (seen.size() < T1_HARD_CANDIDATE_LIMIT && driver instanceof org.openqa.selenium.JavascriptExecutor js) {
+        if (seen.size() < T1_HARD_CANDIDATE_LIMIT && driver instanceof org.openqa.selenium.JavascriptExecutor) {
             try {
-                Object res = js.executeScript(SHADOW_DOM_SCRIPT, SHADOW_CANDIDATE_SELECTOR,
+                Object res = PinnedScripts.execute(driver, SHADOW_DOM, SHADOW_CANDIDATE_SELECTOR,
                         T1_HARD_CANDIDATE_LIMIT - seen.size());
                 if (res instanceof List<?> rows) {
                     for (Object o : rows) if (o instanceof WebElement w) seen.add(w);
@@ -646,7 +725,7 @@ public class BaselineStore {
     }
 
     private static void loadFromDisk() {
-        Path path = Paths.get(BASELINE_FILE);
+        Path path = baselineFile;
         if (!Files.exists(path)) return;
         try (Reader reader = new FileReader(path.toFile())) {
             JsonElement root = JsonParser.parseReader(reader);
@@ -658,7 +737,7 @@ public class BaselineStore {
                 if (list != null) {
                     for (ElementFingerprint fp : list) {
                         if (fp.getLocatorKey() != null) {
-                            baselines.put(fp.getLocatorKey(), List.of(fp));
+                            baselines.put(fp.getLocatorKey(), List.of(fp.compact()));
                         }
                     }
                     Reporter.log("BaselineStore: Loaded " + list.size() + " baselines", LogLevel.DEBUG);
@@ -674,6 +753,7 @@ public class BaselineStore {
                         List<ElementFingerprint> fresh = pruneStale(entry.getValue());
                         evicted += entry.getValue().size() - fresh.size();
                         if (fresh.isEmpty()) continue;
+                        for (ElementFingerprint fp : fresh) if (fp != null) fp.compact();
                         baselines.put(entry.getKey(), List.copyOf(fresh));
                     }
                     Reporter.log("BaselineStore: " + baselines.size() + " locators loaded"
@@ -749,6 +829,8 @@ public class BaselineStore {
     /** Serializes the baseline map to disk under LOCK. Shared by the debounced saver and flush(). */
     private static void writeToDisk() {
         synchronized (LOCK) {
+            // Nothing was read from the current file (cleared or redirected since the save was scheduled).
+            if (!loaded) return;
             try {
                 pruneByCount();
                 persist(new LinkedHashMap<>(baselines));
@@ -757,7 +839,7 @@ public class BaselineStore {
     }
 
     private static void persist(Map<String, List<ElementFingerprint>> out) throws IOException {
-        Path path = Paths.get(BASELINE_FILE);
+        Path path = baselineFile;
         Files.createDirectories(path.getParent());
         Path lockPath = path.getParent().resolve("healing-baselines.lock");
         try (java.nio.channels.FileChannel lockChannel = java.nio.channels.FileChannel.open(lockPath,
@@ -801,6 +883,18 @@ public class BaselineStore {
         loaded = false;
     }
 
+    /**
+     * Points the store at another baseline file, {@code null} for the default, and drops the
+     * in-memory baselines so they are read from it. Used by tests and the healing benchmark.
+     */
+    static void useFile(Path file) {
+        synchronized (LOCK) {
+            baselineFile = file != null ? file : Paths.get(BASELINE_FILE);
+            baselines.clear();
+            loaded = false;
+        }
+    }
+
     // ──────────────────────── Helpers ────────────────────────
 
     private static boolean isNonBlank(String s) {
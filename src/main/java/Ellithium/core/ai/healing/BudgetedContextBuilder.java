@@ -0,0 +1,295 @@
+package Ellithium.core.ai.healing;
+
+import Ellithium.core.ai.models.ElementFingerprint;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Fits the Tier 3 prompt DOM into a token budget by relevance rather than by position.
+ *
+ * <p>The DOM text (accessibility tree or {@code DOMMinimizer} output) is split into regions at
+ * its landmark headers ({@code [form id=login]}, {@code --- <nav> ---}). Every element line is
+ * scored with the Tier 1 attribute similarity against the broken element's fingerprint history,
+ * plus a lexical match on the broken locator's identifiers for locators that never had a
+ * baseline. Regions, including the lines before the first landmark, are then packed best-first
+ * until the budget is spent; a region that does not fit whole contributes its best lines, and a
+ * single line longer than a quarter of the budget is truncated. The kept text is emitted in page order, so the LLM
+ * still sees a coherent outline, with markers where content was left out.</p>
+ *
+ * <p>Tokens are counted with the local model's tokenizer ({@link EnsembleHealer#countTokens}),
+ * falling back to a chars/4 estimate when the model is not loaded.</p>
+ */
+final class BudgetedContextBuilder {
+
+    /**
+     * The packed DOM and its accounting: {@code tokensUsed} is what the returned text costs, counted
+     * the same way as {@code tokensBefore}; the two are equal when nothing was dropped. Region
+     * counts are landmark regions; the lines before the first landmark are not counted.
+     */
+    record Packed(String dom, int tokensUsed, int tokensBefore, int regionsKept, int regionsTotal) {}
+
+    private static final Pattern REGION_HEADER =
+            Pattern.compile("^\\s*(\\[[^\\]]*\\]|--- .* ---|<!-- END INTERACTIVE ELEMENTS -->)\\s*$");
+    private static final Pattern HTML_TAG  = Pattern.compile("^\\s*<([a-zA-Z][a-zA-Z0-9-]*)");
+    private static final Pattern HTML_ATTR = Pattern.compile("([a-zA-Z_:][a-zA-Z0-9_:.-]*)\\s*=\\s*\"([^\"]*)\"");
+    private static final Pattern HTML_TEXT = Pattern.compile(">([^<]+)<");
+    private static final Pattern AX_LINE   = Pattern.compile("^\\s*([a-z][a-z-]*)(?: \"([^\"]*)\")?(.*)$");
+    private static final Pattern AX_ATTR   = Pattern.compile("([a-zA-Z-]+)=(\"[^\"]*\"|\\S+)");
+    private static final Pattern IDENT_SPLIT =
+            Pattern.compile("[^A-Za-z0-9]+|(?<=[a-z])(?=[A-Z])|(?<=[A-Z])(?=[A-Z][a-z])");
+
+    /** Locator syntax that says nothing about which element is meant. */
+    private static final Set<String> SYNTAX_WORDS = Set.of(
+            "div", "span", "class", "contains", "text", "normalize", "space", "and", "not",
+            "starts", "with", "following", "sibling", "ancestor", "descendant", "child", "nth", "type", "of");
+
+    /** A lexical hit alone never outranks a real attribute match. */
+    private static final double LEXICAL_WEIGHT = 0.5;
+    /** Reserved for the "regions omitted" trailer. */
+    private static final int TRAILER_TOKENS = 20;
+    /** Reserved in a partly kept region for its "lines omitted" marker. */
+    private static final int MARKER_TOKENS = 12;
+
+    private BudgetedContextBuilder() {}
+
+    private static final class Region {
+        final int order;
+        /** Landmark header line, or {@code null} for the lines before the first landmark. */
+        final String header;
+        final List<String> lines = new ArrayList<>();
+        final List<Integer> tokens = new ArrayList<>();
+        final List<Double> scores = new ArrayList<>();
+        int headerTokens;
+        double score;
+        boolean[] kept;
+        int keptCount;
+
+        Region(int order, String header) {
+            this.order = order;
+            this.header = header;
+        }
+
+        int totalTokens() {
+            int t = headerTokens;
+            for (int n : tokens) t += n;
+            return t;
+        }
+    }
+
+    /**
+     * Packs {@code dom} into {@code budgetTokens}. Returns the DOM unchanged when it already fits
+     * or the budget is not positive.
+     *
+     * @param history fingerprint history of the broken locator, newest last (may be empty)
+     * @param hints   identifiers the element was known by — locator value, field name (may be null)
+     */
+    static Packed pack(String dom, List<ElementFingerprint> history, List<String> hints, int budgetTokens) {
+        if (dom == null || dom.isEmpty()) return new Packed(dom, 0, 0, 0, 0);
+        // Lines before the first landmark form a region without a header, packed like the others.
+        List<Region> regions = new ArrayList<>();
+        Region current = new Region(0, null);
+        regions.add(current);
+        for (String line : dom.split("\n")) {
+            if (REGION_HEADER.matcher(line).matches()) {
+                current = new Region(regions.size(), line);
+                regions.add(current);
+            } else {
+                current.lines.add(line);
+            }
+        }
+        if (regions.getFirst().lines.isEmpty()) regions.removeFirst();
+        if (regions.isEmpty()) return new Packed(dom, 0, 0, 0, 0);
+        int landmarks = regions.getFirst().header != null ? regions.size() : regions.size() - 1;
+
+        int total = 0;
+        for (Region r : regions) {
+            r.headerTokens = r.header != null ? countTokens(r.header) + 1 : 0;
+            for (String line : r.lines) r.tokens.add(countTokens(line) + 1);
+            total += r.totalTokens();
+        }
+        if (budgetTokens <= 0 || total <= budgetTokens) {
+            return new Packed(dom, total, total, landmarks, landmarks);
+        }
+
+        // No line may take more than a quarter of the budget: a page without landmarks or with a
+        // huge single line is cut down rather than kept whole or dropped whole.
+        int lineCap = Math.max(1, budgetTokens / 4);
+        for (Region r : regions) {
+            for (int i = 0; i < r.lines.size(); i++) {
+                if (r.tokens.get(i) <= lineCap) continue;
+                String cut = truncate(r.lines.get(i), lineCap);
+                r.lines.set(i, cut);
+                r.tokens.set(i, countTokens(cut) + 1);
+            }
+        }
+
+        List<String> words = hintWords(hints);
+        for (Region r : regions) {
+            r.score = r.header != null ? score(r.header, history, words) : 0.0;
+            for (String line : r.lines) {
+                double s = score(line, history, words);
+                r.scores.add(s);
+                r.score = Math.max(r.score, s);
+            }
+        }
+
+        int remaining = budgetTokens - TRAILER_TOKENS;
+        List<Region> byValue = new ArrayList<>(regions);
+        byValue.sort(Comparator.comparingDouble((Region r) -> -r.score).thenComparingInt(r -> r.order));
+        int regionsKept = 0;
+        int landmarksKept = 0;
+        for (Region r : byValue) {
+            int cost = r.totalTokens();
+            if (cost <= remaining) {
+                r.kept = new boolean[r.lines.size()];
+                java.util.Arrays.fill(r.kept, true);
+                r.keptCount = r.lines.size();
+            } else {
+                // Best lines first, with room held back for the omission marker.
+                cost = r.headerTokens + MARKER_TOKENS;
+                if (cost >= remaining) continue;
+                r.kept = new boolean[r.lines.size()];
+                List<Integer> idx = new ArrayList<>();
+                for (int i = 0; i < r.lines.size(); i++) idx.add(i);
+                idx.sort(Comparator.comparingDouble((Integer i) -> -r.scores.get(i)).thenComparingInt(i -> i));
+                for (int i : idx) {
+                    int t = r.tokens.get(i);
+                    if (cost + t > remaining) continue;
+                    r.kept[i] = true;
+                    r.keptCount++;
+                    cost += t;
+                }
+                if (r.keptCount == 0 && r.header == null) {
+                    r.kept = null;
+                    continue;
+                }
+            }
+            remaining -= cost;
+            regionsKept++;
+            if (r.header != null) landmarksKept++;
+        }
+
+        StringBuilder sb = new StringBuilder(Math.min(dom.length(), budgetTokens * 4 + 256));
+        int used = 0;
+        for (Region r : regions) {
+            if (r.kept == null) continue;
+            if (r.header != null) {
+                sb.append(r.header).append('\n');
+                used += r.headerTokens;
+            }
+            for (int i = 0; i < r.lines.size(); i++) {
+                if (!r.kept[i]) continue;
+                sb.append(r.lines.get(i)).append('\n');
+                used += r.tokens.get(i);
+            }
+            int omitted = r.lines.size() - r.keptCount;
+            if (omitted > 0) {
+                String marker = "  … " + omitted + " less relevant lines omitted";
+                sb.append(marker).append('\n');
+                used += countTokens(marker) + 1;
+            }
+        }
+        int droppedRegions = regions.size() - regionsKept;
+        if (droppedRegions > 0) {
+            String trailer = "<!-- " + droppedRegions + " less relevant regions omitted to fit " + budgetTokens + " tokens -->";
+            sb.append(trailer).append('\n');
+            used += countTokens(trailer) + 1;
+        }
+        return new Packed(sb.toString(), used, total, landmarksKept, landmarks);
+    }
+
+    /** {@code line} cut to at most {@code maxTokens} tokens, ending in an ellipsis. */
+    private static String truncate(String line, int maxTokens) {
+        int chars = Math.min(line.length(), maxTokens * 4);
+        String cut;
+        do {
+            cut = line.substring(0, chars) + " …";
+            chars = chars * 9 / 10;
+        } while (chars > 0 && countTokens(cut) + 1 > maxTokens);
+        return cut;
+    }
+
+    /** Tokenizer count of {@code text}, or a chars/4 estimate when the local model is not loaded. */
+    static int countTokens(String text) {
+        if (text == null || text.isEmpty()) return 0;
+        int n = EnsembleHealer.countTokens(text);
+        return n >= 0 ? n : (text.length() + 3) / 4;
+    }
+
+    // ──────────────────────── Scoring ────────────────────────
+
+    /** Relevance of one DOM line to the broken element, in [0, 1]. */
+    static double score(String line, List<ElementFingerprint> history, List<String> words) {
+        double best = 0.0;
+        if (history != null && !history.isEmpty()) {
+            Map<String, Object> attrs = attributesOf(line);
+            if (!attrs.isEmpty()) {
+                for (ElementFingerprint fp : history) {
+                    if (fp != null) best = Math.max(best, fp.scoreSimilarity(attrs));
+                }
+            }
+        }
+        if (!words.isEmpty() && best < LEXICAL_WEIGHT) {
+            String lower = line.toLowerCase(Locale.ROOT);
+            int hits = 0;
+            for (String w : words) if (lower.contains(w)) hits++;
+            best = Math.max(best, LEXICAL_WEIGHT * hits / words.size());
+        }
+        return best;
+    }
+
+    /**
+     * Attribute map in the shape {@link ElementFingerprint#scoreSimilarity(Map)} reads, from either
+     * an HTML element line ({@code <input id="q" ...>}) or an accessibility-tree line
+     * ({@code textbox "Search" id=q name=q}).
+     */
+    static Map<String, Object> attributesOf(String line) {
+        Map<String, Object> attrs = new HashMap<>();
+        Matcher tag = HTML_TAG.matcher(line);
+        if (tag.find()) {
+            attrs.put("tag", tag.group(1).toLowerCase(Locale.ROOT));
+            Matcher a = HTML_ATTR.matcher(line);
+            while (a.find()) attrs.putIfAbsent(a.group(1).toLowerCase(Locale.ROOT), a.group(2));
+            Matcher text = HTML_TEXT.matcher(line);
+            if (text.find() && !text.group(1).isBlank()) attrs.put("text", text.group(1).trim());
+            return attrs;
+        }
+        Matcher ax = AX_LINE.matcher(line);
+        if (!ax.matches()) return attrs;
+        attrs.put("role", ax.group(1));
+        if (ax.group(2) != null) {
+            attrs.put("aria-label", ax.group(2));
+            attrs.put("text", ax.group(2));
+        }
+        Matcher a = AX_ATTR.matcher(ax.group(3));
+        while (a.find()) {
+            String v = a.group(2);
+            if (v.length() >= 2 && v.startsWith("\"") && v.endsWith("\"")) v = v.substring(1, v.length() - 1);
+            attrs.putIfAbsent(a.group(1), v);
+        }
+        return attrs;
+    }
+
+    /** Lower-cased identifier words of the hints, minus locator syntax and very short tokens. */
+    static List<String> hintWords(List<String> hints) {
+        if (hints == null) return List.of();
+        Set<String> words = new LinkedHashSet<>();
+        for (String hint : hints) {
+            if (hint == null) continue;
+            for (String w : IDENT_SPLIT.split(hint)) {
+                String lower = w.toLowerCase(Locale.ROOT);
+                if (lower.length() >= 3 && !SYNTAX_WORDS.contains(lower)) words.add(lower);
+            }
+        }
+        return List.copyOf(words);
+    }
+}
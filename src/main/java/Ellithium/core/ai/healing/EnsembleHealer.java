@@ -3,6 +3,7 @@ package Ellithium.core.ai.healing;
 import Ellithium.core.ai.DriverProfile;
 import Ellithium.core.ai.HealingTelemetryStore;
 import Ellithium.core.ai.config.AIConfigLoader;
+import Ellithium.core.ai.dom.HealDomSnapshot;
 import Ellithium.core.ai.models.ElementFingerprint;
 import Ellithium.core.ai.models.HealOutcome;
 import Ellithium.core.ai.scoring.ElementVectorCache;
@@ -215,6 +216,17 @@ public class EnsembleHealer {
                                                String actionType, String callerMethod,
                                                String fieldName, String locatorValue,
                                                ElementFingerprint baseline) {
+        return tryEnsembleHeal(driver, locator, actionType, callerMethod, fieldName, locatorValue, baseline, null);
+    }
+
+    /**
+     * As above, drawing the candidate pool and its attributes from the heal's shared
+     * {@link HealDomSnapshot} when one is given and no iframe switch was needed.
+     */
+    public static HealOutcome tryEnsembleHeal(WebDriver driver, By locator,
+                                               String actionType, String callerMethod,
+                                               String fieldName, String locatorValue,
+                                               ElementFingerprint baseline, HealDomSnapshot snapshot) {
         awaitInit();
         if (!available) return null;
 
@@ -234,7 +246,8 @@ public class EnsembleHealer {
                     java.util.concurrent.CompletableFuture.supplyAsync(() -> embed(query, true), EMBED_POOL);
 
             HealOutcome outcome = scoreAndSelectCandidate(driver, queryFuture, baseline, locator,
-                    actionType, query, callerMethod, fieldName, locatorValue);
+                    actionType, query, callerMethod, fieldName, locatorValue,
+                    switchedFrame ? null : snapshot);
             return outcome;
         } finally {
             if (switchedFrame) {
@@ -338,15 +351,7 @@ public class EnsembleHealer {
         }
     }
 
-    private static final String[] CANDIDATE_SELECTORS = {
-        "button, a, input, select, textarea, summary, "
-            + "[role='button'], [role='link'], [role='tab'], [role='menuitem'], "
-            + "[role='checkbox'], [role='radio'], [role='switch'], [role='option'], [onclick]",
-        "[role='alert'], [role='status'], [role='heading'], [role='log'], "
-            + "h1, h2, h3, h4, h5, h6, label, legend",
-        "[data-testid], [data-test], [data-cy], [aria-label], [placeholder], [title], [name], [id]",
-        "p, li, td, th, dt, dd, article, section, aside, span, div",
-    };
+    private static final String[] CANDIDATE_SELECTORS = HealDomSnapshot.prioritySelectors();
 
     private static HealOutcome scoreAndSelectCandidate(WebDriver driver,
                                                        java.util.concurrent.CompletableFuture<float[]> queryFuture,
@@ -354,7 +359,7 @@ public class EnsembleHealer {
                                                        By brokenLocator, String actionType,
                                                        String query,
                                                        String callerMethod, String fieldName,
-                                                       String locatorValue) {
+                                                       String locatorValue, HealDomSnapshot snapshot) {
         SemanticLocatorResolver.ElementCategory cat =
                 SemanticLocatorResolver.categorizeAction(actionType);
         String category      = cat != null ? cat.name() : null;
@@ -378,8 +383,15 @@ public class EnsembleHealer {
                 Double prev = resolverWeights.get(hit.element);
                 if (prev == null || prev < hit.tierWeight) resolverWeights.put(hit.element, hit.tierWeight);
             }
-            candidates = mergeCandidates(resolverEls, collectCandidates(driver, baseline, actionType));
-            batch = fetchCandidateAttributes(driver, candidates);
+            HealDomSnapshot.View pool = snapshot != null ? snapshot.priorityView() : null;
+            if (pool != null) {
+                // Pool rows come from the shared snapshot; only resolver hits outside it are batched.
+                candidates = mergeCandidates(resolverEls, pool.elements());
+                batch = snapshot.attributesFor(candidates);
+            } else {
+                candidates = mergeCandidates(resolverEls, collectCandidates(driver, baseline, actionType));
+                batch = fetchCandidateAttributes(driver, candidates);
+            }
         } finally {
             Ellithium.core.execution.listener.seleniumListener.resumeLogging();
         }
@@ -674,9 +686,7 @@ public class EnsembleHealer {
         return List.of();
     }
 
-    private static final String SHADOW_INTERACTIVE_SELECTOR =
-            "input,button,select,textarea,a,form,label,[role='button'],[role='link'],"
-            + "[role='textbox'],[role='checkbox'],[role='radio'],[role='tab'],[role='menuitem'],[data-testid]";
+    private static final String SHADOW_INTERACTIVE_SELECTOR = HealDomSnapshot.PRIORITY_VIEW_SHADOW_SELECTOR;
 
     private static List<WebElement> collectAppiumNativeCandidates(WebDriver driver) {
         java.util.LinkedHashSet<WebElement> seen = new java.util.LinkedHashSet<>();
@@ -924,6 +934,30 @@ public class EnsembleHealer {
         }
     }
 
+    private static volatile int specialTokenCount = -1;
+
+    /**
+     * Token count of {@code text} under the local tokenizer, excluding the special tokens the
+     * encoder adds ({@code [CLS]}/{@code [SEP]}). Does not wait for model initialisation.
+     *
+     * @return the count, or -1 when the tokenizer is not loaded (callers fall back to an estimate)
+     */
+    static int countTokens(String text) {
+        Object tok = tokenizer;
+        if (text == null || tok == null || mEncode == null || mGetIds == null) return -1;
+        try {
+            int special = specialTokenCount;
+            if (special < 0) {
+                special = ((long[]) mGetIds.invoke(mEncode.invoke(tok, ""))).length;
+                specialTokenCount = special;
+            }
+            int ids = ((long[]) mGetIds.invoke(mEncode.invoke(tok, text))).length;
+            return Math.max(0, ids - special);
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
     private static final String[] DOC_FIELD_ORDER = {
         "id", "name", "resource-id", "accessibility-id", "aria-label", "content-desc", "role",
         "placeholder", "data-testid", "data-test", "title", "type", "label"
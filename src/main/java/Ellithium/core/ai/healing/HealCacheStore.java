@@ -0,0 +1,224 @@
+package Ellithium.core.ai.healing;
+
+import Ellithium.core.logging.LogLevel;
+import Ellithium.core.reporting.Reporter;
+import com.google.gson.Gson;
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.io.File;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Disk persistence for {@link AISelfHealer}'s healed-locator cache and known-unhealable
+ * negative cache, so a new JVM (surefire fork, CI shard, next run) starts warm.
+ *
+ * <p>The file is a single compact JSON object in {@code Test-Output/healing-cache.json}.
+ * Every entry carries its own expiry and the page fingerprint captured when it was recorded;
+ * restored entries are re-checked against the live page on first use. Saves merge with what
+ * other processes wrote in the meantime under a file lock — the newest entry per key wins and
+ * keys invalidated in this run are dropped.</p>
+ */
+final class HealCacheStore {
+
+    private static final String CACHE_FILE = "Test-Output" + File.separator + "healing-cache.json";
+    private static final Gson GSON = new Gson();
+
+    /**
+     * Coarse structural fingerprint of a page: the sorted, de-duplicated set of interactive
+     * element shapes (tag, type, name, role, data-testid). Insensitive to text content and to
+     * how many rows a list renders, but changes when controls are added, removed or renamed.
+     */
+    static final String PAGE_FINGERPRINT_JS =
+            "var seen={},keys=[];" +
+            "var els=document.querySelectorAll('a,button,input,select,textarea,form,[role],[data-testid]');" +
+            "var limit=Math.min(els.length,5000);" +
+            "for(var i=0;i<limit;i++){var e=els[i];" +
+            "var k=e.tagName+'|'+(e.getAttribute('type')||'')+'|'+(e.getAttribute('name')||'')" +
+            "+'|'+(e.getAttribute('role')||'')+'|'+(e.getAttribute('data-testid')||'');" +
+            "if(!seen[k]){seen[k]=1;keys.push(k);}}" +
+            "keys.sort();var s=keys.join('\\n'),h=0x811c9dc5;" +
+            "for(var j=0;j<s.length;j++){h^=s.charCodeAt(j);h=Math.imul(h,16777619)>>>0;}" +
+            "return keys.length+':'+h.toString(16);";
+
+    /** Healed entry: key, locator method + value, field label, cached-at, expires-at, page fingerprint. */
+    record HealedEntry(String k, String m, String v, String f, long t, long x, String p) {}
+
+    /** Negative entry: key, failed-at, expires-at, page fingerprint. */
+    record UnhealableEntry(String k, long t, long x, String p) {}
+
+    record Snapshot(List<HealedEntry> healed, List<UnhealableEntry> unhealable) {
+        Snapshot {
+            healed = healed != null ? healed : new ArrayList<>();
+            unhealable = unhealable != null ? unhealable : new ArrayList<>();
+        }
+    }
+
+    private static volatile Path cacheFile = Paths.get(CACHE_FILE);
+
+    private HealCacheStore() {}
+
+    /** Points the store at a different file. Used by tests. */
+    static void useFile(Path file) {
+        cacheFile = file != null ? file : Paths.get(CACHE_FILE);
+    }
+
+    /** Reads the persisted caches, dropping expired entries. Never throws. */
+    static Snapshot load() {
+        Snapshot snap = read(cacheFile);
+        long now = System.currentTimeMillis();
+        snap.healed().removeIf(e -> e == null || e.k() == null || e.x() <= now);
+        snap.unhealable().removeIf(e -> e == null || e.k() == null || e.x() <= now);
+        return snap;
+    }
+
+    /**
+     * Merges this process's entries into the file. Entries from disk survive unless this run
+     * holds a newer one for the same key or invalidated the key.
+     */
+    static void save(Snapshot mine, Set<String> invalidated) {
+        Path path = cacheFile.toAbsolutePath();
+        try {
+            Path dir = path.getParent() != null ? path.getParent() : Paths.get(".");
+            Files.createDirectories(dir);
+            Path lockPath = dir.resolve(path.getFileName() + ".lock");
+            try (FileChannel lockChannel = FileChannel.open(lockPath,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                lockChannel.lock();
+                Snapshot merged = merge(read(path), mine, invalidated, System.currentTimeMillis());
+                Path tmp = Files.createTempFile(dir, "healing-cache", ".tmp");
+                try {
+                    try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                        GSON.toJson(merged, writer);
+                    }
+                    try {
+                        Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                    } catch (AtomicMoveNotSupportedException e) {
+                        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                } finally {
+                    Files.deleteIfExists(tmp);
+                }
+                Reporter.log("HealCacheStore: persisted " + merged.healed().size() + " healed / "
+                        + merged.unhealable().size() + " unhealable locators", LogLevel.DEBUG);
+            }
+        } catch (Exception e) {
+            Reporter.log("HealCacheStore: Failed to persist heal cache (non-fatal): " + e.getMessage(), LogLevel.WARN);
+        }
+    }
+
+    static Snapshot merge(Snapshot disk, Snapshot mine, Set<String> invalidated, long now) {
+        Map<String, HealedEntry> healed = new LinkedHashMap<>();
+        for (HealedEntry e : disk.healed()) {
+            if (e == null || e.k() == null || e.x() <= now || invalidated.contains(e.k())) continue;
+            healed.put(e.k(), e);
+        }
+        for (HealedEntry e : mine.healed()) {
+            if (e.x() <= now) continue;
+            HealedEntry existing = healed.get(e.k());
+            if (existing == null || existing.t() <= e.t()) healed.put(e.k(), e);
+        }
+        Map<String, UnhealableEntry> unhealable = new LinkedHashMap<>();
+        for (UnhealableEntry e : disk.unhealable()) {
+            if (e == null || e.k() == null || e.x() <= now || invalidated.contains(e.k())) continue;
+            unhealable.put(e.k(), e);
+        }
+        for (UnhealableEntry e : mine.unhealable()) {
+            if (e.x() <= now) continue;
+            UnhealableEntry existing = unhealable.get(e.k());
+            if (existing == null || existing.t() <= e.t()) unhealable.put(e.k(), e);
+        }
+        // A key healed more recently than it was marked unhealable is no longer doomed.
+        unhealable.values().removeIf(u -> {
+            HealedEntry h = healed.get(u.k());
+            return h != null && h.t() >= u.t();
+        });
+        return new Snapshot(new ArrayList<>(healed.values()), new ArrayList<>(unhealable.values()));
+    }
+
+    private static Snapshot read(Path path) {
+        if (!Files.exists(path)) return new Snapshot(null, null);
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            Snapshot snap = GSON.fromJson(reader, Snapshot.class);
+            if (snap == null) return new Snapshot(null, null);
+            return new Snapshot(new ArrayList<>(snap.healed()), new ArrayList<>(snap.unhealable()));
+        } catch (Exception e) {
+            Reporter.log("HealCacheStore: Failed to read heal cache (treating as empty): " + e.getMessage(), LogLevel.WARN);
+            return new Snapshot(null, null);
+        }
+    }
+
+    // ──────────────────────── Page fingerprint ────────────────────────
+
+    /** @return the page fingerprint, or {@code null} for native mobile contexts or on any failure */
+    static String pageFingerprint(WebDriver driver) {
+        if (driver instanceof AppiumDriver || !(driver instanceof JavascriptExecutor js)) return null;
+        try {
+            Object fp = js.executeScript(PAGE_FINGERPRINT_JS);
+            return fp != null ? fp.toString() : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    // ──────────────────────── Locator (de)serialization ────────────────────────
+
+    /** Splits {@code By.toString()} ("By.cssSelector: x" / "AppiumBy.accessibilityId: x") into method + value. */
+    static String[] toParts(By locator) {
+        return locator != null ? splitLocatorString(locator.toString()) : null;
+    }
+
+    /** Parses a stored {@code By.toString()} form back into a locator, or {@code null} if unsupported. */
+    static By parseLocatorString(String s) {
+        String[] parts = splitLocatorString(s);
+        return parts != null ? toBy(parts[0], parts[1]) : null;
+    }
+
+    private static String[] splitLocatorString(String s) {
+        if (s == null) return null;
+        int colon = s.indexOf(':');
+        int dot = s.indexOf('.');
+        if (colon < 0 || dot < 0 || dot > colon) return null;
+        String prefix = s.substring(0, dot);
+        if (!prefix.equals("By") && !prefix.equals("AppiumBy")) return null;
+        String method = s.substring(0, colon);
+        String value = s.substring(colon + 1).trim();
+        return toBy(method, value) != null ? new String[] { method, value } : null;
+    }
+
+    static By toBy(String method, String value) {
+        if (method == null || value == null) return null;
+        return switch (method) {
+            case "By.id"                          -> By.id(value);
+            case "By.cssSelector"                 -> By.cssSelector(value);
+            case "By.xpath"                       -> By.xpath(value);
+            case "By.name"                        -> By.name(value);
+            case "By.className"                   -> By.className(value);
+            case "By.linkText"                    -> By.linkText(value);
+            case "By.partialLinkText"             -> By.partialLinkText(value);
+            case "By.tagName"                     -> By.tagName(value);
+            case "AppiumBy.accessibilityId"       -> AppiumBy.accessibilityId(value);
+            case "AppiumBy.androidUIAutomator"    -> AppiumBy.androidUIAutomator(value);
+            case "AppiumBy.iOSClassChain"         -> AppiumBy.iOSClassChain(value);
+            case "AppiumBy.iOSNsPredicateString"  -> AppiumBy.iOSNsPredicateString(value);
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,390 @@
+package Ellithium.core.ai.healing;
+
+import Ellithium.core.ai.config.AIConfigLoader;
+import Ellithium.core.ai.dom.HealDomSnapshot;
+import Ellithium.core.ai.models.ElementFingerprint;
+import Ellithium.core.ai.models.HealOutcome;
+import Ellithium.core.ai.models.HealingRequest;
+import Ellithium.core.ai.spi.Tier1AlgorithmicHealer;
+import Ellithium.core.ai.spi.Tier3LLMHealer;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.remote.CommandPayload;
+import org.openqa.selenium.remote.Response;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * CLI tool that measures heal accuracy and cost of each healing tier against an offline corpus of
+ * paired "before/after" HTML pages with ground-truth element mappings.
+ *
+ * <h3>What it does</h3>
+ * For every corpus case and every tier:
+ * <ol>
+ *   <li>Serves the case's {@code before} page from a {@code file://} URL in a local headless
+ *       Chrome (network access is blocked by host-resolver rules) and captures the baseline for
+ *       the broken locator, exactly as a passing run would.</li>
+ *   <li>Replaces the page at the SAME URL with the {@code after} version, so the page context —
+ *       and therefore the baseline key — is unchanged, then runs the tier once.</li>
+ *   <li>Compares the healed element with the element the {@code expected} locator resolves to.</li>
+ * </ol>
+ * Per tier it reports accuracy, false heals, candidate counts (size of the
+ * {@link HealDomSnapshot} view the tier scores), WebDriver round-trips (every wire command the
+ * session issued during the heal) and p50/p99 latency. Baselines and caches are reset between
+ * tiers so one tier's accepted heal never helps the next. They live in a temporary directory for
+ * the whole run, so the project's {@code Test-Output/healing-baselines.json} and heal cache are
+ * neither read nor written.
+ *
+ * <h3>Corpus layout</h3>
+ * <pre>
+ * corpus.json                  {"cases":[{"id","before","after","locator":{"method","value"},
+ *                                         "expected":{"method","value"},"action","field"}]}
+ * &lt;case&gt;/before.html, after.html
+ * </pre>
+ * Locator methods use the {@code By.toString()} prefix ({@code By.id}, {@code By.cssSelector}, ...).
+ *
+ * <h3>How to run</h3>
+ * <pre>java -cp ellithium-*.jar Ellithium.core.ai.healing.HealingBenchmarkRunner &lt;corpusDir&gt; [--with-llm]</pre>
+ * {@code corpusDir} is required; the corpus is not packaged in the jar (in a source checkout it is
+ * {@code src/test/resources/healing-benchmark}). Tier 2 is skipped
+ * when the ensemble model is not embedded; Tier 3 only runs with {@code --with-llm} because it
+ * calls the configured LLM provider. Results are written to
+ * {@code Test-Output/healing-benchmark-results.json} so releases can be diffed.
+ */
+public class HealingBenchmarkRunner {
+
+    private static final String OUTPUT_FILE    = "Test-Output" + File.separator + "healing-benchmark-results.json";
+    private static final Gson   GSON           = new GsonBuilder().setPrettyPrinting().create();
+
+    /** Fetching anything but the local files fails fast instead of reaching the network. */
+    private static final String OFFLINE_RULES = "--host-resolver-rules=MAP * ~NOTFOUND";
+
+    private static final String SAME_ELEMENT_JS = "return arguments[0]===arguments[1];";
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== Ellithium Healing Benchmark Runner ===");
+        System.out.println("Timestamp: " + Instant.now());
+
+        Path corpusDir = null;
+        boolean withLlm = false;
+        for (String arg : args) {
+            if ("--with-llm".equals(arg)) withLlm = true;
+            else corpusDir = Paths.get(arg);
+        }
+        if (corpusDir == null) {
+            System.err.println("Usage: HealingBenchmarkRunner <corpusDir> [--with-llm]");
+            System.err.println("  e.g. src/test/resources/healing-benchmark in a source checkout");
+            return;
+        }
+
+        List<Case> cases = loadCorpus(corpusDir);
+        if (cases.isEmpty()) {
+            System.err.println("[BENCHMARK] No cases found in " + corpusDir.toAbsolutePath().resolve("corpus.json"));
+            return;
+        }
+
+        AIConfigLoader.initialize();
+        EnsembleHealer.initialize();
+
+        List<Tier> tiers = new ArrayList<>();
+        tiers.add(new Tier("tier1-algorithmic", HealingBenchmarkRunner::runTier1));
+        tiers.add(new Tier("semantic-resolver", HealingBenchmarkRunner::runSemantic));
+        if (EnsembleHealer.isAvailable()) {
+            tiers.add(new Tier("tier2-ensemble", HealingBenchmarkRunner::runEnsemble));
+        } else {
+            System.err.println("[BENCHMARK] Ensemble model not available — tier2-ensemble skipped.");
+        }
+        if (withLlm) {
+            if (new Tier3LLMHealer().isAvailable()) tiers.add(new Tier("tier3-llm", HealingBenchmarkRunner::runLlm));
+            else System.err.println("[BENCHMARK] --with-llm given but Tier 3 is not configured — skipped.");
+        }
+
+        Path workDir = Files.createTempDirectory("ellithium-heal-bench");
+        // Baselines and heals of the run stay in the work directory, never in the user's Test-Output files.
+        BaselineStore.useFile(workDir.resolve("healing-baselines.json"));
+        HealCacheStore.useFile(workDir.resolve("healing-cache.json"));
+        AtomicInteger roundTrips = new AtomicInteger();
+        List<TierReport> reports = new ArrayList<>();
+        WebDriver driver = null;
+        try {
+            driver = startBrowser(roundTrips);
+            for (Tier tier : tiers) {
+                List<CaseResult> results = new ArrayList<>();
+                for (Case c : cases) {
+                    CaseResult r = runCase(driver, roundTrips, workDir, corpusDir, c, tier);
+                    results.add(r);
+                    System.out.printf("[BENCHMARK] %-18s %-24s %s%n", tier.name, c.id,
+                            r.error != null ? "ERROR " + r.error
+                                    : r.correct ? "OK" : r.healed ? "WRONG " + r.healedLocator : "MISS");
+                }
+                reports.add(summarize(tier.name, results));
+            }
+        } finally {
+            if (driver != null) {
+                try { driver.quit(); } catch (Exception ignored) {}
+            }
+            AISelfHealer.resetForSuite();
+            BaselineStore.useFile(null);
+            HealCacheStore.useFile(null);
+            deleteRecursively(workDir);
+        }
+
+        printTable(reports);
+        writeResults(new BenchmarkResult(Instant.now().toString(), corpusDir.toAbsolutePath().toString(),
+                cases.size(), reports));
+    }
+
+    // ──────────────────────── Per-case run ────────────────────────
+
+    private static CaseResult runCase(WebDriver driver, AtomicInteger roundTrips, Path workDir, Path corpusDir,
+                                      Case c, Tier tier) {
+        CaseResult result = new CaseResult(c.id);
+        try {
+            By broken = HealCacheStore.toBy(c.locator.method, c.locator.value);
+            By expected = HealCacheStore.toBy(c.expected.method, c.expected.value);
+            if (broken == null || expected == null) throw new IllegalArgumentException("unsupported locator method");
+
+            Path page = workDir.resolve(c.id).resolve("index.html");
+            Files.createDirectories(page.getParent());
+            String url = page.toUri().toString();
+
+            AISelfHealer.resetForSuite();
+            Files.copy(corpusDir.resolve(c.before), page, StandardCopyOption.REPLACE_EXISTING);
+            driver.get(url);
+            String key = BaselineStore.pageKey(driver, broken.toString());
+            BaselineStore.removeKey(key);
+            BaselineStore.capture(driver, broken, driver.findElement(broken));
+            ElementFingerprint baseline = BaselineStore.getBaseline(key);
+
+            Files.copy(corpusDir.resolve(c.after), page, StandardCopyOption.REPLACE_EXISTING);
+            driver.get(url);
+
+            HealDomSnapshot snapshot = new HealDomSnapshot(driver, baseline != null ? baseline.getTagName() : null);
+            HealingRequest request = new HealingRequest(driver, broken, new StackTraceElement[0],
+                    c.action, null, c.field, c.locator.value, baseline, snapshot);
+
+            roundTrips.set(0);
+            long start = System.nanoTime();
+            HealOutcome outcome = tier.run.heal(request);
+            result.latencyMs = (System.nanoTime() - start) / 1_000_000.0;
+            result.roundTrips = roundTrips.get();
+
+            HealDomSnapshot.View view = tier.name.startsWith("tier1") && baseline != null
+                    ? snapshot.tagView(baseline.getTagName()) : snapshot.priorityView();
+            result.candidates = view != null ? view.elements().size() : 0;
+
+            if (outcome != null && outcome.element() != null) {
+                result.healed = true;
+                result.score = outcome.score();
+                By healedBy = outcome.reconstructedLocator() != null
+                        ? outcome.reconstructedLocator() : ElementFingerprint.reconstructLocator(outcome.element());
+                result.healedLocator = healedBy != null ? healedBy.toString() : null;
+                WebElement truth = driver.findElement(expected);
+                result.correct = Boolean.TRUE.equals(
+                        ((JavascriptExecutor) driver).executeScript(SAME_ELEMENT_JS, outcome.element(), truth));
+            }
+        } catch (Exception e) {
+            result.error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+        return result;
+    }
+
+    // ──────────────────────── Tiers under test ────────────────────────
+
+    @FunctionalInterface
+    private interface TierRun {
+        HealOutcome heal(HealingRequest request);
+    }
+
+    private record Tier(String name, TierRun run) {}
+
+    private static HealOutcome runTier1(HealingRequest request) {
+        return new Tier1AlgorithmicHealer().heal(request);
+    }
+
+    private static HealOutcome runSemantic(HealingRequest request) {
+        WebElement el = SemanticLocatorResolver.trySemanticHeal(request.driver(), request.callerMethod(),
+                request.fieldName(), request.actionType(), request.locatorValue(), request.baseline());
+        if (el == null) return null;
+        return HealOutcome.of(el, EnsembleHealer.scoreWithBatchedAttrs(request.baseline(), request.driver(), el), 2);
+    }
+
+    private static HealOutcome runEnsemble(HealingRequest request) {
+        return EnsembleHealer.tryEnsembleHeal(request.driver(), request.brokenLocator(),
+                request.actionType(), request.callerMethod(), request.fieldName(),
+                request.locatorValue(), request.baseline(), request.domSnapshot());
+    }
+
+    private static HealOutcome runLlm(HealingRequest request) {
+        return new Tier3LLMHealer().heal(request);
+    }
+
+    // ──────────────────────── Browser ────────────────────────
+
+    /**
+     * Local headless Chrome whose every wire command (driver and element alike — elements route
+     * through their parent driver) bumps {@code roundTrips}.
+     */
+    private static WebDriver startBrowser(AtomicInteger roundTrips) {
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--headless=new", "--disable-gpu", "--no-sandbox",
+                "--disable-extensions", "--allow-file-access-from-files", OFFLINE_RULES);
+        return new ChromeDriver(options) {
+            @Override
+            protected Response execute(CommandPayload payload) {
+                roundTrips.incrementAndGet();
+                return super.execute(payload);
+            }
+        };
+    }
+
+    // ──────────────────────── Corpus I/O ────────────────────────
+
+    static List<Case> loadCorpus(Path corpusDir) {
+        Path index = corpusDir.resolve("corpus.json");
+        if (!Files.exists(index)) return List.of();
+        try (Reader reader = Files.newBufferedReader(index, StandardCharsets.UTF_8)) {
+            Corpus corpus = GSON.fromJson(reader, Corpus.class);
+            if (corpus == null || corpus.cases == null) return List.of();
+            List<Case> valid = new ArrayList<>();
+            for (Case c : corpus.cases) {
+                if (c == null || c.id == null || c.before == null || c.after == null
+                        || c.locator == null || c.expected == null) {
+                    System.err.println("[BENCHMARK] Skipping incomplete case: " + (c != null ? c.id : null));
+                    continue;
+                }
+                if (c.action == null) c.action = "click";
+                valid.add(c);
+            }
+            return valid;
+        } catch (Exception e) {
+            System.err.println("[BENCHMARK] Failed to read corpus: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    private static void writeResults(BenchmarkResult result) {
+        Path target = Paths.get(OUTPUT_FILE);
+        try {
+            Files.createDirectories(target.getParent());
+            try (Writer w = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+                GSON.toJson(result, w);
+            }
+            System.out.println("[BENCHMARK] Results written to " + target.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("[BENCHMARK] Failed to write results: " + e.getMessage());
+        }
+    }
+
+    private static void deleteRecursively(Path dir) {
+        try (var walk = Files.walk(dir)) {
+            walk.sorted(Comparator.reverseOrder()).forEach(p -> {
+                try { Files.deleteIfExists(p); } catch (IOException ignored) {}
+            });
+        } catch (IOException ignored) {}
+    }
+
+    // ──────────────────────── Reporting ────────────────────────
+
+    static TierReport summarize(String tier, List<CaseResult> results) {
+        int healed = 0, correct = 0, errors = 0;
+        long candidates = 0, trips = 0;
+        List<Double> latencies = new ArrayList<>();
+        for (CaseResult r : results) {
+            if (r.error != null) { errors++; continue; }
+            if (r.healed) healed++;
+            if (r.correct) correct++;
+            candidates += r.candidates;
+            trips += r.roundTrips;
+            latencies.add(r.latencyMs);
+        }
+        int measured = latencies.size();
+        Collections.sort(latencies);
+        return new TierReport(tier, results.size(), correct, healed - correct, errors,
+                results.isEmpty() ? 0.0 : (double) correct / results.size(),
+                measured == 0 ? 0.0 : (double) candidates / measured,
+                measured == 0 ? 0.0 : (double) trips / measured,
+                percentile(latencies, 0.50), percentile(latencies, 0.99), results);
+    }
+
+    /** Nearest-rank percentile of an ascending list; 0 when empty. */
+    static double percentile(List<Double> sorted, double p) {
+        if (sorted.isEmpty()) return 0.0;
+        int rank = (int) Math.ceil(p * sorted.size());
+        return sorted.get(Math.min(sorted.size(), Math.max(1, rank)) - 1);
+    }
+
+    private static void printTable(List<TierReport> reports) {
+        System.out.println();
+        System.out.printf("%-18s %5s %8s %6s %6s %11s %12s %9s %9s%n",
+                "tier", "cases", "accuracy", "wrong", "errors", "candidates", "round-trips", "p50 ms", "p99 ms");
+        for (TierReport r : reports) {
+            System.out.printf("%-18s %5d %7.1f%% %6d %6d %11.1f %12.1f %9.1f %9.1f%n",
+                    r.tier, r.cases, r.accuracy * 100, r.falseHeals, r.errors,
+                    r.meanCandidates, r.meanRoundTrips, r.p50LatencyMs, r.p99LatencyMs);
+        }
+    }
+
+    // ──────────────────────── Data Models ────────────────────────
+
+    static class Corpus {
+        List<Case> cases;
+    }
+
+    static class Case {
+        String id, before, after, action, field;
+        LocatorSpec locator, expected;
+    }
+
+    static class LocatorSpec {
+        String method, value;
+    }
+
+    static class CaseResult {
+        final String id;
+        boolean healed, correct;
+        String healedLocator, error;
+        double score, latencyMs;
+        int candidates, roundTrips;
+
+        CaseResult(String id) { this.id = id; }
+    }
+
+    static class TierReport {
+        final String tier;
+        final int cases, correct, falseHeals, errors;
+        final double accuracy, meanCandidates, meanRoundTrips, p50LatencyMs, p99LatencyMs;
+        final List<CaseResult> results;
+
+        TierReport(String tier, int cases, int correct, int falseHeals, int errors,
+                   double accuracy, double meanCandidates, double meanRoundTrips,
+                   double p50LatencyMs, double p99LatencyMs, List<CaseResult> results) {
+            this.tier = tier;
+            this.cases = cases; this.correct = correct; this.falseHeals = falseHeals; this.errors = errors;
+            this.accuracy = accuracy; this.meanCandidates = meanCandidates; this.meanRoundTrips = meanRoundTrips;
+            this.p50LatencyMs = p50LatencyMs; this.p99LatencyMs = p99LatencyMs;
+            this.results = results;
+        }
+    }
+
+    static class BenchmarkResult {
+        final String generatedAt, corpus;
+        final int cases;
+        final List<TierReport> tiers;
+
+        BenchmarkResult(String generatedAt, String corpus, int cases, List<TierReport> tiers) {
+            this.generatedAt = generatedAt; this.corpus = corpus; this.cases = cases; this.tiers = tiers;
+        }
+    }
+}
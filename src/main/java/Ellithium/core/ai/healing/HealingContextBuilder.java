@@ -2,7 +2,9 @@ package Ellithium.core.ai.healing;
 
 import Ellithium.Utilities.ai.LLMProvider;
 import Ellithium.Utilities.ai.HealingStrategy;
+import Ellithium.core.ai.LocatorFieldIndex;
 import Ellithium.core.ai.config.AIConfigLoader;
+import Ellithium.core.ai.dom.HealDomSnapshot;
 import Ellithium.core.ai.models.ElementFingerprint;
 import Ellithium.core.ai.sanitizers.DOMMinimizer;
 import Ellithium.core.ai.sanitizers.DataScrubber;
@@ -57,6 +59,7 @@ class HealingContextBuilder {
         byte[] screenshot;
         ElementFingerprint baseline;
         String semanticQuery;
+        HealDomSnapshot domSnapshot;
     }
 
     static class SourceLocation {
@@ -77,13 +80,24 @@ class HealingContextBuilder {
 
     static HealingContext build(WebDriver driver, By brokenLocator, StackTraceElement[] stackTrace,
                                 LLMProvider provider, HealingStrategy strategy) {
+        return build(driver, brokenLocator, stackTrace, provider, strategy, null);
+    }
+
+    /**
+     * Builds the Tier 3 context. When the heal's {@link HealDomSnapshot} is given, the prompt DOM
+     * is taken from it (free if an earlier tier already captured the page) instead of running the
+     * accessibility-tree / page-source extraction again.
+     */
+    static HealingContext build(WebDriver driver, By brokenLocator, StackTraceElement[] stackTrace,
+                                LLMProvider provider, HealingStrategy strategy, HealDomSnapshot snapshot) {
         HealingContext ctx = new HealingContext();
+        ctx.domSnapshot = snapshot;
         ctx.brokenLocatorStr = brokenLocator.toString();
         ctx.isMobile = driver instanceof AppiumDriver;
 
         parseByLocator(brokenLocator.toString(), ctx);
 
-        SourceLocation srcLoc = resolveSourceLocation(stackTrace);
+        SourceLocation srcLoc = resolveSourceLocation(stackTrace, brokenLocator);
         if (srcLoc != null) {
             ctx.pageClassName = srcLoc.className;
             ctx.methodName = srcLoc.methodName;
@@ -117,6 +131,7 @@ class HealingContextBuilder {
                     + "— set it true to enable visual healing (PII consideration)", LogLevel.DEBUG);
         }
 
+        int domTokenBudget = AIConfigLoader.getLlmPromptDomTokenBudget();
         java.util.concurrent.CompletableFuture<String> domF;
         if (strategy == HealingStrategy.SUGGEST_ONLY) {
             domF = java.util.concurrent.CompletableFuture.completedFuture("");
@@ -124,7 +139,10 @@ class HealingContextBuilder {
             domF = java.util.concurrent.CompletableFuture.supplyAsync(() -> {
                 Ellithium.core.execution.listener.seleniumListener.suppressLogging();
                 try {
-                    return DOMMinimizer.getOptimalDOMRepresentation(driver);
+                    // A budgeted prompt is packed by relevance, so it takes the tree without the char cap.
+                    String shared = snapshot == null ? null
+                            : domTokenBudget > 0 ? snapshot.fullPromptDom() : snapshot.promptDom();
+                    return shared != null && !shared.isBlank() ? shared : DOMMinimizer.getOptimalDOMRepresentation(driver);
                 } finally {
                     Ellithium.core.execution.listener.seleniumListener.resumeLogging();
                 }
@@ -148,6 +166,9 @@ class HealingContextBuilder {
 
         try {
             ctx.minimizedDom = DataScrubber.scrub(domF.get());
+            if (domTokenBudget > 0 && ctx.minimizedDom != null && !ctx.minimizedDom.isEmpty()) {
+                packDom(ctx, driver, domTokenBudget);
+            }
         } catch (Exception e) {
             ctx.minimizedDom = "";
             Reporter.log("AI Self-Healing: DOM minimization failed — LLM will heal without DOM context: "
@@ -163,6 +184,26 @@ class HealingContextBuilder {
         return ctx;
     }
 
+    /**
+     * Replaces the prompt DOM with its most relevant regions within {@code budget} tokens, ranked
+     * against the broken locator's fingerprint history, and logs the tokens used.
+     */
+    static void packDom(HealingContext ctx, WebDriver driver, int budget) {
+        List<ElementFingerprint> history =
+                BaselineStore.getAllBaselines(BaselineStore.pageKey(driver, ctx.brokenLocatorStr));
+        BudgetedContextBuilder.Packed packed = BudgetedContextBuilder.pack(ctx.minimizedDom, history,
+                java.util.Arrays.asList(ctx.byValue, ctx.fieldName), budget);
+        ctx.minimizedDom = packed.dom();
+        if (packed.tokensBefore() > packed.tokensUsed()) {
+            Reporter.log("[TIER 3] prompt DOM packed to " + packed.tokensUsed() + "/" + budget + " tokens ("
+                    + packed.regionsKept() + "/" + packed.regionsTotal() + " regions, page was "
+                    + packed.tokensBefore() + " tokens)", LogLevel.INFO_BLUE);
+        } else {
+            Reporter.log("[TIER 3] prompt DOM: " + packed.tokensUsed() + " tokens (budget " + budget + ")",
+                    LogLevel.DEBUG);
+        }
+    }
+
     static void parseByLocator(String locatorStr, HealingContext ctx) {
         Matcher m = Pattern.compile("By\\.([a-zA-Z]+):\\s*(.*)").matcher(locatorStr);
         if (m.find()) {
@@ -203,7 +244,12 @@ class HealingContextBuilder {
         }
     }
 
-    static SourceLocation resolveSourceLocation(StackTraceElement[] stackTrace) {
+    /**
+     * The first caller frame of {@code stackTrace} and, from the parsed page-object index, the
+     * {@code By} field of the caller's own file that {@code locator} comes from (null when none or
+     * ambiguous).
+     */
+    static SourceLocation resolveSourceLocation(StackTraceElement[] stackTrace, By locator) {
         for (StackTraceElement frame : stackTrace) {
             String className = frame.getClassName();
             if (className.startsWith("Ellithium.")
@@ -232,7 +278,8 @@ class HealingContextBuilder {
                 return new SourceLocation(null, null, className, frame.getMethodName(), callSiteLine);
             }
 
-            String fieldName = resolveFieldNameFromSource(resolvedPath, callSiteLine);
+            LocatorFieldIndex.Entry field = LocatorFieldIndex.lookupInCallerFile(className, callSiteLine, locator);
+            String fieldName = field != null ? field.fieldName() : null;
 
             Reporter.log("[HEALING] source located: " + resolvedPath + ":" + callSiteLine
                     + (fieldName != null ? " field='" + fieldName + "'" : ""), LogLevel.DEBUG);
@@ -240,53 +287,4 @@ class HealingContextBuilder {
         }
         return null;
     }
-
-    static String resolveFieldNameFromSource(String filePath, int callSiteLine) {
-        try {
-            List<String> lines = java.nio.file.Files.readAllLines(java.nio.file.Paths.get(filePath));
-            if (callSiteLine < 1 || callSiteLine > lines.size()) return null;
-
-            String callLine = lines.get(callSiteLine - 1).trim();
-
-            if (callLine.matches(".*By\\.[a-zA-Z]+\\(.*") || callLine.matches(".*AppiumBy\\.[a-zA-Z]+\\(.*")) {
-                java.util.regex.Matcher m = Pattern.compile("(?:this\\.)?([a-zA-Z_][a-zA-Z0-9_]*)")
-                        .matcher(callLine);
-                java.util.List<String> candidates = new java.util.ArrayList<>();
-                while (m.find()) candidates.add(m.group(1));
-
-                for (int i = callSiteLine - 2; i >= 0; i--) {
-                    String srcLine = lines.get(i).trim();
-                    java.util.regex.Matcher fieldMatcher = Pattern
-                            .compile("(?:private|protected|public)?\\s*(?:final\\s+)?By\\s+([a-zA-Z_][a-zA-Z0-9_]*)\\s*(?:=|;)")
-                            .matcher(srcLine);
-                    if (fieldMatcher.find()) {
-                        String foundField = fieldMatcher.group(1);
-                        if (candidates.contains(foundField)) {
-                            return foundField;
-                        }
-                    }
-                }
-                return null;
-            }
-
-            java.util.regex.Matcher m = Pattern.compile("(?:this\\.)?([a-zA-Z_][a-zA-Z0-9_]*)")
-                    .matcher(callLine);
-            java.util.List<String> candidates = new java.util.ArrayList<>();
-            while (m.find()) candidates.add(m.group(1));
-
-            for (int i = callSiteLine - 2; i >= 0; i--) {
-                String srcLine = lines.get(i).trim();
-                java.util.regex.Matcher fieldMatcher = Pattern
-                        .compile("(?:private|protected|public)?\\s*(?:final\\s+)?By\\s+([a-zA-Z_][a-zA-Z0-9_]*)\\s*(?:=|;)")
-                        .matcher(srcLine);
-                if (fieldMatcher.find()) {
-                    String foundField = fieldMatcher.group(1);
-                    if (candidates.contains(foundField)) return foundField;
-                }
-            }
-        } catch (Exception e) {
-            Reporter.log("AI Healer: Could not read source for field resolution: " + e.getMessage(), LogLevel.WARN);
-        }
-        return null;
-    }
 }
@@ -1,5 +1,6 @@
 package Ellithium.core.ai.healing;
 
+import Ellithium.core.ai.config.AIConfigLoader;
 import Ellithium.core.ai.models.ElementFingerprint;
 import Ellithium.core.ai.models.HealOutcome;
 import Ellithium.core.ai.models.HealingRequest;
@@ -21,8 +22,14 @@ import org.openqa.selenium.WebElement;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 public final class HealingOrchestrator implements ElementHealingPort {
 
@@ -51,6 +58,10 @@ public final class HealingOrchestrator implements ElementHealingPort {
 
     private final List<HealingTier> tiers;
 
+    /** Heals in progress keyed by page context + broken locator; concurrent callers follow the leader. */
+    private final ConcurrentHashMap<String, CompletableFuture<HealOutcome>> inFlight = new ConcurrentHashMap<>();
+    private final ThreadLocal<Set<String>> ledByThisThread = ThreadLocal.withInitial(HashSet::new);
+
     HealingOrchestrator(List<HealingTier> tiers) {
         this.tiers = tiers.stream().sorted(Comparator.comparingInt(HealingTier::order)).toList();
     }
@@ -75,6 +86,112 @@ public final class HealingOrchestrator implements ElementHealingPort {
             HealingTelemetryStore.record(0, request.brokenLocator().toString(), null, 0.0, false);
             return null;
         }
+        if (AISelfHealer.isKnownUnhealable(request.driver(), request.brokenLocator())) {
+            Reporter.log("[AI] Skipping heal for " + request.brokenLocator()
+                    + " — every tier already failed on this page (negative cache)", LogLevel.DEBUG);
+            return null;
+        }
+
+        int maxWaitMs = AIConfigLoader.getHealInFlightMaxWaitMs();
+        String key = AISelfHealer.pageContext(request.driver()) + "##" + request.brokenLocator();
+        if (maxWaitMs <= 0 || ledByThisThread.get().contains(key)) return runCascade(request);
+
+        CompletableFuture<HealOutcome> mine = new CompletableFuture<>();
+        CompletableFuture<HealOutcome> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) return followLeader(request, leader, maxWaitMs);
+
+        ledByThisThread.get().add(key);
+        HealOutcome outcome = null;
+        try {
+            outcome = runCascade(request);
+            return outcome;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            ledByThisThread.get().remove(key);
+            mine.complete(outcome);
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Waits for the thread already healing the same locator on the same page and re-resolves its
+     * healed locator against this request's own driver. Falls back to a full cascade when the
+     * wait times out or the locator does not resolve here; a leader that exhausted every tier
+     * is trusted (it also left the negative-cache mark).
+     */
+    private HealOutcome followLeader(HealingRequest request, CompletableFuture<HealOutcome> leader, int maxWaitMs) {
+        HealOutcome led;
+        try {
+            led = leader.get(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (TimeoutException e) {
+            Reporter.log("[AI] In-flight heal of " + request.brokenLocator() + " still running after "
+                    + maxWaitMs + "ms — healing on this thread", LogLevel.DEBUG);
+            return runCascade(request);
+        } catch (ExecutionException e) {
+            return runCascade(request);
+        }
+        if (led == null) {
+            Reporter.log("[AI] Skipping heal for " + request.brokenLocator()
+                    + " — a concurrent heal on this page already exhausted every tier", LogLevel.DEBUG);
+            return null;
+        }
+        WebElement own = reResolve(request.driver(), led.reconstructedLocator(), request.baseline());
+        if (own == null) return runCascade(request);
+        Reporter.log("[AI] Reused concurrent heal: " + request.brokenLocator() + " → "
+                + led.reconstructedLocator() + " (tier " + led.tier() + ")", LogLevel.INFO_YELLOW);
+        return new HealOutcome(own, led.reconstructedLocator(), led.score(), led.tier());
+    }
+
+    private static WebElement reResolve(WebDriver driver, By locator, ElementFingerprint baseline) {
+        if (locator == null) return null;
+        try {
+            List<WebElement> found = driver.findElements(locator);
+            if (found.isEmpty()) return null;
+            if (found.size() == 1 || baseline == null) return found.get(0);
+            WebElement best = found.get(0);
+            double bestScore = -1;
+            for (WebElement c : found) {
+                try {
+                    double s = baseline.scoreSimilarity(c);
+                    if (s > bestScore) { bestScore = s; best = c; }
+                } catch (Exception ignored) {}
+            }
+            return best;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Resolves the pre-flight suggestion for a locator that has now actually failed. The result
+     * is returned as a Tier 1 hit but is not cached, so it is neither shared nor persisted; a
+     * suggestion that no longer resolves is dropped and the full cascade runs.
+     */
+    private static HealOutcome fromPreflightSuggestion(HealingRequest request) {
+        PreflightLocatorSweep.Suggestion suggestion =
+                PreflightLocatorSweep.suggestionFor(request.driver(), request.brokenLocator());
+        if (suggestion == null) return null;
+        WebElement found = reResolve(request.driver(), suggestion.locator(), request.baseline());
+        WebElement resolved = found != null
+                ? resolveInteractiveElement(found, request.actionType(), "PRE-FLIGHT", request.driver())
+                : null;
+        if (resolved == null) {
+            PreflightLocatorSweep.discardSuggestion(request.driver(), request.brokenLocator(), suggestion);
+            return null;
+        }
+        Reporter.log("[PRE-FLIGHT] Used suggestion: " + request.brokenLocator() + " → "
+                + suggestion.locator(), LogLevel.INFO_YELLOW);
+        return new HealOutcome(resolved, suggestion.locator(), suggestion.score(), 1);
+    }
+
+    private HealOutcome runCascade(HealingRequest request) {
+        HealOutcome suggested = fromPreflightSuggestion(request);
+        if (suggested != null) return suggested;
         for (HealingTier tier : tiers) {
             if (!tier.isAvailable()) continue;
 
@@ -112,7 +229,7 @@ public final class HealingOrchestrator implements ElementHealingPort {
                         raw.score(), tier.order());
 
                 HealingContextBuilder.SourceLocation srcLoc =
-                        HealingContextBuilder.resolveSourceLocation(request.stackTrace());
+                        HealingContextBuilder.resolveSourceLocation(request.stackTrace(), request.brokenLocator());
 
                 if (locator != null) {
                     AISelfHealer.queueSourcePatch(request.brokenLocator(), locator,
@@ -139,6 +256,7 @@ public final class HealingOrchestrator implements ElementHealingPort {
                 + ". Known limitations: elements inside <iframe> (switch frame context before the"
                 + " action) and inside Shadow DOM roots (use CSS ::part() or pierce selector)"
                 + " are not reachable by standard WebDriver and will not heal.", LogLevel.DEBUG);
+        AISelfHealer.markUnhealable(request.driver(), request.brokenLocator());
         return null;
     }
 
@@ -0,0 +1,158 @@
+package Ellithium.core.ai.healing;
+
+import Ellithium.core.ai.config.AIConfigLoader;
+import Ellithium.core.ai.models.HealOutcome;
+import Ellithium.core.execution.listener.seleniumListener;
+import Ellithium.core.logging.LogLevel;
+import Ellithium.core.reporting.Reporter;
+import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Opt-in pre-flight locator validation ({@code ai.healing.preflight.enabled}).
+ *
+ * <p>After a page load, every locator with a stored {@link BaselineStore} fingerprint for the
+ * new page context is checked in a single {@code executeScript}. Locators that no longer match
+ * are looked up with the read-only Tier 1 search and, when one clears the store threshold, the
+ * result is kept as a suggestion. A suggestion redirects nothing: the heal path consults it only
+ * after the original locator has actually failed, in place of a fresh Tier 1 search. It is never
+ * written to the healed-locator cache, so it is neither shared nor persisted.</p>
+ *
+ * <p>The sweep runs on the test thread from the page-load hooks, since WebDriver sessions are
+ * not thread-safe. It records no telemetry and patches no source, never switches frames (iframe
+ * baselines are not swept), searches for each locator at most once per page per run and at most
+ * {@value #MAX_LOOKUPS_PER_SWEEP} locators per page load, and leaves no negative-cache mark
+ * behind on a miss — a pre-flight miss may simply be a late render.</p>
+ */
+public final class PreflightLocatorSweep {
+
+    /** arguments[0] = [[method, value], ...] → boolean per locator (true = present or not checkable). */
+    static final String VALIDATE_JS =
+            "var specs=arguments[0],out=[];" +
+            "for(var i=0;i<specs.length;i++){var m=specs[i][0],v=specs[i][1],f=false;" +
+            "try{" +
+            "if(m==='By.id')f=!!document.getElementById(v);" +
+            "else if(m==='By.cssSelector')f=!!document.querySelector(v);" +
+            "else if(m==='By.xpath')f=!!document.evaluate(v,document,null,9,null).singleNodeValue;" +
+            "else if(m==='By.name')f=document.getElementsByName(v).length>0;" +
+            "else if(m==='By.className')f=document.getElementsByClassName(v).length>0;" +
+            "else if(m==='By.tagName')f=document.getElementsByTagName(v).length>0;" +
+            "else if(m==='By.linkText'||m==='By.partialLinkText'){var as=document.getElementsByTagName('a');" +
+            "for(var j=0;j<as.length&&!f;j++){var t=(as[j].innerText||'').trim();" +
+            "f=m==='By.linkText'?t===v:t.indexOf(v)>=0;}}" +
+            "else f=true;" +
+            "}catch(e){f=false;}" +
+            "out.push(f);}" +
+            "return out;";
+
+    /** Upper bound on DOM searches per page load, so a heavily changed page cannot stall the test. */
+    private static final int MAX_LOOKUPS_PER_SWEEP = 5;
+
+    /** A Tier 1 match found while the original locator was missing; not yet confirmed by a failure. */
+    record Suggestion(By locator, double score) {}
+
+    private static final Set<String> attempted = ConcurrentHashMap.newKeySet();
+    private static final ConcurrentHashMap<String, Suggestion> suggestions = new ConcurrentHashMap<>();
+    private static final AtomicLong checked   = new AtomicLong();
+    private static final AtomicLong missing   = new AtomicLong();
+    private static final AtomicLong suggested = new AtomicLong();
+
+    private PreflightLocatorSweep() {}
+
+    /**
+     * Validates the known locators for the driver's current page and looks up suggestions for the
+     * missing ones. Call on the thread that owns {@code driver}. No-op unless pre-flight is
+     * enabled; never throws.
+     */
+    public static void onPageLoad(WebDriver driver) {
+        if (!AIConfigLoader.isPreflightEnabled() || driver == null) return;
+        if (driver instanceof AppiumDriver || !(driver instanceof JavascriptExecutor js)) return;
+        if (!HealingOrchestrator.isHealingGloballyEnabled()) return;
+        seleniumListener.suppressLogging();
+        try {
+            String page = AISelfHealer.pageContext(driver);
+            List<By> locators = new ArrayList<>();
+            List<List<String>> specs = new ArrayList<>();
+            for (String locatorString : BaselineStore.knownLocators(page)) {
+                if (AISelfHealer.hasCacheEntry(page + "##" + locatorString)) continue;
+                By locator = HealCacheStore.parseLocatorString(locatorString);
+                String[] parts = HealCacheStore.toParts(locator);
+                if (parts == null || parts[0].startsWith("AppiumBy")) continue;
+                locators.add(locator);
+                specs.add(List.of(parts[0], parts[1]));
+            }
+            if (specs.isEmpty()) return;
+
+            Object result = js.executeScript(VALIDATE_JS, specs);
+            if (!(result instanceof List<?> present) || present.size() != specs.size()) return;
+            checked.addAndGet(specs.size());
+            int misses = 0;
+            int lookups = 0;
+            for (int i = 0; i < present.size(); i++) {
+                if (Boolean.TRUE.equals(present.get(i))) continue;
+                misses++;
+                By locator = locators.get(i);
+                if (lookups < MAX_LOOKUPS_PER_SWEEP && attempted.add(page + "##" + locator)) {
+                    lookups++;
+                    suggest(driver, page, locator);
+                }
+            }
+            missing.addAndGet(misses);
+            if (misses > 0) {
+                Reporter.log("[PRE-FLIGHT] " + misses + "/" + specs.size()
+                        + " known locators missing on " + page, LogLevel.DEBUG);
+            }
+        } catch (Exception e) {
+            Reporter.log("[PRE-FLIGHT] sweep skipped: " + e.getMessage(), LogLevel.DEBUG);
+        } finally {
+            seleniumListener.resumeLogging();
+        }
+    }
+
+    private static void suggest(WebDriver driver, String page, By locator) {
+        try {
+            HealOutcome outcome = BaselineStore.findAlgorithmicMatch(driver, locator);
+            if (outcome == null || outcome.reconstructedLocator() == null) return;
+            suggestions.put(page + "##" + locator, new Suggestion(outcome.reconstructedLocator(), outcome.score()));
+            suggested.incrementAndGet();
+            Reporter.log("[PRE-FLIGHT] suggestion for " + locator + " → " + outcome.reconstructedLocator()
+                    + " (score " + String.format("%.2f", outcome.score()) + ")", LogLevel.DEBUG);
+        } catch (Exception e) {
+            Reporter.log("[PRE-FLIGHT] lookup of " + locator + " failed: " + e.getMessage(), LogLevel.DEBUG);
+        }
+    }
+
+    /**
+     * The pre-flight suggestion for {@code brokenLocator} on the driver's current page, or
+     * {@code null}. Only for the heal path, once the original locator has failed.
+     */
+    static Suggestion suggestionFor(WebDriver driver, By brokenLocator) {
+        if (suggestions.isEmpty()) return null;
+        return suggestions.get(AISelfHealer.pageContext(driver) + "##" + brokenLocator);
+    }
+
+    /** Drops a suggestion that no longer resolves, so the next failure runs the full cascade. */
+    static void discardSuggestion(WebDriver driver, By brokenLocator, Suggestion suggestion) {
+        suggestions.remove(AISelfHealer.pageContext(driver) + "##" + brokenLocator, suggestion);
+    }
+
+    public static long getCheckedCount()   { return checked.get(); }
+    public static long getMissingCount()   { return missing.get(); }
+    public static long getSuggestedCount() { return suggested.get(); }
+
+    static void reset() {
+        attempted.clear();
+        suggestions.clear();
+        checked.set(0);
+        missing.set(0);
+        suggested.set(0);
+    }
+}
@@ -0,0 +1,295 @@
+package Ellithium.core.ai.healing;
+
+import Ellithium.core.ai.config.AIConfigLoader;
+import Ellithium.core.ai.models.ElementFingerprint;
+import Ellithium.core.logging.LogLevel;
+import Ellithium.core.reporting.Reporter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.JedisPubSub;
+import redis.clients.jedis.params.SetParams;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opt-in Redis tier ({@code ai.healing.shared.enabled}) behind {@link AISelfHealer}'s healed and
+ * known-unhealable caches and {@link BaselineStore}'s histories, so a heal computed by one JVM
+ * (Surefire fork, Grid-parallel runner, CI shard) is reused by all the others.
+ *
+ * <p>Near-cache semantics: every read goes through a local Caffeine cache first, including
+ * remembered misses, so the per-action healed-locator lookup costs one Redis round-trip per key
+ * per {@code ai.healing.shared.nearCacheSeconds} at most. Writes update the near cache at once and
+ * reach Redis on a single background writer; each write is announced on a pub/sub channel and
+ * the other JVMs drop their near-cache copy of that key.</p>
+ *
+ * <p>Entries use the same JSON records as {@link HealCacheStore}, carry their own Redis TTL, and
+ * are treated like entries restored from disk: a healed locator fetched from Redis is re-checked
+ * against the live page before first use. Redis being unreachable never fails a test — every
+ * operation degrades to a local miss.</p>
+ */
+final class SharedHealCache {
+
+    static final String HEALED     = "h:";
+    static final String UNHEALABLE = "u:";
+    static final String BASELINE   = "b:";
+
+    /** Near-cache marker for "Redis has no entry" (Caffeine does not store nulls). */
+    private static final String ABSENT = "";
+    private static final int NEAR_CACHE_MAX = 20_000;
+    private static final int WRITE_QUEUE_CAPACITY = 1_024;
+    private static final long BASELINE_TTL_MS = 7L * 24 * 60 * 60 * 1_000;
+
+    private static final Gson GSON = new Gson();
+    private static final Type BASELINE_LIST = new TypeToken<List<ElementFingerprint>>() {}.getType();
+
+    private static final Object INIT_LOCK = new Object();
+    private static volatile SharedHealCache instance;
+    private static volatile boolean initAttempted = false;
+
+    private final JedisPool pool;
+    private final String prefix;
+    private final String channel;
+    private final String origin = UUID.randomUUID().toString();
+    private final Cache<String, String> near;
+    private final Executor writer;
+    private volatile Thread subscriberThread;
+    private volatile JedisPubSub subscriber;
+    private volatile boolean closed = false;
+
+    SharedHealCache(JedisPool pool, String prefix, int nearCacheSeconds, Executor writer) {
+        this.pool = pool;
+        this.prefix = prefix;
+        this.channel = prefix + "invalidate";
+        this.writer = writer;
+        this.near = Caffeine.newBuilder()
+                .expireAfterWrite(Math.max(1, nearCacheSeconds), TimeUnit.SECONDS)
+                .maximumSize(NEAR_CACHE_MAX)
+                .build();
+    }
+
+    /** @return the shared tier, or {@code null} when disabled or Redis could not be reached */
+    static SharedHealCache get() {
+        SharedHealCache s = instance;
+        if (s != null || initAttempted) return s;
+        if (!AIConfigLoader.isSharedHealCacheEnabled()) return null;
+        synchronized (INIT_LOCK) {
+            if (initAttempted) return instance;
+            initAttempted = true;
+            instance = connect();
+            return instance;
+        }
+    }
+
+    /** Replaces the shared tier. Used by tests; {@code null} disables it. */
+    static void use(SharedHealCache cache) {
+        synchronized (INIT_LOCK) {
+            if (instance != null && instance != cache) instance.close();
+            instance = cache;
+            initAttempted = true;
+        }
+    }
+
+    private static SharedHealCache connect() {
+        String host = AIConfigLoader.getSharedHealCacheRedisHost();
+        int port = AIConfigLoader.getSharedHealCacheRedisPort();
+        try {
+            JedisPoolConfig config = new JedisPoolConfig();
+            config.setMaxTotal(8);
+            config.setMaxIdle(4);
+            config.setMinIdle(1);
+            config.setTestOnBorrow(true);
+            JedisPool pool = new JedisPool(config, host, port);
+            try (Jedis jedis = pool.getResource()) {
+                jedis.ping();
+            }
+            ThreadPoolExecutor writer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(WRITE_QUEUE_CAPACITY),
+                    r -> Thread.ofPlatform().daemon(true).name("ellithium-shared-heal-writer").unstarted(r),
+                    new ThreadPoolExecutor.DiscardOldestPolicy());
+            SharedHealCache cache = new SharedHealCache(pool, AIConfigLoader.getSharedHealCacheKeyPrefix(),
+                    AIConfigLoader.getSharedHealCacheNearSeconds(), writer);
+            cache.startSubscriber();
+            Reporter.log("AI Self-Healing: shared heal cache connected to Redis " + host + ":" + port, LogLevel.INFO_BLUE);
+            return cache;
+        } catch (Exception e) {
+            Reporter.log("AI Self-Healing: shared heal cache disabled — Redis " + host + ":" + port
+                    + " unreachable: " + e.getMessage(), LogLevel.WARN);
+            return null;
+        }
+    }
+
+    // ──────────────────────── Typed accessors ────────────────────────
+
+    HealCacheStore.HealedEntry getHealed(String key) {
+        return decode(read(HEALED + key), HealCacheStore.HealedEntry.class);
+    }
+
+    void putHealed(HealCacheStore.HealedEntry entry) {
+        write(HEALED + entry.k(), GSON.toJson(entry), entry.x() - System.currentTimeMillis());
+        delete(UNHEALABLE + entry.k());
+    }
+
+    HealCacheStore.UnhealableEntry getUnhealable(String key) {
+        return decode(read(UNHEALABLE + key), HealCacheStore.UnhealableEntry.class);
+    }
+
+    void putUnhealable(HealCacheStore.UnhealableEntry entry) {
+        write(UNHEALABLE + entry.k(), GSON.toJson(entry), entry.x() - System.currentTimeMillis());
+    }
+
+    List<ElementFingerprint> getBaselines(String key) {
+        String json = read(BASELINE + key);
+        if (json == null) return null;
+        try {
+            List<ElementFingerprint> history = GSON.fromJson(json, BASELINE_LIST);
+            if (history == null || history.isEmpty()) return null;
+            for (ElementFingerprint fp : history) if (fp != null) fp.compact();
+            return history;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    void putBaselines(String key, List<ElementFingerprint> history) {
+        write(BASELINE + key, GSON.toJson(history, BASELINE_LIST), BASELINE_TTL_MS);
+    }
+
+    void invalidate(String key) {
+        delete(HEALED + key);
+        delete(UNHEALABLE + key);
+    }
+
+    /** Drops the local near cache; Redis keeps its entries. */
+    void clearNearCache() {
+        near.invalidateAll();
+    }
+
+    // ──────────────────────── Near cache + Redis ────────────────────────
+
+    private String read(String suffix) {
+        String redisKey = prefix + suffix;
+        String cached = near.getIfPresent(redisKey);
+        if (cached != null) return cached.isEmpty() ? null : cached;
+        if (closed) return null;
+        try (Jedis jedis = pool.getResource()) {
+            String value = jedis.get(redisKey);
+            near.put(redisKey, value != null ? value : ABSENT);
+            return value;
+        } catch (Exception e) {
+            Reporter.log("AI Self-Healing: shared cache read failed for " + suffix + ": " + e.getMessage(), LogLevel.DEBUG);
+            return null;
+        }
+    }
+
+    private void write(String suffix, String json, long ttlMs) {
+        if (ttlMs <= 0) return;
+        String redisKey = prefix + suffix;
+        near.put(redisKey, json);
+        submit(() -> {
+            try (Jedis jedis = pool.getResource()) {
+                jedis.set(redisKey, json, SetParams.setParams().px(ttlMs));
+                jedis.publish(channel, redisKey + "\n" + origin);
+            }
+        }, suffix);
+    }
+
+    private void delete(String suffix) {
+        String redisKey = prefix + suffix;
+        near.put(redisKey, ABSENT);
+        submit(() -> {
+            try (Jedis jedis = pool.getResource()) {
+                if (jedis.del(redisKey) > 0) jedis.publish(channel, redisKey + "\n" + origin);
+            }
+        }, suffix);
+    }
+
+    private void submit(Runnable op, String suffix) {
+        if (closed) return;
+        try {
+            writer.execute(() -> {
+                try {
+                    op.run();
+                } catch (Exception e) {
+                    Reporter.log("AI Self-Healing: shared cache write failed for " + suffix + ": " + e.getMessage(),
+                            LogLevel.DEBUG);
+                }
+            });
+        } catch (Exception ignored) {
+            // writer rejected (shut down) — the local caches still hold the entry
+        }
+    }
+
+    private static <T> T decode(String json, Class<T> type) {
+        if (json == null) return null;
+        try {
+            return GSON.fromJson(json, type);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    // ──────────────────────── Pub/sub invalidation ────────────────────────
+
+    /** Applies an invalidation published by another JVM ({@code redisKey \n origin}). */
+    void onMessage(String message) {
+        if (message == null) return;
+        int nl = message.indexOf('\n');
+        String redisKey = nl >= 0 ? message.substring(0, nl) : message;
+        if (nl >= 0 && origin.equals(message.substring(nl + 1))) return;
+        near.invalidate(redisKey);
+        if (redisKey.startsWith(prefix + HEALED)) {
+            // Another JVM healed this locator — a local "unhealable" mark would hide that heal.
+            AISelfHealer.forgetUnhealable(redisKey.substring(prefix.length() + HEALED.length()));
+        }
+    }
+
+    private void startSubscriber() {
+        subscriberThread = Thread.ofPlatform().daemon(true).name("ellithium-shared-heal-subscriber").start(() -> {
+            long backoffMs = 500;
+            while (!closed) {
+                JedisPubSub pubSub = new JedisPubSub() {
+                    @Override
+                    public void onMessage(String ch, String message) {
+                        SharedHealCache.this.onMessage(message);
+                    }
+                };
+                subscriber = pubSub;
+                try (Jedis jedis = pool.getResource()) {
+                    backoffMs = 500;
+                    jedis.subscribe(pubSub, channel);
+                } catch (Exception e) {
+                    if (closed) return;
+                    // Messages may have been missed while disconnected — don't trust the near cache.
+                    near.invalidateAll();
+                    try {
+                        Thread.sleep(backoffMs);
+                    } catch (InterruptedException ie) {
+                        return;
+                    }
+                    backoffMs = Math.min(backoffMs * 2, 30_000);
+                }
+            }
+        });
+    }
+
+    void close() {
+        closed = true;
+        try {
+            JedisPubSub s = subscriber;
+            if (s != null && s.isSubscribed()) s.unsubscribe();
+        } catch (Exception ignored) {}
+        if (writer instanceof ThreadPoolExecutor tpe) tpe.shutdown();
+        try { pool.close(); } catch (Exception ignored) {}
+    }
+}
@@ -5,6 +5,8 @@ import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Captures a "fingerprint" snapshot of a successfully-found WebElement.
  *
@@ -23,6 +25,9 @@ public class ElementFingerprint {
     private static final int TEXT_CAP = 240;
     /** Max length of either side for the partial-contains text bonus to apply. */
     private static final int TEXT_PARTIAL_CAP = 50;
+    /** Distinct strings {@link #compact()} shares across fingerprints; values past it are not shared. */
+    private static final int MAX_INTERNED = 16_384;
+    private static final ConcurrentHashMap<String, String> INTERNED = new ConcurrentHashMap<>();
 
     private static final String CAPTURE_BATCH_JS =
         "var el=arguments[0];"
@@ -58,6 +63,8 @@ public class ElementFingerprint {
         + " nextSiblingTag:el.nextElementSibling?el.nextElementSibling.tagName.toLowerCase():null,"
         + " dataAttrs:dm,iframeChain:ifc"
         + "};";
+    private static final Ellithium.core.ai.dom.PinnedScripts.Script CAPTURE_BATCH =
+            Ellithium.core.ai.dom.PinnedScripts.register("fingerprintCapture", CAPTURE_BATCH_JS);
 
     // ── Identity ──
     private String locatorKey;           // Original By.toString(), e.g. "By.id: user" (the broken one)
@@ -111,6 +118,72 @@ public class ElementFingerprint {
     /** No-arg constructor for Gson deserialization. */
     public ElementFingerprint() {}
 
+    /**
+     * Shrinks this fingerprint in place for long-lived storage: string fields are shared through a
+     * bounded table (the same tag, type, role, class list, URL and ids recur across every history
+     * entry and across locators on a page), Gson's map for {@code customDataAttrs} is replaced with
+     * an unmodifiable copy in the same order, and empty collections are dropped. Scoring results
+     * are unchanged.
+     *
+     * @return this fingerprint
+     */
+    public ElementFingerprint compact() {
+        locatorKey       = intern(locatorKey);
+        healedLocatorKey = intern(healedLocatorKey);
+        tagName          = intern(tagName);
+        id               = intern(id);
+        name             = intern(name);
+        type             = intern(type);
+        className        = intern(className);
+        text             = intern(text);
+        ariaLabel        = intern(ariaLabel);
+        placeholder      = intern(placeholder);
+        href             = intern(href);
+        value            = intern(value);
+        role             = intern(role);
+        dataTestId       = intern(dataTestId);
+        dataTest         = intern(dataTest);
+        dataCy           = intern(dataCy);
+        dataQa           = intern(dataQa);
+        title            = intern(title);
+        label            = intern(label);
+        resourceId       = intern(resourceId);
+        accessibilityId  = intern(accessibilityId);
+        contentDesc      = intern(contentDesc);
+        parentTag        = intern(parentTag);
+        prevSiblingTag   = intern(prevSiblingTag);
+        nextSiblingTag   = intern(nextSiblingTag);
+        pageUrl          = intern(pageUrl);
+        if (customDataAttrs != null) {
+            if (customDataAttrs.isEmpty()) {
+                customDataAttrs = null;
+            } else {
+                // Scoring compares the first five entries, so the copy keeps insertion order.
+                java.util.Map<String, String> copy = new java.util.LinkedHashMap<>(customDataAttrs.size() * 2);
+                customDataAttrs.forEach((k, v) -> { if (k != null && v != null) copy.put(intern(k), intern(v)); });
+                customDataAttrs = copy.isEmpty() ? null : java.util.Collections.unmodifiableMap(copy);
+            }
+        }
+        if (iframeChain != null) {
+            iframeChain = iframeChain.isEmpty() ? null
+                    : iframeChain.stream().map(ElementFingerprint::intern).toList();
+        }
+        return this;
+    }
+
+    /**
+     * Canonical instance of {@code s} for {@link #compact()}. Unlike {@link String#intern()} the
+     * table is bounded: once {@value #MAX_INTERNED} values are held, new ones are kept as they are.
+     */
+    static String intern(String s) {
+        if (s == null) return null;
+        String canonical = INTERNED.get(s);
+        if (canonical != null) return canonical;
+        if (INTERNED.size() >= MAX_INTERNED) return s;
+        canonical = INTERNED.putIfAbsent(s, s);
+        return canonical != null ? canonical : s;
+    }
+
     /**
      * Captures a fingerprint from a live WebElement.
      *
@@ -124,7 +197,7 @@ public class ElementFingerprint {
         // with 13+ attribute reads per element during fingerprint capture
         Ellithium.core.execution.listener.seleniumListener.suppressLogging();
         try {
-            return captureInternal(driver, locator, element);
+            return captureInternal(driver, locator, element).compact();
         } finally {
             Ellithium.core.execution.listener.seleniumListener.resumeLogging();
         }
@@ -142,11 +215,11 @@ public class ElementFingerprint {
         }
 
         boolean batchedOk = false;
-        if (driver instanceof JavascriptExecutor js) {
+        if (driver instanceof JavascriptExecutor) {
             try {
                 @SuppressWarnings("unchecked")
                 java.util.Map<String, Object> attrs =
-                        (java.util.Map<String, Object>) js.executeScript(CAPTURE_BATCH_JS, element);
+                        (java.util.Map<String, Object>) Ellithium.core.ai.dom.PinnedScripts.execute(driver, CAPTURE_BATCH, element);
                 if (attrs != null) {
                     fp.tagName         = mapStr(attrs, "tag");
                     fp.id              = mapStr(attrs, "id");
@@ -720,31 +793,92 @@ public class ElementFingerprint {
      * naming conventions, e.g. {@code loginBtn}↔{@code login-btn}) OR normalized Levenshtein ratio
      * ≥ 0.82 (typo/char drift, e.g. {@code usrname}↔{@code username}, which token-Jaccard scores 0).
      */
-    private static boolean fuzzyIdMatch(java.util.Set<String> selfTokens, String self, String candidate) {
+    private static boolean fuzzyIdMatch(TokenSet selfTokens, String self, String candidate) {
         if (candidate == null || candidate.isBlank()) return false;
-        if (jaccard(selfTokens, candidate) >= 0.5) return true;
-        return levenshteinRatio(self.toLowerCase(), candidate.toLowerCase()) >= 0.82;
+        if (jaccard(selfTokens, tokenSet(candidate)) >= 0.5) return true;
+        return levenshteinRatio(self, candidate) >= 0.82;
     }
 
-    /** Similarity ratio in [0,1] = 1 - editDistance/maxLen. Bounded O(min·max); inputs are short ids. */
-    private static double levenshteinRatio(String a, String b) {
+    /**
+     * Case-insensitive similarity ratio in [0,1] = 1 - editDistance/maxLen. Uses the bit-parallel
+     * edit distance when the shorter side fits in one machine word (every realistic id/name), and
+     * the O(n·m) two-row DP otherwise.
+     */
+    static double levenshteinRatio(String a, String b) {
         if (a == null || b == null) return 0.0;
         int la = a.length(), lb = b.length();
         if (la == 0 && lb == 0) return 1.0;
         if (la == 0 || lb == 0) return 0.0;
+        int dist = (Math.min(la, lb) <= 64)
+                ? (la <= lb ? myersDistance(a, b) : myersDistance(b, a))
+                : dpDistance(a, b);
+        return 1.0 - (double) dist / Math.max(la, lb);
+    }
+
+    /** Per-thread match-mask table for ASCII pattern chars; entries are cleared after each use. */
+    private static final ThreadLocal<long[]> PEQ = ThreadLocal.withInitial(() -> new long[128]);
+
+    /**
+     * Myers/Hyyrö bit-parallel Levenshtein distance, case-folded. {@code pattern} must be 1..64
+     * chars; each column of the DP matrix is a pair of 64-bit delta vectors, so the cost is
+     * O(text length) word operations instead of O(pattern·text) cell updates.
+     */
+    static int myersDistance(String pattern, String text) {
+        int m = pattern.length();
+        long[] peq = PEQ.get();
+        boolean nonAscii = false;
+        for (int i = 0; i < m; i++) {
+            char c = Character.toLowerCase(pattern.charAt(i));
+            if (c < 128) peq[c] |= 1L << i;
+            else nonAscii = true;
+        }
+        long last = 1L << (m - 1);
+        long pv = -1L, mv = 0L;
+        int score = m;
+        for (int j = 0; j < text.length(); j++) {
+            char c = Character.toLowerCase(text.charAt(j));
+            long eq = c < 128 ? peq[c] : (nonAscii ? nonAsciiMask(pattern, c) : 0L);
+            long xv = eq | mv;
+            eq |= ((eq & pv) + pv) ^ pv;
+            mv |= ~(eq | pv);
+            pv &= eq;
+            if ((mv & last) != 0) score++;
+            if ((pv & last) != 0) score--;
+            mv = (mv << 1) | 1L;
+            pv = (pv << 1) | ~(xv | mv);
+            mv &= xv;
+        }
+        for (int i = 0; i < m; i++) {
+            char c = Character.toLowerCase(pattern.charAt(i));
+            if (c < 128) peq[c] = 0L;
+        }
+        return score;
+    }
+
+    private static long nonAsciiMask(String pattern, char c) {
+        long mask = 0L;
+        for (int i = 0; i < pattern.length(); i++) {
+            if (Character.toLowerCase(pattern.charAt(i)) == c) mask |= 1L << i;
+        }
+        return mask;
+    }
+
+    /** Classic two-row DP, case-folded — used only when both strings exceed 64 chars. */
+    static int dpDistance(String a, String b) {
+        int la = a.length(), lb = b.length();
         int[] prev = new int[lb + 1];
         int[] cur  = new int[lb + 1];
         for (int j = 0; j <= lb; j++) prev[j] = j;
         for (int i = 1; i <= la; i++) {
             cur[0] = i;
+            char ca = Character.toLowerCase(a.charAt(i - 1));
             for (int j = 1; j <= lb; j++) {
-                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int cost = ca == Character.toLowerCase(b.charAt(j - 1)) ? 0 : 1;
                 cur[j] = Math.min(Math.min(cur[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
             }
             int[] tmp = prev; prev = cur; cur = tmp;
         }
-        int dist = prev[lb];
-        return 1.0 - (double) dist / Math.max(la, lb);
+        return prev[lb];
     }
 
     /** Returns the substring after the last {@code sep}, or the input unchanged when absent.
@@ -755,81 +889,170 @@ public class ElementFingerprint {
         return (i < 0) ? s : s.substring(i + 1);
     }
 
-    // Precompiled once (was recompiled on every String.split call inside the per-candidate hot loop).
-    private static final java.util.regex.Pattern TOKEN_SPLIT =
-            java.util.regex.Pattern.compile("(?<=[a-z])(?=[A-Z])|(?<=[A-Z])(?=[A-Z][a-z])|[-_\\s]+");
-    private static final java.util.regex.Pattern WS_SPLIT = java.util.regex.Pattern.compile("\\s+");
+    // ──────────────────── Compact token sets ────────────────────
+
+    /**
+     * A token set encoded as sorted, distinct 64-bit token hashes plus a one-word presence mask
+     * (one bit per hash bucket). Jaccard is a linear merge over two small arrays, and two sets
+     * whose masks share no bit are disjoint without looking at the hashes at all. Tokenizing a
+     * candidate allocates one {@code long[]} — no regex split, substrings or {@code HashSet}.
+     */
+    record TokenSet(long[] hashes, long mask) {
+        static final TokenSet EMPTY = new TokenSet(new long[0], 0L);
+
+        boolean isEmpty() { return hashes.length == 0; }
+
+        int size() { return hashes.length; }
+    }
 
     // Cached token sets for THIS baseline's id/name/class — constant across all candidates, so they
     // are computed once instead of N(candidates)×D(history) times. Transient: never serialized by Gson.
-    private transient java.util.Set<String> idTokensCache;
-    private transient java.util.Set<String> nameTokensCache;
-    private transient java.util.Set<String> classTokensCache;
+    private transient TokenSet idTokensCache;
+    private transient TokenSet nameTokensCache;
+    private transient TokenSet classTokensCache;
 
-    private java.util.Set<String> idTokens() {
+    private TokenSet idTokens() {
         if (idTokensCache == null) idTokensCache = tokenSet(this.id);
         return idTokensCache;
     }
 
-    private java.util.Set<String> nameTokens() {
+    private TokenSet nameTokens() {
         if (nameTokensCache == null) nameTokensCache = tokenSet(this.name);
         return nameTokensCache;
     }
 
-    private java.util.Set<String> classTokens() {
-        if (classTokensCache == null) {
-            classTokensCache = new java.util.HashSet<>();
-            if (this.className != null) {
-                for (String p : WS_SPLIT.split(this.className)) {
-                    String t = p.strip();
-                    if (!t.isEmpty()) classTokensCache.add(t);
-                }
-            }
-        }
+    private TokenSet classTokens() {
+        if (classTokensCache == null) classTokensCache = classTokenSet(this.className);
         return classTokensCache;
     }
 
     /**
-     * Token-level Jaccard between this baseline's cached token set and a candidate string.
+     * Token-level Jaccard of two encoded sets.
      * "login-btn" vs "loginBtn" → {"login","btn"} vs {"login","btn"} → 1.0
-     * Null/blank guard is in callers. Empty-input guard keeps divide-by-zero safe.
+     * Either side empty → 0.0.
      */
-    private static double jaccard(java.util.Set<String> ta, String b) {
-        if (ta.isEmpty()) return 0.0;
-        java.util.Set<String> tb = tokenSet(b);
-        if (tb.isEmpty()) return 0.0;
-        if (ta.size() == tb.size() && ta.containsAll(tb)) return 1.0;
-        int inter = 0;
-        for (String t : ta) if (tb.contains(t)) inter++;
-        return inter / (double) (ta.size() + tb.size() - inter);   // |∩| / |∪| without extra sets
-    }
-
-    private static java.util.Set<String> tokenSet(String s) {
-        java.util.Set<String> tokens = new java.util.HashSet<>();
-        if (s == null) return tokens;
-        for (String p : TOKEN_SPLIT.split(s)) {
-            String t = p.strip().toLowerCase();
-            if (!t.isEmpty()) tokens.add(t);
-        }
-        return tokens;
+    static double jaccard(TokenSet a, TokenSet b) {
+        if (a.isEmpty() || b.isEmpty()) return 0.0;
+        if ((a.mask() & b.mask()) == 0L) return 0.0;
+        int inter = intersection(a.hashes(), b.hashes());
+        return inter / (double) (a.size() + b.size() - inter);   // |∩| / |∪| without extra sets
     }
 
     /**
-     * CSS class set Jaccard similarity. Baseline token set is pre-cached; only one HashSet is
-     * allocated per call (for the candidate string), eliminating the 2-alloc hot-path cost.
-     * Exact-string equality short-circuits before any allocation — the common stable-class case.
+     * CSS class set Jaccard similarity. Both sides empty → 1.0; exactly one empty → 0.0.
      */
-    private static double classJaccard(java.util.Set<String> baseline, String candidateClass) {
-        java.util.Set<String> sb = new java.util.HashSet<>();
-        for (String p : WS_SPLIT.split(candidateClass)) { String t = p.strip(); if (!t.isEmpty()) sb.add(t); }
+    private static double classJaccard(TokenSet baseline, String candidateClass) {
+        TokenSet sb = classTokenSet(candidateClass);
         if (baseline.isEmpty() && sb.isEmpty()) return 1.0;
         if (baseline.isEmpty() || sb.isEmpty()) return 0.0;
-        if (baseline.size() == sb.size() && baseline.containsAll(sb)) return 1.0;
-        int inter = 0;
-        for (String t : baseline) if (sb.contains(t)) inter++;
+        if ((baseline.mask() & sb.mask()) == 0L) return 0.0;
+        int inter = intersection(baseline.hashes(), sb.hashes());
         return inter / (double) (baseline.size() + sb.size() - inter);
     }
 
+    private static int intersection(long[] a, long[] b) {
+        int i = 0, j = 0, inter = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) { inter++; i++; j++; }
+            else if (a[i] < b[j]) i++;
+            else j++;
+        }
+        return inter;
+    }
+
+    /**
+     * Identifier tokens: split on {@code -}, {@code _}, whitespace, lower→Upper transitions
+     * ({@code loginBtn}) and before the last capital of an acronym ({@code HTMLParser}); each token
+     * is trimmed and lower-cased.
+     */
+    static TokenSet tokenSet(String s) {
+        if (s == null || s.isEmpty()) return TokenSet.EMPTY;
+        long[] out = new long[s.length()];
+        int n = 0;
+        int start = 0;
+        int len = s.length();
+        for (int i = 0; i <= len; i++) {
+            boolean boundary;
+            int nextStart = i;
+            if (i == len) {
+                boundary = true;
+            } else {
+                char c = s.charAt(i);
+                if (c == '-' || c == '_' || isRegexSpace(c)) {
+                    boundary = true;
+                    nextStart = i + 1;
+                } else if (i > 0) {
+                    char p = s.charAt(i - 1);
+                    boundary = (isAsciiLower(p) && isAsciiUpper(c))
+                            || (isAsciiUpper(p) && isAsciiUpper(c) && i + 1 < len && isAsciiLower(s.charAt(i + 1)));
+                } else {
+                    boundary = false;
+                }
+            }
+            if (boundary) {
+                long h = hashToken(s, start, i, true);
+                if (h != 0L) out[n++] = h;
+                start = nextStart;
+            }
+        }
+        return encode(out, n);
+    }
+
+    /** CSS class tokens: whitespace-separated, case preserved. */
+    static TokenSet classTokenSet(String s) {
+        if (s == null || s.isEmpty()) return TokenSet.EMPTY;
+        long[] out = new long[s.length() / 2 + 1];
+        int n = 0;
+        int start = 0;
+        int len = s.length();
+        for (int i = 0; i <= len; i++) {
+            if (i == len || isRegexSpace(s.charAt(i))) {
+                long h = hashToken(s, start, i, false);
+                if (h != 0L) out[n++] = h;
+                start = i + 1;
+            }
+        }
+        return encode(out, n);
+    }
+
+    private static TokenSet encode(long[] hashes, int n) {
+        if (n == 0) return TokenSet.EMPTY;
+        java.util.Arrays.sort(hashes, 0, n);
+        int distinct = 0;
+        long mask = 0L;
+        for (int i = 0; i < n; i++) {
+            if (distinct == 0 || hashes[i] != hashes[distinct - 1]) hashes[distinct++] = hashes[i];
+        }
+        for (int i = 0; i < distinct; i++) mask |= 1L << (hashes[i] >>> 58);
+        return new TokenSet(java.util.Arrays.copyOf(hashes, distinct), mask);
+    }
+
+    /**
+     * 64-bit FNV-1a over {@code s[from,to)} after trimming whitespace; 0 for an empty token.
+     * A real token hashing to exactly 0 is remapped so 0 can mean "no token".
+     */
+    private static long hashToken(String s, int from, int to, boolean lower) {
+        while (from < to && Character.isWhitespace(s.charAt(from))) from++;
+        while (to > from && Character.isWhitespace(s.charAt(to - 1))) to--;
+        if (from >= to) return 0L;
+        long h = 0xcbf29ce484222325L;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (lower) c = Character.toLowerCase(c);
+            h ^= c;
+            h *= 0x100000001b3L;
+        }
+        return h != 0L ? h : 1L;
+    }
+
+    /** Matches regex {@code \s} (no UNICODE_CHARACTER_CLASS): space, \t, \n, \u000B, \f, \r. */
+    private static boolean isRegexSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static boolean isAsciiLower(char c) { return c >= 'a' && c <= 'z'; }
+    private static boolean isAsciiUpper(char c) { return c >= 'A' && c <= 'Z'; }
+
     // ──────────────────── Utility Methods ────────────────────
 
     private static String safeGetAttribute(WebElement element, String attribute) {
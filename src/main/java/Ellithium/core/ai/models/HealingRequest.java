@@ -1,10 +1,24 @@
 package Ellithium.core.ai.models;
 
+import Ellithium.core.ai.dom.HealDomSnapshot;
 import Ellithium.core.ai.models.ElementFingerprint;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 
+/**
+ * One heal attempt as seen by every {@code HealingTier}. {@code domSnapshot} is captured lazily on
+ * first use and shared by all tiers of the attempt, so tiers (including ServiceLoader-provided ones)
+ * should read candidates and page context from it instead of querying the page again.
+ */
 public record HealingRequest(WebDriver driver, By brokenLocator, StackTraceElement[] stackTrace,
                              String actionType, String callerMethod, String fieldName,
-                             String locatorValue, ElementFingerprint baseline) {
+                             String locatorValue, ElementFingerprint baseline,
+                             HealDomSnapshot domSnapshot) {
+
+    public HealingRequest(WebDriver driver, By brokenLocator, StackTraceElement[] stackTrace,
+                          String actionType, String callerMethod, String fieldName,
+                          String locatorValue, ElementFingerprint baseline) {
+        this(driver, brokenLocator, stackTrace, actionType, callerMethod, fieldName, locatorValue, baseline,
+                new HealDomSnapshot(driver, baseline != null ? baseline.getTagName() : null));
+    }
 }
@@ -44,6 +44,7 @@ public class AIHealingReporter {
             AISelfHealer.applyDeferredPatches();
             HealingTelemetryStore.flush();
             BaselineStore.flush();
+            AISelfHealer.persistCaches();
             return;
         }
 
@@ -53,6 +54,7 @@ public class AIHealingReporter {
             // Still persist learned state even if the report dir can't be created.
             HealingTelemetryStore.flush();
             BaselineStore.flush();
+            AISelfHealer.persistCaches();
             return;
         }
 
@@ -103,6 +105,7 @@ public class AIHealingReporter {
 
         // Flush baseline fingerprints to disk
         BaselineStore.flush();
+        AISelfHealer.persistCaches();
 
         checkCiHealThreshold();
     }
@@ -1,5 +1,6 @@
 package Ellithium.core.ai.sanitizers;
 
+import Ellithium.core.ai.dom.PinnedScripts;
 import Ellithium.core.logging.LogLevel;
 import Ellithium.core.reporting.Reporter;
 import org.openqa.selenium.JavascriptExecutor;
@@ -213,6 +214,24 @@ public class AccessibilityTreeExtractor {
         })();
         """;
 
+    private static final PinnedScripts.Script AX_TREE = PinnedScripts.register("axTree", AX_TREE_SCRIPT);
+
+    /**
+     * Returns the extraction script (a {@code return} statement) so callers that already make an
+     * {@code executeScript} call can embed it in a function body instead of paying another round-trip.
+     */
+    public static String script() {
+        return AX_TREE_SCRIPT;
+    }
+
+    /** Applies the output safety cap used by {@link #extractTree(WebDriver)}. */
+    public static String cap(String axTree) {
+        if (axTree != null && axTree.length() > MAX_OUTPUT_LENGTH) {
+            return axTree.substring(0, MAX_OUTPUT_LENGTH) + "\n<!-- AX tree truncated at " + MAX_OUTPUT_LENGTH + " chars -->";
+        }
+        return axTree;
+    }
+
     /**
      * Extracts an accessibility tree representation from the current page.
      *
@@ -226,24 +245,19 @@ public class AccessibilityTreeExtractor {
      * @return Compact accessibility tree text, or null if extraction failed
      */
     public static String extractTree(WebDriver driver) {
-        if (!(driver instanceof JavascriptExecutor jsExecutor)) {
+        if (!(driver instanceof JavascriptExecutor)) {
             Reporter.log("AccessibilityTreeExtractor: Driver does not support JavascriptExecutor — skipping AX tree", LogLevel.DEBUG);
             return null;
         }
 
         try {
-            Object result = jsExecutor.executeScript(AX_TREE_SCRIPT);
+            Object result = PinnedScripts.execute(driver, AX_TREE);
             if (result == null) {
                 Reporter.log("AccessibilityTreeExtractor: Script returned null", LogLevel.WARN);
                 return null;
             }
 
-            String axTree = result.toString();
-
-            // Safety cap
-            if (axTree.length() > MAX_OUTPUT_LENGTH) {
-                axTree = axTree.substring(0, MAX_OUTPUT_LENGTH) + "\n<!-- AX tree truncated at " + MAX_OUTPUT_LENGTH + " chars -->";
-            }
+            String axTree = cap(result.toString());
 
             Reporter.log("AccessibilityTreeExtractor: Captured " + axTree.length() + " chars", LogLevel.DEBUG);
             return axTree;
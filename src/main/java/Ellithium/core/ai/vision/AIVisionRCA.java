@@ -1,22 +1,64 @@
 package Ellithium.core.ai.vision;
 
 import Ellithium.Utilities.ai.LLMProvider;
+import Ellithium.Utilities.helpers.PropertyHelper;
+import Ellithium.config.management.ConfigContext;
 import Ellithium.core.ai.config.AIConfigLoader;
 import Ellithium.core.logging.LogLevel;
+import Ellithium.core.logging.Logger;
 import Ellithium.core.reporting.Reporter;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Attachment;
 
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Handles Visual Root Cause Analysis (RCA) for test failures.
  * Takes the failure screenshot, sends it to a vision-capable LLM,
  * and attaches the AI's explanation to the Allure report.
+ *
+ * <p>{@link #analyzeAsync} is the path used by the listeners: the LLM call runs on a
+ * bounded background pool so the TestNG worker is released immediately, the
+ * screenshot is downscaled and JPEG-compressed before upload, and failures sharing
+ * the same perceptual hash and exception signature are clustered so each unique
+ * failure is analyzed once.</p>
  */
 public class AIVisionRCA {
 
-    private static final String RCA_PROMPT = 
+    private static final String RCA_PROMPT =
             "You are an expert test automation engineer. " +
             "Analyze this screenshot of a failed automated test. " +
             "The test has just failed at this exact screen. " +
@@ -25,47 +67,400 @@ public class AIVisionRCA {
             "the desired element is not visible, a cookie banner is in the way). " +
             "Keep your explanation concise and focused on the root cause.";
 
+    private static final String ATTACHMENT_NAME = "AI Vision RCA";
+
+    /** Maximum Hamming distance between two dHashes still treated as the same screen. */
+    private static final int PHASH_CLUSTER_DISTANCE = 4;
+
+    /** How long to wait for Allure to finish writing a test result before attaching to it. */
+    private static final long RESULT_WRITE_WAIT_MS = 5_000;
+
+    private static final Map<String, List<Cluster>> clusters = new ConcurrentHashMap<>();
+    private static final AtomicInteger analyzedCount  = new AtomicInteger();
+    private static final AtomicInteger clusteredCount = new AtomicInteger();
+    private static final AtomicInteger droppedCount   = new AtomicInteger();
+
+    private static volatile ThreadPoolExecutor RCA_POOL;
+
+    private static final class Cluster {
+        final long pHash;
+        final CompletableFuture<String> result;
+        final AtomicInteger members = new AtomicInteger(1);
+
+        Cluster(long pHash, CompletableFuture<String> result) {
+            this.pHash = pHash;
+            this.result = result;
+        }
+    }
+
     /**
      * Performs Vision RCA on a failed test screenshot.
-     * 
+     *
      * @param screenshot   The saved screenshot file
      * @param errorMessage The exception message or error details
      * @param provider     The configured LLM Provider
      */
     public static void analyze(File screenshot, String errorMessage, LLMProvider provider) {
-        if (!AIConfigLoader.isVisionRcaEnabled()) {
+        if (!isEligible(screenshot, provider)) {
             return;
         }
 
+        try {
+            Reporter.log("Starting AI Vision RCA for failed test...", LogLevel.INFO_BLUE);
+            String rcaResult = askProvider(screenshot, errorMessage, provider);
+
+            Reporter.log("AI Vision RCA Result: " + rcaResult, LogLevel.INFO_YELLOW);
+
+            // Attach to Allure Report
+            Allure.addAttachment(ATTACHMENT_NAME, "text/plain", rcaResult);
+
+        } catch (Exception e) {
+            Reporter.log("AIVisionRCA failed: " + e.getMessage(), LogLevel.ERROR);
+        }
+    }
+
+    /**
+     * Schedules Vision RCA on the background pool and returns immediately.
+     * The result is attached to the Allure test case that was running on the calling
+     * thread once the provider answers. Falls back to {@link #analyze} when
+     * {@code ai.vision.rca.async=false}.
+     *
+     * @param screenshot The saved screenshot file
+     * @param failure    The failure cause (used for clustering); may be null
+     * @param provider   The configured LLM Provider
+     * @return a future completing with the RCA text, or {@code null} when RCA was skipped
+     */
+    public static CompletableFuture<String> analyzeAsync(File screenshot, Throwable failure, LLMProvider provider) {
+        String errorMessage = failure != null ? String.valueOf(failure) : "Unknown failure";
+        if (!AIConfigLoader.isVisionRcaAsync()) {
+            analyze(screenshot, errorMessage, provider);
+            return null;
+        }
+        if (!isEligible(screenshot, provider)) {
+            return null;
+        }
+
+        Optional<String> testUuid = Allure.getLifecycle().getCurrentTestCase();
+        byte[] original;
+        try {
+            original = Files.readAllBytes(screenshot.toPath());
+        } catch (Exception e) {
+            Reporter.log("AIVisionRCA failed: " + e.getMessage(), LogLevel.ERROR);
+            return null;
+        }
+        BufferedImage image = decode(original);
+        long pHash = image != null ? differenceHash(image) : java.util.Arrays.hashCode(original);
+        String signature = exceptionSignature(failure);
+
+        List<Cluster> bucket = clusters.computeIfAbsent(signature, k -> new ArrayList<>());
+        Cluster cluster;
+        boolean leader = false;
+        synchronized (bucket) {
+            cluster = findCluster(bucket, pHash);
+            if (cluster == null) {
+                cluster = new Cluster(pHash, new CompletableFuture<>());
+                bucket.add(cluster);
+                leader = true;
+            } else {
+                cluster.members.incrementAndGet();
+            }
+        }
+
+        if (leader) {
+            CompletableFuture<String> result = cluster.result;
+            Cluster led = cluster;
+            // Read on the calling thread: configuration is thread-bound and the pool thread may not see it.
+            int maxDimension = AIConfigLoader.getVisionRcaMaxDimension();
+            double jpegQuality = AIConfigLoader.getVisionRcaJpegQuality();
+            try {
+                pool().execute(() -> {
+                    try {
+                        byte[] upload = image != null ? compress(image, original, maxDimension, jpegQuality) : original;
+                        String prompt = RCA_PROMPT + "\n\nError Context: " + errorMessage;
+                        result.complete(provider.askWithVision(prompt, upload));
+                        analyzedCount.incrementAndGet();
+                    } catch (Throwable t) {
+                        // A failed analysis is not shared with later identical failures: the next one retries.
+                        synchronized (bucket) { bucket.remove(led); }
+                        result.completeExceptionally(t);
+                    }
+                });
+                Reporter.log("AI Vision RCA queued for background analysis", LogLevel.DEBUG);
+            } catch (RejectedExecutionException e) {
+                droppedCount.incrementAndGet();
+                synchronized (bucket) { bucket.remove(led); }
+                result.completeExceptionally(e);
+                Reporter.log("AIVisionRCA skipped: background queue is full ("
+                        + AIConfigLoader.getVisionRcaQueueCapacity() + ")", LogLevel.WARN);
+                return null;
+            }
+        } else {
+            clusteredCount.incrementAndGet();
+            Reporter.log("AI Vision RCA: failure matches an already analyzed cluster ("
+                    + cluster.members.get() + " occurrences) — reusing its result", LogLevel.DEBUG);
+        }
+
+        Cluster joined = cluster;
+        return cluster.result.whenComplete((rca, error) -> {
+            if (error != null) {
+                Logger.error("AIVisionRCA failed: " + error.getMessage());
+                return;
+            }
+            String body = joined.members.get() > 1
+                    ? rca + "\n\n(Clustered: identical screenshot and exception seen "
+                          + joined.members.get() + " times in this run)"
+                    : rca;
+            Logger.info("AI Vision RCA Result: " + rca);
+            testUuid.ifPresent(uuid -> attachToTestCase(uuid, body));
+        });
+    }
+
+    /**
+     * Waits for queued RCA work to finish so results land in the report before it is generated.
+     *
+     * @param timeoutMs maximum time to wait
+     */
+    public static void awaitPending(long timeoutMs) {
+        ThreadPoolExecutor exec = RCA_POOL;
+        if (exec == null) return;
+        exec.shutdown();
+        try {
+            if (!exec.awaitTermination(timeoutMs, TimeUnit.MILLISECONDS)) {
+                Logger.warn("AIVisionRCA: " + (exec.getQueue().size() + exec.getActiveCount())
+                        + " analyses still pending after " + timeoutMs + "ms — abandoning");
+                exec.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            exec.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        if (analyzedCount.get() + clusteredCount.get() + droppedCount.get() > 0) {
+            Logger.info("AI Vision RCA summary | analyzed: " + analyzedCount.get()
+                    + " | clustered: " + clusteredCount.get()
+                    + " | dropped: " + droppedCount.get());
+        }
+        clusters.clear();
+        analyzedCount.set(0);
+        clusteredCount.set(0);
+        droppedCount.set(0);
+    }
+
+    private static boolean isEligible(File screenshot, LLMProvider provider) {
+        if (!AIConfigLoader.isVisionRcaEnabled()) {
+            return false;
+        }
+
         if (provider == null) {
             Reporter.log("AIVisionRCA skipped: No LLM Provider configured.", LogLevel.INFO_YELLOW);
-            return;
+            return false;
         }
 
         if (!provider.supportsVision()) {
             Reporter.log("AIVisionRCA skipped: Provider '" + provider.getModelName() + "' does not support vision.", LogLevel.INFO_YELLOW);
-            return;
+            return false;
         }
 
         if (screenshot == null || !screenshot.exists()) {
             Reporter.log("AIVisionRCA skipped: Screenshot file not found.", LogLevel.INFO_YELLOW);
-            return;
+            return false;
+        }
+        return true;
+    }
+
+    private static String askProvider(File screenshot, String errorMessage, LLMProvider provider) throws Exception {
+        byte[] original = Files.readAllBytes(screenshot.toPath());
+        BufferedImage image = decode(original);
+        byte[] imageBytes = image != null
+                ? compress(image, original, AIConfigLoader.getVisionRcaMaxDimension(), AIConfigLoader.getVisionRcaJpegQuality())
+                : original;
+        String promptWithContext = RCA_PROMPT + "\n\nError Context: " + errorMessage;
+        return provider.askWithVision(promptWithContext, imageBytes);
+    }
+
+    private static ThreadPoolExecutor pool() {
+        ThreadPoolExecutor exec = RCA_POOL;
+        if (exec == null || exec.isShutdown()) {
+            synchronized (AIVisionRCA.class) {
+                exec = RCA_POOL;
+                if (exec == null || exec.isShutdown()) {
+                    int size = AIConfigLoader.getVisionRcaPoolSize();
+                    exec = new ThreadPoolExecutor(size, size, 30L, TimeUnit.SECONDS,
+                            new ArrayBlockingQueue<>(AIConfigLoader.getVisionRcaQueueCapacity()),
+                            Thread.ofPlatform().daemon(true).name("ellithium-vision-rca-", 0).factory(),
+                            new ThreadPoolExecutor.AbortPolicy());
+                    exec.allowCoreThreadTimeOut(true);
+                    RCA_POOL = exec;
+                }
+            }
+        }
+        return exec;
+    }
+
+    private static Cluster findCluster(List<Cluster> bucket, long pHash) {
+        for (Cluster c : bucket) {
+            if (Long.bitCount(c.pHash ^ pHash) <= PHASH_CLUSTER_DISTANCE) return c;
         }
+        return null;
+    }
 
+    static BufferedImage decode(byte[] bytes) {
         try {
-            Reporter.log("Starting AI Vision RCA for failed test...", LogLevel.INFO_BLUE);
-            byte[] imageBytes = Files.readAllBytes(screenshot.toPath());
-            
-            String promptWithContext = RCA_PROMPT + "\n\nError Context: " + errorMessage;
-            String rcaResult = provider.askWithVision(promptWithContext, imageBytes);
-            
-            Reporter.log("AI Vision RCA Result: " + rcaResult, LogLevel.INFO_YELLOW);
-            
-            // Attach to Allure Report
-            Allure.addAttachment("AI Vision RCA", "text/plain", rcaResult);
-            
+            return ImageIO.read(new ByteArrayInputStream(bytes));
         } catch (Exception e) {
-            Reporter.log("AIVisionRCA failed: " + e.getMessage(), LogLevel.ERROR);
+            return null;
+        }
+    }
+
+    /**
+     * 64-bit difference hash: the image is reduced to 9x8 grayscale and each bit
+     * records whether a pixel is brighter than its right neighbour. Robust to scaling,
+     * compression and small rendering noise such as a ticking clock.
+     */
+    static long differenceHash(BufferedImage image) {
+        BufferedImage small = new BufferedImage(9, 8, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D g = small.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(image, 0, 0, 9, 8, null);
+        g.dispose();
+        long hash = 0L;
+        for (int y = 0; y < 8; y++) {
+            for (int x = 0; x < 8; x++) {
+                int left  = small.getRaster().getSample(x, y, 0);
+                int right = small.getRaster().getSample(x + 1, y, 0);
+                hash = (hash << 1) | (left > right ? 1L : 0L);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Exception class plus its message with volatile tokens (numbers, hex ids, quoted
+     * values, session ids) masked, so the same failure on different runs or elements
+     * of the same shape lands in one cluster.
+     */
+    static String exceptionSignature(Throwable failure) {
+        if (failure == null) return "unknown";
+        String message = failure.getMessage() == null ? "" : failure.getMessage();
+        int nl = message.indexOf('\n');
+        if (nl >= 0) message = message.substring(0, nl);
+        message = message
+                .replaceAll("\"[^\"]*\"|'[^']*'", "\"_\"")
+                .replaceAll("0x[0-9a-fA-F]+|[0-9a-fA-F]{16,}", "#")
+                .replaceAll("\\d+", "#")
+                .replaceAll("\\s+", " ")
+                .trim();
+        if (message.length() > 200) message = message.substring(0, 200);
+        return failure.getClass().getName() + ": " + message;
+    }
+
+    /**
+     * Downscales so the longest side is at most {@code maxDim} ({@code ai.vision.rca.maxDimension}) and
+     * re-encodes as JPEG at {@code quality}. Returns the original bytes when compression would not help.
+     */
+    static byte[] compress(BufferedImage image, byte[] original, int maxDim, double quality) {
+        if (maxDim <= 0) return original;
+        try {
+            int w = image.getWidth();
+            int h = image.getHeight();
+            double scale = Math.min(1.0, (double) maxDim / Math.max(w, h));
+            int tw = Math.max(1, (int) Math.round(w * scale));
+            int th = Math.max(1, (int) Math.round(h * scale));
+            BufferedImage scaled = new BufferedImage(tw, th, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = scaled.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(image, 0, 0, tw, th, null);
+            g.dispose();
+
+            Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpg");
+            if (!writers.hasNext()) return original;
+            ImageWriter writer = writers.next();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+                writer.setOutput(ios);
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality((float) quality);
+                writer.write(null, new IIOImage(scaled, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            byte[] compressed = out.toByteArray();
+            return compressed.length > 0 && compressed.length < original.length ? compressed : original;
+        } catch (Exception e) {
+            Logger.debug("AIVisionRCA: screenshot compression failed, sending original — " + e.getMessage());
+            return original;
+        }
+    }
+
+    /**
+     * Attaches the RCA text to a test case that may already have been written to disk.
+     * While the test is still open the lifecycle is updated directly. Once Allure has taken it
+     * out of the lifecycle, its {@code <uuid>-result.json} is read back only after Allure has
+     * finished writing it, and replaced atomically with the attachment added.
+     */
+    private static void attachToTestCase(String testUuid, String rca) {
+        try {
+            AllureLifecycle lifecycle = Allure.getLifecycle();
+            String source = UUID.randomUUID() + "-attachment.txt";
+            lifecycle.writeAttachment(source, new ByteArrayInputStream(rca.getBytes(StandardCharsets.UTF_8)));
+            Attachment attachment = new Attachment().setName(ATTACHMENT_NAME).setType("text/plain").setSource(source);
+
+            AtomicBoolean updated = new AtomicBoolean();
+            lifecycle.updateTestCase(testUuid, result -> {
+                result.getAttachments().add(attachment);
+                updated.set(true);
+            });
+            if (updated.get()) return;
+
+            Path resultFile = resultsDirectory().resolve(testUuid + "-result.json");
+            synchronized (AIVisionRCA.class) {
+                JsonObject json = readWrittenResult(resultFile);
+                if (json == null) {
+                    Logger.warn("AIVisionRCA: result of Allure test " + testUuid + " was not written, RCA not attached");
+                    return;
+                }
+                JsonArray attachments = json.has("attachments") ? json.getAsJsonArray("attachments") : new JsonArray();
+                for (int i = 0; i < attachments.size(); i++) {
+                    JsonObject a = attachments.get(i).getAsJsonObject();
+                    if (a.has("source") && source.equals(a.get("source").getAsString())) return;
+                }
+                JsonObject entry = new JsonObject();
+                entry.addProperty("name", ATTACHMENT_NAME);
+                entry.addProperty("source", source);
+                entry.addProperty("type", "text/plain");
+                attachments.add(entry);
+                json.add("attachments", attachments);
+                Path temp = resultFile.resolveSibling(testUuid + "-result.json.tmp");
+                Files.writeString(temp, json.toString());
+                Files.move(temp, resultFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (Exception e) {
+            Logger.warn("AIVisionRCA: could not attach result to Allure test " + testUuid + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * The result file once Allure has finished writing it: it exists and parses as a complete
+     * JSON object. Waits up to {@link #RESULT_WRITE_WAIT_MS}; returns {@code null} if it never does.
+     */
+    private static JsonObject readWrittenResult(Path resultFile) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + RESULT_WRITE_WAIT_MS;
+        while (true) {
+            if (Files.exists(resultFile)) {
+                try {
+                    return JsonParser.parseString(Files.readString(resultFile)).getAsJsonObject();
+                } catch (Exception partialWrite) {
+                    // Allure is still writing it.
+                }
+            }
+            if (System.currentTimeMillis() >= deadline) return null;
+            Thread.sleep(50);
         }
     }
+
+    private static Path resultsDirectory() {
+        String dir = PropertyHelper.getDataFromProperties(ConfigContext.getAllureFilePath(), "allure.results.directory");
+        return Paths.get(dir != null && !dir.isBlank() ? dir : "allure-results");
+    }
 }
@@ -13,6 +13,7 @@ import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.remote.CapabilityType;
+import org.openqa.selenium.remote.HttpCommandExecutor;
 import org.openqa.selenium.remote.LocalFileDetector;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.safari.SafariDriver;
@@ -56,28 +57,31 @@ public class BrowserSetUp {
             case REMOTE_Chrome -> {
                 ChromeOptions chromeOptions = configureChromeOptions(headlessMode, pageLoadStrategy, privateMode, sandboxMode, webSecurityMode);
                 if (capabilities != null) chromeOptions = chromeOptions.merge(capabilities);
-                driver = new RemoteWebDriver(remoteAddress, chromeOptions);
+                driver = newRemoteDriver(remoteAddress, chromeOptions);
             }
             case REMOTE_FireFox -> {
                 FirefoxOptions firefoxOptions = configureFirefoxOptions(headlessMode, pageLoadStrategy, privateMode, sandboxMode, webSecurityMode);
                 if (capabilities != null) firefoxOptions = firefoxOptions.merge(capabilities);
-                driver = new RemoteWebDriver(remoteAddress, firefoxOptions);
+                driver = newRemoteDriver(remoteAddress, firefoxOptions);
             }
             case REMOTE_Edge -> {
                 EdgeOptions edgeOptions = configureEdgeOptions(headlessMode, pageLoadStrategy, privateMode, sandboxMode, webSecurityMode);
                 if (capabilities != null) edgeOptions = edgeOptions.merge(capabilities);
-                driver = new RemoteWebDriver(remoteAddress, edgeOptions);
+                driver = newRemoteDriver(remoteAddress, edgeOptions);
             }
             case REMOTE_Safari -> {
                 SafariOptions safariOptions = configureSafariOptions(pageLoadStrategy, privateMode);
                 if (capabilities != null) safariOptions = safariOptions.merge(capabilities);
-                driver = new RemoteWebDriver(remoteAddress, safariOptions);
+                driver = newRemoteDriver(remoteAddress, safariOptions);
             }
             default -> throw new IllegalStateException("Unsupported remote driver type: " + driverType);
         }
         driver.setFileDetector(new LocalFileDetector());
         return driver;
     }
+    private static RemoteWebDriver newRemoteDriver(URL remoteAddress, Capabilities options) {
+        return new RemoteWebDriver(new HttpCommandExecutor(RemoteClientSettings.clientConfigFor(remoteAddress)), options);
+    }
     private static ChromeOptions configureChromeOptions(HeadlessMode headlessMode, PageLoadStrategyMode pageLoadStrategy, PrivateMode privateMode, SandboxMode sandboxMode, WebSecurityMode webSecurityMode) {
         ChromeOptions options = new ChromeOptions();
         if (headlessMode==HeadlessMode.True) {
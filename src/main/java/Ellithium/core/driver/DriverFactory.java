@@ -9,8 +9,15 @@ import io.appium.java_client.ios.IOSDriver;
 import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.MutableCapabilities;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.http.ClientConfig;
 import org.openqa.selenium.support.events.EventFiringDecorator;
 import java.net.URL;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 import static Ellithium.core.driver.MobileDriverType.IOS;
 import static io.appium.java_client.proxy.Helpers.createProxy;
 
@@ -51,6 +58,12 @@ public class DriverFactory {
     private static final ThreadLocal<AndroidDriver> AndroidDriverThread = new ThreadLocal<>();
     private static final ThreadLocal<IOSDriver> IOSDriverThread = new ThreadLocal<>();
     private static final ThreadLocal<DriverConfiguration> driverConfigurationThread = new ThreadLocal<>();
+    private static final ThreadLocal<PendingDriver> pendingDriverThread = new ThreadLocal<>();
+    private static final ExecutorService asyncSetUpPool =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ellithium-driver-setup-", 0).factory());
+
+    /** A web driver being launched by {@link #getNewDriverAsync} and not yet adopted by its requesting thread. */
+    private record PendingDriver(CompletableFuture<WebDriver> future, DriverConfiguration config) {}
 
     // ========================================================================================
     // MAIN FACTORY METHOD
@@ -99,17 +112,8 @@ public class DriverFactory {
      */
     @SuppressWarnings("unchecked")
     public static <T> T getNewDriver(LocalDriverConfig localDriverConfig) {
-        localDriverConfig.validate();
-        DriverConfiguration driverConfiguration=new DriverConfiguration(
-                localDriverConfig.getLocalDriverType(),
-                localDriverConfig.getHeadlessMode(),
-                localDriverConfig.getPageLoadStrategy(),
-                localDriverConfig.getPrivateMode(),
-                localDriverConfig.getSandboxMode(),
-                localDriverConfig.getWebSecurityMode()
-                ,localDriverConfig.getCapabilities(),
-                false);
-        driverConfigurationThread.set(driverConfiguration);
+        discardPendingDriver();
+        driverConfigurationThread.set(toDriverConfiguration(localDriverConfig));
         webSetUp();
         return (T) WebDriverThread.get();
     }
@@ -248,18 +252,8 @@ public class DriverFactory {
      */
     @SuppressWarnings("unchecked")
     public static <T> T getNewDriver(RemoteDriverConfig remoteDriverConfig) {
-        remoteDriverConfig.validate();
-        DriverConfiguration driverConfiguration=new DriverConfiguration(
-                remoteDriverConfig.getDriverType(),
-                remoteDriverConfig.getHeadlessMode(),
-                remoteDriverConfig.getPageLoadStrategy(),
-                remoteDriverConfig.getPrivateMode(),
-                remoteDriverConfig.getSandboxMode(),
-                remoteDriverConfig.getWebSecurityMode()
-                ,remoteDriverConfig.getCapabilities(),
-                false);
-        driverConfiguration.setRemoteAddress(remoteDriverConfig.getRemoteAddress());
-        driverConfigurationThread.set(driverConfiguration);
+        discardPendingDriver();
+        driverConfigurationThread.set(toDriverConfiguration(remoteDriverConfig));
         webSetUp();
         return (T)WebDriverThread.get();
     }
@@ -425,6 +419,7 @@ public class DriverFactory {
                 mode,
                 mobileDriverConfig.getCapabilities(),
                 false);
+        discardPendingDriver();
         driverConfigurationThread.set(driverConfiguration);
         return mobileSetup(
                 (MobileDriverType) mobileDriverConfig.getDriverType(),
@@ -489,6 +484,7 @@ public class DriverFactory {
                 cloudMobileConfig.getCapabilities(),
                 true
         );
+        discardPendingDriver();
         driverConfigurationThread.set(driverConfiguration);
         Reporter.logReportOnly("Capabilities: "+cloudMobileConfig.getCapabilities().asMap().toString(),LogLevel.INFO_BLUE);
         Reporter.log("Creating driver: "+ ((MobileDriverType)cloudMobileConfig.getDriverType()).getPlatformName()+ " for " + cloudMobileConfig.getCloudProvider() +
@@ -593,6 +589,112 @@ public class DriverFactory {
     // DRIVER LIFECYCLE MANAGEMENT
     // ========================================================================================
 
+    // ========================================================================================
+    // ASYNCHRONOUS WEB DRIVER SECTION
+    // ========================================================================================
+
+    /**
+     * Starts a local or remote web driver on a background thread and returns immediately, so the
+     * browser launch overlaps with the test's non-browser preparation (test data, fixtures, API
+     * tokens).
+     *
+     * <p>The driver is adopted onto the calling thread the first time it is needed there: by
+     * {@link #getCurrentDriver()} (and therefore by every framework feature that looks the driver
+     * up). Joining the returned future yields the same driver for callers that want to hold it
+     * directly.</p>
+     *
+     * <p>A driver that is never adopted does not outlive its request: a later {@code getNewDriverAsync}
+     * or {@code getNewDriver} on the same thread, {@link #quitDriver()}, and the end of the test each
+     * cancel it and quit the browser once its launch finishes.</p>
+     *
+     * <pre>
+     * DriverFactory.getNewDriverAsync(new LocalDriverConfig().setLocalDriverType(LocalDriverType.Chrome));
+     * seedTestData();                                  // runs while the browser starts
+     * WebDriver driver = DriverFactory.getCurrentDriver();
+     * </pre>
+     *
+     * @param driverConfigBuilder a {@link LocalDriverConfig} or {@link RemoteDriverConfig}
+     * @return future completing with the decorated WebDriver, or exceptionally if creation failed
+     * @throws IllegalArgumentException for mobile or unknown configuration types
+     */
+    public static CompletableFuture<WebDriver> getNewDriverAsync(DriverConfigBuilder driverConfigBuilder) {
+        if (driverConfigBuilder == null) {
+            throw new IllegalArgumentException("driverConfigBuilder must not be null");
+        }
+        DriverConfiguration config = switch (driverConfigBuilder) {
+            case LocalDriverConfig localDriverConfig -> toDriverConfiguration(localDriverConfig);
+            case RemoteDriverConfig remoteDriverConfig -> toDriverConfiguration(remoteDriverConfig);
+            default -> throw new IllegalArgumentException("Asynchronous setup supports web driver configs only, got: "
+                    + driverConfigBuilder.getClass().getName());
+        };
+        return launchAsync(config, () -> {
+            driverConfigurationThread.set(config);
+            try {
+                webSetUp();
+                WebDriver driver = WebDriverThread.get();
+                if (driver == null) throw new IllegalStateException("Driver Creation Failed");
+                return driver;
+            } finally {
+                removeDriver();
+            }
+        });
+    }
+
+    /** Runs {@code launcher} on the setup pool and registers its driver as this thread's pending driver. */
+    static CompletableFuture<WebDriver> launchAsync(DriverConfiguration config, Supplier<WebDriver> launcher) {
+        discardPendingDriver();
+        CompletableFuture<WebDriver> future = new CompletableFuture<>();
+        CompletableFuture.supplyAsync(launcher, asyncSetUpPool).whenComplete((driver, error) -> {
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else if (!future.complete(driver)) {
+                // Cancelled while launching: nobody will adopt this browser.
+                quitAbandoned(driver);
+            }
+        });
+        pendingDriverThread.set(new PendingDriver(future, config));
+        return future;
+    }
+
+    /**
+     * Cancels the driver this thread started with {@link #getNewDriverAsync} and has not adopted,
+     * quitting its browser now or as soon as the launch finishes. Called when the thread starts
+     * another driver, quits its driver, or finishes a test; a no-op without a pending driver.
+     */
+    public static void discardPendingDriver() {
+        PendingDriver pending = pendingDriverThread.get();
+        if (pending == null) return;
+        pendingDriverThread.remove();
+        CompletableFuture<WebDriver> future = pending.future();
+        if (!future.cancel(false) && !future.isCompletedExceptionally()) {
+            quitAbandoned(future.join());
+        }
+    }
+
+    private static void quitAbandoned(WebDriver driver) {
+        try {
+            if (!DriverPool.release(driver)) driver.quit();
+        } catch (Exception e) {
+            Reporter.log("Quitting an unused asynchronous driver failed (non-fatal): " + e.getMessage(), LogLevel.WARN);
+        }
+    }
+
+    /**
+     * Waits for a driver started by {@link #getNewDriverAsync} on this thread, if any, and
+     * registers it on this thread's ThreadLocals.
+     */
+    private static void adoptPendingDriver() {
+        PendingDriver pending = pendingDriverThread.get();
+        if (pending == null) return;
+        pendingDriverThread.remove();
+        try {
+            adoptCurrentThread(pending.future().join(), pending.config());
+        } catch (CompletionException | CancellationException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            Reporter.log("Asynchronous Driver Creation Failed: " + cause.getMessage(), LogLevel.ERROR);
+        }
+    }
+
     /**
      * Gets the current driver instance for the executing thread.
      *
@@ -601,6 +703,7 @@ public class DriverFactory {
      */
     @SuppressWarnings("unchecked")
     public static <T> T getCurrentDriver() {
+       if (driverConfigurationThread.get() == null) adoptPendingDriver();
        DriverConfiguration currentDriverConfigurationThread=driverConfigurationThread.get();
        if (currentDriverConfigurationThread!=null){
            DriverType driverType=driverConfigurationThread.get().getDriverType();
@@ -621,6 +724,7 @@ public class DriverFactory {
      * Quits the current driver instance and closes all associated windows.
      */
     public static void quitDriver() {
+        discardPendingDriver();
         var config = driverConfigurationThread.get();
         if (config == null) return;
         var driverType = config.getDriverType();
@@ -638,7 +742,7 @@ public class DriverFactory {
                     }
                 } else if (driverType instanceof LocalDriverType || driverType instanceof RemoteDriverType ) {
                     var localDriver = WebDriverThread.get();
-                    if (localDriver != null) {
+                    if (localDriver != null && !DriverPool.release(localDriver)) {
                         seleniumListener.suppressLogging();
                         try { localDriver.navigate().to("about:blank"); } catch (Exception ignored) {
                         } finally {
@@ -696,7 +800,12 @@ public class DriverFactory {
      * @return Current driver configuration
      */
     public static DriverConfiguration getCurrentDriverConfiguration(){
-        return driverConfigurationThread.get();
+        DriverConfiguration config = driverConfigurationThread.get();
+        if (config == null) {
+            PendingDriver pending = pendingDriverThread.get();
+            if (pending != null) return pending.config();
+        }
+        return config;
     }
 
     /**
@@ -712,34 +821,88 @@ public class DriverFactory {
     // PRIVATE HELPER METHODS
     // ========================================================================================
 
+    private static DriverConfiguration toDriverConfiguration(LocalDriverConfig localDriverConfig) {
+        localDriverConfig.validate();
+        return new DriverConfiguration(
+                localDriverConfig.getLocalDriverType(),
+                localDriverConfig.getHeadlessMode(),
+                localDriverConfig.getPageLoadStrategy(),
+                localDriverConfig.getPrivateMode(),
+                localDriverConfig.getSandboxMode(),
+                localDriverConfig.getWebSecurityMode()
+                ,localDriverConfig.getCapabilities(),
+                false);
+    }
+
+    private static DriverConfiguration toDriverConfiguration(RemoteDriverConfig remoteDriverConfig) {
+        remoteDriverConfig.validate();
+        DriverConfiguration driverConfiguration=new DriverConfiguration(
+                remoteDriverConfig.getDriverType(),
+                remoteDriverConfig.getHeadlessMode(),
+                remoteDriverConfig.getPageLoadStrategy(),
+                remoteDriverConfig.getPrivateMode(),
+                remoteDriverConfig.getSandboxMode(),
+                remoteDriverConfig.getWebSecurityMode()
+                ,remoteDriverConfig.getCapabilities(),
+                false);
+        driverConfiguration.setRemoteAddress(remoteDriverConfig.getRemoteAddress());
+        return driverConfiguration;
+    }
+
     /**
      * Sets up a web driver instance with specified configuration.
-     * Handles both local and remote web driver setup.
+     * Handles both local and remote web driver setup, leasing a warm driver from the
+     * {@link DriverPool} when it is enabled.
      *
      * @throws IllegalStateException if driver creation fails
      */
     private static void webSetUp() {
         DriverConfiguration currentDriverConfig=getCurrentDriverConfiguration();
-        DriverType driverType =currentDriverConfig.getDriverType();
-        HeadlessMode headlessMode = currentDriverConfig.getHeadlessMode();
-        PageLoadStrategyMode PageLoadStrategy=currentDriverConfig.getPageLoadStrategy();
-        PrivateMode PrivateMode=currentDriverConfig.getPrivateMode();
-        SandboxMode SandboxMode=currentDriverConfig.getSandboxMode();
-        WebSecurityMode WebSecurityMode=currentDriverConfig.getWebSecurityMode();
-        Capabilities capabilities=currentDriverConfig.getCapabilities();
+        String poolKey = DriverPool.isEnabled() ? DriverPool.keyOf(currentDriverConfig) : null;
+        if (poolKey != null) {
+            WebDriver pooled = DriverPool.lease(poolKey);
+            if (pooled != null) {
+                WebDriverThread.set(pooled);
+                Reporter.log("Driver Leased From Pool", LogLevel.INFO_GREEN);
+                return;
+            }
+        }
+        long launchStart = System.nanoTime();
+        DriverPool.Launched launched = launchWebDriver(currentDriverConfig);
+        if (launched == null) {
+            Reporter.log("Driver Creation Failed", LogLevel.ERROR);
+            return;
+        }
+        WebDriverThread.set(launched.decorated());
+        Reporter.log("Driver Created", LogLevel.INFO_GREEN);
+        if (poolKey != null) {
+            DriverPool.track(launched, poolKey, System.nanoTime() - launchStart);
+            DriverPool.prewarm(poolKey, () -> launchWebDriver(currentDriverConfig));
+        }
+    }
+
+    /**
+     * Launches a local or remote browser for {@code config} and decorates it.
+     *
+     * @return the decorated driver and the session driver beneath it, or null if the launch failed
+     */
+    private static DriverPool.Launched launchWebDriver(DriverConfiguration config) {
+        DriverType driverType = config.getDriverType();
+        HeadlessMode headlessMode = config.getHeadlessMode();
+        PageLoadStrategyMode PageLoadStrategy=config.getPageLoadStrategy();
+        PrivateMode PrivateMode=config.getPrivateMode();
+        SandboxMode SandboxMode=config.getSandboxMode();
+        WebSecurityMode WebSecurityMode=config.getWebSecurityMode();
+        Capabilities capabilities=config.getCapabilities();
         WebDriver localDriver;
         if (driverType instanceof RemoteDriverType) {
-            var remoteAddress = currentDriverConfig.getRemoteAddress();
+            var remoteAddress = config.getRemoteAddress();
             localDriver = BrowserSetUp.setupRemoteDriver(driverType, remoteAddress, capabilities, headlessMode, PageLoadStrategy, PrivateMode, SandboxMode, WebSecurityMode);
         } else {
             localDriver = BrowserSetUp.setupLocalDriver(driverType, capabilities,headlessMode, PageLoadStrategy, PrivateMode, SandboxMode, WebSecurityMode);
         }
-        if (localDriver == null) {
-            Reporter.log("Driver Creation Failed", LogLevel.ERROR);
-            return;
-        }
-        WebDriverThread.set(getDecoratedWebDriver(localDriver));
-        Reporter.log("Driver Created", LogLevel.INFO_GREEN);
+        if (localDriver == null) return null;
+        return new DriverPool.Launched(getDecoratedWebDriver(localDriver), localDriver);
     }
 
     /**
@@ -793,15 +956,15 @@ public class DriverFactory {
     /**
      * Creates a decorated AndroidDriver instance with event listening capabilities.
      *
-     * @param remoteAddress Appium server URL
+     * @param remoteAddress Appium server URL, reached with the shared {@link RemoteClientSettings} client configuration
      * @param capabilities Desired capabilities for Android
      * @return Decorated AndroidDriver instance
      */
     private static AndroidDriver getDecoratedAndroidDriver(URL remoteAddress,Capabilities capabilities){
         return createProxy(
                 AndroidDriver.class,
-                new Object[] {remoteAddress,capabilities},
-                new Class[] {URL.class,Capabilities.class},
+                new Object[] {RemoteClientSettings.appiumClientConfigFor(remoteAddress),capabilities},
+                new Class[] {ClientConfig.class,Capabilities.class},
                 new appiumListener()
         );
     }
@@ -809,15 +972,15 @@ public class DriverFactory {
     /**
      * Creates a decorated IOSDriver instance with event listening capabilities.
      *
-     * @param remoteAddress Appium server URL
+     * @param remoteAddress Appium server URL, reached with the shared {@link RemoteClientSettings} client configuration
      * @param capabilities Desired capabilities for iOS
      * @return Decorated IOSDriver instance
      */
     private static IOSDriver getDecoratedIOSDriver(URL remoteAddress, Capabilities capabilities){
         return createProxy(
                 IOSDriver.class,
-                new Object[] {remoteAddress,capabilities},
-                new Class[] {URL.class,Capabilities.class},
+                new Object[] {RemoteClientSettings.appiumClientConfigFor(remoteAddress),capabilities},
+                new Class[] {ClientConfig.class,Capabilities.class},
                 new appiumListener()
         );
     }
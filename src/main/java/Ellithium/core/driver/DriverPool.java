@@ -0,0 +1,366 @@
+package Ellithium.core.driver;
+
+import Ellithium.Utilities.helpers.PropertyHelper;
+import Ellithium.config.management.ConfigContext;
+import Ellithium.core.execution.listener.seleniumListener;
+import Ellithium.core.logging.LogLevel;
+import Ellithium.core.reporting.Reporter;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Opt-in pool of warm web drivers ({@code driverPool.enabled=true} in {@code config.properties}).
+ *
+ * <p>With the pool enabled, {@link DriverFactory#quitDriver()} hands a local or remote web driver
+ * back to the pool instead of quitting it, and the next {@code getNewDriver} call with an
+ * equivalent configuration leases it through the usual ThreadLocals instead of launching a new
+ * browser. Configurations are equivalent when browser, headless/private/sandbox/web-security
+ * modes, page load strategy, remote address and capabilities all match.</p>
+ *
+ * <p>On return a driver is reset: every window's local and session storage is cleared, cookies
+ * are deleted (all domains via CDP on Chromium, the open windows' domains elsewhere), extra
+ * windows are closed and the remaining one is navigated to {@code about:blank}. A driver is
+ * retired instead of pooled after {@code driverPool.maxUsesPerDriver} leases, when the reset
+ * fails, or when it fails the health check at lease time (a remote session that timed out while
+ * idle). Mobile drivers are never pooled.</p>
+ *
+ * <p>Lease wait, hit and recycle counts are reported at the end of the execution.</p>
+ */
+public final class DriverPool {
+
+    /** A freshly launched driver: the decorated instance tests see and the session driver beneath it. */
+    record Launched(WebDriver decorated, WebDriver raw) {}
+
+    record Settings(boolean enabled, int maxUsesPerDriver, int maxIdlePerConfiguration, int prewarm) {}
+
+    private static final class Pooled {
+        final String key;
+        final WebDriver raw;
+        int uses;
+
+        Pooled(String key, WebDriver raw) {
+            this.key = key;
+            this.raw = raw;
+        }
+    }
+
+    private static final String ENABLED_KEY   = "driverPool.enabled";
+    private static final String MAX_USES_KEY  = "driverPool.maxUsesPerDriver";
+    private static final String MAX_IDLE_KEY  = "driverPool.maxIdlePerConfiguration";
+    private static final String PREWARM_KEY   = "driverPool.prewarm";
+
+    private static final int DEFAULT_MAX_USES = 50;
+    private static final int DEFAULT_MAX_IDLE = 4;
+    /** How long a lease waits for a driver that is still being pre-launched before launching its own. */
+    private static final long PREWARM_WAIT_MS = 30_000;
+
+    private static final String CLEAR_STORAGE =
+            "try{window.localStorage.clear();}catch(e){}try{window.sessionStorage.clear();}catch(e){}";
+
+    private static volatile Settings settings;
+    private static final Map<String, LinkedBlockingDeque<WebDriver>> idle = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicInteger> warming = new ConcurrentHashMap<>();
+    private static final Map<WebDriver, Pooled> tracked = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private static final AtomicInteger hits = new AtomicInteger();
+    private static final AtomicInteger misses = new AtomicInteger();
+    private static final AtomicInteger retiredMaxUses = new AtomicInteger();
+    private static final AtomicInteger retiredUnhealthy = new AtomicInteger();
+    private static final AtomicLong waitNanos = new AtomicLong();
+    private static final AtomicLong maxWaitNanos = new AtomicLong();
+    private static volatile boolean hookRegistered = false;
+
+    private DriverPool() {}
+
+    // ──────────────────────── Configuration ────────────────────────
+
+    static boolean isEnabled() {
+        return settings().enabled();
+    }
+
+    private static Settings settings() {
+        Settings s = settings;
+        if (s == null) {
+            synchronized (DriverPool.class) {
+                if (settings == null) {
+                    settings = new Settings(
+                            Boolean.parseBoolean(readProperty(ENABLED_KEY, "false")),
+                            parseInt(MAX_USES_KEY, DEFAULT_MAX_USES),
+                            parseInt(MAX_IDLE_KEY, DEFAULT_MAX_IDLE),
+                            parseInt(PREWARM_KEY, 0));
+                    if (settings.enabled()) {
+                        Reporter.log("Driver pool enabled (max " + settings.maxUsesPerDriver() + " uses per driver)",
+                                LogLevel.INFO_BLUE);
+                    }
+                }
+                s = settings;
+            }
+        }
+        return s;
+    }
+
+    /** Replaces the settings read from {@code config.properties} and empties the pool. Used by tests. */
+    static void configure(Settings replacement) {
+        shutdown(false);
+        settings = replacement;
+    }
+
+    private static String readProperty(String key, String defaultValue) {
+        String configPath = ConfigContext.getConfigFilePath();
+        try {
+            if (configPath == null || !PropertyHelper.keyExists(configPath, key)) return defaultValue;
+            String value = PropertyHelper.getDataFromProperties(configPath, key);
+            return value != null ? value.trim() : defaultValue;
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+    private static int parseInt(String key, int defaultValue) {
+        String value = readProperty(key, String.valueOf(defaultValue));
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            Reporter.log("Invalid value for " + key + ": " + value + ". Using default: " + defaultValue, LogLevel.WARN);
+            return defaultValue;
+        }
+    }
+
+    /** The pool key of a web driver configuration; drivers are only shared between equal keys. */
+    static String keyOf(DriverConfiguration config) {
+        Capabilities capabilities = config.getCapabilities();
+        String capabilitiesHash = capabilities == null ? "-"
+                : Integer.toHexString(new TreeMap<>(capabilities.asMap()).toString().hashCode());
+        return config.getDriverType() + "|" + config.getHeadlessMode() + "|" + config.getPageLoadStrategy()
+                + "|" + config.getPrivateMode() + "|" + config.getSandboxMode() + "|" + config.getWebSecurityMode()
+                + "|" + config.getRemoteAddress() + "|" + capabilitiesHash;
+    }
+
+    // ──────────────────────── Lease / return ────────────────────────
+
+    /**
+     * Leases an idle driver for {@code key}, waiting for one that is being pre-launched if
+     * needed. Returns {@code null} on a miss; the caller launches a driver and {@link #track}s it.
+     */
+    static WebDriver lease(String key) {
+        long start = System.nanoTime();
+        LinkedBlockingDeque<WebDriver> queue = idle.computeIfAbsent(key, k -> new LinkedBlockingDeque<>());
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(PREWARM_WAIT_MS);
+        while (true) {
+            WebDriver driver = queue.pollFirst();
+            if (driver == null && counter(key).get() > 0 && System.nanoTime() < deadline) {
+                try {
+                    driver = queue.pollFirst(100, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+                if (driver == null) continue;
+            }
+            if (driver == null) return null;
+            if (isHealthy(driver)) {
+                hits.incrementAndGet();
+                recordWait(System.nanoTime() - start);
+                return driver;
+            }
+            retiredUnhealthy.incrementAndGet();
+            retire(driver, "failed health check");
+        }
+    }
+
+    /** Registers a driver launched after a {@link #lease} miss; {@code launchNanos} counts as lease wait. */
+    static void track(Launched launched, String key, long launchNanos) {
+        tracked.put(launched.decorated(), new Pooled(key, launched.raw()));
+        misses.incrementAndGet();
+        recordWait(launchNanos);
+        registerShutdownHook();
+    }
+
+    /**
+     * Pre-launches drivers for {@code key} in the background until {@code driverPool.prewarm}
+     * drivers exist for it, so parallel threads that ask next find a warm browser.
+     */
+    static void prewarm(String key, Supplier<Launched> launcher) {
+        int target = settings().prewarm();
+        if (target <= 0) return;
+        int live;
+        synchronized (tracked) {
+            live = (int) tracked.values().stream().filter(p -> p.key.equals(key)).count();
+        }
+        AtomicInteger inFlight = counter(key);
+        for (int i = live + inFlight.get(); i < target; i++) {
+            inFlight.incrementAndGet();
+            Thread.ofVirtual().name("ellithium-driver-prewarm").start(() -> {
+                try {
+                    Launched launched = launcher.get();
+                    if (launched != null) {
+                        tracked.put(launched.decorated(), new Pooled(key, launched.raw()));
+                        idle.computeIfAbsent(key, k -> new LinkedBlockingDeque<>()).offerLast(launched.decorated());
+                    }
+                } catch (Exception e) {
+                    Reporter.log("Driver pool: pre-launch failed: " + e.getMessage(), LogLevel.WARN);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    /**
+     * Takes a driver back from a test. Returns {@code false} when the driver is not pooled and
+     * the caller should quit it as usual; otherwise the pool has either reset and kept it or
+     * retired it.
+     */
+    static boolean release(WebDriver driver) {
+        Pooled pooled = tracked.get(driver);
+        if (pooled == null) return false;
+        Settings s = settings();
+        pooled.uses++;
+        if (!s.enabled()) {
+            retire(driver, null);
+        } else if (pooled.uses >= s.maxUsesPerDriver()) {
+            retiredMaxUses.incrementAndGet();
+            retire(driver, null);
+        } else if (!reset(driver, pooled.raw)) {
+            retiredUnhealthy.incrementAndGet();
+            retire(driver, "reset failed");
+        } else {
+            LinkedBlockingDeque<WebDriver> queue = idle.computeIfAbsent(pooled.key, k -> new LinkedBlockingDeque<>());
+            if (queue.size() >= s.maxIdlePerConfiguration()) {
+                retire(driver, null);
+            } else {
+                queue.offerFirst(driver);
+            }
+        }
+        return true;
+    }
+
+    /** Clears per-test browser state; {@code false} when the driver did not survive it. */
+    static boolean reset(WebDriver driver, WebDriver raw) {
+        seleniumListener.suppressLogging();
+        try {
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            if (handles.isEmpty()) return false;
+            for (int i = handles.size() - 1; i >= 0; i--) {
+                driver.switchTo().window(handles.get(i));
+                if (driver instanceof JavascriptExecutor js) {
+                    try { js.executeScript(CLEAR_STORAGE); } catch (Exception ignored) {}
+                }
+                try { driver.manage().deleteAllCookies(); } catch (Exception ignored) {}
+                if (i > 0) driver.close();
+            }
+            driver.switchTo().window(handles.get(0));
+            if (raw instanceof org.openqa.selenium.chromium.HasCdp cdp) {
+                try { cdp.executeCdpCommand("Network.clearBrowserCookies", Map.of()); } catch (Exception ignored) {}
+            }
+            driver.navigate().to("about:blank");
+            return true;
+        } catch (Exception e) {
+            return false;
+        } finally {
+            seleniumListener.resumeLogging();
+        }
+    }
+
+    private static boolean isHealthy(WebDriver driver) {
+        seleniumListener.suppressLogging();
+        try {
+            return driver.getWindowHandle() != null;
+        } catch (Exception e) {
+            return false;
+        } finally {
+            seleniumListener.resumeLogging();
+        }
+    }
+
+    private static void retire(WebDriver driver, String reason) {
+        tracked.remove(driver);
+        if (reason != null) Reporter.log("Driver pool: retiring driver (" + reason + ")", LogLevel.DEBUG);
+        seleniumListener.suppressLogging();
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            Reporter.log("Driver quit failed (non-fatal): " + e.getMessage(), LogLevel.WARN);
+        } finally {
+            seleniumListener.resumeLogging();
+        }
+    }
+
+    private static AtomicInteger counter(String key) {
+        return warming.computeIfAbsent(key, k -> new AtomicInteger());
+    }
+
+    private static void recordWait(long nanos) {
+        waitNanos.addAndGet(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    // ──────────────────────── Metrics / shutdown ────────────────────────
+
+    /** One-line pool summary, or {@code null} when no driver was leased. */
+    public static String summary() {
+        int h = hits.get();
+        int m = misses.get();
+        int leases = h + m;
+        if (leases == 0) return null;
+        return "Driver pool: " + leases + " leases, " + h + " hits (" + (100 * h / leases) + "%), "
+                + m + " launches, retired " + retiredMaxUses.get() + " at max uses and "
+                + retiredUnhealthy.get() + " unhealthy, lease wait avg "
+                + TimeUnit.NANOSECONDS.toMillis(waitNanos.get() / leases) + " ms (max "
+                + TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()) + " ms)";
+    }
+
+    /** Reports the pool metrics and quits every idle driver. Leased drivers are left to their tests. */
+    public static void shutdown() {
+        shutdown(true);
+    }
+
+    private static void shutdown(boolean report) {
+        if (report) {
+            String summary = summary();
+            if (summary != null) Reporter.log(summary, LogLevel.INFO_BLUE);
+        }
+        for (LinkedBlockingDeque<WebDriver> queue : idle.values()) {
+            WebDriver driver;
+            while ((driver = queue.pollFirst()) != null) retire(driver, null);
+        }
+        idle.clear();
+        if (!report) tracked.clear();
+        hits.set(0);
+        misses.set(0);
+        retiredMaxUses.set(0);
+        retiredUnhealthy.set(0);
+        waitNanos.set(0);
+        maxWaitNanos.set(0);
+    }
+
+    /** Number of idle drivers for {@code key}. */
+    static int idleCount(String key) {
+        LinkedBlockingDeque<WebDriver> queue = idle.get(key);
+        return queue == null ? 0 : queue.size();
+    }
+
+    private static void registerShutdownHook() {
+        if (hookRegistered) return;
+        synchronized (DriverPool.class) {
+            if (hookRegistered) return;
+            hookRegistered = true;
+            Runtime.getRuntime().addShutdownHook(
+                    Thread.ofPlatform().name("ellithium-driver-pool-shutdown").unstarted(() -> shutdown(false)));
+        }
+    }
+}
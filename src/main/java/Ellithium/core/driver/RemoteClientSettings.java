@@ -0,0 +1,177 @@
+package Ellithium.core.driver;
+
+import Ellithium.Utilities.helpers.PropertyHelper;
+import Ellithium.config.management.ConfigContext;
+import Ellithium.core.logging.LogLevel;
+import Ellithium.core.logging.Logger;
+import Ellithium.core.reporting.Reporter;
+import io.appium.java_client.AppiumClientConfig;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.Filter;
+
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * HTTP client settings shared by every remote session: RemoteWebDriver grids and Appium servers,
+ * local or cloud. Read once from the {@code remoteClient.*} keys of config.properties, turned
+ * into one {@link ClientConfig} per server address and reused by all sessions on that server.
+ *
+ * <p>Appium sessions start from {@link AppiumClientConfig#defaultConfig()} and keep its read timeout,
+ * which allows for slow device commands, unless {@code remoteClient.mobileReadTimeoutSeconds} is set;
+ * {@code remoteClient.readTimeoutSeconds} only applies to grid and cloud browser sessions.</p>
+ *
+ * <p>Connection timeout, read timeout, HTTP version and the accepted response encoding are set
+ * on the {@code ClientConfig}. Pool size and keep-alive belong to the JDK HTTP client Selenium
+ * uses, which reads them once per JVM from the {@code jdk.httpclient.connectionPoolSize} and
+ * {@code jdk.httpclient.keepalive.timeout} system properties; they are set at execution start
+ * unless already given on the command line.</p>
+ */
+public final class RemoteClientSettings {
+
+    /**
+     * Settings of the {@code remoteClient.*} keys; {@code 0} leaves the JDK default in place and a
+     * {@code null} {@code mobileReadTimeout} keeps Appium's own.
+     */
+    record Settings(Duration connectTimeout, Duration readTimeout, Duration mobileReadTimeout, boolean http2,
+                    int connectionPoolSize, int keepAliveSeconds, String acceptEncoding) {}
+
+    private static final Settings DEFAULTS =
+            new Settings(Duration.ofSeconds(10), Duration.ofSeconds(180), null, false, 0, 0, "");
+
+    private static final Map<String, ClientConfig> configs = new ConcurrentHashMap<>();
+    private static volatile Settings settings;
+    private static volatile boolean jdkPropertiesApplied;
+
+    private RemoteClientSettings() {}
+
+    /** The configured settings, or the defaults while config.properties cannot be read yet. */
+    static Settings settings() {
+        Settings current = settings;
+        if (current == null) {
+            current = readSettings();
+            if (current == null) return DEFAULTS;
+            settings = current;
+        }
+        return current;
+    }
+
+    /** Settings of config.properties, or {@code null} when the file could not be read. */
+    private static Settings readSettings() {
+        try {
+            String configPath = ConfigContext.getConfigFilePath();
+            if (configPath == null) return null;
+            int mobileReadTimeout = readInt(configPath, "remoteClient.mobileReadTimeoutSeconds", 0);
+            return new Settings(
+                    Duration.ofSeconds(readInt(configPath, "remoteClient.connectTimeoutSeconds", 10)),
+                    Duration.ofSeconds(readInt(configPath, "remoteClient.readTimeoutSeconds", 180)),
+                    mobileReadTimeout > 0 ? Duration.ofSeconds(mobileReadTimeout) : null,
+                    read(configPath, "remoteClient.http2", "false").equalsIgnoreCase("true"),
+                    readInt(configPath, "remoteClient.connectionPoolSize", 0),
+                    readInt(configPath, "remoteClient.keepAliveSeconds", 0),
+                    read(configPath, "remoteClient.acceptEncoding", ""));
+        } catch (Exception e) {
+            Logger.logException(e);
+            return null;
+        }
+    }
+
+    static void configure(Settings value) {
+        settings = value;
+        configs.clear();
+    }
+
+    /**
+     * Applies pool size and keep-alive to the JDK HTTP client. Must run before the first
+     * {@code java.net.http.HttpClient} of the JVM is created to take effect; called at execution start.
+     * Until config.properties has been read, nothing is applied and the next call tries again.
+     */
+    public static void applyConnectionPoolProperties() {
+        if (jdkPropertiesApplied) return;
+        Settings current = settings();
+        if (settings == null) return;
+        jdkPropertiesApplied = true;
+        setIfAbsent("jdk.httpclient.connectionPoolSize", current.connectionPoolSize());
+        setIfAbsent("jdk.httpclient.keepalive.timeout", current.keepAliveSeconds());
+        setIfAbsent("jdk.httpclient.keepalive.timeout.h2", current.keepAliveSeconds());
+    }
+
+    /**
+     * The shared client configuration for browser sessions on the grid or cloud at {@code remoteAddress}.
+     * @throws IllegalArgumentException if the address is not a valid URI
+     */
+    static ClientConfig clientConfigFor(URL remoteAddress) {
+        applyConnectionPoolProperties();
+        return configs.computeIfAbsent(remoteAddress.toString(),
+                address -> build(ClientConfig.defaultConfig(), remoteAddress, settings().readTimeout()));
+    }
+
+    /**
+     * The shared client configuration for Appium sessions on {@code remoteAddress}.
+     * @throws IllegalArgumentException if the address is not a valid URI
+     */
+    static ClientConfig appiumClientConfigFor(URL remoteAddress) {
+        applyConnectionPoolProperties();
+        return configs.computeIfAbsent("appium:" + remoteAddress, address -> {
+            AppiumClientConfig base = AppiumClientConfig.defaultConfig();
+            Duration readTimeout = settings().mobileReadTimeout();
+            return build(base, remoteAddress, readTimeout != null ? readTimeout : base.readTimeout());
+        });
+    }
+
+    private static ClientConfig build(ClientConfig base, URL remoteAddress, Duration readTimeout) {
+        Settings current = settings();
+        ClientConfig config;
+        try {
+            config = base
+                    .baseUri(remoteAddress.toURI())
+                    .connectionTimeout(current.connectTimeout())
+                    .readTimeout(readTimeout)
+                    .version(current.http2() ? "HTTP_2" : "HTTP_1_1");
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Invalid remote address: " + remoteAddress, e);
+        }
+        String encoding = current.acceptEncoding().trim();
+        if (encoding.equalsIgnoreCase("identity")) {
+            config = config.withFilter(acceptEncoding("identity"));
+        } else if (!encoding.isEmpty()) {
+            // Selenium's HTTP client does not decode compressed responses; asking for them would break every command.
+            Reporter.log("remoteClient.acceptEncoding=" + encoding + " is not supported, only 'identity' is; ignoring it",
+                    LogLevel.WARN);
+        }
+        return config;
+    }
+
+    private static Filter acceptEncoding(String encoding) {
+        return next -> request -> {
+            request.setHeader("Accept-Encoding", encoding);
+            return next.execute(request);
+        };
+    }
+
+    private static void setIfAbsent(String property, int value) {
+        if (value > 0 && System.getProperty(property) == null) {
+            System.setProperty(property, String.valueOf(value));
+        }
+    }
+
+    private static String read(String configPath, String key, String defaultValue) {
+        if (!PropertyHelper.keyExists(configPath, key)) return defaultValue;
+        String value = PropertyHelper.getDataFromProperties(configPath, key);
+        return value != null ? value.trim() : defaultValue;
+    }
+
+    private static int readInt(String configPath, String key, int defaultValue) {
+        String value = read(configPath, key, "");
+        if (value.isEmpty()) return defaultValue;
+        try {
+            return Math.max(0, Integer.parseInt(value));
+        } catch (NumberFormatException e) {
+            Logger.warn("Invalid value for " + key + ": " + value + ". Using default: " + defaultValue);
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package Ellithium.core.execution.listener;
+
+import Ellithium.Utilities.helpers.PropertyHelper;
+import Ellithium.config.management.ConfigContext;
+import Ellithium.core.execution.context.TestContext;
+import Ellithium.core.logging.Logger;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency of every WebDriver command that passes through {@link seleniumListener}, kept in
+ * log-linear histograms per command ({@code driver.findElement}, {@code element.click},
+ * {@code Navigation.to}, ...) for the running test and for the suite.
+ *
+ * <p>Recording a call costs two {@code nanoTime} reads and a few atomic increments. Each command's
+ * own time is measured: WebDriver calls made by listener hooks while it runs (page-load sweeps,
+ * recording toolbars) are subtracted from it and recorded separately. The test's summary is
+ * attached to its report entry when it ends, the suite's summary is logged when the suite
+ * finishes, and both list the slowest individual calls. Disable with
+ * {@code commandLatency.enabled=false} in config.properties.</p>
+ */
+public final class CommandLatency {
+
+    private static final String SUITE = "";
+    private static final String UNATTRIBUTED = "(outside test methods)";
+    private static final int SLOWEST_PER_TEST = 5;
+    private static final int SLOWEST_PER_SUITE = 10;
+    private static final int MAX_OPEN_TESTS = 1_000;
+    private static final int MAX_NESTING = 32;
+
+    private static final Map<String, Scope> scopes = new ConcurrentHashMap<>();
+    private static final ThreadLocal<long[][]> frames = ThreadLocal.withInitial(() -> new long[MAX_NESTING][2]);
+    private static final ThreadLocal<int[]> depth = ThreadLocal.withInitial(() -> new int[1]);
+
+    private static volatile Boolean enabled;
+
+    private CommandLatency() {}
+
+    static boolean isEnabled() {
+        Boolean value = enabled;
+        if (value == null) {
+            value = true;
+            try {
+                String configPath = ConfigContext.getConfigFilePath();
+                if (configPath != null && PropertyHelper.keyExists(configPath, "commandLatency.enabled")) {
+                    String setting = PropertyHelper.getDataFromProperties(configPath, "commandLatency.enabled");
+                    value = setting == null || !setting.trim().equalsIgnoreCase("false");
+                }
+            } catch (Exception e) {
+                Logger.logException(e);
+            }
+            enabled = value;
+        }
+        return value;
+    }
+
+    static void setEnabled(Boolean value) {
+        enabled = value;
+    }
+
+    // ──────────────────────── Recording ────────────────────────
+
+    /** Marks the start of a call; pair with {@link #end}. */
+    static void begin() {
+        int[] d = depth.get();
+        if (d[0] < MAX_NESTING) {
+            long[] frame = frames.get()[d[0]];
+            frame[0] = System.nanoTime();
+            frame[1] = 0;
+        }
+        d[0]++;
+    }
+
+    /** Records the call started by the matching {@link #begin}. */
+    static void end(Object target, Method method, Object[] args) {
+        int[] d = depth.get();
+        if (d[0] == 0) return;
+        d[0]--;
+        if (d[0] >= MAX_NESTING) return;
+        long[][] stack = frames.get();
+        long total = System.nanoTime() - stack[d[0]][0];
+        long own = Math.max(0, total - stack[d[0]][1]);
+        if (d[0] > 0 && d[0] - 1 < MAX_NESTING) stack[d[0] - 1][1] += total;
+        if (method.getDeclaringClass() == Object.class) return;
+        record(commandName(target, method), own, args);
+    }
+
+    static void record(String command, long nanos, Object[] args) {
+        String testId = TestContext.testId();
+        scopeOf(SUITE).record(command, nanos, testId, args);
+        if (testId != null) scopeOf(testId).record(command, nanos, testId, args);
+    }
+
+    private static Scope scopeOf(String key) {
+        Scope scope = scopes.get(key);
+        if (scope != null) return scope;
+        if (scopes.size() >= MAX_OPEN_TESTS) scopes.keySet().removeIf(k -> !k.equals(SUITE));
+        return scopes.computeIfAbsent(key, k -> new Scope(k.equals(SUITE) ? SLOWEST_PER_SUITE : SLOWEST_PER_TEST));
+    }
+
+    static String commandName(Object target, Method method) {
+        String kind;
+        if (target instanceof org.openqa.selenium.WebElement) kind = "element";
+        else if (target instanceof org.openqa.selenium.WebDriver) kind = "driver";
+        else kind = method.getDeclaringClass().getSimpleName();
+        return kind + "." + method.getName();
+    }
+
+    // ──────────────────────── Summaries ────────────────────────
+
+    /**
+     * Removes and returns the summary of one test, or {@code null} when it sent no commands.
+     * @param testId identifier the test ran under ({@link TestContext#testId()})
+     */
+    public static String takeTestSummary(String testId, String testName) {
+        if (testId == null || testId.equals(SUITE)) return null;
+        Scope scope = scopes.remove(testId);
+        return scope != null ? scope.summary("WebDriver command latency - " + testName, false) : null;
+    }
+
+    /** Summary of every command since the suite started, or {@code null} when there were none. */
+    public static String suiteSummary(String suiteName) {
+        Scope scope = scopes.get(SUITE);
+        return scope != null ? scope.summary("WebDriver command latency - suite " + suiteName, true) : null;
+    }
+
+    /** Drops all recorded latencies (suite start). */
+    public static void reset() {
+        scopes.clear();
+    }
+
+    // ──────────────────────── Histograms ────────────────────────
+
+    private record SlowCall(long nanos, String command, String testId, String detail) {}
+
+    private static final class Scope {
+        private final Map<String, Histogram> byCommand = new ConcurrentHashMap<>();
+        private final PriorityQueue<SlowCall> slowest = new PriorityQueue<>(Comparator.comparingLong(SlowCall::nanos));
+        private final int slowestKept;
+        /** Duration a call must exceed to enter {@link #slowest}; read without the lock. */
+        private volatile long slowThreshold = -1;
+
+        Scope(int slowestKept) {
+            this.slowestKept = slowestKept;
+        }
+
+        void record(String command, long nanos, String testId, Object[] args) {
+            byCommand.computeIfAbsent(command, c -> new Histogram()).record(nanos);
+            if (nanos <= slowThreshold) return;
+            synchronized (slowest) {
+                slowest.add(new SlowCall(nanos, command, testId, detailOf(args)));
+                if (slowest.size() > slowestKept) slowest.poll();
+                if (slowest.size() == slowestKept) slowThreshold = slowest.peek().nanos();
+            }
+        }
+
+        String summary(String title, boolean withTests) {
+            if (byCommand.isEmpty()) return null;
+            List<Map.Entry<String, Histogram>> rows = new ArrayList<>(byCommand.entrySet());
+            rows.sort((a, b) -> Long.compare(b.getValue().totalNanos.sum(), a.getValue().totalNanos.sum()));
+            StringBuilder sb = new StringBuilder(title).append('\n');
+            sb.append(String.format(Locale.ROOT, "%-32s %8s %11s %9s %9s %9s%n",
+                    "command", "calls", "total ms", "p50 ms", "p95 ms", "max ms"));
+            long calls = 0;
+            long total = 0;
+            for (Map.Entry<String, Histogram> row : rows) {
+                Histogram h = row.getValue();
+                long count = h.count.sum();
+                calls += count;
+                total += h.totalNanos.sum();
+                sb.append(String.format(Locale.ROOT, "%-32s %8d %11.1f %9.1f %9.1f %9.1f%n", row.getKey(), count,
+                        ms(h.totalNanos.sum()), ms(h.percentile(0.50)), ms(h.percentile(0.95)), ms(h.maxNanos.get())));
+            }
+            sb.append(String.format(Locale.ROOT, "%-32s %8d %11.1f%n", "all commands", calls, ms(total)));
+            List<SlowCall> slow;
+            synchronized (slowest) {
+                slow = new ArrayList<>(slowest);
+            }
+            if (!slow.isEmpty()) {
+                slow.sort(Comparator.comparingLong(SlowCall::nanos).reversed());
+                sb.append("Slowest calls:\n");
+                for (SlowCall call : slow) {
+                    sb.append(String.format(Locale.ROOT, "  %9.1f ms  %s", ms(call.nanos()), call.command()));
+                    if (call.detail() != null) sb.append("  ").append(call.detail());
+                    if (withTests) sb.append("  [").append(call.testId() != null ? call.testId() : UNATTRIBUTED).append(']');
+                    sb.append('\n');
+                }
+            }
+            return sb.toString();
+        }
+
+        private static double ms(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+
+        /** Locator, URL or script prefix of a slow call; only computed for calls that make the list. */
+        private static String detailOf(Object[] args) {
+            if (args == null || args.length == 0 || args[0] == null) return null;
+            Object first = args[0];
+            if (!(first instanceof org.openqa.selenium.By) && !(first instanceof CharSequence)
+                    && !(first instanceof java.net.URL)) return null;
+            String text = first.toString().replace('\n', ' ');
+            return text.length() > 80 ? text.substring(0, 77) + "..." : text;
+        }
+    }
+
+    /**
+     * Log-linear histogram of microseconds: 8 sub-buckets per power of two, so every bucket is
+     * within 12.5% of the values it holds, from 1 µs to well over an hour.
+     */
+    static final class Histogram {
+        private static final int SUB_BITS = 3;
+        private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(64 * SUB_BUCKETS);
+        final LongAdder count = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void record(long nanos) {
+            buckets.incrementAndGet(indexOf(nanos / 1_000));
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        /** Lower bound, in nanoseconds, of the bucket holding the {@code quantile} of recorded values. */
+        long percentile(double quantile) {
+            long total = count.sum();
+            if (total == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(quantile * total));
+            long seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen >= rank) return Math.min(lowerBoundMicros(i) * 1_000, maxNanos.get());
+            }
+            return maxNanos.get();
+        }
+
+        static int indexOf(long micros) {
+            if (micros <= 0) return 0;
+            int exponent = 63 - Long.numberOfLeadingZeros(micros);
+            int sub = exponent < SUB_BITS ? (int) micros : (int) ((micros >> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1));
+            return exponent * SUB_BUCKETS + sub;
+        }
+
+        static long lowerBoundMicros(int index) {
+            int exponent = index / SUB_BUCKETS;
+            int sub = index % SUB_BUCKETS;
+            return exponent < SUB_BITS ? sub : (long) (SUB_BUCKETS | sub) << (exponent - SUB_BITS);
+        }
+    }
+}
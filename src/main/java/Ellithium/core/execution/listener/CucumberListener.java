@@ -2,6 +2,7 @@ package Ellithium.core.execution.listener;
 
 import Ellithium.config.management.GeneralHandler;
 import Ellithium.core.ai.reporting.AIHealingReporter;
+import Ellithium.core.ai.vision.AIVisionRCA;
 import Ellithium.core.driver.DriverConfiguration;
 import Ellithium.core.driver.DriverFactory;
 import Ellithium.core.driver.HeadlessMode;
@@ -219,6 +220,7 @@ public class CucumberListener extends AllureCucumber7Jvm {
             Logger.warn(YELLOW+"Failed to collect Cucumber test result: " + e.getMessage()+RESET);
         }
         scenarioContext.remove();
+        DriverFactory.discardPendingDriver();
     }
 
     /**
@@ -237,6 +239,7 @@ public class CucumberListener extends AllureCucumber7Jvm {
             Logger.logException(e);
         }
         try {
+            AIVisionRCA.awaitPending(30_000);
             Ellithium.core.ai.healing.EnsembleHealer.shutdown();
             AIHealingReporter.generateReport();
         } catch (Exception e) {
@@ -253,7 +256,8 @@ public class CucumberListener extends AllureCucumber7Jvm {
                 io.qameta.allure.model.Status.FAILED);
         context.failedScreenShot = testFailed(
                 driverName,
-                context.scenarioName
+                context.scenarioName,
+                event.getResult().getError()
         );
         Allure.getLifecycle().updateTestCase(stepResult -> {
             if (context.failedScreenShot != null) {
@@ -3,6 +3,7 @@ import Ellithium.core.ai.healing.EnsembleHealer;
 import Ellithium.core.ai.healing.AISelfHealer;
 import Ellithium.core.driver.DriverConfiguration;
 import Ellithium.core.driver.DriverFactory;
+import Ellithium.core.driver.DriverPool;
 import Ellithium.core.driver.HeadlessMode;
 import org.openqa.selenium.WebDriver;
 import Ellithium.core.execution.Analyzer.RetryAnalyzer;
@@ -12,9 +13,12 @@ import Ellithium.core.reporting.Reporter;
 import Ellithium.core.reporting.internal.AllureHelper;
 import Ellithium.core.ai.reporting.AIHealingReporter;
 import Ellithium.core.ai.HealingTelemetryStore;
+import Ellithium.core.ai.vision.AIVisionRCA;
 import Ellithium.core.execution.context.TestContext;
 import Ellithium.core.execution.context.TestContextData;
+import Ellithium.Utilities.interactions.ElementHandleCache;
 import Ellithium.Utilities.interactions.ScreenRecorderActions;
+import Ellithium.Utilities.interactions.WaitManager;
 import Ellithium.config.management.ConfigContext;
 import Ellithium.config.management.GeneralHandler;
 import Ellithium.core.reporting.notification.TestResultCollector;
@@ -166,11 +170,16 @@ public class CustomTestNGListener extends TestListenerAdapter implements IAlterS
     @Override
     public void onStart(ISuite suite) {
         Logger.info(PINK + "[SUITE STARTED]: " + suite.getName().toUpperCase() + " [SUITE STARTED]" + RESET);
+        CommandLatency.reset();
     }
     
     @Override
     public void onFinish(ISuite suite) {
         Logger.info(PINK + "[SUITE FINISHED]: " + suite.getName().toUpperCase()+ " [SUITE FINISHED]" + RESET);
+        String latency = CommandLatency.suiteSummary(suite.getName());
+        if (latency != null) {
+            Logger.info(latency);
+        }
         VideoRecordingManager.forceCleanupAll();
     }
     
@@ -215,8 +224,18 @@ public class CustomTestNGListener extends TestListenerAdapter implements IAlterS
             Logger.logException(e);
         }
         finally {
+            AIVisionRCA.awaitPending(30_000);
             AISelfHealer.cleanup();
             EnsembleHealer.shutdown();
+            DriverPool.shutdown();
+            String waitStatistics = WaitManager.getWaitStatistics();
+            if (waitStatistics != null) {
+                Logger.info(waitStatistics);
+            }
+            String cacheStatistics = ElementHandleCache.getStatistics();
+            if (cacheStatistics != null) {
+                Logger.info(cacheStatistics);
+            }
             AIHealingReporter.generateReport();
             AllureHelper.allureOpen();
             TestResultCollectorManager.getInstance().sendExecutionCompletionNotifications();
@@ -262,6 +281,7 @@ public class CustomTestNGListener extends TestListenerAdapter implements IAlterS
             String className = testResult.getTestClass().getRealClass().getName();
             classDriverMap.remove(className);
             classConfigMap.remove(className);
+            DriverFactory.discardPendingDriver();
         }
 
         if (method.isTestMethod()){
@@ -269,7 +289,7 @@ public class CustomTestNGListener extends TestListenerAdapter implements IAlterS
             DriverConfiguration currentDriverConfiguration=DriverFactory.getCurrentDriverConfiguration();
             if ((testResult.getStatus() == FAILURE) && driverExecution) {
                 Reporter.setStepStatus(method.getTestMethod().getMethodName(), io.qameta.allure.model.Status.FAILED);
-                File failedScreenShot = GeneralHandler.testFailed(currentDriverConfiguration.getDriverType().getName(), method.getTestMethod().getMethodName());
+                File failedScreenShot = GeneralHandler.testFailed(currentDriverConfiguration.getDriverType().getName(), method.getTestMethod().getMethodName(), testResult.getThrowable());
                 if (failedScreenShot != null) {
                     String description = currentDriverConfiguration.getDriverType().getName().toUpperCase() + "-" + method.getTestMethod().getMethodName() + " FAILED";
                     Reporter.attachScreenshotToReport(failedScreenShot, failedScreenShot.getName(), description);
@@ -282,7 +302,13 @@ public class CustomTestNGListener extends TestListenerAdapter implements IAlterS
             if (shouldRecord){
                 stopRecordingForTest(testResult, getStatus(testResult.getStatus()));
             }
+            String latency = CommandLatency.takeTestSummary(getTestIdentifier(testResult), method.getTestMethod().getMethodName());
+            if (latency != null) {
+                io.qameta.allure.Allure.addAttachment("WebDriver Command Latency", "text/plain", latency);
+            }
             GeneralHandler.addAttachments();
+            // An asynchronous driver the test started but never used must not leak into the next test on this thread.
+            DriverFactory.discardPendingDriver();
         }
     }
     
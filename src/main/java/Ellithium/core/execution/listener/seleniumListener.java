@@ -1,7 +1,10 @@
 package Ellithium.core.execution.listener;
 import Ellithium.Utilities.ai.LLMProvider;
+import Ellithium.Utilities.interactions.ElementHandleCache;
 import Ellithium.core.ai.generators.LiveContextGenerator;
+import Ellithium.core.ai.healing.PreflightLocatorSweep;
 import Ellithium.core.ai.models.RecordedInteraction;
+import Ellithium.core.driver.DriverFactory;
 import Ellithium.core.logging.LogLevel;
 import Ellithium.core.reporting.Reporter;
 import org.openqa.selenium.*;
@@ -165,6 +168,22 @@ public class seleniumListener implements WebDriverListener {
     /** Returns true if logging is currently suppressed. */
     private static boolean isSuppressed() { return ListenerLogSuppression.isSuppressed(); }
 
+    @Override
+    public void beforeAnyCall(Object target, java.lang.reflect.Method method, Object[] args) {
+        if (CommandLatency.isEnabled()) CommandLatency.begin();
+    }
+
+    @Override
+    public void afterAnyCall(Object target, java.lang.reflect.Method method, Object[] args, Object result) {
+        if (CommandLatency.isEnabled()) CommandLatency.end(target, method, args);
+    }
+
+    @Override
+    public void onError(Object target, java.lang.reflect.Method method, Object[] args,
+                        java.lang.reflect.InvocationTargetException e) {
+        if (CommandLatency.isEnabled()) CommandLatency.end(target, method, args);
+    }
+
     @Override
     public void afterSendKeys(WebElement element, CharSequence... keysToSend) {
         String sentData = buildSentDataString(keysToSend);
@@ -189,7 +208,9 @@ public class seleniumListener implements WebDriverListener {
     }
    @Override
    public void afterGet(WebDriver driver, String url) {
+       ElementHandleCache.documentChanged();
        Reporter.log("Navigating to URL: ", LogLevel.INFO_BLUE, url);
+       PreflightLocatorSweep.onPageLoad(driver);
    }
    @Override
     public void afterGetCurrentUrl(WebDriver driver, String url) {
@@ -198,6 +219,7 @@ public class seleniumListener implements WebDriverListener {
     }
     @Override
     public void afterDefaultContent(WebDriver.TargetLocator targetLocator, WebDriver driver) {
+        ElementHandleCache.documentChanged();
         Reporter.log("Switched Back To Default Content From Frame" , LogLevel.INFO_BLUE);
     }
    @Override
@@ -211,6 +233,7 @@ public class seleniumListener implements WebDriverListener {
     }
    @Override
    public void afterClose(WebDriver driver) {
+       ElementHandleCache.documentChanged();
        Reporter.log("WebDriver closed", LogLevel.INFO_BLUE);
    }
 
@@ -294,26 +317,31 @@ public class seleniumListener implements WebDriverListener {
 
    @Override
    public void afterTo(WebDriver.Navigation navigation, String url) {
+       ElementHandleCache.documentChanged();
        if (isSuppressed()) return;
        Reporter.log("Navigated to URL: " + url, LogLevel.INFO_BLUE);
        if (RECORDING.get()) {
            RECORDED.get().add(new RecordedInteraction("navigate", null, url, null, null));
            updateRecordingToolbar();
        }
+       PreflightLocatorSweep.onPageLoad(DriverFactory.getCurrentDriver());
    }
 
    @Override
    public void afterBack(WebDriver.Navigation navigation) {
+       ElementHandleCache.documentChanged();
        Reporter.log("Navigated back", LogLevel.INFO_BLUE);
    }
 
    @Override
    public void afterForward(WebDriver.Navigation navigation) {
+       ElementHandleCache.documentChanged();
        Reporter.log("Navigated forward", LogLevel.INFO_BLUE);
    }
 
    @Override
    public void afterRefresh(WebDriver.Navigation navigation) {
+       ElementHandleCache.documentChanged();
        Reporter.log("Page refreshed", LogLevel.INFO_BLUE);
    }
 
@@ -409,31 +437,37 @@ public class seleniumListener implements WebDriverListener {
 
    @Override
    public void afterFrame(WebDriver.TargetLocator targetLocator, int index, WebDriver driver) {
+       ElementHandleCache.documentChanged();
        Reporter.log("Switched to frame by index: " + index, LogLevel.INFO_BLUE);
    }
 
    @Override
    public void afterFrame(WebDriver.TargetLocator targetLocator, String nameOrId, WebDriver driver) {
+       ElementHandleCache.documentChanged();
        Reporter.log("Switched to frame by name or ID: " + nameOrId, LogLevel.INFO_BLUE);
    }
 
    @Override
    public void afterFrame(WebDriver.TargetLocator targetLocator, WebElement frameElement, WebDriver driver) {
+       ElementHandleCache.documentChanged();
        Reporter.log("Switched to frame by element: " + nameOf(frameElement), LogLevel.INFO_BLUE);
    }
 
    @Override
    public void afterParentFrame(WebDriver.TargetLocator targetLocator, WebDriver driver) {
+       ElementHandleCache.documentChanged();
        Reporter.log("Switched to parent frame", LogLevel.INFO_BLUE);
    }
 
    @Override
    public void afterWindow(WebDriver.TargetLocator targetLocator, String nameOrHandle, WebDriver driver) {
+       ElementHandleCache.documentChanged();
        Reporter.log("Switched to window: " + nameOrHandle, LogLevel.INFO_BLUE);
    }
 
    @Override
    public void afterNewWindow(WebDriver.TargetLocator targetLocator, WindowType typeHint, WebDriver driver) {
+       ElementHandleCache.documentChanged();
        Reporter.log("New window opened with type: " + typeHint, LogLevel.INFO_BLUE);
    }
 
@@ -0,0 +1,181 @@
+package Ellithium.Utilities.interactions;
+
+import org.mockito.Mockito;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AdaptiveSleeperTest {
+
+    private static final String CONDITION = "visibility of element located by By.cssSelector: .toast";
+
+    @BeforeMethod
+    public void setUp() {
+        AdaptiveSleeper.forgetHistory();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        AdaptiveSleeper.forgetHistory();
+        WaitManager.setAdaptivePolling(null);
+    }
+
+    @Test
+    public void delays_startAtThePollingIntervalAndBackOffToTheCap() {
+        AdaptiveSleeper sleeper = new AdaptiveSleeper(400, false);
+        sleeper.begin(CONDITION, Duration.ofMillis(50), Duration.ofSeconds(30));
+
+        Assert.assertEquals(sleeper.nextDelayMs(0), 50);
+        long previous = 50;
+        long last = 0;
+        for (int i = 0; i < 12; i++) {
+            last = sleeper.nextDelayMs(100 + i * 400L);
+            Assert.assertTrue(last >= 1 && last <= 400, "delay " + last);
+        }
+        Assert.assertTrue(last > previous * 4, "backoff should reach the cap, got " + last);
+    }
+
+    @Test
+    public void delay_neverPassesTheDeadline() {
+        AdaptiveSleeper sleeper = new AdaptiveSleeper(1_000, false);
+        sleeper.begin(CONDITION, Duration.ofMillis(900), Duration.ofSeconds(1));
+
+        Assert.assertEquals(sleeper.nextDelayMs(950), 50);
+    }
+
+    @Test
+    public void learnedDuration_skipsAheadThenPollsFastAroundIt() throws Exception {
+        AdaptiveSleeper learner = new AdaptiveSleeper(5_000, true);
+        learner.begin(CONDITION, Duration.ofMillis(10), Duration.ofSeconds(5));
+        Thread.sleep(200);
+        learner.finished(true);
+        Long expected = AdaptiveSleeper.expectedMillis(CONDITION);
+        Assert.assertNotNull(expected);
+
+        AdaptiveSleeper next = new AdaptiveSleeper(5_000, true);
+        next.begin(CONDITION, Duration.ofMillis(10), Duration.ofSeconds(5));
+        Assert.assertEquals(next.nextDelayMs(0), Math.round(expected * 0.75));
+        Assert.assertEquals(next.nextDelayMs(Math.round(expected * 0.75)), 10);
+    }
+
+    @Test
+    public void skipAhead_movesInSmallStepsTowardsTheExpectedTime() {
+        learn(2_000);
+
+        AdaptiveSleeper next = new AdaptiveSleeper(250, true);
+        next.begin(CONDITION, Duration.ofMillis(50), Duration.ofSeconds(10));
+        Assert.assertEquals(next.nextDelayMs(0), AdaptiveSleeper.MAX_SKIP_STEP_MS);
+        Assert.assertEquals(next.nextDelayMs(1_400), 100);
+    }
+
+    @Test
+    public void successRightAfterASkipStep_isLearnedAsThePreviousCheck() {
+        learn(2_000);
+
+        AdaptiveSleeper next = new AdaptiveSleeper(250, true);
+        next.begin(CONDITION, Duration.ofMillis(50), Duration.ofSeconds(10));
+        long delay = next.nextDelayMs(0);
+        next.finished(true, delay);
+
+        // The condition held somewhere in (0, 250] ms; the estimate must fall, never rise.
+        Assert.assertEquals(AdaptiveSleeper.expectedMillis(CONDITION), Long.valueOf(Math.round(2_000 * 0.7)));
+    }
+
+    @Test
+    public void medianLatency_withHistoryIsNoWorseThanWithout() {
+        long[] holdsAt = new long[201];
+        Random random = new Random(7);
+        for (int i = 0; i < holdsAt.length; i++) {
+            holdsAt[i] = 600 + random.nextInt(800);
+        }
+
+        long withoutHistory = medianLatency(holdsAt, false);
+        AdaptiveSleeper.forgetHistory();
+        long withHistory = medianLatency(holdsAt, true);
+
+        Assert.assertTrue(withHistory <= withoutHistory,
+                "median latency with history " + withHistory + " ms, without " + withoutHistory + " ms");
+        long expected = AdaptiveSleeper.expectedMillis(CONDITION);
+        Assert.assertTrue(expected >= 400 && expected <= 1_400, "learned " + expected);
+    }
+
+    @Test
+    public void fasterCondition_pullsTheEstimateDownQuickly() {
+        learn(3_000);
+
+        for (int i = 0; i < 12; i++) {
+            runWait(true, 200);
+        }
+
+        Assert.assertTrue(AdaptiveSleeper.expectedMillis(CONDITION) < 600,
+                "learned " + AdaptiveSleeper.expectedMillis(CONDITION));
+    }
+
+    /** Median time between each condition holding and the wait noticing it. */
+    private static long medianLatency(long[] holdsAt, boolean learn) {
+        long[] latencies = new long[holdsAt.length];
+        for (int i = 0; i < holdsAt.length; i++) {
+            latencies[i] = runWait(learn, holdsAt[i]) - holdsAt[i];
+        }
+        Arrays.sort(latencies);
+        return latencies[latencies.length / 2];
+    }
+
+    /** Runs one simulated wait whose condition holds at {@code holdsAtMs}; returns when it was seen. */
+    private static long runWait(boolean learn, long holdsAtMs) {
+        AdaptiveSleeper sleeper = new AdaptiveSleeper(250, learn);
+        sleeper.begin(CONDITION, Duration.ofMillis(50), Duration.ofSeconds(30));
+        long elapsed = 0;
+        while (elapsed < holdsAtMs) {
+            elapsed += sleeper.nextDelayMs(elapsed);
+        }
+        sleeper.finished(true, elapsed);
+        return elapsed;
+    }
+
+    private static void learn(long durationMs) {
+        AdaptiveSleeper sleeper = new AdaptiveSleeper(250, true);
+        sleeper.begin(CONDITION, Duration.ofMillis(50), Duration.ofSeconds(30));
+        sleeper.finished(true, durationMs);
+    }
+
+    @Test
+    public void failedWaits_areNotLearned() {
+        AdaptiveSleeper sleeper = new AdaptiveSleeper(500, true);
+        sleeper.begin(CONDITION, Duration.ofMillis(50), Duration.ofSeconds(1));
+        sleeper.finished(false);
+
+        Assert.assertNull(AdaptiveSleeper.expectedMillis(CONDITION));
+    }
+
+    @Test
+    public void fluentWait_pollsOnTheAdaptiveSchedule() {
+        WaitManager.setAdaptivePolling(new WaitManager.AdaptivePolling(true, 200, true));
+        WebDriver driver = Mockito.mock(WebDriver.class);
+        RemoteWebElement toast = Mockito.mock(RemoteWebElement.class);
+        By locator = By.cssSelector(".toast");
+        AtomicInteger lookups = new AtomicInteger();
+        long shownAt = System.currentTimeMillis() + 1_000;
+        Mockito.when(driver.findElement(locator)).thenAnswer(inv -> {
+            lookups.incrementAndGet();
+            return toast;
+        });
+        Mockito.when(toast.isDisplayed()).thenAnswer(inv -> System.currentTimeMillis() >= shownAt);
+
+        WaitManager.getFluentWait(driver, 5, 50).until(ExpectedConditions.visibilityOfElementLocated(locator));
+
+        // A fixed 50 ms interval needs about 20 checks for one second.
+        Assert.assertTrue(lookups.get() < 14, "lookups " + lookups.get());
+        Assert.assertNotNull(AdaptiveSleeper.expectedMillis(ExpectedConditions.visibilityOfElementLocated(locator).toString()));
+    }
+}
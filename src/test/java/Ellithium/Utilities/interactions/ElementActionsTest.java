@@ -0,0 +1,99 @@
+package Ellithium.Utilities.interactions;
+
+import org.mockito.Mockito;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebElement;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ElementActionsTest {
+
+    private static final By ROWS = By.cssSelector("tr.item");
+    private static final By TABLE = By.id("orders");
+
+    private WebDriver driver;
+    private ElementActions<WebDriver> elements;
+    private List<WebElement> rows;
+    private Object bulkReply;
+    private RuntimeException bulkFailure;
+    private final AtomicInteger bulkCalls = new AtomicInteger();
+
+    @BeforeMethod
+    public void setUp() {
+        driver = Mockito.mock(WebDriver.class, Mockito.withSettings().extraInterfaces(
+                JavascriptExecutor.class, org.openqa.selenium.TakesScreenshot.class));
+        elements = new ElementActions<>(driver);
+        rows = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            RemoteWebElement el = Mockito.mock(RemoteWebElement.class);
+            Mockito.when(el.getId()).thenReturn("row-" + i);
+            Mockito.when(el.isDisplayed()).thenReturn(true);
+            Mockito.when(el.getDomAttribute("data-sku")).thenReturn("native-" + i);
+            rows.add(el);
+        }
+        Mockito.when(driver.findElements(ROWS)).thenReturn(rows);
+        bulkCalls.set(0);
+        bulkFailure = null;
+        Mockito.when(((JavascriptExecutor) driver).executeScript(Mockito.anyString(), Mockito.any(Object[].class)))
+                .thenAnswer(inv -> {
+                    String script = inv.getArgument(0);
+                    if (script.contains("mode=arguments[1]") || script.contains("arguments[0].rows")) {
+                        bulkCalls.incrementAndGet();
+                        if (bulkFailure != null) throw bulkFailure;
+                        return bulkReply;
+                    }
+                    return new HashMap<String, Object>();
+                });
+    }
+
+    @Test
+    public void attributesOfAllElements_areReadInOneScript() {
+        bulkReply = List.of("sku-1", "sku-2", "sku-3");
+
+        List<String> skus = elements.getAttributeFromMultipleElements(ROWS, "data-sku", 1, 10);
+
+        Assert.assertEquals(skus, List.of("sku-1", "sku-2", "sku-3"));
+        Assert.assertEquals(bulkCalls.get(), 1);
+        for (WebElement row : rows) Mockito.verify(row, Mockito.never()).getDomAttribute("data-sku");
+    }
+
+    @Test
+    public void failingScript_fallsBackToNativeReads() {
+        bulkFailure = new JavascriptException("blocked by CSP");
+
+        List<String> skus = elements.getAttributeFromMultipleElements(ROWS, "data-sku", 1, 10);
+
+        Assert.assertEquals(skus, List.of("native-0", "native-1", "native-2"));
+    }
+
+    @Test
+    public void displayedState_isReadWithoutWaiting() {
+        bulkReply = List.of(true, false, true);
+
+        Assert.assertEquals(elements.getDisplayedStateOfMultipleElements(ROWS), List.of(true, false, true));
+    }
+
+    @Test
+    public void table_isReadAsMatrix() {
+        RemoteWebElement table = Mockito.mock(RemoteWebElement.class);
+        Mockito.when(table.getId()).thenReturn("table");
+        Mockito.when(table.isDisplayed()).thenReturn(true);
+        Mockito.when(driver.findElement(TABLE)).thenReturn(table);
+        bulkReply = List.of(List.of("Order", "Total"), List.of("#1", "12.50"));
+
+        List<List<String>> matrix = elements.getTableAsMatrix(TABLE, 1, 10);
+
+        Assert.assertEquals(matrix, List.of(List.of("Order", "Total"), List.of("#1", "12.50")));
+        Assert.assertEquals(bulkCalls.get(), 1);
+    }
+}
@@ -0,0 +1,96 @@
+package Ellithium.Utilities.interactions;
+
+import org.mockito.Mockito;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebElement;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class ElementHandleCacheTest {
+
+    private static final By SUBMIT = By.id("submit");
+
+    private WebDriver driver;
+    private ElementActions<WebDriver> elements;
+    private RemoteWebElement submit;
+
+    @BeforeMethod
+    public void setUp() {
+        ElementHandleCache.setEnabled(true);
+        ElementHandleCache.clear();
+        driver = Mockito.mock(WebDriver.class, Mockito.withSettings().extraInterfaces(
+                JavascriptExecutor.class, org.openqa.selenium.TakesScreenshot.class));
+        elements = new ElementActions<>(driver);
+        submit = element("submit");
+        Mockito.when(driver.findElement(SUBMIT)).thenReturn(submit);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        ElementHandleCache.clear();
+        ElementHandleCache.setEnabled(null);
+    }
+
+    private static RemoteWebElement element(String id) {
+        RemoteWebElement el = Mockito.mock(RemoteWebElement.class);
+        Mockito.when(el.getId()).thenReturn(id);
+        Mockito.when(el.isDisplayed()).thenReturn(true);
+        Mockito.when(el.getText()).thenReturn("Send");
+        Mockito.when(el.getDomAttribute("type")).thenReturn("submit");
+        return el;
+    }
+
+    @Test
+    public void pageObjectFlow_locatesTheElementOnce() {
+        elements.clickOnElement(SUBMIT, 1, 10);
+        Assert.assertEquals(elements.getText(SUBMIT, 1, 10), "Send");
+        Assert.assertEquals(elements.getAttributeValue(SUBMIT, "type", 1, 10), "submit");
+
+        // Without the cache every step waits for visibility with a findElement of its own.
+        Mockito.verify(driver, Mockito.times(1)).findElement(SUBMIT);
+        String stats = ElementHandleCache.getStatistics();
+        Assert.assertNotNull(stats);
+        Assert.assertTrue(stats.contains("2 of 3 lookups"), stats);
+        Assert.assertTrue(stats.contains("2 find commands saved"), stats);
+    }
+
+    @Test
+    public void staleHandle_isRelocatedAndTheActionRetried() {
+        elements.clickOnElement(SUBMIT, 1, 10);
+        RemoteWebElement rerendered = element("submit-2");
+        Mockito.when(submit.getText()).thenThrow(new StaleElementReferenceException("re-rendered"));
+        Mockito.when(driver.findElement(SUBMIT)).thenReturn(rerendered);
+
+        Assert.assertEquals(elements.getText(SUBMIT, 1, 10), "Send");
+        Mockito.verify(rerendered).getText();
+
+        elements.getText(SUBMIT, 1, 10);
+        Mockito.verify(rerendered, Mockito.times(2)).getText();
+    }
+
+    @Test
+    public void navigation_dropsCachedHandles() {
+        elements.clickOnElement(SUBMIT, 1, 10);
+        ElementHandleCache.documentChanged();
+
+        elements.clickOnElement(SUBMIT, 1, 10);
+
+        Mockito.verify(driver, Mockito.times(2)).findElement(SUBMIT);
+    }
+
+    @Test
+    public void disabledCache_locatesEveryTime() {
+        ElementHandleCache.setEnabled(false);
+
+        elements.clickOnElement(SUBMIT, 1, 10);
+        elements.getText(SUBMIT, 1, 10);
+
+        Mockito.verify(driver, Mockito.times(2)).findElement(SUBMIT);
+        Assert.assertNull(ElementHandleCache.getStatistics());
+    }
+}
@@ -0,0 +1,138 @@
+package Ellithium.Utilities.interactions;
+
+import org.mockito.Mockito;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.RemoteWebElement;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class FormActionsTest {
+
+    private static final By FIRST = By.id("first-name");
+    private static final By LAST = By.cssSelector("input[name='last']");
+    private static final By TERMS = By.linkText("Terms");
+
+    private WebDriver driver;
+    private FormActions<WebDriver> forms;
+    /** Status lists the page script returns, one per call; every spec gets "ok" once exhausted. */
+    private Deque<List<String>> replies;
+    private List<List<Map<String, Object>>> scriptCalls;
+
+    @BeforeMethod
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        driver = Mockito.mock(WebDriver.class, Mockito.withSettings().extraInterfaces(
+                JavascriptExecutor.class, org.openqa.selenium.TakesScreenshot.class));
+        forms = new FormActions<>(driver);
+        replies = new ArrayDeque<>();
+        scriptCalls = new ArrayList<>();
+        Mockito.when(((JavascriptExecutor) driver).executeScript(Mockito.anyString(), Mockito.any(Object[].class)))
+                .thenAnswer(inv -> {
+                    String script = inv.getArgument(0);
+                    if (!script.contains("var specs=arguments[0]")) return new HashMap<String, Object>();
+                    List<Map<String, Object>> specs = (List<Map<String, Object>>) inv.getArgument(1);
+                    scriptCalls.add(specs);
+                    if (!replies.isEmpty()) return replies.poll();
+                    List<String> ok = new ArrayList<>();
+                    for (int i = 0; i < specs.size(); i++) ok.add("ok");
+                    return ok;
+                });
+    }
+
+    private static Map<By, String> form() {
+        Map<By, String> fields = new LinkedHashMap<>();
+        fields.put(FIRST, "Ada");
+        fields.put(LAST, "Lovelace");
+        return fields;
+    }
+
+    private RemoteWebElement element(By locator) {
+        RemoteWebElement el = Mockito.mock(RemoteWebElement.class);
+        Mockito.when(el.getId()).thenReturn("el-" + locator);
+        Mockito.when(el.isDisplayed()).thenReturn(true);
+        Mockito.when(el.isEnabled()).thenReturn(true);
+        Mockito.when(el.getTagName()).thenReturn("input");
+        Mockito.when(driver.findElement(locator)).thenReturn(el);
+        return el;
+    }
+
+    @Test
+    public void allFieldsReady_areFilledInOneRoundTrip() {
+        forms.fillForm(form(), 1, 10);
+
+        Assert.assertEquals(scriptCalls.size(), 1);
+        List<Map<String, Object>> specs = scriptCalls.get(0);
+        Assert.assertEquals(specs.get(0).get("u"), "css selector");
+        Assert.assertEquals(specs.get(0).get("v"), "#first-name");
+        Assert.assertEquals(specs.get(0).get("t"), "Ada");
+        Assert.assertEquals(specs.get(1).get("v"), "input[name='last']");
+        Mockito.verify(driver, Mockito.never()).findElement(Mockito.any());
+    }
+
+    @Test
+    public void fieldNotReadyYet_isPolledAlone() {
+        replies.add(List.of("ok", "hidden"));
+
+        forms.fillForm(form(), 2, 10);
+
+        Assert.assertEquals(scriptCalls.size(), 2);
+        Assert.assertEquals(scriptCalls.get(1).size(), 1);
+        Assert.assertEquals(scriptCalls.get(1).get(0).get("t"), "Lovelace");
+    }
+
+    @Test
+    public void flaggedField_isTypedWithRealKeystrokes() {
+        RemoteWebElement last = element(LAST);
+
+        forms.fillForm(form(), Set.of(LAST), 1, 10);
+
+        Assert.assertEquals(scriptCalls.get(0).size(), 1);
+        Mockito.verify(last).clear();
+        Mockito.verify(last).sendKeys("Lovelace");
+    }
+
+    @Test
+    public void fieldThePageCannotSet_fallsBackToTyping() {
+        RemoteWebElement first = element(FIRST);
+        replies.add(List.of("native", "ok"));
+
+        forms.fillForm(form(), 1, 10);
+
+        Mockito.verify(first).sendKeys("Ada");
+        Assert.assertEquals(scriptCalls.size(), 1);
+    }
+
+    @Test
+    public void locatorThePageCannotEvaluate_isResolvedHereAndPassedAsElement() {
+        RemoteWebElement terms = element(TERMS);
+        Map<By, String> fields = new LinkedHashMap<>();
+        fields.put(TERMS, "true");
+
+        forms.fillForm(fields, 1, 10);
+
+        Assert.assertSame(scriptCalls.get(0).get(0).get("e"), terms);
+    }
+
+    @Test
+    public void failedFields_areAllReported() {
+        replies.add(List.of("error:no option \"Mars\"", "ok"));
+
+        WebDriverException e = Assert.expectThrows(WebDriverException.class, () -> forms.fillForm(form(), 1, 10));
+
+        Assert.assertTrue(e.getMessage().contains("1 of 2"), e.getMessage());
+        Assert.assertTrue(e.getMessage().contains("first-name"), e.getMessage());
+    }
+}
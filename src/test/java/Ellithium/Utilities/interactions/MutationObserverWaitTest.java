@@ -0,0 +1,110 @@
+package Ellithium.Utilities.interactions;
+
+import org.mockito.Mockito;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebElement;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class MutationObserverWaitTest {
+
+    private static final By BANNER = By.cssSelector("div.banner");
+
+    private WebDriver driver;
+    private WaitActions<WebDriver> waits;
+    private RemoteWebElement banner;
+    /** Outcomes the observer script reports, one per call; {@code {timeout:true}} once exhausted. */
+    private Deque<Object> outcomes;
+    private final AtomicInteger observerCalls = new AtomicInteger();
+
+    @BeforeMethod
+    public void setUp() {
+        WaitManager.setWaitEngine(WaitManager.ENGINE_OBSERVER);
+        WaitManager.resetWaitStatistics();
+        driver = Mockito.mock(WebDriver.class, Mockito.withSettings().extraInterfaces(
+                JavascriptExecutor.class, org.openqa.selenium.TakesScreenshot.class));
+        waits = new WaitActions<>(driver);
+        banner = Mockito.mock(RemoteWebElement.class);
+        Mockito.when(banner.getId()).thenReturn("banner");
+        Mockito.when(banner.isDisplayed()).thenReturn(true);
+        outcomes = new ArrayDeque<>();
+        observerCalls.set(0);
+        Mockito.when(((JavascriptExecutor) driver).executeAsyncScript(Mockito.anyString(), Mockito.any(Object[].class)))
+                .thenAnswer(inv -> {
+                    observerCalls.incrementAndGet();
+                    return outcomes.isEmpty() ? Map.of("timeout", true) : outcomes.poll();
+                });
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        WaitManager.setWaitEngine(WaitManager.ENGINE_POLLING);
+        WaitManager.resetWaitStatistics();
+    }
+
+    @Test
+    public void visibleElement_isAwaitedInOneRoundTrip() {
+        outcomes.add(Map.of("ok", banner));
+
+        Assert.assertSame(waits.waitForElementToBeVisible(BANNER, 5, 100), banner);
+
+        Assert.assertEquals(observerCalls.get(), 1);
+        Mockito.verify(driver, Mockito.never()).findElement(Mockito.any());
+        String stats = WaitManager.getWaitStatistics();
+        Assert.assertNotNull(stats);
+        Assert.assertTrue(stats.contains("observer - 1 waits, 1.0 round-trips/wait"), stats);
+    }
+
+    @Test
+    public void elementCount_isReportedByThePage() {
+        outcomes.add(Map.of("ok", 4L));
+
+        Assert.assertTrue(waits.waitForNumberOfElementsToBeMoreThan(BANNER, 3, 5, 100));
+        Mockito.verify(driver, Mockito.never()).findElements(Mockito.any());
+    }
+
+    @Test
+    public void locatorThePageCannotEvaluate_isPolled() {
+        By link = By.linkText("Checkout");
+        Mockito.when(driver.findElement(link)).thenReturn(banner);
+
+        Assert.assertSame(waits.waitForElementToBeVisible(link, 1, 50), banner);
+
+        Assert.assertEquals(observerCalls.get(), 0);
+    }
+
+    @Test
+    public void conditionThatNeverHolds_timesOut() {
+        Assert.assertThrows(TimeoutException.class,
+                () -> MutationObserverWait.await(driver, BANNER, MutationObserverWait.INVISIBLE, null, 0));
+        Assert.assertEquals(observerCalls.get(), 1);
+    }
+
+    @Test
+    public void scriptErrorInThePage_fallsBackToPolling() {
+        outcomes.add(Map.of("error", "SyntaxError: bad selector"));
+
+        Assert.assertSame(MutationObserverWait.await(driver, BANNER, MutationObserverWait.PRESENT, null, 5),
+                MutationObserverWait.NOT_HANDLED);
+    }
+
+    @Test
+    public void pollingEngine_neverInjectsTheObserver() {
+        WaitManager.setWaitEngine(WaitManager.ENGINE_POLLING);
+
+        Assert.assertSame(MutationObserverWait.await(driver, BANNER, MutationObserverWait.PRESENT, null, 5),
+                MutationObserverWait.NOT_HANDLED);
+        Assert.assertEquals(observerCalls.get(), 0);
+        Assert.assertNull(MutationObserverWait.specOf(driver, BANNER));
+    }
+}
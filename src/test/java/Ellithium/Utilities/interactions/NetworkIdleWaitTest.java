@@ -0,0 +1,181 @@
+package Ellithium.Utilities.interactions;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.idealized.target.model.SessionID;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+public class NetworkIdleWaitTest {
+
+    private WebDriver driver;
+    private WaitActions<WebDriver> waits;
+    /** [in flight, idle ms] replies of the page counter; the last one repeats. */
+    private Deque<List<Long>> counter;
+    private final AtomicInteger reads = new AtomicInteger();
+
+    @BeforeMethod
+    public void setUp() {
+        driver = Mockito.mock(WebDriver.class, Mockito.withSettings().extraInterfaces(
+                JavascriptExecutor.class, org.openqa.selenium.TakesScreenshot.class));
+        waits = new WaitActions<>(driver);
+        counter = new ArrayDeque<>();
+        reads.set(0);
+        Mockito.when(((JavascriptExecutor) driver).executeScript(Mockito.anyString(), Mockito.any(Object[].class)))
+                .thenAnswer(inv -> {
+                    reads.incrementAndGet();
+                    return counter.size() > 1 ? counter.poll() : counter.peek();
+                });
+    }
+
+    @Test
+    public void pageQuietForLongerThanTheWindow_isIdleAtOnce() {
+        counter.add(List.of(0L, 5_000L));
+
+        Assert.assertTrue(waits.waitForNetworkIdle(500, 0, 2, 20));
+        Assert.assertEquals(reads.get(), 1);
+    }
+
+    @Test
+    public void wait_lastsUntilRequestsFinishAndTheWindowPasses() {
+        counter.add(List.of(2L, 0L));
+        counter.add(List.of(1L, 0L));
+        counter.add(List.of(0L, 0L));
+
+        long start = System.currentTimeMillis();
+        Assert.assertTrue(waits.waitForNetworkIdle(200, 0, 5, 20));
+
+        Assert.assertTrue(reads.get() >= 3);
+        Assert.assertTrue(System.currentTimeMillis() - start >= 200);
+    }
+
+    @Test
+    public void requestsWithinTheInflightLimit_countAsIdle() {
+        counter.add(List.of(1L, 1_000L));
+
+        Assert.assertTrue(waits.waitForNetworkIdle(300, 1, 2, 20));
+        Assert.assertEquals(waits.getInflightRequestCount(), 1);
+    }
+
+    @Test
+    public void trafficThatNeverSettles_timesOut() {
+        counter.add(List.of(3L, 0L));
+
+        TimeoutException e = Assert.expectThrows(TimeoutException.class, () -> waits.waitForNetworkIdle(100, 0, 1, 50));
+        Assert.assertTrue(e.getMessage().contains("3 request(s) in flight"), e.getMessage());
+    }
+
+    /** A Chromium-like driver whose DevTools connection has {@code session} as its current session. */
+    private WebDriver cdpDriver(DevTools devTools, AtomicReference<SessionID> session) {
+        WebDriver cdpDriver = Mockito.mock(WebDriver.class, Mockito.withSettings().extraInterfaces(
+                HasDevTools.class, JavascriptExecutor.class));
+        Mockito.when(((HasDevTools) cdpDriver).getDevTools()).thenReturn(devTools);
+        Mockito.when(devTools.getCdpSession()).thenAnswer(inv -> session.get());
+        Mockito.doAnswer(inv -> session.compareAndSet(null, new SessionID("tracker")))
+                .when(devTools).createSessionIfThereIsNotOne(Mockito.anyString());
+        Mockito.when(((JavascriptExecutor) cdpDriver).executeScript(Mockito.anyString(), Mockito.any(Object[].class)))
+                .thenReturn(List.of(0L, 5_000L));
+        return cdpDriver;
+    }
+
+    private static void verifySharedSessionUntouched(DevTools devTools) {
+        Mockito.verify(devTools, Mockito.never()).clearListeners();
+        Mockito.verify(devTools, Mockito.never()).createSession();
+        Mockito.verify(devTools, Mockito.never()).createSession(Mockito.anyString());
+    }
+
+    @Test
+    public void cdpTracking_staysOnTheWindowItsSessionWasOpenedFor() {
+        DevTools devTools = Mockito.mock(DevTools.class);
+        WebDriver cdpDriver = cdpDriver(devTools, new AtomicReference<>());
+        Mockito.when(cdpDriver.getWindowHandle()).thenReturn("first", "first", "second");
+        WaitActions<WebDriver> cdpWaits = new WaitActions<>(cdpDriver);
+
+        cdpWaits.waitForNetworkIdle(0, 0, 1, 20);
+        cdpWaits.waitForNetworkIdle(0, 0, 1, 20);
+        cdpWaits.waitForNetworkIdle(0, 0, 1, 20);
+
+        Mockito.verify(devTools).createSessionIfThereIsNotOne("first");
+        Mockito.verify((JavascriptExecutor) cdpDriver).executeScript(Mockito.anyString(), Mockito.any(Object[].class));
+        verifySharedSessionUntouched(devTools);
+    }
+
+    @Test
+    public void cdpTimeout_keepsTheSessionAndItsListeners() {
+        DevTools devTools = Mockito.mock(DevTools.class);
+        WebDriver cdpDriver = cdpDriver(devTools, new AtomicReference<>());
+        Mockito.when(cdpDriver.getWindowHandle()).thenReturn("only");
+        WaitActions<WebDriver> cdpWaits = new WaitActions<>(cdpDriver);
+
+        // No CDP events arrive, so the count never changes and a long quiet window cannot pass.
+        Assert.expectThrows(TimeoutException.class, () -> cdpWaits.waitForNetworkIdle(5_000, 0, 0, 20));
+        cdpWaits.waitForNetworkIdle(0, 0, 1, 20);
+
+        Mockito.verify(devTools, Mockito.times(1)).createSessionIfThereIsNotOne("only");
+        verifySharedSessionUntouched(devTools);
+    }
+
+    @Test
+    public void sessionOpenedElsewhere_isLeftAlone() {
+        DevTools devTools = Mockito.mock(DevTools.class);
+        WebDriver cdpDriver = cdpDriver(devTools, new AtomicReference<>(new SessionID("recording")));
+        Mockito.when(cdpDriver.getWindowHandle()).thenReturn("only");
+
+        Assert.assertTrue(new WaitActions<>(cdpDriver).waitForNetworkIdle(0, 0, 1, 20));
+
+        Mockito.verify(devTools, Mockito.never()).createSessionIfThereIsNotOne(Mockito.anyString());
+        Mockito.verify(devTools, Mockito.never()).addListener(Mockito.any(), Mockito.any());
+        Mockito.verify(devTools, Mockito.never()).send(Mockito.any());
+        verifySharedSessionUntouched(devTools);
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void replacedSession_stopsTheTrackerWithoutTouchingTheNewOne() {
+        DevTools devTools = Mockito.mock(DevTools.class);
+        AtomicReference<SessionID> session = new AtomicReference<>();
+        WebDriver cdpDriver = cdpDriver(devTools, session);
+        Mockito.when(cdpDriver.getWindowHandle()).thenReturn("only");
+        Mockito.when(((JavascriptExecutor) cdpDriver).executeScript(Mockito.anyString(), Mockito.any(Object[].class)))
+                .thenReturn(List.of(4L, 0L));
+
+        Assert.assertEquals(NetworkIdleWait.sample(cdpDriver).inflight(), 0);
+        ArgumentCaptor<Consumer> listeners = ArgumentCaptor.forClass(Consumer.class);
+        Mockito.verify(devTools, Mockito.times(3)).addListener(Mockito.any(), listeners.capture());
+        Consumer requestWillBeSent = listeners.getAllValues().get(0);
+        requestWillBeSent.accept(Map.of("type", "XHR", "requestId", "1"));
+        Assert.assertEquals(NetworkIdleWait.sample(cdpDriver).inflight(), 1);
+
+        // Screen recording opens its own session on the shared connection.
+        session.set(new SessionID("recording"));
+        requestWillBeSent.accept(Map.of("type", "XHR", "requestId", "2"));
+
+        Assert.assertEquals(NetworkIdleWait.sample(cdpDriver).inflight(), 4, "falls back to the page counter");
+        Mockito.verify(devTools, Mockito.times(1)).send(Mockito.any());
+        verifySharedSessionUntouched(devTools);
+    }
+
+    @Test
+    public void driverWithoutJavaScriptOrDevTools_isRejected() {
+        WaitActions<WebDriver> plain = new WaitActions<>(Mockito.mock(WebDriver.class));
+
+        WebDriverException e = Assert.expectThrows(WebDriverException.class, () -> plain.waitForNetworkIdle(100, 0, 1, 20));
+        Assert.assertFalse(e instanceof TimeoutException);
+        Assert.assertTrue(e.getMessage().contains("JavaScript or DevTools"), e.getMessage());
+    }
+}
@@ -4,12 +4,21 @@ import Ellithium.core.ai.vision.AIVisionRCA;
 import Ellithium.Utilities.ai.LLMProvider;
 import Ellithium.core.ai.config.AIConfigLoader;
 
+import org.mockito.ArgumentCaptor;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -105,4 +114,85 @@ public class AIVisionRCATest {
             verify(provider, times(1)).askWithVision(anyString(), any(byte[].class));
         }
     }
+
+    @Test
+    public void testAnalyzeAsync_IdenticalFailures_AnalyzedOnce() throws Exception {
+        try (MockedStatic<AIConfigLoader> configMock = Mockito.mockStatic(AIConfigLoader.class)) {
+            configMock.when(AIConfigLoader::isVisionRcaEnabled).thenReturn(true);
+            configMock.when(AIConfigLoader::isVisionRcaAsync).thenReturn(true);
+            configMock.when(AIConfigLoader::getVisionRcaPoolSize).thenReturn(1);
+            configMock.when(AIConfigLoader::getVisionRcaQueueCapacity).thenReturn(4);
+            configMock.when(AIConfigLoader::getVisionRcaMaxDimension).thenReturn(64);
+            configMock.when(AIConfigLoader::getVisionRcaJpegQuality).thenReturn(0.7);
+
+            LLMProvider provider = mock(LLMProvider.class);
+            when(provider.supportsVision()).thenReturn(true);
+            when(provider.askWithVision(anyString(), any(byte[].class))).thenReturn("Backend error page shown.");
+
+            BufferedImage image = new BufferedImage(400, 300, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = image.createGraphics();
+            g.setColor(Color.RED);
+            g.fillRect(50, 50, 200, 100);
+            g.dispose();
+            File first = File.createTempFile("rca-first", ".png");
+            File second = File.createTempFile("rca-second", ".png");
+            first.deleteOnExit();
+            second.deleteOnExit();
+            ImageIO.write(image, "png", first);
+            ImageIO.write(image, "png", second);
+
+            CompletableFuture<String> a = AIVisionRCA.analyzeAsync(first,
+                    new RuntimeException("Connection refused: localhost:8081"), provider);
+            CompletableFuture<String> b = AIVisionRCA.analyzeAsync(second,
+                    new RuntimeException("Connection refused: localhost:9090"), provider);
+
+            Assert.assertNotNull(a);
+            Assert.assertNotNull(b);
+            Assert.assertEquals(a.get(10, TimeUnit.SECONDS), "Backend error page shown.");
+            Assert.assertEquals(b.get(10, TimeUnit.SECONDS), "Backend error page shown.");
+
+            ArgumentCaptor<byte[]> upload = ArgumentCaptor.forClass(byte[].class);
+            verify(provider, times(1)).askWithVision(anyString(), upload.capture());
+            BufferedImage sent = ImageIO.read(new ByteArrayInputStream(upload.getValue()));
+            Assert.assertTrue(Math.max(sent.getWidth(), sent.getHeight()) <= 64,
+                    "Screenshot must be downscaled before upload");
+
+            AIVisionRCA.awaitPending(5_000);
+        }
+    }
+
+    @Test
+    public void testAnalyzeAsync_FailedAnalysis_IsRetriedByNextIdenticalFailure() throws Exception {
+        try (MockedStatic<AIConfigLoader> configMock = Mockito.mockStatic(AIConfigLoader.class)) {
+            configMock.when(AIConfigLoader::isVisionRcaEnabled).thenReturn(true);
+            configMock.when(AIConfigLoader::isVisionRcaAsync).thenReturn(true);
+            configMock.when(AIConfigLoader::getVisionRcaPoolSize).thenReturn(1);
+            configMock.when(AIConfigLoader::getVisionRcaQueueCapacity).thenReturn(4);
+            configMock.when(AIConfigLoader::getVisionRcaMaxDimension).thenReturn(64);
+            configMock.when(AIConfigLoader::getVisionRcaJpegQuality).thenReturn(0.7);
+
+            LLMProvider provider = mock(LLMProvider.class);
+            when(provider.supportsVision()).thenReturn(true);
+            when(provider.askWithVision(anyString(), any(byte[].class)))
+                    .thenThrow(new RuntimeException("rate limited"))
+                    .thenReturn("Login form shows an error banner.");
+
+            BufferedImage image = new BufferedImage(200, 100, BufferedImage.TYPE_INT_RGB);
+            File screenshot = File.createTempFile("rca-retry", ".png");
+            screenshot.deleteOnExit();
+            ImageIO.write(image, "png", screenshot);
+            RuntimeException failure = new RuntimeException("Element not found: #login");
+
+            CompletableFuture<String> first = AIVisionRCA.analyzeAsync(screenshot, failure, provider);
+            Assert.assertNotNull(first);
+            Assert.assertThrows(Exception.class, () -> first.get(10, TimeUnit.SECONDS));
+
+            CompletableFuture<String> second = AIVisionRCA.analyzeAsync(screenshot, failure, provider);
+            Assert.assertNotNull(second);
+            Assert.assertEquals(second.get(10, TimeUnit.SECONDS), "Login form shows an error banner.");
+            verify(provider, times(2)).askWithVision(anyString(), any(byte[].class));
+
+            AIVisionRCA.awaitPending(5_000);
+        }
+    }
 }
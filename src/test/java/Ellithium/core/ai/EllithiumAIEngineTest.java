@@ -11,6 +11,7 @@ import org.testng.annotations.Test;
 import java.io.File;
 import java.nio.file.Files;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -82,6 +83,45 @@ public class EllithiumAIEngineTest {
         }
     }
 
+    @Test
+    public void testGenerateFrom_ConcurrentPrompts_WritesInInputOrder() throws Exception {
+        LLMProvider provider = mock(LLMProvider.class);
+        when(provider.ask(anyString(), anyString())).thenAnswer(inv -> {
+            String prompt = inv.getArgument(1);
+            String id = prompt.substring(prompt.indexOf("ID: ") + 4, prompt.indexOf('\n', prompt.indexOf("ID: ")));
+            String n = id.replaceAll("\\D", "");
+            // Earlier cases answer slower so completion order is the reverse of input order
+            Thread.sleep(Math.max(0, 300 - Integer.parseInt(n) * 100L));
+            return "{\"pomClass\":\"OrderPage" + n + "\",\"pomPackage\":\"pages\","
+                    + "\"testClass\":\"OrderTest" + n + "\",\"testPackage\":\"tests\","
+                    + "\"testMethod\":\"testOrder" + n + "\",\"testBody\":\"int x = " + n + ";\"}";
+        });
+
+        File reqFile = File.createTempFile("req-order", ".txt");
+        Files.write(reqFile.toPath(), ("ID: TC-1\nFirst case\n\nID: TC-2\nSecond case\n\nID: TC-3\nThird case\n").getBytes());
+        reqFile.deleteOnExit();
+        File outputRoot = Files.createTempDirectory("ai-gen-order").toFile();
+        outputRoot.deleteOnExit();
+
+        EllithiumAIEngine engine = new EllithiumAIEngine(provider, outputRoot.getAbsolutePath(),
+                outputRoot.getAbsolutePath(), false);
+        try (MockedStatic<TraceabilityManager> traceMock = Mockito.mockStatic(TraceabilityManager.class)) {
+            traceMock.when(() -> TraceabilityManager.isAlreadyGenerated(anyString(), anyString())).thenReturn(false);
+            List<String> saved = new CopyOnWriteArrayList<>();
+            traceMock.when(() -> TraceabilityManager.saveRecord(any(TraceabilityRecord.class)))
+                    .thenAnswer(inv -> {
+                        saved.add(((TraceabilityRecord) inv.getArgument(0)).getSource().getTestId());
+                        return null;
+                    });
+
+            engine.generateFrom(reqFile.getAbsolutePath());
+
+            Assert.assertEquals(saved, List.of("TC-1", "TC-2", "TC-3"),
+                    "Write stage must follow input order regardless of LLM completion order");
+        }
+        verify(provider, times(3)).ask(anyString(), anyString());
+    }
+
     @Test
     public void testGenerateFrom_WithMissingFile_DoesNotCrash() throws Exception {
         LLMProvider provider = mock(LLMProvider.class);
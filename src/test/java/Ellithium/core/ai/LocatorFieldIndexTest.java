@@ -0,0 +1,150 @@
+package Ellithium.core.ai;
+
+import org.openqa.selenium.By;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+public class LocatorFieldIndexTest {
+
+    private Path root;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        Files.createDirectories(Path.of("target"));
+        root = Files.createTempDirectory(Path.of("target"), "lfi-test-");
+        LocatorFieldIndex.useRoots(List.of(root));
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        LocatorFieldIndex.useRoots(null);
+        try (var stream = Files.walk(root)) {
+            stream.sorted(java.util.Comparator.reverseOrder())
+                  .forEach(p -> { try { Files.deleteIfExists(p); } catch (IOException ignored) {} });
+        }
+    }
+
+    private Path write(String pkgPath, String className, String body) throws IOException {
+        Path file = root.resolve(pkgPath).resolve(className + ".java");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, body);
+        return file;
+    }
+
+    @Test
+    public void literalInitializer_resolvesFieldInCallersFile() throws IOException {
+        write("pages", "LoginPage", """
+                package pages;
+                import org.openqa.selenium.By;
+                public class LoginPage {
+                    private final By userField = By.id("user");
+                    private final By loginBtn = By.cssSelector("#login");
+                    public void login() { click(loginBtn); }
+                    void click(By b) {}
+                }
+                """);
+
+        LocatorFieldIndex.Entry entry = LocatorFieldIndex.lookup("pages.LoginPage", 6, By.cssSelector("#login"));
+
+        Assert.assertNotNull(entry);
+        Assert.assertEquals(entry.fieldName(), "loginBtn");
+        Assert.assertEquals(entry.className(), "pages.LoginPage");
+        Assert.assertEquals(entry.line(), 5);
+    }
+
+    @Test
+    public void nonLiteralInitializer_resolvesThroughCallSiteReference() throws IOException {
+        write("pages", "CartPage", """
+                package pages;
+                import org.openqa.selenium.By;
+                public class CartPage {
+                    private static final String ROW = "cart-row";
+                    private final By rowLink = By.id(ROW + "-link");
+                    public void open() {
+                        click(this.rowLink);
+                    }
+                    void click(By b) {}
+                }
+                """);
+
+        LocatorFieldIndex.Entry entry = LocatorFieldIndex.lookup("pages.CartPage", 7, By.id("cart-row-link"));
+
+        Assert.assertNotNull(entry);
+        Assert.assertEquals(entry.fieldName(), "rowLink");
+    }
+
+    @Test
+    public void locatorDeclaredInAnotherClass_resolvesFromFullIndexUnlessAmbiguous() throws Exception {
+        write("pages", "Locators", """
+                package pages;
+                import org.openqa.selenium.By;
+                public final class Locators {
+                    public static final By SUBMIT = By.name("submit");
+                    public static final By SEARCH = By.name("q");
+                }
+                """);
+        write("pages", "Other", """
+                package pages;
+                import org.openqa.selenium.By;
+                class Other { By search = By.name("q"); }
+                """);
+        write("tests", "FlowTest", """
+                package tests;
+                public class FlowTest { void run() { } }
+                """);
+
+        Assert.assertNull(LocatorFieldIndex.lookup("tests.FlowTest", 2, By.name("submit")),
+                "misses until the background index is built");
+        awaitFullIndex();
+
+        Assert.assertEquals(LocatorFieldIndex.lookup("tests.FlowTest", 2, By.name("submit")).fieldName(), "SUBMIT");
+        Assert.assertNull(LocatorFieldIndex.lookup("tests.FlowTest", 2, By.name("q")), "two fields share the literal");
+        Assert.assertNull(LocatorFieldIndex.lookupInCallerFile("tests.FlowTest", 2, By.name("submit")),
+                "only the caller's own file");
+    }
+
+    private static void awaitFullIndex() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!LocatorFieldIndex.isFullyIndexed() && System.currentTimeMillis() < deadline) {
+            LocatorFieldIndex.preWarmAsync();
+            Thread.sleep(20);
+        }
+        Assert.assertTrue(LocatorFieldIndex.isFullyIndexed());
+    }
+
+    @Test
+    public void changedFile_isReparsed() throws IOException {
+        Path file = write("pages", "HomePage", """
+                package pages;
+                import org.openqa.selenium.By;
+                public class HomePage { By banner = By.id("banner"); }
+                """);
+        Assert.assertEquals(LocatorFieldIndex.lookup("pages.HomePage", 3, By.id("banner")).fieldName(), "banner");
+
+        Files.writeString(file, """
+                package pages;
+                import org.openqa.selenium.By;
+                public class HomePage { By heroBanner = By.id("banner"); }
+                """);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+
+        Assert.assertEquals(LocatorFieldIndex.lookup("pages.HomePage", 3, By.id("banner")).fieldName(), "heroBanner");
+    }
+
+    @Test
+    public void literalKey_matchesByToString() {
+        Assert.assertEquals(LocatorFieldIndex.literalKey(
+                com.github.javaparser.StaticJavaParser.parseExpression("By.xpath(\"//a[@id='x']\")")),
+                By.xpath("//a[@id='x']").toString());
+        Assert.assertNull(LocatorFieldIndex.literalKey(
+                com.github.javaparser.StaticJavaParser.parseExpression("By.id(PREFIX + \"x\")")));
+    }
+}
@@ -0,0 +1,111 @@
+package Ellithium.core.ai;
+
+import Ellithium.core.ai.models.GeneratedAssets;
+import Ellithium.core.ai.models.TestCaseSource;
+import Ellithium.core.ai.models.TraceabilityRecord;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+public class TraceabilityManagerTest {
+
+    private Path tempDir;
+    private Path mappingFile;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("traceability-test-");
+        mappingFile = tempDir.resolve("mappings.json");
+        TraceabilityManager.useMappingFile(mappingFile.toString());
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        TraceabilityManager.useMappingFile(null);
+        try (var stream = Files.walk(tempDir)) {
+            stream.sorted(java.util.Comparator.reverseOrder())
+                  .forEach(p -> { try { Files.deleteIfExists(p); } catch (IOException ignored) {} });
+        }
+    }
+
+    private static TraceabilityRecord record(String testId, String sourceFile, String testMethod) {
+        GeneratedAssets assets = new GeneratedAssets();
+        assets.setTestMethod(testMethod);
+        return new TraceabilityRecord(new TestCaseSource(testId, sourceFile, "desc"), assets);
+    }
+
+    @Test
+    public void saveRecord_thenLookup_findsRecordWithoutSnapshot() {
+        TraceabilityManager.saveRecord(record("TC-1", "cases.json", "m1"));
+
+        Assert.assertTrue(TraceabilityManager.isAlreadyGenerated("TC-1", "cases.json"));
+        Assert.assertFalse(TraceabilityManager.isAlreadyGenerated("TC-2", "cases.json"));
+        Assert.assertFalse(Files.exists(mappingFile), "writes go to the append-only log until compaction");
+    }
+
+    @Test
+    public void saveRecord_sameKey_replacesPreviousRecord() {
+        TraceabilityManager.saveRecord(record("TC-1", "cases.json", "first"));
+        TraceabilityManager.saveRecord(record("TC-1", "./cases.json", "second"));
+
+        List<TraceabilityRecord> all = TraceabilityManager.loadAllRecords();
+        Assert.assertEquals(all.size(), 1);
+        Assert.assertEquals(all.get(0).getAssets().getTestMethod(), "second");
+    }
+
+    @Test
+    public void compact_foldsLogIntoSnapshotAndSurvivesReload() throws IOException {
+        TraceabilityManager.saveRecord(record("TC-1", "cases.json", "m1"));
+        TraceabilityManager.saveRecord(record("TC-2", "cases.json", "m2"));
+        TraceabilityManager.compact();
+
+        Assert.assertTrue(Files.exists(mappingFile));
+        Assert.assertEquals(Files.size(Path.of(mappingFile + ".log")), 0L);
+
+        TraceabilityManager.useMappingFile(mappingFile.toString());
+        Assert.assertTrue(TraceabilityManager.isAlreadyGenerated("TC-1", "cases.json"));
+        Assert.assertTrue(TraceabilityManager.isAlreadyGenerated("TC-2", "cases.json"));
+    }
+
+    @Test
+    public void isAlreadyGenerated_seesEntriesAppendedByAnotherProcess() throws IOException {
+        TraceabilityManager.saveRecord(record("TC-1", "cases.json", "m1"));
+        Assert.assertFalse(TraceabilityManager.isAlreadyGenerated("TC-9", "cases.json"));
+
+        String foreign = new com.google.gson.Gson().toJson(record("TC-9", "cases.json", "m9")) + "\n";
+        Files.writeString(Path.of(mappingFile + ".log"), foreign, StandardOpenOption.APPEND);
+
+        Assert.assertTrue(TraceabilityManager.isAlreadyGenerated("TC-9", "cases.json"));
+    }
+
+    @Test
+    public void isAlreadyGenerated_ignoresPartialTrailingLine() throws IOException {
+        TraceabilityManager.saveRecord(record("TC-1", "cases.json", "m1"));
+        Files.writeString(Path.of(mappingFile + ".log"), "{\"source\":{\"testId\":\"TC-", StandardOpenOption.APPEND);
+
+        Assert.assertTrue(TraceabilityManager.isAlreadyGenerated("TC-1", "cases.json"));
+        Assert.assertEquals(TraceabilityManager.loadAllRecords().size(), 1);
+    }
+
+    @Test
+    public void saveRecord_afterAnInterruptedWrite_dropsTheFragment() throws IOException {
+        TraceabilityManager.saveRecord(record("TC-1", "cases.json", "m1"));
+        Files.writeString(Path.of(mappingFile + ".log"), "{\"source\":{\"testId\":\"TC-", StandardOpenOption.APPEND);
+
+        TraceabilityManager.saveRecord(record("TC-2", "cases.json", "m2"));
+
+        List<String> lines = Files.readAllLines(Path.of(mappingFile + ".log"));
+        Assert.assertEquals(lines.size(), 2);
+        Assert.assertTrue(lines.get(1).contains("TC-2"), lines.get(1));
+        TraceabilityManager.useMappingFile(mappingFile.toString());
+        Assert.assertTrue(TraceabilityManager.isAlreadyGenerated("TC-2", "cases.json"));
+        Assert.assertEquals(TraceabilityManager.loadAllRecords().size(), 2);
+    }
+}
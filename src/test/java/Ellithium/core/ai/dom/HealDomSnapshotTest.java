@@ -0,0 +1,105 @@
+package Ellithium.core.ai.dom;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class HealDomSnapshotTest {
+
+    private WebDriver driver;
+    private JavascriptExecutor js;
+    private WebElement button;
+    private WebElement input;
+
+    @BeforeMethod
+    public void setUp() {
+        driver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        js = (JavascriptExecutor) driver;
+        button = mock(WebElement.class);
+        input = mock(WebElement.class);
+
+        Map<String, Object> snap = new HashMap<>();
+        snap.put("elements", List.of(button, input));
+        snap.put("rows", List.of(row("button", "submit"), row("input", "email")));
+        snap.put("tagView", List.of(0L));
+        snap.put("priorityView", List.of(1L, 0L));
+        snap.put("ax", "Page: Login\n[button] Sign in");
+        snap.put("html", null);
+        when(js.executeScript(anyString(), any(Object[].class))).thenAnswer(inv -> {
+            String script = inv.getArgument(0);
+            if (script.startsWith("return arguments[0].map(")) {
+                List<?> els = inv.getArgument(1);
+                List<Map<String, Object>> rows = new ArrayList<>();
+                for (int i = 0; i < els.size(); i++) rows.add(row("a", "extra-" + i));
+                return rows;
+            }
+            return snap;
+        });
+    }
+
+    private static Map<String, Object> row(String tag, String id) {
+        Map<String, Object> r = new HashMap<>();
+        r.put("tag", tag);
+        r.put("id", id);
+        r.put("visible", true);
+        return r;
+    }
+
+    @Test
+    public void allTiersReadFromOneCapture() {
+        HealDomSnapshot snapshot = new HealDomSnapshot(driver, "BUTTON");
+        Assert.assertFalse(snapshot.isCaptured(), "capture is lazy");
+
+        HealDomSnapshot.View tier1 = snapshot.tagView("button");
+        HealDomSnapshot.View tier2 = snapshot.priorityView();
+        String prompt = snapshot.promptDom();
+
+        Assert.assertEquals(tier1.elements(), List.of(button));
+        Assert.assertEquals(tier2.elements(), List.of(input, button));
+        Assert.assertEquals(tier2.attributes().get(0).get("id"), "email");
+        Assert.assertEquals(snapshot.attributesOf(button).get("id"), "submit");
+        Assert.assertTrue(prompt.contains("Sign in"));
+        verify(js, times(1)).executeScript(anyString(), any(Object[].class));
+    }
+
+    @Test
+    public void tagViewIsWithheldForADifferentBaselineTag() {
+        HealDomSnapshot snapshot = new HealDomSnapshot(driver, "button");
+        Assert.assertNull(snapshot.tagView("input"));
+        Assert.assertNotNull(snapshot.priorityView());
+    }
+
+    @Test
+    public void attributesFor_batchesOnlyElementsOutsideTheSnapshot() {
+        HealDomSnapshot snapshot = new HealDomSnapshot(driver, "button");
+        WebElement resolverHit = mock(WebElement.class);
+
+        List<Map<String, Object>> rows = snapshot.attributesFor(List.of(resolverHit, input, button));
+
+        Assert.assertEquals(rows.get(0).get("id"), "extra-0");
+        Assert.assertEquals(rows.get(1).get("id"), "email");
+        Assert.assertEquals(rows.get(2).get("id"), "submit");
+        verify(js, times(2)).executeScript(anyString(), any(Object[].class));
+    }
+
+    @Test
+    public void driverWithoutJavascript_isUnavailable() {
+        HealDomSnapshot snapshot = new HealDomSnapshot(mock(WebDriver.class), "button");
+        Assert.assertFalse(snapshot.isAvailable());
+        Assert.assertNull(snapshot.priorityView());
+        Assert.assertNull(snapshot.promptDom());
+        Assert.assertTrue(snapshot.isCaptured());
+    }
+}
@@ -0,0 +1,109 @@
+package Ellithium.core.ai.dom;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class PinnedScriptsTest {
+
+    private static final String SOURCE = "return arguments[0] + 1;";
+
+    /** A page that keeps pinned functions until {@link #navigate()} is called. */
+    private static List<String> stubPage(JavascriptExecutor js, boolean[] defined) {
+        List<String> sent = new ArrayList<>();
+        when(js.executeScript(anyString(), any(Object[].class))).thenAnswer(inv -> {
+            String script = inv.getArgument(0);
+            sent.add(script);
+            if (script.startsWith("var f=window.__ellPinned")) {
+                return defined[0] ? 42L : PinnedScripts.MISSING;
+            }
+            if (script.startsWith("window.__ellPinned=")) defined[0] = true;
+            return 42L;
+        });
+        return sent;
+    }
+
+    @Test
+    public void driverWithoutSession_getsTheFullSource() {
+        WebDriver driver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        when(((JavascriptExecutor) driver).executeScript(anyString(), any(Object[].class))).thenReturn(7L);
+        PinnedScripts.Script script = PinnedScripts.register("plain", SOURCE);
+
+        Assert.assertEquals(PinnedScripts.execute(driver, script, 6L), 7L);
+        verify((JavascriptExecutor) driver).executeScript(eq(SOURCE), any(Object[].class));
+    }
+
+    @Test
+    public void remoteSession_definesOncePerDocumentThenCallsByName() {
+        RemoteWebDriver driver = mock(RemoteWebDriver.class);
+        boolean[] defined = {false};
+        List<String> sent = stubPage(driver, defined);
+        PinnedScripts.Script script = PinnedScripts.register("perDocument", SOURCE);
+
+        Assert.assertEquals(PinnedScripts.execute(driver, script, 1L), 42L);
+        Assert.assertEquals(PinnedScripts.execute(driver, script, 1L), 42L);
+        Assert.assertEquals(PinnedScripts.execute(driver, script, 1L), 42L);
+
+        Assert.assertEquals(sent.size(), 4, "one miss + one define-and-call, then two calls by name");
+        Assert.assertTrue(sent.get(1).contains(SOURCE));
+        Assert.assertFalse(sent.get(2).contains(SOURCE));
+        Assert.assertFalse(sent.get(3).contains(SOURCE));
+        PinnedScripts.forget(driver);
+    }
+
+    @Test
+    public void chromium_pinsForNewDocumentsViaCdpOnce() {
+        ChromiumDriver driver = mock(ChromiumDriver.class);
+        boolean[] defined = {true};
+        List<String> sent = stubPage(driver, defined);
+        PinnedScripts.Script script = PinnedScripts.register("cdp", SOURCE);
+
+        PinnedScripts.execute(driver, script, 1L);
+        PinnedScripts.execute(driver, script, 1L);
+
+        verify(driver, times(1)).executeCdpCommand(eq("Page.addScriptToEvaluateOnNewDocument"),
+                argThat((Map<String, Object> m) -> String.valueOf(m.get("source")).contains(SOURCE)));
+        Assert.assertTrue(sent.stream().noneMatch(s -> s.contains(SOURCE)), "source never sent via executeScript");
+        PinnedScripts.forget(driver);
+    }
+
+    @Test
+    public void constantMisses_switchToDefineAndCall() {
+        RemoteWebDriver driver = mock(RemoteWebDriver.class);
+        boolean[] defined = {false};
+        List<String> sent = new ArrayList<>();
+        when(driver.executeScript(anyString(), any(Object[].class))).thenAnswer(inv -> {
+            String script = inv.getArgument(0);
+            sent.add(script);
+            return script.startsWith("var f=window.__ellPinned") ? PinnedScripts.MISSING : 1L;
+        });
+        PinnedScripts.Script script = PinnedScripts.register("churn", SOURCE);
+
+        for (int i = 0; i < 20; i++) PinnedScripts.execute(driver, script);
+        sent.clear();
+        PinnedScripts.execute(driver, script);
+
+        Assert.assertEquals(sent.size(), 1, "no probe round-trip once the driver is known to churn");
+        Assert.assertTrue(sent.get(0).contains(SOURCE));
+        PinnedScripts.forget(driver);
+    }
+
+    @Test
+    public void registeredNameTracksTheSource() {
+        PinnedScripts.Script a = PinnedScripts.register("same", "return 1;");
+        PinnedScripts.Script b = PinnedScripts.register("same", "return 2;");
+        Assert.assertNotEquals(a.call, b.call);
+    }
+}
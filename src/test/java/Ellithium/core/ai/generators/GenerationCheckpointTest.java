@@ -0,0 +1,44 @@
+package Ellithium.core.ai.generators;
+
+import Ellithium.core.ai.models.TestCaseSource;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+public class GenerationCheckpointTest {
+
+    private final TestCaseSource original =
+            new TestCaseSource("TC-CKPT-1", "requirements.txt", "Log in with a valid user", "https://app.example/login");
+
+    @AfterMethod
+    public void tearDown() {
+        GenerationCheckpoint.clear(original);
+    }
+
+    @Test
+    public void savedResponse_isReusedForTheSameCase() {
+        GenerationCheckpoint.save(original, "{\"pomClass\":\"LoginPage\"}");
+
+        TestCaseSource rerun =
+                new TestCaseSource("TC-CKPT-1", "requirements.txt", "Log in with a valid user", "https://app.example/login");
+        Assert.assertEquals(GenerationCheckpoint.load(rerun), "{\"pomClass\":\"LoginPage\"}");
+    }
+
+    @Test
+    public void editedDescription_isPromptedAgain() {
+        GenerationCheckpoint.save(original, "{\"pomClass\":\"LoginPage\"}");
+
+        TestCaseSource edited =
+                new TestCaseSource("TC-CKPT-1", "requirements.txt", "Log in with a locked user", "https://app.example/login");
+        Assert.assertNull(GenerationCheckpoint.load(edited));
+    }
+
+    @Test
+    public void changedTargetUrl_isPromptedAgain() {
+        GenerationCheckpoint.save(original, "{\"pomClass\":\"LoginPage\"}");
+
+        TestCaseSource moved =
+                new TestCaseSource("TC-CKPT-1", "requirements.txt", "Log in with a valid user", "https://app.example/signin");
+        Assert.assertNull(GenerationCheckpoint.load(moved));
+    }
+}
@@ -0,0 +1,68 @@
+package Ellithium.core.ai.generators;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class LiveContextCacheTest {
+
+    private WebDriver driver;
+
+    @BeforeMethod
+    public void setUp() {
+        LiveContextCache.clear();
+        driver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        when(driver.getCurrentUrl()).thenReturn("https://example.com/login");
+        when(((JavascriptExecutor) driver).executeScript(anyString())).thenReturn("120:120:abc");
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        LiveContextCache.clear();
+    }
+
+    @Test
+    public void sameUrlAndFingerprint_capturesOnce() {
+        AtomicInteger captures = new AtomicInteger();
+        String first = LiveContextCache.getOrCapture(driver, () -> "ctx-" + captures.incrementAndGet());
+        String second = LiveContextCache.getOrCapture(driver, () -> "ctx-" + captures.incrementAndGet());
+
+        Assert.assertEquals(first, "ctx-1");
+        Assert.assertEquals(second, "ctx-1");
+        Assert.assertEquals(captures.get(), 1);
+        Assert.assertEquals(LiveContextCache.getHits(), 1);
+        Assert.assertEquals(LiveContextCache.getMisses(), 1);
+        Assert.assertEquals(LiveContextCache.getHitRate(), 0.5, 1e-9);
+        Assert.assertTrue(LiveContextCache.hasSnapshotFor("https://example.com/login"));
+    }
+
+    @Test
+    public void changedFingerprint_recaptures() {
+        AtomicInteger captures = new AtomicInteger();
+        LiveContextCache.getOrCapture(driver, () -> "ctx-" + captures.incrementAndGet());
+        when(((JavascriptExecutor) driver).executeScript(anyString())).thenReturn("121:121:def");
+        String after = LiveContextCache.getOrCapture(driver, () -> "ctx-" + captures.incrementAndGet());
+
+        Assert.assertEquals(after, "ctx-2");
+        Assert.assertEquals(LiveContextCache.getHits(), 0);
+    }
+
+    @Test
+    public void fingerprintFailure_capturesUncached() {
+        when(((JavascriptExecutor) driver).executeScript(anyString())).thenThrow(new RuntimeException("no js"));
+        AtomicInteger captures = new AtomicInteger();
+        LiveContextCache.getOrCapture(driver, () -> "ctx-" + captures.incrementAndGet());
+        LiveContextCache.getOrCapture(driver, () -> "ctx-" + captures.incrementAndGet());
+
+        Assert.assertEquals(captures.get(), 2);
+        Assert.assertFalse(LiveContextCache.hasSnapshotFor("https://example.com/login"));
+    }
+}
@@ -0,0 +1,106 @@
+package Ellithium.core.ai.healing;
+
+import Ellithium.core.ai.models.ElementFingerprint;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+public class BaselineSnapshotMergerTest {
+
+    private Path dir;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("baseline-merge-");
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        try (var walk = Files.walk(dir)) {
+            walk.sorted(java.util.Comparator.reverseOrder())
+                .forEach(p -> { try { Files.deleteIfExists(p); } catch (IOException ignored) {} });
+        }
+    }
+
+    private static String fp(String id, long seen) {
+        return "{\"tagName\":\"button\",\"id\":\"" + id + "\",\"lastSeenEpoch\":" + seen + "}";
+    }
+
+    private Path shard(String name, String json) throws IOException {
+        Path p = dir.resolve(name);
+        Files.writeString(p, json);
+        return p;
+    }
+
+    private static Map<String, List<ElementFingerprint>> read(Path p) throws IOException {
+        return new Gson().fromJson(Files.readString(p),
+                new TypeToken<Map<String, List<ElementFingerprint>>>() {}.getType());
+    }
+
+    @Test
+    public void merge_keepsNewestHistoryPerKeyAndDropsSharedDuplicates() throws IOException {
+        // Both shards restored the same fingerprint (t=100) and each recorded newer ones.
+        Path a = shard("a.json", "{\"page##By.id: save\":[" + fp("save", 100) + "," + fp("save-a", 300) + "]}");
+        Path b = shard("b.json", "{\"page##By.id: save\":[" + fp("save", 100) + "," + fp("save-b", 200) + ","
+                + fp("save-b2", 400) + "],\"page##By.id: other\":[" + fp("other", 50) + "]}");
+        Path out = dir.resolve("merged.json");
+
+        BaselineSnapshotMerger.MergeResult result = BaselineSnapshotMerger.merge(List.of(a, b), out);
+
+        Map<String, List<ElementFingerprint>> merged = read(out);
+        List<ElementFingerprint> save = merged.get("page##By.id: save");
+        Assert.assertEquals(save.size(), BaselineStore.MAX_HISTORY);
+        Assert.assertEquals(save.stream().map(ElementFingerprint::getId).toList(), List.of("save-b", "save-a", "save-b2"),
+                "newest MAX_HISTORY kept, newest last");
+        Assert.assertEquals(merged.get("page##By.id: other").size(), 1);
+        Assert.assertEquals(result.duplicatesDropped(), 1);
+        Assert.assertEquals(result.trimmedByHistory(), 1);
+        Assert.assertEquals(result.locators(), 2);
+        Assert.assertEquals(result.fingerprintsWritten(), 4);
+    }
+
+    @Test
+    public void merge_isIndependentOfInputOrder() throws IOException {
+        Path a = shard("a.json", "{\"k2\":[" + fp("x", 10) + "],\"k1\":[" + fp("p", 5) + "]}");
+        Path b = shard("b.json", "{\"k1\":[" + fp("q", 5) + "," + fp("r", 7) + "]}");
+        Path ab = dir.resolve("ab.json");
+        Path ba = dir.resolve("ba.json");
+
+        BaselineSnapshotMerger.merge(List.of(a, b), ab);
+        BaselineSnapshotMerger.merge(List.of(b, a), ba);
+
+        Assert.assertEquals(Files.readString(ab), Files.readString(ba));
+        Assert.assertTrue(Files.readString(ab).indexOf("\"k1\"") < Files.readString(ab).indexOf("\"k2\""));
+    }
+
+    @Test
+    public void merge_readsLegacyArrayFormatAndSkipsMissingInputs() throws IOException {
+        Path legacy = shard("legacy.json", "[{\"locatorKey\":\"By.id: old\",\"tagName\":\"input\",\"lastSeenEpoch\":1}]");
+        Path out = dir.resolve("out.json");
+
+        BaselineSnapshotMerger.MergeResult result =
+                BaselineSnapshotMerger.merge(List.of(legacy, dir.resolve("missing.json")), out);
+
+        Assert.assertEquals(result.inputs(), 1);
+        Assert.assertTrue(read(out).containsKey("By.id: old"));
+    }
+
+    @Test
+    public void merge_canOverwriteOneOfItsInputs() throws IOException {
+        Path a = shard("a.json", "{\"k\":[" + fp("a", 1) + "]}");
+        Path b = shard("b.json", "{\"k\":[" + fp("b", 2) + "]}");
+
+        BaselineSnapshotMerger.merge(List.of(a, b), a);
+
+        Assert.assertEquals(read(a).get("k").size(), 2);
+    }
+}
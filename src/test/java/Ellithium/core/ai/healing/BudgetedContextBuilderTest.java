@@ -0,0 +1,147 @@
+package Ellithium.core.ai.healing;
+
+import Ellithium.core.ai.models.ElementFingerprint;
+import com.google.gson.Gson;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+
+public class BudgetedContextBuilderTest {
+
+    private static ElementFingerprint fingerprint(String json) {
+        return new Gson().fromJson(json, ElementFingerprint.class);
+    }
+
+    /** An accessibility tree whose only relevant region comes after a lot of unrelated navigation. */
+    private static String largeTree() {
+        StringBuilder sb = new StringBuilder("Page: Checkout\nURL: https://shop.example/checkout\n\n");
+        for (int r = 0; r < 40; r++) {
+            sb.append("[navigation id=menu-").append(r).append("]\n");
+            for (int i = 0; i < 6; i++) {
+                sb.append("  link \"Category ").append(r).append('-').append(i)
+                  .append("\" href=/c/").append(r).append('/').append(i).append('\n');
+            }
+        }
+        sb.append("[form id=payment]\n");
+        sb.append("  textbox \"Card number\" id=card-number name=cardNumber type=text\n");
+        sb.append("  button \"Pay now\" id=pay-now data-testid=pay-button\n");
+        sb.append("[contentinfo]\n");
+        sb.append("  link \"Terms\" href=/terms\n");
+        return sb.toString();
+    }
+
+    @Test
+    public void domWithinBudget_isReturnedUnchanged() {
+        String dom = "Page: Login\n\n[form id=login]\n  button \"Sign in\" id=sign-in\n";
+        BudgetedContextBuilder.Packed packed = BudgetedContextBuilder.pack(dom, List.of(), List.of("sign-in"), 1_000);
+        Assert.assertSame(packed.dom(), dom);
+        Assert.assertEquals(packed.tokensUsed(), packed.tokensBefore());
+        Assert.assertEquals(packed.regionsKept(), 1);
+    }
+
+    @Test
+    public void relevantRegionSurvivesEvenWhenItIsLast() {
+        String dom = largeTree();
+        ElementFingerprint baseline = fingerprint(
+                "{\"tagName\":\"button\",\"id\":\"pay-btn\",\"dataTestId\":\"pay-button\",\"text\":\"Pay now\"}");
+
+        BudgetedContextBuilder.Packed packed =
+                BudgetedContextBuilder.pack(dom, List.of(baseline), List.of("pay-btn"), 200);
+
+        Assert.assertTrue(packed.tokensBefore() > 200);
+        Assert.assertTrue(packed.tokensUsed() <= 200, "used " + packed.tokensUsed());
+        Assert.assertTrue(packed.dom().contains("data-testid=pay-button"), packed.dom());
+        Assert.assertTrue(packed.dom().startsWith("Page: Checkout"), "page header is kept when it fits");
+        Assert.assertTrue(packed.regionsKept() < packed.regionsTotal());
+        Assert.assertTrue(packed.dom().contains("regions omitted"));
+        Assert.assertTrue(BudgetedContextBuilder.countTokens(packed.dom()) <= 200 + 8);
+    }
+
+    @Test
+    public void keptRegionsStayInPageOrder() {
+        BudgetedContextBuilder.Packed packed = BudgetedContextBuilder.pack(largeTree(),
+                List.of(fingerprint("{\"dataTestId\":\"pay-button\"}")), List.of(), 300);
+        String dom = packed.dom();
+        int payment = dom.indexOf("[form id=payment]");
+        Assert.assertTrue(payment > 0);
+        int firstNav = dom.indexOf("[navigation");
+        if (firstNav >= 0) Assert.assertTrue(firstNav < payment, "regions are emitted in page order");
+    }
+
+    @Test
+    public void withoutBaseline_locatorIdentifiersRankTheRegion() {
+        BudgetedContextBuilder.Packed packed =
+                BudgetedContextBuilder.pack(largeTree(), List.of(), List.of("cardNumber", "cardNumberInput"), 120);
+        Assert.assertTrue(packed.dom().contains("name=cardNumber"), packed.dom());
+    }
+
+    @Test
+    public void oversizedRegion_contributesItsBestLines() {
+        StringBuilder sb = new StringBuilder("--- Ungrouped ---\n");
+        for (int i = 0; i < 200; i++) sb.append("<a href=\"/item/").append(i).append("\">Item ").append(i).append("</a>\n");
+        sb.append("<button id=\"checkout\" type=\"submit\">Checkout</button>\n");
+
+        BudgetedContextBuilder.Packed packed = BudgetedContextBuilder.pack(sb.toString(),
+                List.of(fingerprint("{\"tagName\":\"button\",\"id\":\"checkout\"}")), List.of(), 150);
+
+        Assert.assertTrue(packed.dom().startsWith("--- Ungrouped ---"));
+        Assert.assertTrue(packed.dom().contains("id=\"checkout\""));
+        Assert.assertTrue(packed.dom().contains("less relevant lines omitted"));
+    }
+
+    @Test
+    public void pageWithoutLandmarks_isStillBudgeted() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            sb.append("  link \"Item ").append(i).append("\" href=/item/").append(i).append('\n');
+        }
+        sb.append("  button \"Checkout\" id=checkout\n");
+
+        BudgetedContextBuilder.Packed packed =
+                BudgetedContextBuilder.pack(sb.toString(), List.of(), List.of("checkout"), 150);
+
+        Assert.assertTrue(packed.tokensBefore() > 150);
+        Assert.assertTrue(packed.tokensUsed() <= 150, "used " + packed.tokensUsed());
+        Assert.assertTrue(packed.dom().contains("id=checkout"), packed.dom());
+        Assert.assertTrue(packed.dom().contains("less relevant lines omitted"));
+    }
+
+    @Test
+    public void singleOversizedLine_isTruncatedToFit() {
+        String dom = "<div class=\"app\">" + "lorem ipsum ".repeat(2_000) + "</div>";
+
+        BudgetedContextBuilder.Packed packed = BudgetedContextBuilder.pack(dom, List.of(), List.of(), 100);
+
+        Assert.assertTrue(packed.tokensUsed() <= 100, "used " + packed.tokensUsed());
+        Assert.assertTrue(packed.dom().startsWith("<div class=\"app\">lorem ipsum"), packed.dom());
+        Assert.assertTrue(packed.dom().contains("…"));
+    }
+
+    @Test
+    public void attributesOf_readsAccessibilityAndHtmlLines() {
+        Map<String, Object> ax = BudgetedContextBuilder.attributesOf(
+                "    textbox \"Email\" id=email name=user-email data-testid=login-email class=\"form-control input\"");
+        Assert.assertEquals(ax.get("role"), "textbox");
+        Assert.assertEquals(ax.get("aria-label"), "Email");
+        Assert.assertEquals(ax.get("id"), "email");
+        Assert.assertEquals(ax.get("name"), "user-email");
+        Assert.assertEquals(ax.get("data-testid"), "login-email");
+        Assert.assertEquals(ax.get("class"), "form-control input");
+
+        Map<String, Object> html = BudgetedContextBuilder.attributesOf(
+                "<button id=\"go\" data-qa=\"submit\">Go</button>");
+        Assert.assertEquals(html.get("tag"), "button");
+        Assert.assertEquals(html.get("id"), "go");
+        Assert.assertEquals(html.get("data-qa"), "submit");
+        Assert.assertEquals(html.get("text"), "Go");
+    }
+
+    @Test
+    public void hintWords_dropLocatorSyntax() {
+        Assert.assertEquals(BudgetedContextBuilder.hintWords(
+                List.of("//div[contains(@class,'submitOrder')]", "submitButton")),
+                List.of("submit", "order", "button"));
+    }
+}
@@ -0,0 +1,142 @@
+package Ellithium.core.ai.healing;
+
+import Ellithium.core.ai.config.AIConfigLoader;
+import org.mockito.MockedStatic;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class HealCacheStoreTest {
+
+    private Path tempDir;
+    private WebDriver driver;
+    private MockedStatic<AIConfigLoader> config;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        config = mockStatic(AIConfigLoader.class, CALLS_REAL_METHODS);
+        config.when(AIConfigLoader::isHealCachePersistEnabled).thenReturn(true);
+        tempDir = Files.createTempDirectory("heal-cache-test-");
+        HealCacheStore.useFile(tempDir.resolve("healing-cache.json"));
+        AISelfHealer.resetForSuite();
+        driver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        when(driver.getCurrentUrl()).thenReturn("https://app.example/login");
+        when(((JavascriptExecutor) driver).executeScript(anyString())).thenReturn("12:abc");
+        when(driver.findElements(any(By.class))).thenReturn(List.of(mock(WebElement.class)));
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        AISelfHealer.resetForSuite();
+        HealCacheStore.useFile(null);
+        config.close();
+        try (var stream = Files.walk(tempDir)) {
+            stream.sorted(java.util.Comparator.reverseOrder())
+                  .forEach(p -> { try { Files.deleteIfExists(p); } catch (IOException ignored) {} });
+        }
+    }
+
+    @Test
+    public void locatorParts_roundTripWithQuotes() {
+        By original = By.cssSelector("input[name=\"q\"]");
+        String[] parts = HealCacheStore.toParts(original);
+        Assert.assertNotNull(parts);
+        Assert.assertEquals(HealCacheStore.toBy(parts[0], parts[1]), original);
+    }
+
+    @Test
+    public void merge_keepsNewestDropsExpiredAndInvalidated() {
+        long now = System.currentTimeMillis();
+        HealCacheStore.Snapshot disk = new HealCacheStore.Snapshot(List.of(
+                new HealCacheStore.HealedEntry("a", "By.id", "old", "f", now - 10, now + 1_000, null),
+                new HealCacheStore.HealedEntry("b", "By.id", "b", "f", now - 10, now + 1_000, null),
+                new HealCacheStore.HealedEntry("c", "By.id", "c", "f", now - 10, now - 1, null)),
+                List.of(new HealCacheStore.UnhealableEntry("d", now - 10, now + 1_000, null)));
+        HealCacheStore.Snapshot mine = new HealCacheStore.Snapshot(List.of(
+                new HealCacheStore.HealedEntry("a", "By.id", "new", "f", now, now + 1_000, null),
+                new HealCacheStore.HealedEntry("d", "By.id", "d", "f", now, now + 1_000, null)),
+                List.of());
+
+        HealCacheStore.Snapshot merged = HealCacheStore.merge(disk, mine, Set.of("b"), now);
+
+        Assert.assertEquals(merged.healed().stream().map(HealCacheStore.HealedEntry::k).sorted().toList(),
+                List.of("a", "d"));
+        Assert.assertEquals(merged.healed().stream().filter(e -> e.k().equals("a")).findFirst().get().v(), "new");
+        Assert.assertTrue(merged.unhealable().isEmpty(), "a later heal clears the unhealable mark");
+    }
+
+    @Test
+    public void persistedHeal_isRestoredAndValidatedOnFirstUse() {
+        By broken = By.id("old-login");
+        By healed = By.id("new-login");
+        AISelfHealer.cacheHealedLocator(driver, broken, healed, 0.99, "loginButton");
+        AISelfHealer.persistCaches();
+
+        AISelfHealer.resetForSuite();
+        AISelfHealer.loadPersistedCaches();
+
+        Assert.assertEquals(AISelfHealer.getCachedHealedLocator(driver, broken), healed);
+        verify(driver, times(1)).findElements(healed);
+    }
+
+    @Test
+    public void persistedHeal_isDroppedWhenItsLocatorNoLongerResolves() {
+        By broken = By.id("old-login");
+        By healed = By.id("new-login");
+        AISelfHealer.cacheHealedLocator(driver, broken, healed, 0.99, "loginButton");
+        AISelfHealer.persistCaches();
+
+        AISelfHealer.resetForSuite();
+        AISelfHealer.loadPersistedCaches();
+        when(driver.findElements(healed)).thenReturn(List.of());
+
+        Assert.assertNull(AISelfHealer.getCachedHealedLocator(driver, broken));
+    }
+
+    @Test
+    public void cachingAHeal_sendsNoPageFingerprintScript() {
+        AISelfHealer.cacheHealedLocator(driver, By.id("old-login"), By.id("new-login"), 0.99, "loginButton");
+
+        verify((JavascriptExecutor) driver, never()).executeScript(anyString());
+    }
+
+    @Test
+    public void persistedUnhealable_skipsUntilPageChanges() {
+        By broken = By.id("gone");
+        AISelfHealer.markUnhealable(driver, broken);
+        AISelfHealer.persistCaches();
+
+        AISelfHealer.resetForSuite();
+        AISelfHealer.loadPersistedCaches();
+        Assert.assertTrue(AISelfHealer.isKnownUnhealable(driver, broken));
+
+        when(((JavascriptExecutor) driver).executeScript(anyString())).thenReturn("14:def");
+        Assert.assertFalse(AISelfHealer.isKnownUnhealable(driver, broken));
+    }
+
+    @Test
+    public void inRunUnhealable_isClearedWhenThePageChangesWithoutPersistence() {
+        config.when(AIConfigLoader::isHealCachePersistEnabled).thenReturn(false);
+        By broken = By.id("late-render");
+        AISelfHealer.markUnhealable(driver, broken);
+        Assert.assertTrue(AISelfHealer.isKnownUnhealable(driver, broken));
+
+        when(((JavascriptExecutor) driver).executeScript(anyString())).thenReturn("14:def");
+        Assert.assertFalse(AISelfHealer.isKnownUnhealable(driver, broken));
+    }
+}
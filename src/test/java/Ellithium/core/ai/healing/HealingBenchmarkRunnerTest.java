@@ -0,0 +1,90 @@
+package Ellithium.core.ai.healing;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+public class HealingBenchmarkRunnerTest {
+
+    private static final Path CORPUS = Paths.get("src/test/resources/healing-benchmark");
+
+    @Test
+    public void corpus_everyCaseIsRunnable() {
+        List<HealingBenchmarkRunner.Case> cases = HealingBenchmarkRunner.loadCorpus(CORPUS);
+        Assert.assertFalse(cases.isEmpty(), "corpus.json must list cases");
+        for (HealingBenchmarkRunner.Case c : cases) {
+            Assert.assertTrue(Files.isRegularFile(CORPUS.resolve(c.before)), c.id + ": before page missing");
+            Assert.assertTrue(Files.isRegularFile(CORPUS.resolve(c.after)), c.id + ": after page missing");
+            Assert.assertNotNull(HealCacheStore.toBy(c.locator.method, c.locator.value), c.id + ": broken locator");
+            Assert.assertNotNull(HealCacheStore.toBy(c.expected.method, c.expected.value), c.id + ": expected locator");
+        }
+    }
+
+    @Test
+    public void redirectedBaselineFile_isolatesTheStoreFromTheProjectFile() throws Exception {
+        Path workDir = Files.createTempDirectory("heal-bench-test-");
+        Path seeded = workDir.resolve("seeded.json");
+        Files.writeString(seeded, "{\"https://app.example/login::By.id: old\":[{\"locatorKey\":\"By.id: old\","
+                + "\"tagName\":\"button\",\"lastSeenEpoch\":" + System.currentTimeMillis() + "}]}");
+        try {
+            BaselineStore.useFile(seeded);
+            Assert.assertNotNull(BaselineStore.getBaseline("https://app.example/login::By.id: old"));
+
+            BaselineStore.useFile(workDir.resolve("empty.json"));
+            Assert.assertNull(BaselineStore.getBaseline("https://app.example/login::By.id: old"));
+        } finally {
+            BaselineStore.useFile(null);
+            try (var walk = Files.walk(workDir)) {
+                walk.sorted(java.util.Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+
+    @Test
+    public void percentile_usesNearestRank() {
+        List<Double> sorted = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) sorted.add((double) i);
+        Assert.assertEquals(HealingBenchmarkRunner.percentile(sorted, 0.50), 50.0);
+        Assert.assertEquals(HealingBenchmarkRunner.percentile(sorted, 0.99), 99.0);
+        Assert.assertEquals(HealingBenchmarkRunner.percentile(List.of(7.0), 0.99), 7.0);
+        Assert.assertEquals(HealingBenchmarkRunner.percentile(List.of(), 0.50), 0.0);
+    }
+
+    @Test
+    public void summarize_separatesWrongHealsFromMissesAndErrors() {
+        HealingBenchmarkRunner.CaseResult ok = result("a", true, true, 10, 4, 20);
+        HealingBenchmarkRunner.CaseResult wrong = result("b", true, false, 30, 6, 40);
+        HealingBenchmarkRunner.CaseResult miss = result("c", false, false, 20, 5, 30);
+        HealingBenchmarkRunner.CaseResult error = new HealingBenchmarkRunner.CaseResult("d");
+        error.error = "NoSuchElementException";
+
+        HealingBenchmarkRunner.TierReport report =
+                HealingBenchmarkRunner.summarize("tier1", List.of(ok, wrong, miss, error));
+
+        Assert.assertEquals(report.cases, 4);
+        Assert.assertEquals(report.correct, 1);
+        Assert.assertEquals(report.falseHeals, 1);
+        Assert.assertEquals(report.errors, 1);
+        Assert.assertEquals(report.accuracy, 0.25, 1e-9);
+        Assert.assertEquals(report.meanRoundTrips, 5.0, 1e-9);
+        Assert.assertEquals(report.meanCandidates, 30.0, 1e-9);
+        Assert.assertEquals(report.p50LatencyMs, 20.0, 1e-9);
+        Assert.assertEquals(report.p99LatencyMs, 30.0, 1e-9);
+    }
+
+    private static HealingBenchmarkRunner.CaseResult result(String id, boolean healed, boolean correct,
+                                                             double latencyMs, int roundTrips, int candidates) {
+        HealingBenchmarkRunner.CaseResult r = new HealingBenchmarkRunner.CaseResult(id);
+        r.healed = healed;
+        r.correct = correct;
+        r.latencyMs = latencyMs;
+        r.roundTrips = roundTrips;
+        r.candidates = candidates;
+        return r;
+    }
+}
@@ -0,0 +1,168 @@
+package Ellithium.core.ai.healing;
+
+import Ellithium.core.ai.config.AIConfigLoader;
+import Ellithium.core.ai.models.HealOutcome;
+import Ellithium.core.ai.models.HealingRequest;
+import Ellithium.core.ai.spi.HealingTier;
+import org.mockito.MockedStatic;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class PreflightLocatorSweepTest {
+
+    private static final String PAGE = "https://app.example/checkout";
+
+    private WebDriver driver;
+    private MockedStatic<AIConfigLoader> config;
+    private MockedStatic<BaselineStore> baselines;
+
+    @BeforeMethod
+    public void setUp() {
+        config = mockStatic(AIConfigLoader.class, CALLS_REAL_METHODS);
+        config.when(AIConfigLoader::isPreflightEnabled).thenReturn(true);
+        baselines = mockStatic(BaselineStore.class, CALLS_REAL_METHODS);
+        baselines.when(() -> BaselineStore.findAlgorithmicMatch(any(), any())).thenReturn(null);
+        AISelfHealer.resetForSuite();
+        driver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        when(driver.getCurrentUrl()).thenReturn(PAGE);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        AISelfHealer.resetForSuite();
+        baselines.close();
+        config.close();
+    }
+
+    private void knownLocators(List<By> locators, boolean present) {
+        baselines.when(() -> BaselineStore.knownLocators(PAGE))
+                .thenReturn(locators.stream().map(By::toString).toList());
+        when(((JavascriptExecutor) driver).executeScript(eq(PreflightLocatorSweep.VALIDATE_JS), any()))
+                .thenReturn(new ArrayList<>(Collections.nCopies(locators.size(), present)));
+    }
+
+    private void lookupFinds(By broken, By match) {
+        baselines.when(() -> BaselineStore.findAlgorithmicMatch(driver, broken))
+                .thenReturn(HealOutcome.of(mock(WebElement.class), match, 0.95, 1));
+    }
+
+    @Test
+    public void presentLocators_areNotLookedUp() {
+        knownLocators(List.of(By.id("pay"), By.id("cancel")), true);
+
+        PreflightLocatorSweep.onPageLoad(driver);
+
+        baselines.verify(() -> BaselineStore.findAlgorithmicMatch(any(), any()), never());
+        Assert.assertEquals(PreflightLocatorSweep.getCheckedCount(), 2);
+        Assert.assertEquals(PreflightLocatorSweep.getMissingCount(), 0);
+    }
+
+    @Test
+    public void missingLocator_isLookedUpOncePerPage() {
+        By broken = By.id("pay");
+        knownLocators(List.of(broken), false);
+
+        PreflightLocatorSweep.onPageLoad(driver);
+        PreflightLocatorSweep.onPageLoad(driver);
+
+        baselines.verify(() -> BaselineStore.findAlgorithmicMatch(driver, broken), times(1));
+        Assert.assertEquals(PreflightLocatorSweep.getMissingCount(), 2);
+    }
+
+    @Test
+    public void lookups_areCappedPerPageLoad() {
+        List<By> locators = new ArrayList<>();
+        for (int i = 0; i < 7; i++) locators.add(By.id("field-" + i));
+        knownLocators(locators, false);
+
+        PreflightLocatorSweep.onPageLoad(driver);
+        baselines.verify(() -> BaselineStore.findAlgorithmicMatch(any(), any()), times(5));
+
+        PreflightLocatorSweep.onPageLoad(driver);
+        baselines.verify(() -> BaselineStore.findAlgorithmicMatch(any(), any()), times(7));
+    }
+
+    @Test
+    public void missWithoutMatch_leavesNoNegativeMark() {
+        By broken = By.id("pay");
+        knownLocators(List.of(broken), false);
+
+        PreflightLocatorSweep.onPageLoad(driver);
+
+        Assert.assertFalse(AISelfHealer.isKnownUnhealable(driver, broken));
+        Assert.assertFalse(AISelfHealer.hasCacheEntry(PAGE + "##" + broken));
+        Assert.assertNull(PreflightLocatorSweep.suggestionFor(driver, broken));
+    }
+
+    @Test
+    public void lateRender_suggestionDoesNotRedirectTheOriginal() {
+        By broken = By.id("pay");
+        By lookAlike = By.id("pay-later");
+        knownLocators(List.of(broken), false);
+        lookupFinds(broken, lookAlike);
+
+        PreflightLocatorSweep.onPageLoad(driver);
+
+        Assert.assertEquals(PreflightLocatorSweep.suggestionFor(driver, broken).locator(), lookAlike);
+        Assert.assertNull(AISelfHealer.getCachedHealedLocator(driver, broken),
+                "a pre-flight match must not redirect a locator that has not failed");
+        Assert.assertFalse(AISelfHealer.hasCacheEntry(PAGE + "##" + broken));
+        verify(driver, never()).findElements(lookAlike);
+    }
+
+    @Test
+    public void failedOriginal_usesTheSuggestionWithoutCachingIt() {
+        By broken = By.id("pay");
+        By lookAlike = By.id("pay-now");
+        knownLocators(List.of(broken), false);
+        lookupFinds(broken, lookAlike);
+        WebElement element = mock(WebElement.class);
+        when(driver.findElements(lookAlike)).thenReturn(List.of(element));
+        HealingTier tier = mock(HealingTier.class);
+        when(tier.order()).thenReturn(1);
+        when(tier.isAvailable()).thenReturn(true);
+
+        PreflightLocatorSweep.onPageLoad(driver);
+        HealOutcome outcome = new HealingOrchestrator(List.of(tier)).heal(new HealingRequest(
+                driver, broken, new StackTraceElement[0], "findElement", "pay", "payButton", "pay", null));
+
+        Assert.assertNotNull(outcome);
+        Assert.assertSame(outcome.element(), element);
+        Assert.assertEquals(outcome.reconstructedLocator(), lookAlike);
+        verify(tier, never()).heal(any());
+        Assert.assertNull(AISelfHealer.getCachedHealedLocator(driver, broken));
+    }
+
+    @Test
+    public void staleSuggestion_fallsBackToTheCascade() {
+        By broken = By.id("pay");
+        By lookAlike = By.id("pay-now");
+        knownLocators(List.of(broken), false);
+        lookupFinds(broken, lookAlike);
+        when(driver.findElements(lookAlike)).thenReturn(List.of());
+        HealingTier tier = mock(HealingTier.class);
+        when(tier.order()).thenReturn(1);
+        when(tier.isAvailable()).thenReturn(true);
+
+        PreflightLocatorSweep.onPageLoad(driver);
+        new HealingOrchestrator(List.of(tier)).heal(new HealingRequest(
+                driver, broken, new StackTraceElement[0], "findElement", "pay", "payButton", "pay", null));
+
+        verify(tier).heal(any());
+        Assert.assertNull(PreflightLocatorSweep.suggestionFor(driver, broken));
+    }
+}
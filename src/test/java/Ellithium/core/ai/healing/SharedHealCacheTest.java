@@ -0,0 +1,99 @@
+package Ellithium.core.ai.healing;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.params.SetParams;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class SharedHealCacheTest {
+
+    private static final String PREFIX = "test:heal:";
+
+    private JedisPool pool;
+    private Jedis jedis;
+    private final Map<String, String> redis = new HashMap<>();
+    private SharedHealCache cache;
+
+    @BeforeMethod
+    public void setUp() {
+        redis.clear();
+        pool = mock(JedisPool.class);
+        jedis = mock(Jedis.class);
+        when(pool.getResource()).thenReturn(jedis);
+        when(jedis.get(anyString())).thenAnswer(inv -> redis.get(inv.<String>getArgument(0)));
+        when(jedis.set(anyString(), anyString(), any(SetParams.class))).thenAnswer(inv -> {
+            redis.put(inv.getArgument(0), inv.getArgument(1));
+            return "OK";
+        });
+        when(jedis.del(anyString())).thenAnswer(inv -> redis.remove(inv.<String>getArgument(0)) != null ? 1L : 0L);
+        cache = new SharedHealCache(pool, PREFIX, 300, Runnable::run);
+        AISelfHealer.resetForSuite();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        SharedHealCache.use(null);
+        AISelfHealer.resetForSuite();
+    }
+
+    private static HealCacheStore.HealedEntry healed(String key) {
+        long now = System.currentTimeMillis();
+        return new HealCacheStore.HealedEntry(key, "By.id", "pay-now", "payButton", now, now + 60_000, null);
+    }
+
+    @Test
+    public void put_writesThroughWithTtlAndAnnouncesTheChange() {
+        cache.putHealed(healed("page##By.id: pay"));
+
+        Assert.assertTrue(redis.containsKey(PREFIX + "h:page##By.id: pay"));
+        verify(jedis).publish(eq(PREFIX + "invalidate"), startsWith(PREFIX + "h:page##By.id: pay\n"));
+        Assert.assertEquals(cache.getHealed("page##By.id: pay").v(), "pay-now");
+        verify(jedis, never()).get(anyString());   // served from the near cache
+    }
+
+    @Test
+    public void missesAreRememberedUntilAnotherJvmAnnouncesAWrite() {
+        Assert.assertNull(cache.getHealed("page##By.id: pay"));
+        Assert.assertNull(cache.getHealed("page##By.id: pay"));
+        verify(jedis, times(1)).get(PREFIX + "h:page##By.id: pay");
+
+        // Another JVM heals the locator and publishes.
+        redis.put(PREFIX + "h:page##By.id: pay", new com.google.gson.Gson().toJson(healed("page##By.id: pay")));
+        cache.onMessage(PREFIX + "h:page##By.id: pay\nother-jvm");
+
+        Assert.assertNotNull(cache.getHealed("page##By.id: pay"));
+        verify(jedis, times(2)).get(PREFIX + "h:page##By.id: pay");
+    }
+
+    @Test
+    public void healedInAnotherJvm_isAdoptedByAISelfHealerAndVerifiedOnThePage() {
+        SharedHealCache.use(cache);
+        WebDriver driver = mock(WebDriver.class);
+        when(driver.getCurrentUrl()).thenReturn("https://app.example/pay");
+        when(driver.findElements(By.id("pay-now"))).thenReturn(java.util.List.of(mock(org.openqa.selenium.WebElement.class)));
+        String key = AISelfHealer.pageContext(driver) + "##" + By.id("pay");
+        redis.put(PREFIX + "h:" + key, new com.google.gson.Gson().toJson(healed(key)));
+
+        Assert.assertEquals(AISelfHealer.getCachedHealedLocator(driver, By.id("pay")), By.id("pay-now"));
+        verify(driver).findElements(By.id("pay-now"));
+    }
+
+    @Test
+    public void redisFailure_degradesToAMiss() {
+        when(pool.getResource()).thenThrow(new RuntimeException("connection refused"));
+
+        Assert.assertNull(cache.getHealed("page##By.id: pay"));
+        cache.putHealed(healed("page##By.id: pay"));   // must not throw
+    }
+}
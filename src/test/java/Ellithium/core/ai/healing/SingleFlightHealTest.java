@@ -0,0 +1,121 @@
+package Ellithium.core.ai.healing;
+
+import Ellithium.core.ai.models.HealOutcome;
+import Ellithium.core.ai.models.HealingRequest;
+import Ellithium.core.ai.spi.HealingTier;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class SingleFlightHealTest {
+
+    private WebDriver leaderDriver;
+    private WebDriver followerDriver;
+    private final AtomicInteger tierCalls = new AtomicInteger();
+
+    @BeforeMethod
+    public void setUp() {
+        AISelfHealer.resetForSuite();
+        tierCalls.set(0);
+        leaderDriver = mock(WebDriver.class);
+        followerDriver = mock(WebDriver.class);
+        when(leaderDriver.getCurrentUrl()).thenReturn("https://app.example/checkout");
+        when(followerDriver.getCurrentUrl()).thenReturn("https://app.example/checkout");
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        AISelfHealer.resetForSuite();
+    }
+
+    private HealingTier blockingTier(CountDownLatch entered, CountDownLatch release, HealOutcome result) {
+        HealingTier tier = mock(HealingTier.class);
+        when(tier.order()).thenReturn(1);
+        when(tier.isAvailable()).thenReturn(true);
+        when(tier.persistsOwnHeal()).thenReturn(true);
+        when(tier.heal(any())).thenAnswer(inv -> {
+            tierCalls.incrementAndGet();
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return result;
+        });
+        return tier;
+    }
+
+    private static HealingRequest request(WebDriver driver, By broken) {
+        return new HealingRequest(driver, broken, new StackTraceElement[0],
+                "findElement", "pay", "payButton", "pay", null);
+    }
+
+    private static void awaitParked(Thread t) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (t.getState() != Thread.State.TIMED_WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    public void concurrentHeal_runsTiersOnceAndFollowerReResolvesOnItsOwnDriver() throws Exception {
+        By broken = By.id("pay-" + System.nanoTime());
+        By healed = By.id("pay-now");
+        WebElement followerElement = mock(WebElement.class);
+        when(followerDriver.findElements(healed)).thenReturn(List.of(followerElement));
+
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        HealingOrchestrator orchestrator = new HealingOrchestrator(List.of(
+                blockingTier(entered, release, HealOutcome.of(mock(WebElement.class), healed, 0.93, 1))));
+
+        CompletableFuture<HealOutcome> leader =
+                CompletableFuture.supplyAsync(() -> orchestrator.heal(request(leaderDriver, broken)));
+        Assert.assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<HealOutcome> follower = new CompletableFuture<>();
+        Thread followerThread = new Thread(() -> follower.complete(orchestrator.heal(request(followerDriver, broken))));
+        followerThread.start();
+        awaitParked(followerThread);
+        release.countDown();
+
+        HealOutcome followed = follower.get(5, TimeUnit.SECONDS);
+        Assert.assertNotNull(leader.get(5, TimeUnit.SECONDS));
+        Assert.assertEquals(tierCalls.get(), 1, "tiers run once for concurrent identical heals");
+        Assert.assertSame(followed.element(), followerElement);
+        Assert.assertEquals(followed.reconstructedLocator(), healed);
+        Assert.assertEquals(followed.tier(), 1);
+    }
+
+    @Test
+    public void concurrentHeal_followerAcceptsLeadersExhaustedResult() throws Exception {
+        By broken = By.id("gone-" + System.nanoTime());
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        HealingOrchestrator orchestrator = new HealingOrchestrator(List.of(blockingTier(entered, release, null)));
+
+        CompletableFuture<HealOutcome> leader =
+                CompletableFuture.supplyAsync(() -> orchestrator.heal(request(leaderDriver, broken)));
+        Assert.assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<HealOutcome> follower = new CompletableFuture<>();
+        Thread followerThread = new Thread(() -> follower.complete(orchestrator.heal(request(followerDriver, broken))));
+        followerThread.start();
+        awaitParked(followerThread);
+        release.countDown();
+
+        Assert.assertNull(follower.get(5, TimeUnit.SECONDS));
+        Assert.assertNull(leader.get(5, TimeUnit.SECONDS));
+        Assert.assertEquals(tierCalls.get(), 1);
+    }
+}
@@ -5,6 +5,7 @@ import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class ElementFingerprintTest {
@@ -214,4 +215,75 @@ public class ElementFingerprintTest {
         ElementFingerprint f = fp("{\"locatorKey\":\"By.id: login\",\"id\":\"login\"}");
         Assert.assertTrue(f.toString().contains("By.id: login"));
     }
+
+    // ── edit distance / token sets ───────────────────────────────────────────
+
+    @Test
+    public void myersDistance_matchesDynamicProgramming() {
+        java.util.Random rnd = new java.util.Random(42);
+        String alphabet = "abcAB-_1é";
+        for (int trial = 0; trial < 2_000; trial++) {
+            String a = randomString(rnd, alphabet, 1 + rnd.nextInt(64));
+            String b = randomString(rnd, alphabet, rnd.nextInt(90));
+            Assert.assertEquals(ElementFingerprint.myersDistance(a, b), ElementFingerprint.dpDistance(a, b),
+                    "distance mismatch for '" + a + "' vs '" + b + "'");
+        }
+    }
+
+    private static String randomString(java.util.Random rnd, String alphabet, int len) {
+        StringBuilder sb = new StringBuilder(len);
+        for (int i = 0; i < len; i++) sb.append(alphabet.charAt(rnd.nextInt(alphabet.length())));
+        return sb.toString();
+    }
+
+    @Test
+    public void levenshteinRatio_isCaseInsensitive() {
+        Assert.assertEquals(ElementFingerprint.levenshteinRatio("UserName", "username"), 1.0, 1e-9);
+        Assert.assertEquals(ElementFingerprint.levenshteinRatio("usrname", "username"), 1.0 - 1.0 / 8, 1e-9);
+    }
+
+    @Test
+    public void tokenSet_splitsNamingConventionsLikeBefore() {
+        Assert.assertEquals(ElementFingerprint.jaccard(
+                ElementFingerprint.tokenSet("loginBtn"), ElementFingerprint.tokenSet("login-btn")), 1.0, 1e-9);
+        Assert.assertEquals(ElementFingerprint.jaccard(
+                ElementFingerprint.tokenSet("HTMLParser_main"), ElementFingerprint.tokenSet("html parser")), 2.0 / 3, 1e-9);
+        Assert.assertEquals(ElementFingerprint.tokenSet("--a__b  ").size(), 2);
+        Assert.assertTrue(ElementFingerprint.tokenSet("  ").isEmpty());
+        Assert.assertEquals(ElementFingerprint.classTokenSet("btn Btn btn").size(), 2, "class tokens keep case");
+    }
+
+    @Test
+    public void compact_keepsScoresAndInternsStrings() {
+        String json = "{\"id\":\"loginBtn\",\"tagName\":\"button\",\"className\":\"btn primary\","
+                + "\"customDataAttrs\":{\"data-role\":\"login\"},\"iframeChain\":[]}";
+        ElementFingerprint plain = fp(json);
+        ElementFingerprint compacted = fp(json).compact();
+        Map<String, Object> candidate = new HashMap<>();
+        candidate.put("id", "login-btn");
+        candidate.put("tag", "button");
+        candidate.put("class", "btn primary large");
+        candidate.put("dataAttrs", Map.of("data-role", "login"));
+
+        Assert.assertEquals(compacted.scoreSimilarity(candidate), plain.scoreSimilarity(candidate), 1e-9);
+        Assert.assertSame(compacted.getTagName(), fp(json).compact().getTagName());
+        Assert.assertFalse(compacted.isInsideIframe());
+    }
+
+    @Test
+    public void compact_keepsTheOrderOfDataAttributes() {
+        String json = "{\"customDataAttrs\":{\"data-z\":\"1\",\"data-a\":\"2\",\"data-m\":\"3\"}}";
+
+        ElementFingerprint compacted = fp(json).compact();
+
+        Assert.assertEquals(List.copyOf(compacted.getCustomDataAttrs().keySet()), List.of("data-z", "data-a", "data-m"));
+    }
+
+    @Test
+    public void intern_sharesEqualStringsAndReturnsNull() {
+        String first = ElementFingerprint.intern(new String("btn primary"));
+
+        Assert.assertSame(ElementFingerprint.intern(new String("btn primary")), first);
+        Assert.assertNull(ElementFingerprint.intern(null));
+    }
 }
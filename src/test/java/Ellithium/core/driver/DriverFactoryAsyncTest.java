@@ -0,0 +1,106 @@
+package Ellithium.core.driver;
+
+import org.mockito.Mockito;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Argument handling of {@link DriverFactory#getNewDriverAsync}, and what happens to a pending
+ * driver that is superseded or never used. Launching a browser needs a browser binary, so the
+ * background launch itself is covered by the web suites; here it is a mock driver.
+ */
+public class DriverFactoryAsyncTest {
+
+    private static final DriverConfiguration CONFIG =
+            new DriverConfiguration(LocalDriverType.Chrome, HeadlessMode.True, null, false);
+
+    @AfterMethod
+    public void tearDown() {
+        DriverFactory.discardPendingDriver();
+        DriverFactory.removeDriver();
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void nullConfig_isRejected() {
+        DriverFactory.getNewDriverAsync(null);
+    }
+
+    @Test
+    public void mobileConfig_isRejectedWithoutLeavingAPendingDriver() {
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> DriverFactory.getNewDriverAsync(new MobileDriverConfig()));
+        Assert.assertNull(DriverFactory.getCurrentDriverConfiguration());
+        Assert.assertNull(DriverFactory.getCurrentDriver());
+    }
+
+    @Test
+    public void invalidConfig_failsOnTheCallingThread() {
+        LocalDriverConfig config = new LocalDriverConfig();
+        config.setLocalDriverType(null);
+        Assert.assertThrows(IllegalStateException.class, () -> DriverFactory.getNewDriverAsync(config));
+        Assert.assertNull(DriverFactory.getCurrentDriverConfiguration());
+    }
+
+    @Test
+    public void secondAsyncLaunch_quitsTheSupersededDriver() {
+        WebDriver first = Mockito.mock(WebDriver.class);
+        WebDriver second = Mockito.mock(WebDriver.class);
+        DriverFactory.launchAsync(CONFIG, () -> first).join();
+
+        DriverFactory.launchAsync(CONFIG, () -> second);
+
+        Mockito.verify(first).quit();
+        Assert.assertSame(DriverFactory.getCurrentDriver(), second);
+        Mockito.verify(second, Mockito.never()).quit();
+    }
+
+    @Test
+    public void driverStillLaunching_isQuitOnceItStarts() throws Exception {
+        WebDriver launched = Mockito.mock(WebDriver.class);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<WebDriver> future = DriverFactory.launchAsync(CONFIG, () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return launched;
+        });
+
+        DriverFactory.quitDriver();
+        release.countDown();
+
+        Assert.assertThrows(CancellationException.class, future::join);
+        Mockito.verify(launched, Mockito.timeout(5_000)).quit();
+        Assert.assertNull(DriverFactory.getCurrentDriverConfiguration());
+        Assert.assertNull(DriverFactory.getCurrentDriver());
+    }
+
+    @Test
+    public void endOfTest_discardsAnUnusedDriver() {
+        WebDriver unused = Mockito.mock(WebDriver.class);
+        DriverFactory.launchAsync(CONFIG, () -> unused).join();
+
+        DriverFactory.discardPendingDriver();
+
+        Mockito.verify(unused).quit();
+        Assert.assertNull(DriverFactory.getCurrentDriverConfiguration());
+        Assert.assertNull(DriverFactory.getCurrentDriver());
+    }
+
+    @Test
+    public void failedLaunch_isNotQuitWhenDiscarded() {
+        DriverFactory.launchAsync(CONFIG, () -> { throw new IllegalStateException("no browser"); })
+                .exceptionally(e -> null).join();
+
+        DriverFactory.discardPendingDriver();
+
+        Assert.assertNull(DriverFactory.getCurrentDriverConfiguration());
+    }
+}
@@ -0,0 +1,161 @@
+package Ellithium.core.driver;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class DriverPoolTest {
+
+    private static final String KEY = "CHROME|True|pool-test";
+
+    private WebDriver.Options options;
+    private WebDriver.Navigation navigation;
+    private WebDriver.TargetLocator targetLocator;
+
+    @BeforeMethod
+    public void enablePool() {
+        DriverPool.configure(new DriverPool.Settings(true, 3, 4, 0));
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void disablePool() {
+        DriverPool.configure(new DriverPool.Settings(false, 50, 4, 0));
+    }
+
+    private WebDriver browser(String... handles) {
+        WebDriver driver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        options = mock(WebDriver.Options.class);
+        navigation = mock(WebDriver.Navigation.class);
+        targetLocator = mock(WebDriver.TargetLocator.class);
+        when(driver.manage()).thenReturn(options);
+        when(driver.navigate()).thenReturn(navigation);
+        when(driver.switchTo()).thenReturn(targetLocator);
+        when(driver.getWindowHandles()).thenReturn(new LinkedHashSet<>(List.of(handles)));
+        when(driver.getWindowHandle()).thenReturn(handles[0]);
+        return driver;
+    }
+
+    private static void track(WebDriver driver) {
+        DriverPool.track(new DriverPool.Launched(driver, driver), KEY, 1_000_000L);
+    }
+
+    @Test
+    public void untrackedDriver_isLeftToTheCaller() {
+        Assert.assertFalse(DriverPool.release(browser("main")));
+    }
+
+    @Test
+    public void returnedDriver_isResetAndLeasedAgain() {
+        WebDriver driver = browser("main");
+        track(driver);
+
+        Assert.assertTrue(DriverPool.release(driver));
+
+        verify((JavascriptExecutor) driver).executeScript(contains("localStorage.clear()"));
+        verify(options).deleteAllCookies();
+        verify(navigation).to("about:blank");
+        verify(driver, never()).quit();
+        Assert.assertEquals(DriverPool.idleCount(KEY), 1);
+        Assert.assertSame(DriverPool.lease(KEY), driver);
+        Assert.assertNull(DriverPool.lease(KEY), "a leased driver is not handed out twice");
+        Assert.assertTrue(DriverPool.summary().contains("1 hits"), DriverPool.summary());
+    }
+
+    @Test
+    public void extraWindows_areClosedAndTheFirstIsKept() {
+        WebDriver driver = browser("main", "popup-1", "popup-2");
+        track(driver);
+
+        DriverPool.release(driver);
+
+        verify(targetLocator).window("popup-2");
+        verify(targetLocator).window("popup-1");
+        verify(driver, times(2)).close();
+        verify(targetLocator, times(2)).window("main");
+        verify(options, times(3)).deleteAllCookies();
+    }
+
+    @Test
+    public void driverIsRecycledAfterMaxUses() {
+        WebDriver driver = browser("main");
+        track(driver);
+
+        for (int use = 1; use < 3; use++) {
+            DriverPool.release(driver);
+            Assert.assertSame(DriverPool.lease(KEY), driver);
+        }
+        Assert.assertTrue(DriverPool.release(driver));
+
+        verify(driver).quit();
+        Assert.assertEquals(DriverPool.idleCount(KEY), 0);
+        Assert.assertNull(DriverPool.lease(KEY));
+        Assert.assertFalse(DriverPool.release(driver), "a retired driver is no longer pooled");
+    }
+
+    @Test
+    public void failedReset_retiresTheDriver() {
+        WebDriver driver = browser("main");
+        doThrow(new org.openqa.selenium.WebDriverException("browser crashed")).when(navigation).to(anyString());
+        track(driver);
+
+        Assert.assertTrue(DriverPool.release(driver));
+
+        verify(driver).quit();
+        Assert.assertEquals(DriverPool.idleCount(KEY), 0);
+    }
+
+    @Test
+    public void idleDriverThatFailsHealthCheck_isReplacedByAMiss() {
+        WebDriver driver = browser("main");
+        track(driver);
+        DriverPool.release(driver);
+        when(driver.getWindowHandle()).thenThrow(new org.openqa.selenium.NoSuchSessionException("timed out"));
+
+        Assert.assertNull(DriverPool.lease(KEY));
+        verify(driver).quit();
+    }
+
+    @Test
+    public void shutdown_quitsIdleDrivers() {
+        WebDriver driver = browser("main");
+        track(driver);
+        DriverPool.release(driver);
+
+        DriverPool.shutdown();
+
+        verify(driver).quit();
+        Assert.assertEquals(DriverPool.idleCount(KEY), 0);
+    }
+
+    @Test
+    public void keyOf_separatesConfigurationsThatCannotShareABrowser() {
+        DriverConfiguration headless = new DriverConfiguration(LocalDriverType.Chrome, HeadlessMode.True,
+                PageLoadStrategyMode.Normal, PrivateMode.False, SandboxMode.Sandbox, WebSecurityMode.SecureMode,
+                new MutableCapabilities(), false);
+        DriverConfiguration same = new DriverConfiguration(LocalDriverType.Chrome, HeadlessMode.True,
+                PageLoadStrategyMode.Normal, PrivateMode.False, SandboxMode.Sandbox, WebSecurityMode.SecureMode,
+                new MutableCapabilities(), false);
+        DriverConfiguration headed = new DriverConfiguration(LocalDriverType.Chrome, HeadlessMode.False,
+                PageLoadStrategyMode.Normal, PrivateMode.False, SandboxMode.Sandbox, WebSecurityMode.SecureMode,
+                new MutableCapabilities(), false);
+        MutableCapabilities extra = new MutableCapabilities();
+        extra.setCapability("acceptInsecureCerts", true);
+        DriverConfiguration withCapability = new DriverConfiguration(LocalDriverType.Chrome, HeadlessMode.True,
+                PageLoadStrategyMode.Normal, PrivateMode.False, SandboxMode.Sandbox, WebSecurityMode.SecureMode,
+                extra, false);
+
+        Assert.assertEquals(DriverPool.keyOf(headless), DriverPool.keyOf(same));
+        Assert.assertNotEquals(DriverPool.keyOf(headless), DriverPool.keyOf(headed));
+        Assert.assertNotEquals(DriverPool.keyOf(headless), DriverPool.keyOf(withCapability));
+    }
+}
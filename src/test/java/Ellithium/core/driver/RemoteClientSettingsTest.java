@@ -0,0 +1,104 @@
+package Ellithium.core.driver;
+
+import io.appium.java_client.AppiumClientConfig;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.net.URL;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class RemoteClientSettingsTest {
+
+    @AfterMethod
+    public void tearDown() {
+        RemoteClientSettings.configure(null);
+    }
+
+    private static void configure(boolean http2, String acceptEncoding) {
+        configure(null, http2, acceptEncoding);
+    }
+
+    private static void configure(Duration mobileReadTimeout, boolean http2, String acceptEncoding) {
+        RemoteClientSettings.configure(new RemoteClientSettings.Settings(
+                Duration.ofSeconds(5), Duration.ofSeconds(60), mobileReadTimeout, http2, 0, 0, acceptEncoding));
+    }
+
+    private static String acceptEncodingSentBy(ClientConfig config) {
+        AtomicReference<String> header = new AtomicReference<>();
+        config.filter().andFinally(request -> {
+            header.set(request.getHeader("Accept-Encoding"));
+            return new HttpResponse();
+        }).execute(new HttpRequest(HttpMethod.GET, "/status"));
+        return header.get();
+    }
+
+    @Test
+    public void clientConfig_carriesTheConfiguredTimeoutsAndVersion() throws Exception {
+        configure(true, "");
+
+        ClientConfig config = RemoteClientSettings.clientConfigFor(new URL("http://grid.local:4444"));
+
+        Assert.assertEquals(config.baseUri().toString(), "http://grid.local:4444");
+        Assert.assertEquals(config.connectionTimeout(), Duration.ofSeconds(5));
+        Assert.assertEquals(config.readTimeout(), Duration.ofSeconds(60));
+        Assert.assertEquals(config.version(), "HTTP_2");
+        Assert.assertNull(acceptEncodingSentBy(config));
+    }
+
+    @Test
+    public void sessionsOnOneServer_shareTheirConfig() throws Exception {
+        configure(false, "");
+
+        ClientConfig first = RemoteClientSettings.clientConfigFor(new URL("http://grid.local:4444"));
+
+        Assert.assertSame(RemoteClientSettings.clientConfigFor(new URL("http://grid.local:4444")), first);
+        Assert.assertNotSame(RemoteClientSettings.clientConfigFor(new URL("http://127.0.0.1:4723")), first);
+        Assert.assertEquals(first.version(), "HTTP_1_1");
+    }
+
+    @Test
+    public void identityEncoding_isRequestedOnEveryCommand() throws Exception {
+        configure(false, "identity");
+
+        ClientConfig config = RemoteClientSettings.clientConfigFor(new URL("https://hub.cloud.example/wd/hub"));
+
+        Assert.assertEquals(acceptEncodingSentBy(config), "identity");
+    }
+
+    @Test
+    public void compressedEncoding_isIgnored() throws Exception {
+        configure(false, "gzip");
+
+        ClientConfig config = RemoteClientSettings.clientConfigFor(new URL("https://hub.cloud.example/wd/hub"));
+
+        Assert.assertNull(acceptEncodingSentBy(config));
+    }
+
+    @Test
+    public void appiumSessions_keepAppiumsReadTimeoutByDefault() throws Exception {
+        configure(false, "");
+
+        ClientConfig config = RemoteClientSettings.appiumClientConfigFor(new URL("http://127.0.0.1:4723"));
+
+        Assert.assertEquals(config.readTimeout(), AppiumClientConfig.defaultConfig().readTimeout());
+        Assert.assertEquals(config.connectionTimeout(), Duration.ofSeconds(5));
+        Assert.assertNotSame(RemoteClientSettings.clientConfigFor(new URL("http://127.0.0.1:4723")), config);
+    }
+
+    @Test
+    public void appiumSessions_useTheMobileReadTimeoutWhenSet() throws Exception {
+        configure(Duration.ofSeconds(300), false, "");
+
+        ClientConfig config = RemoteClientSettings.appiumClientConfigFor(new URL("http://127.0.0.1:4723"));
+
+        Assert.assertEquals(config.readTimeout(), Duration.ofSeconds(300));
+        Assert.assertEquals(RemoteClientSettings.clientConfigFor(new URL("http://127.0.0.1:4723")).readTimeout(),
+                Duration.ofSeconds(60));
+    }
+}
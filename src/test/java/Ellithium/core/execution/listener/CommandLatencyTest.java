@@ -0,0 +1,119 @@
+package Ellithium.core.execution.listener;
+
+import Ellithium.core.execution.context.TestContext;
+import Ellithium.core.execution.context.TestContextData;
+import org.mockito.Mockito;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+
+public class CommandLatencyTest {
+
+    private final seleniumListener listener = new seleniumListener();
+    private WebDriver driver;
+    private WebElement element;
+    private Method findElement;
+    private Method click;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        CommandLatency.setEnabled(true);
+        CommandLatency.reset();
+        driver = Mockito.mock(WebDriver.class);
+        element = Mockito.mock(WebElement.class);
+        findElement = WebDriver.class.getMethod("findElement", By.class);
+        click = WebElement.class.getMethod("click");
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        CommandLatency.reset();
+        CommandLatency.setEnabled(null);
+    }
+
+    private void call(Object target, Method method, Object[] args, long sleepMs) {
+        listener.beforeAnyCall(target, method, args);
+        try {
+            Thread.sleep(sleepMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        listener.afterAnyCall(target, method, args, null);
+    }
+
+    private void inTest(String testId, Runnable body) {
+        ScopedValue.where(TestContext.CURRENT, new TestContextData(testId, testId, "chrome")).run(body);
+    }
+
+    @Test
+    public void commands_areSummarizedPerTest() {
+        inTest("LoginTest.valid", () -> {
+            call(driver, findElement, new Object[]{By.id("user")}, 5);
+            call(driver, findElement, new Object[]{By.id("pass")}, 1);
+            call(element, click, new Object[0], 1);
+        });
+
+        String summary = CommandLatency.takeTestSummary("LoginTest.valid", "valid");
+
+        Assert.assertNotNull(summary);
+        Assert.assertTrue(summary.contains("driver.findElement"), summary);
+        Assert.assertTrue(summary.contains("element.click"), summary);
+        Assert.assertTrue(summary.contains("By.id: user"), summary);
+        Assert.assertNull(CommandLatency.takeTestSummary("LoginTest.valid", "valid"), "summary is taken once");
+    }
+
+    @Test
+    public void suiteSummary_namesTheTestOfEachSlowCall() {
+        inTest("CheckoutTest.pay", () -> call(driver, findElement, new Object[]{By.id("pay")}, 20));
+        call(driver, findElement, new Object[]{By.id("setup")}, 1);
+
+        String summary = CommandLatency.suiteSummary("regression");
+
+        Assert.assertNotNull(summary);
+        Assert.assertTrue(summary.contains("[CheckoutTest.pay]"), summary);
+        Assert.assertTrue(summary.contains("(outside test methods)"), summary);
+    }
+
+    @Test
+    public void failedCalls_areTimedToo() {
+        listener.beforeAnyCall(element, click, new Object[0]);
+        listener.onError(element, click, new Object[0], new java.lang.reflect.InvocationTargetException(new RuntimeException()));
+
+        Assert.assertTrue(CommandLatency.suiteSummary("s").contains("element.click"));
+    }
+
+    @Test
+    public void nestedCalls_areNotCountedInTheirParent() {
+        listener.beforeAnyCall(driver, findElement, new Object[]{By.id("outer")});
+        call(element, click, new Object[0], 30);
+        listener.afterAnyCall(driver, findElement, new Object[]{By.id("outer")}, null);
+
+        String summary = CommandLatency.suiteSummary("s");
+        String outerRow = summary.lines().filter(l -> l.startsWith("driver.findElement")).findFirst().orElseThrow();
+        double outerMs = Double.parseDouble(outerRow.trim().split("\\s+")[2]);
+        Assert.assertTrue(outerMs < 20, outerRow);
+    }
+
+    @Test
+    public void histogramBuckets_stayWithinAnEighthOfTheValue() {
+        for (long micros : new long[]{1, 7, 8, 9, 100, 1_234, 56_789, 3_600_000_000L}) {
+            long lower = CommandLatency.Histogram.lowerBoundMicros(CommandLatency.Histogram.indexOf(micros));
+            Assert.assertTrue(lower <= micros && micros - lower <= micros / 8, micros + " -> " + lower);
+        }
+    }
+
+    @Test
+    public void disabled_recordsNothing() {
+        CommandLatency.setEnabled(false);
+
+        call(driver, findElement, new Object[]{By.id("user")}, 0);
+
+        Assert.assertNull(CommandLatency.suiteSummary("s"));
+    }
+}